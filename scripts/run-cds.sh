@@ -0,0 +1,13 @@
+#!/bin/sh
+# Start the application with the Class Data Sharing archive built by
+#   mvn -Pcds -DskipTests package
+# Arguments go to the application, JAVA_OPTS to the JVM. The archive only
+# matches the JDK and jar path it was built with; rebuild it after changing
+# either, otherwise the JVM silently starts without it.
+CDS_DIR="$(cd "$(dirname "$0")/.." && pwd)/target/cds"
+if [ ! -f "$CDS_DIR/attendance.jsa" ]; then
+    echo "No CDS archive in $CDS_DIR; build it with: mvn -Pcds -DskipTests package" >&2
+    exit 1
+fi
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+exec "$JAVA" -XX:SharedArchiveFile="$CDS_DIR/attendance.jsa" $JAVA_OPTS -jar "$CDS_DIR/attendance.jar" "$@"
@@ -1,12 +1,15 @@
 package com.attendance;
 
+import com.attendance.cluster.ClusterMembership;
 import com.attendance.model.Student;
 import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.replication.ReplicationFollower;
 import com.attendance.storage.InMemoryStudentStore;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import java.time.LocalDate;
 import java.util.Random;
@@ -16,6 +19,7 @@ import java.util.Random;
  * Preloads sample student data on startup.
  */
 @SpringBootApplication
+@ImportRuntimeHints(AttendanceRuntimeHints.class)
 public class AttendanceApplication {
 
     /**
@@ -30,10 +34,14 @@ public class AttendanceApplication {
      * CommandLineRunner bean to preload sample data on startup.
      * Creates 20 sample students with random attendance statuses.
      * @param studentStore the in-memory student store
+     * @param membership cluster view; in a sharded deployment only the node owning
+     *                   unsectioned students preloads them
+     * @param follower replication state; followers copy the leader's roster instead
      * @return CommandLineRunner instance
      */
     @Bean
-    public CommandLineRunner preloadData(InMemoryStudentStore studentStore) {
+    public CommandLineRunner preloadData(InMemoryStudentStore studentStore, ClusterMembership membership,
+                                         ReplicationFollower follower) {
         return args -> {
             System.out.println("========================================");
             System.out.println("📚 Attendance System Starting...");
@@ -57,19 +65,25 @@ public class AttendanceApplication {
 
 
 
-            Random random = new Random();
-            AttendanceStatus[] statuses = AttendanceStatus.values();
-            
-            // Preload 20 sample students
-            for (String name : studentNames) {
-                Student student = new Student();
-                student.setName(name);
-                student.setStatus(statuses[random.nextInt(statuses.length)]);
-                student.setDate(LocalDate.now());
-                studentStore.save(student);
+            if (follower.isFollower()) {
+                System.out.println("Roster is replicated from " + follower.getLeader());
+            } else if (membership.isLocal(null)) {
+                Random random = new Random();
+                AttendanceStatus[] statuses = AttendanceStatus.values();
+                
+                // Preload 20 sample students
+                for (String name : studentNames) {
+                    Student student = new Student();
+                    student.setName(name);
+                    student.setStatus(statuses[random.nextInt(statuses.length)]);
+                    student.setDate(LocalDate.now());
+                    studentStore.save(student);
+                }
+                
+                System.out.println("✅ Preloaded " + studentStore.count() + " sample students");
+            } else {
+                System.out.println("Sample students are preloaded on " + membership.ownerOf(null));
             }
-            
-            System.out.println("✅ Preloaded " + studentStore.count() + " sample students");
             System.out.println("========================================");
             System.out.println("🚀 Application ready!");
             System.out.println("📍 Access at: http://localhost:8080");
@@ -0,0 +1,69 @@
+package com.attendance;
+
+import com.attendance.dto.AbsenteeDTO;
+import com.attendance.dto.ApproxAbsenteeDTO;
+import com.attendance.dto.ApproxCountDTO;
+import com.attendance.dto.ApproxQuantilesDTO;
+import com.attendance.dto.AttendanceDeltaDTO;
+import com.attendance.dto.AttendanceEntryDTO;
+import com.attendance.dto.AttendanceEventBatchDTO;
+import com.attendance.dto.AttendanceEventDTO;
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.BulkImportResultDTO;
+import com.attendance.dto.CheckInTimesDTO;
+import com.attendance.dto.ClusterStatusDTO;
+import com.attendance.dto.CoalescingStatsDTO;
+import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.DailyRateDTO;
+import com.attendance.dto.DayVersionDTO;
+import com.attendance.dto.ImportRowErrorDTO;
+import com.attendance.dto.LateArrivalDTO;
+import com.attendance.dto.MarkRequest;
+import com.attendance.dto.NewStudentRequest;
+import com.attendance.dto.ReplicationBatchDTO;
+import com.attendance.dto.ReplicationEntryDTO;
+import com.attendance.dto.ReplicationSnapshotDTO;
+import com.attendance.dto.ReplicationStatusDTO;
+import com.attendance.dto.RollupDTO;
+import com.attendance.dto.SectionHandoffDTO;
+import com.attendance.dto.StudentDTO;
+import com.attendance.dto.TermSummaryDTO;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reachability metadata for the native image.
+ * Spring AOT infers binding hints from typed controller signatures only;
+ * the DTOs below are also written through ResponseEntity&lt;?&gt;, the
+ * pre-serialized response cache, the replication and cluster clients and
+ * the bulk importer, so every one is registered for Jackson here. The
+ * validated request bodies additionally need their fields, where the
+ * constraint annotations sit.
+ */
+public class AttendanceRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JSON_TYPES = {
+            AbsenteeDTO.class, ApproxAbsenteeDTO.class, ApproxCountDTO.class, ApproxQuantilesDTO.class,
+            AttendanceDeltaDTO.class, AttendanceEntryDTO.class, AttendanceEventBatchDTO.class,
+            AttendanceEventDTO.class, AttendanceReportDTO.class, BulkImportResultDTO.class,
+            CheckInTimesDTO.class, ClusterStatusDTO.class, CoalescingStatsDTO.class,
+            DailyAttendanceRequest.class, DailyRateDTO.class, DayVersionDTO.class, ImportRowErrorDTO.class,
+            LateArrivalDTO.class, MarkRequest.class, NewStudentRequest.class, ReplicationBatchDTO.class,
+            ReplicationEntryDTO.class, ReplicationSnapshotDTO.class, ReplicationStatusDTO.class,
+            RollupDTO.class, SectionHandoffDTO.class, StudentDTO.class, TermSummaryDTO.class
+    };
+
+    private static final Class<?>[] VALIDATED_TYPES = {
+            MarkRequest.class, NewStudentRequest.class, DailyAttendanceRequest.class, AttendanceEntryDTO.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+        for (Class<?> type : VALIDATED_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.attendance.analytics;
+
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable student x day attendance matrix stored as bitsets.
+ * Each day has a "recorded" bitmap (student appears in that day's file) and a
+ * "present" bitmap (student was marked PRESENT). Row i of every bitmap is the
+ * student at position i of the sorted id array, so cohort queries reduce to
+ * word-level AND/OR/ANDNOT and popcount over long[] words, run by the
+ * BitKernels default kernel.
+ */
+public final class AttendanceMatrix {
+
+    private static final AttendanceMatrix EMPTY =
+            new AttendanceMatrix(new long[0], new String[0], new LocalDate[0], new long[0][], new long[0][]);
+
+    private final long[] studentIds;
+    private final String[] studentNames;
+    private final LocalDate[] days;
+    private final long[][] present;
+    private final long[][] recorded;
+    private final int words;
+
+    private AttendanceMatrix(long[] studentIds, String[] studentNames, LocalDate[] days,
+                             long[][] present, long[][] recorded) {
+        this.studentIds = studentIds;
+        this.studentNames = studentNames;
+        this.days = days;
+        this.present = present;
+        this.recorded = recorded;
+        this.words = wordCount(studentIds.length);
+    }
+
+    /**
+     * Get an empty matrix.
+     * @return matrix with no students and no days
+     */
+    public static AttendanceMatrix empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a matrix from per-day attendance records.
+     * Student names are taken from the most recent day a student appears in.
+     * @param recordsByDay attendance records keyed by date
+     * @return the attendance matrix
+     */
+    public static AttendanceMatrix fromDays(Map<LocalDate, List<Student>> recordsByDay) {
+        if (recordsByDay.isEmpty()) {
+            return EMPTY;
+        }
+
+        LocalDate[] days = recordsByDay.keySet().toArray(new LocalDate[0]);
+        Arrays.sort(days);
+
+        // Collect the id universe; iterating days in order lets later names win
+        Map<Long, String> names = new HashMap<>();
+        for (LocalDate day : days) {
+            for (Student student : recordsByDay.get(day)) {
+                names.put(student.getId(), student.getName());
+            }
+        }
+
+        long[] ids = new long[names.size()];
+        int n = 0;
+        for (Long id : names.keySet()) {
+            ids[n++] = id;
+        }
+        Arrays.sort(ids);
+
+        String[] studentNames = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            studentNames[i] = names.get(ids[i]);
+        }
+
+        int words = wordCount(ids.length);
+        long[][] present = new long[days.length][];
+        long[][] recorded = new long[days.length][];
+
+        for (int d = 0; d < days.length; d++) {
+            long[] presentBits = new long[words];
+            long[] recordedBits = new long[words];
+            for (Student student : recordsByDay.get(days[d])) {
+                int row = Arrays.binarySearch(ids, student.getId());
+                recordedBits[row >>> 6] |= 1L << row;
+                if (student.getStatus() == AttendanceStatus.PRESENT) {
+                    presentBits[row >>> 6] |= 1L << row;
+                }
+            }
+            present[d] = presentBits;
+            recorded[d] = recordedBits;
+        }
+
+        return new AttendanceMatrix(ids, studentNames, days, present, recorded);
+    }
+
+    /**
+     * Get a copy of this matrix with one day's column replaced, or added if
+     * the day is new. Other days' bitmaps are shared, not copied, unless the
+     * records bring students the matrix has no row for yet; then every column
+     * is re-laid out for the new rows. Students who no longer appear on any
+     * day keep an empty row. A student's name is updated unless the day is
+     * older than the latest day in the matrix.
+     * @param date the day to replace
+     * @param records every attendance record of that day
+     * @return the updated matrix
+     */
+    public AttendanceMatrix withDay(LocalDate date, List<Student> records) {
+        boolean latest = days.length == 0 || !date.isBefore(days[days.length - 1]);
+        Map<Long, String> added = new HashMap<>();
+        for (Student student : records) {
+            if (Arrays.binarySearch(studentIds, student.getId()) < 0) {
+                added.put(student.getId(), student.getName());
+            }
+        }
+
+        long[] ids = studentIds;
+        String[] names = studentNames;
+        long[][] presentColumns = present;
+        long[][] recordedColumns = recorded;
+        if (!added.isEmpty()) {
+            ids = Arrays.copyOf(studentIds, studentIds.length + added.size());
+            int n = studentIds.length;
+            for (Long id : added.keySet()) {
+                ids[n++] = id;
+            }
+            Arrays.sort(ids);
+            names = new String[ids.length];
+            int[] moved = new int[studentIds.length];
+            for (int row = 0; row < studentIds.length; row++) {
+                moved[row] = Arrays.binarySearch(ids, studentIds[row]);
+                names[moved[row]] = studentNames[row];
+            }
+            for (Map.Entry<Long, String> student : added.entrySet()) {
+                names[Arrays.binarySearch(ids, student.getKey())] = student.getValue();
+            }
+            presentColumns = new long[days.length][];
+            recordedColumns = new long[days.length][];
+            for (int d = 0; d < days.length; d++) {
+                presentColumns[d] = relayout(present[d], moved, ids.length);
+                recordedColumns[d] = relayout(recorded[d], moved, ids.length);
+            }
+        } else if (latest) {
+            names = studentNames.clone();
+        }
+
+        int words = wordCount(ids.length);
+        long[] presentBits = new long[words];
+        long[] recordedBits = new long[words];
+        for (Student student : records) {
+            int row = Arrays.binarySearch(ids, student.getId());
+            recordedBits[row >>> 6] |= 1L << row;
+            if (student.getStatus() == AttendanceStatus.PRESENT) {
+                presentBits[row >>> 6] |= 1L << row;
+            }
+            if (latest) {
+                names[row] = student.getName();
+            }
+        }
+
+        int d = Arrays.binarySearch(days, date);
+        LocalDate[] newDays = days;
+        if (d < 0) {
+            d = -d - 1;
+            newDays = insert(days, d, date);
+            presentColumns = insert(presentColumns, d, presentBits);
+            recordedColumns = insert(recordedColumns, d, recordedBits);
+        } else {
+            presentColumns = presentColumns == present ? present.clone() : presentColumns;
+            recordedColumns = recordedColumns == recorded ? recorded.clone() : recordedColumns;
+            presentColumns[d] = presentBits;
+            recordedColumns[d] = recordedBits;
+        }
+        return new AttendanceMatrix(ids, names, newDays, presentColumns, recordedColumns);
+    }
+
+    /**
+     * Get the number of student rows.
+     * @return student count
+     */
+    public int studentCount() {
+        return studentIds.length;
+    }
+
+    /**
+     * Get the number of day columns.
+     * @return day count
+     */
+    public int dayCount() {
+        return days.length;
+    }
+
+    /**
+     * Get the days covered by the matrix in ascending order.
+     * @return list of dates
+     */
+    public List<LocalDate> getDays() {
+        return Collections.unmodifiableList(Arrays.asList(days));
+    }
+
+    /**
+     * Get the student id stored at a row.
+     * @param row the row index
+     * @return the student id
+     */
+    public long studentIdAt(int row) {
+        return studentIds[row];
+    }
+
+    /**
+     * Get the student name stored at a row.
+     * @param row the row index
+     * @return the student name
+     */
+    public String studentNameAt(int row) {
+        return studentNames[row];
+    }
+
+    /**
+     * Count students recorded on a day.
+     * @param date the day
+     * @return recorded count, or 0 if the day is not in the matrix
+     */
+    public int recordedCount(LocalDate date) {
+        int d = indexOfDay(date);
+        return d < 0 ? 0 : popcount(recorded[d]);
+    }
+
+    /**
+     * Count students marked present on a day.
+     * @param date the day
+     * @return present count, or 0 if the day is not in the matrix
+     */
+    public int presentCount(LocalDate date) {
+        int d = indexOfDay(date);
+        return d < 0 ? 0 : popcount(present[d]);
+    }
+
+    /**
+     * Find rows that were recorded ABSENT on every one of the given days.
+     * Days missing from the matrix make the result empty, since nobody was
+     * recorded absent on them.
+     * @param dates the days to intersect
+     * @return bitmap of matching rows
+     */
+    public long[] absentOnAll(Collection<LocalDate> dates) {
+        long[] result = new long[words];
+        if (dates.isEmpty()) {
+            return result;
+        }
+        Arrays.fill(result, -1L);
+        clearTail(result);
+
+        for (LocalDate date : dates) {
+            int d = indexOfDay(date);
+            if (d < 0) {
+                return new long[words];
+            }
+            BitKernels.getDefault().andNotInto(result, recorded[d], present[d]);
+        }
+        return result;
+    }
+
+    /**
+     * Count, per row, the recorded and absent days within an inclusive window.
+     * @param from first day of the window (inclusive), or null for unbounded
+     * @param to last day of the window (inclusive), or null for unbounded
+     * @param recordedDays output array of size studentCount() receiving recorded day counts
+     * @param absentDays output array of size studentCount() receiving absent day counts
+     */
+    public void countWindow(LocalDate from, LocalDate to, int[] recordedDays, int[] absentDays) {
+        int start = from == null ? 0 : lowerBound(from);
+        int end = to == null ? days.length : upperBound(to);
+
+        for (int d = start; d < end; d++) {
+            long[] presentBits = present[d];
+            long[] recordedBits = recorded[d];
+            for (int w = 0; w < words; w++) {
+                int base = w << 6;
+                long rec = recordedBits[w];
+                long abs = rec & ~presentBits[w];
+                while (rec != 0) {
+                    recordedDays[base + Long.numberOfTrailingZeros(rec)]++;
+                    rec &= rec - 1;
+                }
+                while (abs != 0) {
+                    absentDays[base + Long.numberOfTrailingZeros(abs)]++;
+                    abs &= abs - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the days of the matrix that fall inside an inclusive window.
+     * @param from first day (inclusive), or null for unbounded
+     * @param to last day (inclusive), or null for unbounded
+     * @return list of dates in ascending order
+     */
+    public List<LocalDate> daysBetween(LocalDate from, LocalDate to) {
+        int start = from == null ? 0 : lowerBound(from);
+        int end = to == null ? days.length : upperBound(to);
+        return start >= end
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(days).subList(start, end));
+    }
+
+    /**
+     * Count set bits in a bitmap.
+     * @param bits the bitmap
+     * @return number of set bits
+     */
+    public static int popcount(long[] bits) {
+        return BitKernels.getDefault().popcount(bits);
+    }
+
+    /**
+     * Get the row indexes of set bits in a bitmap, in ascending order.
+     * @param bits the bitmap
+     * @return row indexes
+     */
+    public static int[] rows(long[] bits) {
+        int[] rows = new int[popcount(bits)];
+        int n = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                rows[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+
+    private int indexOfDay(LocalDate date) {
+        int d = Arrays.binarySearch(days, date);
+        return d < 0 ? -1 : d;
+    }
+
+    private int lowerBound(LocalDate date) {
+        int d = Arrays.binarySearch(days, date);
+        return d >= 0 ? d : -d - 1;
+    }
+
+    private int upperBound(LocalDate date) {
+        int d = Arrays.binarySearch(days, date);
+        return d >= 0 ? d + 1 : -d - 1;
+    }
+
+    private static long[] relayout(long[] bits, int[] moved, int rows) {
+        long[] result = new long[wordCount(rows)];
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int row = moved[(w << 6) + Long.numberOfTrailingZeros(word)];
+                result[row >>> 6] |= 1L << row;
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    private static <T> T[] insert(T[] array, int index, T value) {
+        T[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        result[index] = value;
+        return result;
+    }
+
+    private void clearTail(long[] bits) {
+        int tail = studentIds.length & 63;
+        if (tail != 0) {
+            bits[words - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    private static int wordCount(int rows) {
+        return (rows + 63) >>> 6;
+    }
+}
@@ -0,0 +1,404 @@
+package com.attendance.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Materialized day, ISO-week and month rollups of recorded attendance.
+ * Every partition's day is kept as a compact fact (sorted student IDs plus a
+ * present bitset), so replacing a day subtracts its old contribution from the
+ * three rollups containing it before adding the new one. Answering a query
+ * for any standard period is then a single map lookup.
+ * Not thread-safe: ReportRollupService serializes access.
+ */
+public final class AttendanceRollups {
+
+    private static final int MAGIC = 0x41524f4c; // "AROL"
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Standard reporting periods.
+     */
+    public enum Period {
+        DAY, WEEK, MONTH;
+
+        /**
+         * Get the first day of the period containing a date.
+         * @param date any day in the period
+         * @return the period start; weeks start on Monday (ISO)
+         */
+        public LocalDate start(LocalDate date) {
+            switch (this) {
+                case WEEK:
+                    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH:
+                    return date.withDayOfMonth(1);
+                default:
+                    return date;
+            }
+        }
+
+        /**
+         * Get the last day of a period.
+         * @param start the period start
+         * @return the period end (inclusive)
+         */
+        public LocalDate end(LocalDate start) {
+            switch (this) {
+                case WEEK:
+                    return start.plusDays(6);
+                case MONTH:
+                    return start.with(TemporalAdjusters.lastDayOfMonth());
+                default:
+                    return start;
+            }
+        }
+    }
+
+    private final Map<PartitionDay, DayFact> facts = new HashMap<>();
+    private final Map<Period, Map<LocalDate, Rollup>> rollups = new EnumMap<>(Period.class);
+    // Partitions recorded per date; a date counts as a day of its periods while this is positive
+    private final Map<LocalDate, Integer> partitionsPerDate = new HashMap<>();
+
+    /**
+     * Create empty rollups.
+     */
+    public AttendanceRollups() {
+        for (Period period : Period.values()) {
+            rollups.put(period, new HashMap<>());
+        }
+    }
+
+    /**
+     * Replace one partition's day with new contents.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @param stamp source file stamp, used to detect out-of-band changes
+     * @param ids student IDs, sorted ascending
+     * @param present bit i set if ids[i] was present
+     */
+    public void replace(LocalDate date, String section, long stamp, long[] ids, BitSet present) {
+        DayFact fact = new DayFact(stamp, ids, present);
+        DayFact old = facts.put(new PartitionDay(date, section), fact);
+        if (old != null) {
+            apply(date, old, -1);
+        } else if (partitionsPerDate.merge(date, 1, Integer::sum) == 1) {
+            countDay(date, 1);
+        }
+        apply(date, fact, 1);
+    }
+
+    /**
+     * Remove one partition's day.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @return true if the day was recorded
+     */
+    public boolean remove(LocalDate date, String section) {
+        DayFact old = facts.remove(new PartitionDay(date, section));
+        if (old == null) {
+            return false;
+        }
+        apply(date, old, -1);
+        if (partitionsPerDate.merge(date, -1, Integer::sum) == 0) {
+            partitionsPerDate.remove(date);
+            countDay(date, -1);
+        }
+        return true;
+    }
+
+    /**
+     * Get the stamp a partition's day was recorded with.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @return the stamp, or -1 if the day is not recorded
+     */
+    public long getStamp(LocalDate date, String section) {
+        DayFact fact = facts.get(new PartitionDay(date, section));
+        return fact != null ? fact.stamp : -1;
+    }
+
+    /**
+     * Visit every recorded partition day.
+     * @param visitor receives the date and section (null for unsectioned)
+     */
+    public void forEachPartitionDay(BiConsumer<LocalDate, String> visitor) {
+        for (PartitionDay key : new ArrayList<>(facts.keySet())) {
+            visitor.accept(key.date, key.section);
+        }
+    }
+
+    /**
+     * Get the rollup of the period containing a date.
+     * @param period the period type
+     * @param date any day in the period
+     * @return the rollup, or null if nothing was recorded in the period
+     */
+    public Rollup get(Period period, LocalDate date) {
+        return rollups.get(period).get(period.start(date));
+    }
+
+    /**
+     * Add or remove a date from the day count of its periods; a period with no days left is dropped.
+     */
+    private void countDay(LocalDate date, int sign) {
+        for (Period period : Period.values()) {
+            Map<LocalDate, Rollup> byStart = rollups.get(period);
+            Rollup rollup = byStart.computeIfAbsent(period.start(date), start -> new Rollup());
+            rollup.days += sign;
+            if (rollup.days == 0) {
+                byStart.remove(period.start(date));
+            }
+        }
+    }
+
+    private void apply(LocalDate date, DayFact fact, int sign) {
+        for (Period period : Period.values()) {
+            Rollup rollup = rollups.get(period).get(period.start(date));
+            for (int i = 0; i < fact.ids.length; i++) {
+                rollup.add(fact.ids[i], fact.present.get(i), sign);
+            }
+        }
+    }
+
+    /**
+     * Write the day facts and the materialized rollups.
+     * IDs are delta-encoded varints and statuses a bitset, so a day costs
+     * little more than one byte per student.
+     * @param out destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+
+        out.writeInt(facts.size());
+        for (Map.Entry<PartitionDay, DayFact> entry : facts.entrySet()) {
+            out.writeLong(entry.getKey().date.toEpochDay());
+            out.writeUTF(entry.getKey().section != null ? entry.getKey().section : "");
+            DayFact fact = entry.getValue();
+            out.writeLong(fact.stamp);
+            writeVarLong(out, fact.ids.length);
+            long previous = 0;
+            for (long id : fact.ids) {
+                writeVarLong(out, id - previous);
+                previous = id;
+            }
+            byte[] bits = fact.present.toByteArray();
+            writeVarLong(out, bits.length);
+            out.write(bits);
+        }
+
+        for (Period period : Period.values()) {
+            Map<LocalDate, Rollup> byStart = rollups.get(period);
+            out.writeInt(byStart.size());
+            for (Map.Entry<LocalDate, Rollup> entry : byStart.entrySet()) {
+                Rollup rollup = entry.getValue();
+                out.writeLong(entry.getKey().toEpochDay());
+                writeVarLong(out, rollup.days);
+                writeVarLong(out, rollup.students.size());
+                long previous = 0;
+                for (Map.Entry<Long, int[]> student : new TreeMap<>(rollup.students).entrySet()) {
+                    writeVarLong(out, student.getKey() - previous);
+                    writeVarLong(out, student.getValue()[0]);
+                    writeVarLong(out, student.getValue()[1]);
+                    previous = student.getKey();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read rollups written by writeTo.
+     * @param in source
+     * @return the rollups
+     * @throws IOException if the data is unreadable or from another format version
+     */
+    public static AttendanceRollups readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a rollup file of format version " + FORMAT_VERSION);
+        }
+        AttendanceRollups result = new AttendanceRollups();
+
+        int factCount = in.readInt();
+        for (int f = 0; f < factCount; f++) {
+            LocalDate date = LocalDate.ofEpochDay(in.readLong());
+            String section = in.readUTF();
+            long stamp = in.readLong();
+            long[] ids = new long[(int) readVarLong(in)];
+            long previous = 0;
+            for (int i = 0; i < ids.length; i++) {
+                previous += readVarLong(in);
+                ids[i] = previous;
+            }
+            byte[] bits = new byte[(int) readVarLong(in)];
+            in.readFully(bits);
+            result.facts.put(new PartitionDay(date, section.isEmpty() ? null : section),
+                    new DayFact(stamp, ids, BitSet.valueOf(bits)));
+            result.partitionsPerDate.merge(date, 1, Integer::sum);
+        }
+
+        for (Period period : Period.values()) {
+            int rollupCount = in.readInt();
+            for (int r = 0; r < rollupCount; r++) {
+                LocalDate start = LocalDate.ofEpochDay(in.readLong());
+                Rollup rollup = new Rollup();
+                rollup.days = (int) readVarLong(in);
+                long students = readVarLong(in);
+                long previous = 0;
+                for (long s = 0; s < students; s++) {
+                    previous += readVarLong(in);
+                    int present = (int) readVarLong(in);
+                    int absent = (int) readVarLong(in);
+                    rollup.students.put(previous, new int[] {present, absent});
+                    rollup.present += present;
+                    rollup.recorded += present + absent;
+                }
+                result.rollups.get(period).put(start, rollup);
+            }
+        }
+        return result;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in rollup file");
+    }
+
+    /**
+     * Totals for one period, overall and per student.
+     */
+    public static final class Rollup {
+        private int days;
+        private long recorded;
+        private long present;
+        // Student ID -> {present days, absent days}
+        private final Map<Long, int[]> students = new HashMap<>();
+
+        private void add(long id, boolean wasPresent, int sign) {
+            int[] counts = students.computeIfAbsent(id, key -> new int[2]);
+            counts[wasPresent ? 0 : 1] += sign;
+            if (counts[0] == 0 && counts[1] == 0) {
+                students.remove(id);
+            }
+            recorded += sign;
+            if (wasPresent) {
+                present += sign;
+            }
+        }
+
+        /**
+         * Get the number of days in the period with any recorded attendance.
+         * @return day count
+         */
+        public int getDays() {
+            return days;
+        }
+
+        /**
+         * Get the number of attendance records in the period.
+         * @return record count
+         */
+        public long getRecorded() {
+            return recorded;
+        }
+
+        /**
+         * Get the number of present records in the period.
+         * @return present count
+         */
+        public long getPresent() {
+            return present;
+        }
+
+        /**
+         * Get the IDs of students with records in the period.
+         * @return student IDs, ascending
+         */
+        public long[] studentIds() {
+            return students.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        /**
+         * Get a student's present days in the period.
+         * @param id the student ID
+         * @return present days, 0 if the student has no records
+         */
+        public int presentDays(long id) {
+            int[] counts = students.get(id);
+            return counts != null ? counts[0] : 0;
+        }
+
+        /**
+         * Get a student's absent days in the period.
+         * @param id the student ID
+         * @return absent days, 0 if the student has no records
+         */
+        public int absentDays(long id) {
+            int[] counts = students.get(id);
+            return counts != null ? counts[1] : 0;
+        }
+    }
+
+    /**
+     * One partition's recorded statuses for a day.
+     */
+    private static final class DayFact {
+        private final long stamp;
+        private final long[] ids;
+        private final BitSet present;
+
+        private DayFact(long stamp, long[] ids, BitSet present) {
+            this.stamp = stamp;
+            this.ids = ids;
+            this.present = present;
+        }
+    }
+
+    /**
+     * Key of one partition's day file.
+     */
+    private static final class PartitionDay {
+        private final LocalDate date;
+        private final String section;
+
+        private PartitionDay(LocalDate date, String section) {
+            this.date = date;
+            this.section = section;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PartitionDay)) return false;
+            PartitionDay other = (PartitionDay) o;
+            return date.equals(other.date) && Objects.equals(section, other.section);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * date.hashCode() + Objects.hashCode(section);
+        }
+    }
+}
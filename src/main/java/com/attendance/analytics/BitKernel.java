@@ -0,0 +1,33 @@
+package com.attendance.analytics;
+
+/**
+ * Counting and mask operations over attendance bitmaps.
+ * A bitmap is a long[] with one bit per student row, as stored by
+ * AttendanceMatrix. Implementations differ only in how they use the CPU;
+ * all of them return identical results. See BitKernels for the available
+ * implementations and how the default is chosen.
+ */
+public interface BitKernel {
+
+    /**
+     * Get a short name for logs and benchmark output.
+     * @return kernel name
+     */
+    String name();
+
+    /**
+     * Count set bits in a bitmap.
+     * @param bits the bitmap
+     * @return number of set bits
+     */
+    int popcount(long[] bits);
+
+    /**
+     * Narrow a bitmap to rows set in one bitmap and clear in another:
+     * target[w] &amp;= keep[w] &amp; ~clear[w] for every word.
+     * @param target bitmap updated in place
+     * @param keep rows that may stay set
+     * @param clear rows to clear
+     */
+    void andNotInto(long[] target, long[] keep, long[] clear);
+}
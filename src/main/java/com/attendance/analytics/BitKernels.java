@@ -0,0 +1,133 @@
+package com.attendance.analytics;
+
+/**
+ * Available BitKernel implementations.
+ * SCALAR relies on Long.bitCount, which HotSpot compiles to a single POPCNT
+ * instruction. SWAR counts with shifts and masks instead, for CPUs or
+ * runtimes without that intrinsic. The vector kernel uses the incubating
+ * JDK Vector API and only exists when the JVM was started with
+ * --add-modules jdk.incubator.vector; otherwise callers fall back to SCALAR.
+ * The default can be forced with -Dattendance.bit-kernel=scalar|swar|vector.
+ */
+public final class BitKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Word-at-a-time kernel using Long.bitCount.
+     */
+    public static final BitKernel SCALAR = new BitKernel() {
+        @Override
+        public String name() {
+            return "scalar";
+        }
+
+        @Override
+        public int popcount(long[] bits) {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        @Override
+        public void andNotInto(long[] target, long[] keep, long[] clear) {
+            for (int w = 0; w < target.length; w++) {
+                target[w] &= keep[w] & ~clear[w];
+            }
+        }
+    };
+
+    /**
+     * Word-at-a-time kernel counting bits with shift-and-mask arithmetic.
+     */
+    public static final BitKernel SWAR = new BitKernel() {
+        @Override
+        public String name() {
+            return "swar";
+        }
+
+        @Override
+        public int popcount(long[] bits) {
+            long count = 0;
+            for (long word : bits) {
+                count += swarBitCount(word);
+            }
+            return (int) count;
+        }
+
+        @Override
+        public void andNotInto(long[] target, long[] keep, long[] clear) {
+            SCALAR.andNotInto(target, keep, clear);
+        }
+    };
+
+    private static final BitKernel VECTOR = loadVectorKernel();
+    private static final BitKernel DEFAULT = chooseDefault(System.getProperty("attendance.bit-kernel"));
+
+    private BitKernels() {
+    }
+
+    /**
+     * Get the kernel used by AttendanceMatrix.
+     * @return the vector kernel when the Vector API is enabled, otherwise SCALAR,
+     *         unless overridden by the attendance.bit-kernel system property
+     */
+    public static BitKernel getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the Vector API kernel.
+     * @return the kernel, or null if jdk.incubator.vector is not enabled in this JVM
+     */
+    public static BitKernel vector() {
+        return VECTOR;
+    }
+
+    /**
+     * Count set bits in one word using SWAR (SIMD within a register) arithmetic.
+     * @param word the word
+     * @return number of set bits
+     */
+    static long swarBitCount(long word) {
+        word = word - ((word >>> 1) & 0x5555555555555555L);
+        word = (word & 0x3333333333333333L) + ((word >>> 2) & 0x3333333333333333L);
+        word = (word + (word >>> 4)) & 0x0F0F0F0F0F0F0F0FL;
+        return (word * 0x0101010101010101L) >>> 56;
+    }
+
+    private static BitKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return new VectorBitKernel();
+        } catch (LinkageError e) {
+            System.err.println("Vector API unavailable, using scalar bit counting: " + e);
+            return null;
+        }
+    }
+
+    private static BitKernel chooseDefault(String name) {
+        if (name != null) {
+            switch (name.trim().toLowerCase()) {
+                case "scalar":
+                    return SCALAR;
+                case "swar":
+                    return SWAR;
+                case "vector":
+                    if (VECTOR != null) {
+                        return VECTOR;
+                    }
+                    System.err.println("attendance.bit-kernel=vector needs --add-modules " + VECTOR_MODULE
+                            + "; using scalar bit counting");
+                    return SCALAR;
+                default:
+                    System.err.println("Unknown attendance.bit-kernel '" + name + "'; using the default");
+            }
+        }
+        return VECTOR != null ? VECTOR : SCALAR;
+    }
+}
@@ -0,0 +1,95 @@
+package com.attendance.analytics;
+
+/**
+ * Count-Min sketch of per-student event counts, e.g. absences.
+ * A fixed depth x width table of counters: each add increments one counter
+ * per row and an estimate is the smallest of the item's counters, so it
+ * never undercounts and overcounts by at most e/width of the total with
+ * probability 1 - e^-depth. Sketches of equal shape merge by addition.
+ * Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[] seeds;
+    private final int[] counters;
+    private long total;
+
+    /**
+     * Create an empty sketch.
+     * @param depth number of hash rows
+     * @param width counters per row, a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Count-Min width must be a power of two and depth positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = Hashing.mix(row + 1, 0x632BE59BD9B4E019L);
+        }
+        this.counters = new int[depth * width];
+    }
+
+    /**
+     * Count occurrences of an item.
+     * @param item the item, e.g. a student ID
+     * @param count occurrences to add
+     */
+    public void add(long item, int count) {
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(item, row)] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * Estimate how often an item was counted.
+     * @param item the item
+     * @return an upper bound on the item's true count, tight within errorBound()
+     */
+    public long estimate(long item) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + column(item, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Fold another sketch of the same shape into this one.
+     * @param other the sketch to merge
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge Count-Min sketches of different shape");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Get the total of all counts added.
+     * @return total count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Get how far an estimate may exceed the true count, with high probability.
+     * @return overestimate bound
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / width * total);
+    }
+
+    private int column(long item, int row) {
+        return (int) (Hashing.mix(item, seeds[row]) & (width - 1));
+    }
+}
@@ -0,0 +1,27 @@
+package com.attendance.analytics;
+
+/**
+ * 64-bit hash used by the sketches.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * Scramble a value with the MurmurHash3 64-bit finalizer.
+     * Student IDs are small sequential numbers; this spreads them over all 64 bits.
+     * @param value value to hash
+     * @param seed per-use seed, so independent hash rows differ
+     * @return well-mixed hash
+     */
+    static long mix(long value, long seed) {
+        long h = value ^ seed;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
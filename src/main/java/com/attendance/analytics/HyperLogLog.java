@@ -0,0 +1,88 @@
+package com.attendance.analytics;
+
+/**
+ * HyperLogLog distinct-count sketch over student IDs.
+ * Uses 2^precision one-byte registers whatever the number of items added;
+ * two sketches of the same precision merge by taking register maxima, so
+ * counts combine across days and sections without double counting.
+ * Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Create an empty sketch.
+     * @param precision log2 of the register count, 4 to 16
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Add an item.
+     * @param item the item, e.g. a student ID
+     */
+    public void add(long item) {
+        long hash = Hashing.mix(item, SEED);
+        int index = (int) (hash >>> (64 - precision));
+        // Rank of the first set bit in the remaining bits; the guard bit caps it
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Fold another sketch of the same precision into this one.
+     * @param other the sketch to merge
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimate the number of distinct items added.
+     * @return estimated cardinality
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Small-range correction: linear counting is more accurate while registers are sparse
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Get the standard error of estimates, as a fraction of the true count.
+     * @return relative standard error
+     */
+    public double relativeError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+}
@@ -0,0 +1,94 @@
+package com.attendance.analytics;
+
+/**
+ * Fixed-bin histogram for quantiles of a bounded value, such as an
+ * attendance percentage between 0 and 100. Memory is one counter per bin
+ * however many values are added, quantiles are accurate to half a bin,
+ * and histograms with the same bins merge by addition.
+ * Not thread-safe.
+ */
+public final class QuantileHistogram {
+
+    private final double min;
+    private final double max;
+    private final long[] bins;
+    private long count;
+
+    /**
+     * Create an empty histogram.
+     * @param min smallest expected value
+     * @param max largest expected value
+     * @param binCount number of equal-width bins
+     */
+    public QuantileHistogram(double min, double max, int binCount) {
+        if (!(max > min) || binCount < 1) {
+            throw new IllegalArgumentException("Histogram needs max > min and at least one bin");
+        }
+        this.min = min;
+        this.max = max;
+        this.bins = new long[binCount];
+    }
+
+    /**
+     * Add a value; values outside the range land in the first or last bin.
+     * @param value the value
+     */
+    public void add(double value) {
+        int bin = (int) ((value - min) / (max - min) * bins.length);
+        bins[Math.max(0, Math.min(bins.length - 1, bin))]++;
+        count++;
+    }
+
+    /**
+     * Fold another histogram with the same bins into this one.
+     * @param other the histogram to merge
+     */
+    public void merge(QuantileHistogram other) {
+        if (other.bins.length != bins.length || other.min != min || other.max != max) {
+            throw new IllegalArgumentException("Cannot merge histograms with different bins");
+        }
+        for (int i = 0; i < bins.length; i++) {
+            bins[i] += other.bins[i];
+        }
+        count += other.count;
+    }
+
+    /**
+     * Estimate a quantile.
+     * @param q quantile between 0 and 1
+     * @return midpoint of the bin holding the quantile, or NaN if empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen >= rank) {
+                return min + (i + 0.5) * (max - min) / bins.length;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get the number of values added.
+     * @return value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the width of one bin, twice the worst-case quantile error.
+     * @return bin width
+     */
+    public double binWidth() {
+        return (max - min) / bins.length;
+    }
+}
@@ -0,0 +1,98 @@
+package com.attendance.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter summary with a fixed number of counters.
+ * Tracks the items most likely to be frequent: any item whose true count
+ * exceeds total/capacity is guaranteed to be present. Counts are upper
+ * bounds; pair with a CountMinSketch for tighter estimates.
+ * Not thread-safe.
+ */
+public final class SpaceSaving {
+
+    private final int capacity;
+    // Item -> {count, overestimate}
+    private final Map<Long, long[]> counters;
+
+    /**
+     * Create an empty summary.
+     * @param capacity maximum number of tracked items
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Space-Saving capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Count occurrences of an item.
+     * @param item the item, e.g. a student ID
+     * @param count occurrences to add
+     */
+    public void offer(long item, long count) {
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0] += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new long[] {count, 0});
+            return;
+        }
+        // Evict the smallest counter; the newcomer inherits its count as possible overestimate
+        Map.Entry<Long, long[]> smallest = null;
+        for (Map.Entry<Long, long[]> entry : counters.entrySet()) {
+            if (smallest == null || entry.getValue()[0] < smallest.getValue()[0]) {
+                smallest = entry;
+            }
+        }
+        long floor = smallest.getValue()[0];
+        counters.remove(smallest.getKey());
+        counters.put(item, new long[] {floor + count, floor});
+    }
+
+    /**
+     * Fold another summary into this one, keeping the largest counters.
+     * @param other the summary to merge
+     */
+    public void merge(SpaceSaving other) {
+        for (Map.Entry<Long, long[]> entry : other.counters.entrySet()) {
+            long[] counter = counters.get(entry.getKey());
+            if (counter != null) {
+                counter[0] += entry.getValue()[0];
+                counter[1] += entry.getValue()[1];
+            } else {
+                counters.put(entry.getKey(), entry.getValue().clone());
+            }
+        }
+        if (counters.size() > capacity) {
+            List<Map.Entry<Long, long[]>> entries = new ArrayList<>(counters.entrySet());
+            entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+            for (Map.Entry<Long, long[]> dropped : entries.subList(capacity, entries.size())) {
+                counters.remove(dropped.getKey());
+            }
+        }
+    }
+
+    /**
+     * Get the tracked items, the heavy-hitter candidates.
+     * @return tracked items in no particular order
+     */
+    public long[] items() {
+        return counters.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Get the maximum number of tracked items.
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
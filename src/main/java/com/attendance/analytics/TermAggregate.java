@@ -0,0 +1,224 @@
+package com.attendance.analytics;
+
+import com.attendance.model.Student.AttendanceStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Mergeable partial aggregate over a set of attendance days.
+ * Per-student present/absent counts live in a primitive open-addressing
+ * table keyed by student id, and per-weekday totals in fixed arrays, so
+ * a partial costs a few arrays regardless of how many records it reduced.
+ * Not thread-safe: each fork-join task owns its partial until it is merged.
+ */
+public final class TermAggregate {
+
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys;
+    private int[] presentCounts;
+    private int[] absentCounts;
+    private int size;
+
+    private final long[] weekdayPresent = new long[7];
+    private final long[] weekdayRecorded = new long[7];
+    private int days;
+
+    /**
+     * Create an empty aggregate.
+     */
+    public TermAggregate() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Count a day as covered by this aggregate.
+     */
+    public void addDay() {
+        days++;
+    }
+
+    /**
+     * Add a single attendance record.
+     * @param date the day of the record
+     * @param studentId the student ID
+     * @param status the recorded status
+     */
+    public void add(LocalDate date, long studentId, AttendanceStatus status) {
+        int slot = slotFor(studentId);
+        int weekday = date.getDayOfWeek().ordinal();
+        weekdayRecorded[weekday]++;
+        if (status == AttendanceStatus.PRESENT) {
+            presentCounts[slot]++;
+            weekdayPresent[weekday]++;
+        } else {
+            absentCounts[slot]++;
+        }
+    }
+
+    /**
+     * Merge another partial into this one.
+     * @param other the partial to fold in
+     * @return this aggregate
+     */
+    public TermAggregate merge(TermAggregate other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY_KEY) {
+                int slot = slotFor(other.keys[i]);
+                presentCounts[slot] += other.presentCounts[i];
+                absentCounts[slot] += other.absentCounts[i];
+            }
+        }
+        for (int d = 0; d < 7; d++) {
+            weekdayPresent[d] += other.weekdayPresent[d];
+            weekdayRecorded[d] += other.weekdayRecorded[d];
+        }
+        days += other.days;
+        return this;
+    }
+
+    /**
+     * Get the number of days reduced into this aggregate.
+     * @return day count
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Get the number of distinct students seen.
+     * @return student count
+     */
+    public int getStudentCount() {
+        return size;
+    }
+
+    /**
+     * Get the seen student ids in ascending order.
+     * @return student ids
+     */
+    public long[] studentIds() {
+        long[] ids = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != EMPTY_KEY) {
+                ids[n++] = key;
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Get how many days a student was present.
+     * @param studentId the student ID
+     * @return present days, 0 if unseen
+     */
+    public int presentDays(long studentId) {
+        int slot = find(studentId);
+        return slot < 0 ? 0 : presentCounts[slot];
+    }
+
+    /**
+     * Get how many days a student was absent.
+     * @param studentId the student ID
+     * @return absent days, 0 if unseen
+     */
+    public int absentDays(long studentId) {
+        int slot = find(studentId);
+        return slot < 0 ? 0 : absentCounts[slot];
+    }
+
+    /**
+     * Get the total present records on a weekday.
+     * @param day the weekday
+     * @return present records
+     */
+    public long weekdayPresent(DayOfWeek day) {
+        return weekdayPresent[day.ordinal()];
+    }
+
+    /**
+     * Get the total records on a weekday.
+     * @param day the weekday
+     * @return recorded records
+     */
+    public long weekdayRecorded(DayOfWeek day) {
+        return weekdayRecorded[day.ordinal()];
+    }
+
+    /**
+     * Get the total present records across all days.
+     * @return present records
+     */
+    public long totalPresent() {
+        return Arrays.stream(weekdayPresent).sum();
+    }
+
+    /**
+     * Get the total records across all days.
+     * @return recorded records
+     */
+    public long totalRecorded() {
+        return Arrays.stream(weekdayRecorded).sum();
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotFor(long key) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldPresent = presentCounts;
+        int[] oldAbsent = absentCounts;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = slotFor(oldKeys[i]);
+                presentCounts[slot] = oldPresent[i];
+                absentCounts[slot] = oldAbsent[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        presentCounts = new int[capacity];
+        absentCounts = new int[capacity];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,86 @@
+package com.attendance.analytics;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * BitKernel on the incubating JDK Vector API.
+ * The JDK 17 API has no lane-wise bit count, so popcount runs the SWAR
+ * reduction in every lane at once. Lanes only go as far as per-byte counts
+ * (at most 8) and are summed into byte accumulators, which are widened to
+ * long totals every 31 vectors, before a byte could overflow.
+ * Only loaded by BitKernels when jdk.incubator.vector is in the boot layer.
+ */
+final class VectorBitKernel implements BitKernel {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int BYTE_ACCUMULATE_LIMIT = 31;
+
+    private static final long M1 = 0x5555555555555555L;
+    private static final long M2 = 0x3333333333333333L;
+    private static final long M4 = 0x0F0F0F0F0F0F0F0FL;
+    private static final long M8 = 0x00FF00FF00FF00FFL;
+    private static final long M16 = 0x0000FFFF0000FFFFL;
+    private static final long M32 = 0x00000000FFFFFFFFL;
+
+    @Override
+    public String name() {
+        return "vector (" + SPECIES.vectorBitSize() + "-bit)";
+    }
+
+    @Override
+    public int popcount(long[] bits) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(bits.length);
+        LongVector total = LongVector.zero(SPECIES);
+        int w = 0;
+        while (w < bound) {
+            int batchEnd = Math.min(bound, w + BYTE_ACCUMULATE_LIMIT * lanes);
+            LongVector bytes = LongVector.zero(SPECIES);
+            for (; w < batchEnd; w += lanes) {
+                bytes = bytes.add(byteCounts(LongVector.fromArray(SPECIES, bits, w)));
+            }
+            total = total.add(widenBytes(bytes));
+        }
+        long count = total.reduceLanes(VectorOperators.ADD);
+        for (; w < bits.length; w++) {
+            count += Long.bitCount(bits[w]);
+        }
+        return (int) count;
+    }
+
+    @Override
+    public void andNotInto(long[] target, long[] keep, long[] clear) {
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(target.length);
+        int w = 0;
+        for (; w < bound; w += lanes) {
+            LongVector.fromArray(SPECIES, target, w)
+                    .and(LongVector.fromArray(SPECIES, keep, w))
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, clear, w))
+                    .intoArray(target, w);
+        }
+        for (; w < target.length; w++) {
+            target[w] &= keep[w] & ~clear[w];
+        }
+    }
+
+    /**
+     * Reduce each lane to per-byte bit counts.
+     */
+    private static LongVector byteCounts(LongVector v) {
+        v = v.sub(v.lanewise(VectorOperators.LSHR, 1).and(M1));
+        v = v.and(M2).add(v.lanewise(VectorOperators.LSHR, 2).and(M2));
+        return v.add(v.lanewise(VectorOperators.LSHR, 4)).and(M4);
+    }
+
+    /**
+     * Sum the eight byte counters of each lane into the whole lane.
+     */
+    private static LongVector widenBytes(LongVector v) {
+        v = v.and(M8).add(v.lanewise(VectorOperators.LSHR, 8).and(M8));
+        v = v.and(M16).add(v.lanewise(VectorOperators.LSHR, 16).and(M16));
+        return v.and(M32).add(v.lanewise(VectorOperators.LSHR, 32).and(M32));
+    }
+}
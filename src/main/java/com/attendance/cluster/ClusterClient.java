@@ -0,0 +1,147 @@
+package com.attendance.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP client for node-to-node calls.
+ * Every call carries the forwarded marker header so the receiving node serves
+ * it locally instead of routing it again.
+ */
+@Component
+public class ClusterClient {
+
+    /** Header marking a request that was already routed by a peer. */
+    public static final String FORWARDED_HEADER = "X-Attendance-Forwarded";
+
+    // Request headers passed to the target node, and response headers passed back
+    private static final List<String> RELAYED_REQUEST_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> RELAYED_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL);
+
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    /**
+     * Constructor with dependency injection.
+     * @param timeoutMillis connect and response timeout for peer calls
+     */
+    public ClusterClient(@Value("${attendance.cluster.timeout-ms:5000}") long timeoutMillis) {
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Send a request to a node and wait for the response.
+     * @param node the node's base URL
+     * @param method HTTP method
+     * @param pathAndQuery request path including any query string
+     * @param headers request headers to pass on
+     * @param body request body, or null
+     * @return the response with its body as bytes
+     * @throws IOException if the node cannot be reached
+     */
+    public HttpResponse<byte[]> send(String node, String method, String pathAndQuery,
+                                     Map<String, String> headers, byte[] body) throws IOException {
+        try {
+            return httpClient.send(buildRequest(node, method, pathAndQuery, headers, body),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted calling " + node, e);
+        }
+    }
+
+    /**
+     * Send a request to a node without blocking.
+     * @param node the node's base URL
+     * @param method HTTP method
+     * @param pathAndQuery request path including any query string
+     * @param headers request headers to pass on
+     * @param body request body, or null
+     * @return future completing with the response
+     */
+    public CompletableFuture<HttpResponse<byte[]>> sendAsync(String node, String method, String pathAndQuery,
+                                                             Map<String, String> headers, byte[] body) {
+        return httpClient.sendAsync(buildRequest(node, method, pathAndQuery, headers, body),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Replay an incoming request on another node and copy its response back.
+     * @param node the target node's base URL
+     * @param request the incoming request
+     * @param body the request body already read from it, or null
+     * @param response the response to fill in
+     * @throws IOException if the node cannot be reached
+     */
+    public void relay(String node, HttpServletRequest request, byte[] body, HttpServletResponse response)
+            throws IOException {
+        copyResponse(forward(node, request, body), response);
+    }
+
+    /**
+     * Replay an incoming request on another node.
+     * @param node the target node's base URL
+     * @param request the incoming request
+     * @param body the request body already read from it, or null
+     * @return the node's response
+     * @throws IOException if the node cannot be reached
+     */
+    public HttpResponse<byte[]> forward(String node, HttpServletRequest request, byte[] body) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        for (String header : RELAYED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                headers.put(header, value);
+            }
+        }
+        String query = request.getQueryString();
+        String pathAndQuery = request.getRequestURI() + (query != null ? "?" + query : "");
+        return send(node, request.getMethod(), pathAndQuery, headers, body);
+    }
+
+    /**
+     * Copy a peer's response to the client.
+     * @param relayed the peer's response
+     * @param response the response to fill in
+     * @throws IOException if writing the body fails
+     */
+    public void copyResponse(HttpResponse<byte[]> relayed, HttpServletResponse response) throws IOException {
+        response.setStatus(relayed.statusCode());
+        for (String header : RELAYED_RESPONSE_HEADERS) {
+            relayed.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        response.getOutputStream().write(relayed.body());
+    }
+
+    private HttpRequest buildRequest(String node, String method, String pathAndQuery,
+                                     Map<String, String> headers, byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, "1")
+                .method(method, body != null && body.length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.attendance.cluster;
+
+import com.attendance.model.Student;
+import com.attendance.storage.InMemoryStudentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This node's view of the sharded deployment.
+ * Sections are the shard key: a section's roster and day files live on the
+ * node the hash ring assigns it to, and unsectioned students are treated as
+ * one more shard. With no nodes configured the app runs standalone and every
+ * request is served locally.
+ */
+@Component
+public class ClusterMembership {
+
+    /** Shard key used for students without a section. */
+    public static final String UNSECTIONED_KEY = "";
+    // Each node hands out new student IDs from its own block so IDs stay unique cluster-wide
+    static final long ID_BLOCK = 1_000_000_000L;
+
+    private final String self;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * Constructor with dependency injection.
+     * @param self this node's base URL; defaults to http://localhost:{server.port}
+     * @param nodes comma-separated base URLs of all nodes, empty for standalone
+     * @param virtualNodes ring points per node
+     * @param port the HTTP port, used for the default self URL
+     * @param studentStore the student storage component
+     */
+    public ClusterMembership(@Value("${attendance.cluster.self:}") String self,
+                             @Value("${attendance.cluster.nodes:}") String nodes,
+                             @Value("${attendance.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${server.port:8080}") int port,
+                             InMemoryStudentStore studentStore) {
+        this.self = normalizeUrl(self.isBlank() ? "http://localhost:" + port : self);
+        this.virtualNodes = virtualNodes;
+
+        List<String> members = Arrays.stream(nodes.split(","))
+                .filter(node -> !node.isBlank())
+                .map(ClusterMembership::normalizeUrl)
+                .distinct()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (!members.isEmpty() && !members.contains(this.self)) {
+            members.add(this.self);
+        }
+        this.ring = new ConsistentHashRing(members, virtualNodes);
+
+        int index = members.indexOf(this.self);
+        if (index > 0) {
+            studentStore.ensureNextIdAtLeast(index * ID_BLOCK + 1);
+        }
+        if (isEnabled()) {
+            System.out.println("Cluster node " + this.self + " (" + members.size() + " nodes, index " + index + ")");
+        }
+    }
+
+    /**
+     * Check whether requests are sharded across nodes.
+     * @return true if more than one node is on the ring
+     */
+    public boolean isEnabled() {
+        return ring.getNodes().size() > 1;
+    }
+
+    /**
+     * Get this node's base URL.
+     * @return base URL without a trailing slash
+     */
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * Get all nodes on the ring.
+     * @return base URLs in join order
+     */
+    public List<String> getNodes() {
+        List<String> nodes = ring.getNodes();
+        return nodes.isEmpty() ? List.of(self) : nodes;
+    }
+
+    /**
+     * Find the node owning a section.
+     * @param section the section, or null for unsectioned students
+     * @return owning node's base URL
+     */
+    public String ownerOf(String section) {
+        String normalized = Student.normalizeSection(section);
+        String owner = ring.ownerOf(normalized != null ? normalized : UNSECTIONED_KEY);
+        return owner != null ? owner : self;
+    }
+
+    /**
+     * Check whether this node owns a section.
+     * @param section the section, or null for unsectioned students
+     * @return true if the section is served here
+     */
+    public boolean isLocal(String section) {
+        return self.equals(ownerOf(section));
+    }
+
+    /**
+     * Add a node to the ring.
+     * @param node the new node's base URL
+     * @return true if the membership changed
+     */
+    public synchronized boolean addNode(String node) {
+        ConsistentHashRing grown = ring.withNode(normalizeUrl(node));
+        if (grown == ring) {
+            return false;
+        }
+        if (ring.getNodes().isEmpty()) {
+            grown = new ConsistentHashRing(List.of(self), virtualNodes).withNode(normalizeUrl(node));
+        }
+        ring = grown;
+        return true;
+    }
+
+    /**
+     * Replace the membership with a list received from a peer.
+     * @param nodes base URLs of all nodes in join order
+     * @return true if the membership changed
+     */
+    public synchronized boolean setNodes(List<String> nodes) {
+        List<String> members = nodes.stream()
+                .map(ClusterMembership::normalizeUrl)
+                .distinct()
+                .collect(Collectors.toList());
+        if (members.equals(ring.getNodes())) {
+            return false;
+        }
+        ring = new ConsistentHashRing(members, virtualNodes);
+        return true;
+    }
+
+    private static String normalizeUrl(String url) {
+        String trimmed = url.trim();
+        if (!trimmed.startsWith("http://") && !trimmed.startsWith("https://")) {
+            throw new IllegalArgumentException("Node URL must start with http:// or https://: " + trimmed);
+        }
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
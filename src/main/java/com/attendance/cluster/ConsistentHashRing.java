@@ -0,0 +1,100 @@
+package com.attendance.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping shard keys to node URLs.
+ * Each node is placed at several virtual points so keys spread evenly, and
+ * adding a node only moves the keys that land on its new points; every
+ * other key keeps its owner.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final NavigableMap<Long, String> points;
+    private final int virtualNodes;
+
+    /**
+     * Build a ring over the given nodes.
+     * @param nodes node base URLs in join order
+     * @param virtualNodes points per node
+     */
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        this.virtualNodes = virtualNodes;
+        this.points = new TreeMap<>();
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * Get a ring with one more node; this ring is left unchanged.
+     * @param node the node base URL to add
+     * @return the new ring, or this ring if the node is already present
+     */
+    public ConsistentHashRing withNode(String node) {
+        if (nodes.contains(node)) {
+            return this;
+        }
+        List<String> grown = new ArrayList<>(nodes);
+        grown.add(node);
+        return new ConsistentHashRing(grown, virtualNodes);
+    }
+
+    /**
+     * Find the node owning a key: the first point at or after its hash.
+     * @param key the shard key
+     * @return owning node, or null if the ring is empty
+     */
+    public String ownerOf(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = points.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : points.firstEntry().getValue();
+    }
+
+    /**
+     * Get the nodes in join order.
+     * @return node base URLs
+     */
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Get the number of virtual points per node.
+     * @return virtual node count
+     */
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    private static long hash(String key) {
+        // MD5 is only used for its spread here; the first 8 bytes form the ring position
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
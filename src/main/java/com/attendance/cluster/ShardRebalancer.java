@@ -0,0 +1,143 @@
+package com.attendance.cluster;
+
+import com.attendance.dto.SectionHandoffDTO;
+import com.attendance.service.AttendanceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves sections to their new owners after the ring changes.
+ * The ring is switched first, so new requests for a moving section already go
+ * to its new owner; the old owner then pushes the section's roster and day
+ * files over and deletes its copy once the new owner has stored them.
+ */
+@Component
+public class ShardRebalancer {
+
+    private static final Map<String, String> JSON_HEADERS = Map.of("Content-Type", "application/json");
+
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final AttendanceService attendanceService;
+    private final ObjectMapper objectMapper;
+    // One pass at a time; a pass always works from the latest ring
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor with dependency injection.
+     * @param membership this node's view of the ring
+     * @param client HTTP client for peer calls
+     * @param attendanceService the attendance service
+     * @param objectMapper JSON mapper for handoff payloads
+     */
+    public ShardRebalancer(ClusterMembership membership, ClusterClient client,
+                           AttendanceService attendanceService, ObjectMapper objectMapper) {
+        this.membership = membership;
+        this.client = client;
+        this.attendanceService = attendanceService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stop the rebalancing worker.
+     */
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Send the current membership to every other node.
+     */
+    public void propagateMembership() {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(membership.getNodes());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize membership", e);
+        }
+        for (String node : membership.getNodes()) {
+            if (node.equals(membership.getSelf())) {
+                continue;
+            }
+            try {
+                HttpResponse<byte[]> response = client.send(node, "PUT", "/api/cluster/nodes", JSON_HEADERS, body);
+                if (response.statusCode() >= 300) {
+                    System.err.println("Node " + node + " rejected membership update: HTTP " + response.statusCode());
+                }
+            } catch (IOException e) {
+                System.err.println("Could not reach " + node + " with membership update: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queue a rebalancing pass on the worker thread.
+     */
+    public void scheduleRebalance() {
+        worker.execute(this::rebalance);
+    }
+
+    /**
+     * Hand every locally held section that this node no longer owns to its owner.
+     * @return number of sections moved
+     */
+    public int rebalance() {
+        List<String> partitions = new ArrayList<>();
+        partitions.add(null);
+        partitions.addAll(attendanceService.getSections());
+
+        int moved = 0;
+        for (String section : partitions) {
+            String owner = membership.ownerOf(section);
+            if (owner.equals(membership.getSelf())) {
+                continue;
+            }
+            SectionHandoffDTO handoff = attendanceService.exportSection(section);
+            if (handoff.getStudents().isEmpty() && handoff.getDays().isEmpty()) {
+                continue;
+            }
+            if (handOff(owner, handoff)) {
+                attendanceService.dropSection(section);
+                moved++;
+            }
+        }
+        if (moved > 0) {
+            System.out.println("Rebalance moved " + moved + " sections off " + membership.getSelf());
+        }
+        return moved;
+    }
+
+    private boolean handOff(String owner, SectionHandoffDTO handoff) {
+        String label = handoff.getSection() != null ? handoff.getSection() : "(unsectioned)";
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(handoff);
+            HttpResponse<byte[]> response = client.send(owner, "POST", "/api/cluster/handoff", JSON_HEADERS, body);
+            if (response.statusCode() >= 300) {
+                System.err.println("Handoff of section " + label + " to " + owner + " failed: HTTP " + response.statusCode());
+                return false;
+            }
+            System.out.println("Handed section " + label + " to " + owner + " (" + handoff.getStudents().size()
+                    + " students, " + handoff.getDays().size() + " days)");
+            return true;
+        } catch (IOException e) {
+            // Keep the local copy; the next pass retries
+            System.err.println("Handoff of section " + label + " to " + owner + " failed: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,651 @@
+package com.attendance.cluster;
+
+import com.attendance.dto.BulkImportResultDTO;
+import com.attendance.dto.ImportRowErrorDTO;
+import com.attendance.service.RosterImportService;
+import com.attendance.storage.InMemoryStudentStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Routing layer in front of AttendanceController for a sharded deployment.
+ * Requests naming a section (query parameter or JSON body) are forwarded to
+ * the node owning that section. School-wide reads are scattered to every node
+ * in parallel and the partial results merged: student lists are concatenated,
+ * section lists unioned, and report, term, daily-rate, rollup and
+ * distinct-count totals summed. Check-ins and student deletes name only a
+ * student, so they go to the node whose roster holds that student. A roster
+ * import is split by the section of each row. Anything else, including
+ * approximate rate quantiles over the whole school (a quantile sketch cannot
+ * be rebuilt from its quantiles), is served by the node that received it.
+ * Requests from peers carry a marker header and are always served locally,
+ * so a request is routed at most once.
+ */
+@Component
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String CLUSTER_PREFIX = "/api/cluster";
+    private static final String REPORT_PATH = "/api/attendance/report";
+    private static final String SECTIONS_PATH = "/api/sections";
+    private static final String SAVE_PATH = "/api/attendance/save";
+    private static final String ADD_STUDENT_PATH = "/api/students";
+    private static final String MARK_PATH = "/api/attendance/mark";
+    private static final String STUDENT_PREFIX = "/api/students/";
+    private static final String IMPORT_PATH = "/api/students/import";
+    private static final String TERM_PATH = "/api/attendance/term";
+    private static final String DAILY_RATES_PATH = "/api/analytics/daily-rates";
+    private static final String ROLLUP_PATH = "/api/analytics/rollup";
+    private static final String DISTINCT_STUDENTS_PATH = "/api/analytics/approx/distinct-students";
+    private static final String TOP_ABSENT_PATH = "/api/analytics/approx/top-absent";
+
+    // GETs that read one section when given ?section=
+    private static final Set<String> SECTION_READS = Set.of(
+            "/api/students", "/api/attendance/daily", REPORT_PATH, DISTINCT_STUDENTS_PATH, TOP_ABSENT_PATH,
+            "/api/analytics/approx/rate-quantiles");
+    // GETs returning per-student lists; partials from each node are disjoint
+    private static final Map<String, Comparator<JsonNode>> LIST_READS = Map.of(
+            "/api/students", byId(),
+            "/api/attendance/daily", byId(),
+            "/api/students/search", byId(),
+            "/api/analytics/absent-on-all", byId(),
+            "/api/analytics/chronic-absentees", Comparator.<JsonNode>comparingDouble(
+                    node -> -node.path("absenceRate").asDouble()).thenComparing(byId()));
+
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final ObjectMapper objectMapper;
+    private final InMemoryStudentStore studentStore;
+    private final RosterImportService rosterImportService;
+
+    /**
+     * Constructor with dependency injection.
+     * @param membership this node's view of the ring
+     * @param client HTTP client for peer calls
+     * @param objectMapper JSON mapper for bodies and merged results
+     * @param studentStore this node's roster, to tell whether a student is served here
+     * @param rosterImportService roster parser, to find the section of each imported row
+     */
+    public ShardRoutingFilter(ClusterMembership membership, ClusterClient client, ObjectMapper objectMapper,
+                              InMemoryStudentStore studentStore, RosterImportService rosterImportService) {
+        this.membership = membership;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.studentStore = studentStore;
+        this.rosterImportService = rosterImportService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !membership.isEnabled()
+                || request.getHeader(ClusterClient.FORWARDED_HEADER) != null
+                || !path.startsWith(API_PREFIX)
+                || path.startsWith(CLUSTER_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+
+        if ("GET".equals(method)) {
+            String section = request.getParameter("section");
+            if (section != null && !section.isBlank() && SECTION_READS.contains(path)) {
+                routeToOwner(section, null, request, response, chain);
+            } else if (LIST_READS.containsKey(path)) {
+                gather(request, response, partials -> mergeLists(partials, LIST_READS.get(path)));
+            } else if (SECTIONS_PATH.equals(path)) {
+                gather(request, response, this::mergeSections);
+            } else if (REPORT_PATH.equals(path)) {
+                gather(request, response, this::mergeReports);
+            } else if (TERM_PATH.equals(path)) {
+                gather(request, response, this::mergeTerms);
+            } else if (DAILY_RATES_PATH.equals(path)) {
+                gather(request, response, this::mergeDailyRates);
+            } else if (ROLLUP_PATH.equals(path)) {
+                gather(request, response, this::mergeRollups);
+            } else if (DISTINCT_STUDENTS_PATH.equals(path)) {
+                gather(request, response, this::mergeDistinctCounts);
+            } else if (TOP_ABSENT_PATH.equals(path)) {
+                int k = parseLimit(request.getParameter("k"));
+                gather(request, response, partials -> mergeTopAbsentees(partials, k));
+            } else {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+
+        if ("POST".equals(method) && (ADD_STUDENT_PATH.equals(path) || SAVE_PATH.equals(path))) {
+            byte[] body = request.getInputStream().readAllBytes();
+            String section = readSection(body);
+            if (SAVE_PATH.equals(path) && section == null) {
+                // Entries could span shards; the client must save one section at a time
+                writeError(response, HttpStatus.BAD_REQUEST, "Bad Request",
+                        "Select a section before saving attendance in a sharded deployment");
+                return;
+            }
+            routeToOwner(section, body, new CachedBodyRequest(request, body), response, chain);
+            return;
+        }
+
+        if ("POST".equals(method) && MARK_PATH.equals(path)) {
+            byte[] body = request.getInputStream().readAllBytes();
+            routeToStudentOwner(readStudentId(body), body, new CachedBodyRequest(request, body), response, chain);
+            return;
+        }
+
+        if ("POST".equals(method) && IMPORT_PATH.equals(path)) {
+            splitImport(request, response, chain);
+            return;
+        }
+
+        if ("DELETE".equals(method) && path.startsWith(STUDENT_PREFIX)) {
+            routeToStudentOwner(parseId(path.substring(STUDENT_PREFIX.length())), null, request, response, chain);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private void routeToOwner(String section, byte[] body, HttpServletRequest request,
+                              HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String owner;
+        try {
+            owner = membership.ownerOf(section);
+        } catch (IllegalArgumentException e) {
+            // Invalid section name: let the controller reject it with the usual message
+            chain.doFilter(request, response);
+            return;
+        }
+        if (owner.equals(membership.getSelf())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            client.relay(owner, request, body, response);
+        } catch (IOException e) {
+            writeError(response, HttpStatus.BAD_GATEWAY, "Bad Gateway", "Node " + owner + " is unavailable");
+        }
+    }
+
+    /**
+     * Serve a request about one student on the node whose roster holds them.
+     * Student IDs do not encode their section, and sections move between
+     * nodes, so a student missing here is looked for on each peer in turn;
+     * a peer without the student answers 404 and changes nothing. If no node
+     * has the student, the local controller reports it as usual.
+     */
+    private void routeToStudentOwner(Long studentId, byte[] body, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (studentId == null || studentStore.findById(studentId).isPresent()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String unavailable = null;
+        for (String node : membership.getNodes()) {
+            if (node.equals(membership.getSelf())) {
+                continue;
+            }
+            HttpResponse<byte[]> relayed;
+            try {
+                relayed = client.forward(node, request, body);
+            } catch (IOException e) {
+                unavailable = node;
+                continue;
+            }
+            if (relayed.statusCode() != HttpStatus.NOT_FOUND.value()) {
+                client.copyResponse(relayed, response);
+                return;
+            }
+        }
+        if (unavailable != null) {
+            // The student may live on the node that did not answer
+            writeError(response, HttpStatus.BAD_GATEWAY, "Bad Gateway", "Node " + unavailable + " is unavailable");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Import each roster row on the node owning its section, and merge the
+     * per-node reports. The roster is held in memory while it is split. Row
+     * numbers in the merged errors are those of the original body. Rows whose
+     * section is invalid stay here to be rejected with the usual message.
+     */
+    private void splitImport(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        String contentType = request.getContentType() != null ? request.getContentType() : "";
+        RosterImportService.Format format = contentType.contains("ndjson")
+                ? RosterImportService.Format.NDJSON
+                : RosterImportService.Format.CSV;
+        boolean csv = format == RosterImportService.Format.CSV;
+
+        Map<String, StringBuilder> parts = new LinkedHashMap<>();
+        Map<String, List<Long>> rowNumbers = new HashMap<>();
+        long lineNumber = 0;
+        for (String line : new String(body, StandardCharsets.UTF_8).lines().toList()) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && csv && RosterImportService.isCsvHeader(line))) {
+                continue;
+            }
+            String owner;
+            try {
+                owner = membership.ownerOf(rosterImportService.sectionOf(line, format));
+            } catch (IllegalArgumentException e) {
+                owner = membership.getSelf();
+            }
+            // A header keeps a first row that looks like one from being skipped
+            StringBuilder part = parts.computeIfAbsent(owner, node -> new StringBuilder(csv ? "name\n" : ""));
+            part.append(line).append('\n');
+            rowNumbers.computeIfAbsent(owner, node -> new ArrayList<>()).add(lineNumber);
+        }
+        if (parts.isEmpty()) {
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        Map<String, String> headers = Map.of(HttpHeaders.CONTENT_TYPE, contentType,
+                HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> calls = new LinkedHashMap<>();
+        for (Map.Entry<String, StringBuilder> part : parts.entrySet()) {
+            calls.put(part.getKey(), client.sendAsync(part.getKey(), "POST", IMPORT_PATH, headers,
+                    part.getValue().toString().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        long rows = 0;
+        long imported = 0;
+        long failed = 0;
+        Long firstId = null;
+        Long lastId = null;
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<HttpResponse<byte[]>>> call : calls.entrySet()) {
+            HttpResponse<byte[]> partial;
+            try {
+                partial = call.getValue().join();
+            } catch (CompletionException e) {
+                // The other nodes may have imported their rows already
+                writeError(response, HttpStatus.BAD_GATEWAY, "Bad Gateway", "Node " + call.getKey() + " is unavailable");
+                return;
+            }
+            if (partial.statusCode() != HttpStatus.OK.value()) {
+                client.copyResponse(partial, response);
+                return;
+            }
+            BulkImportResultDTO result = objectMapper.readValue(partial.body(), BulkImportResultDTO.class);
+            rows += result.getTotalRows();
+            imported += result.getImported();
+            failed += result.getFailed();
+            if (result.getFirstId() != null) {
+                firstId = firstId == null ? result.getFirstId() : Math.min(firstId, result.getFirstId());
+                lastId = lastId == null ? result.getLastId() : Math.max(lastId, result.getLastId());
+            }
+            // Each part's rows follow its own header line, if any
+            List<Long> original = rowNumbers.get(call.getKey());
+            int firstRow = csv ? 2 : 1;
+            for (ImportRowErrorDTO error : result.getErrors()) {
+                errors.add(new ImportRowErrorDTO(original.get((int) error.getRow() - firstRow), error.getMessage()));
+            }
+        }
+        errors.sort(Comparator.comparingLong(ImportRowErrorDTO::getRow));
+        if (errors.size() > RosterImportService.MAX_REPORTED_ERRORS) {
+            errors = new ArrayList<>(errors.subList(0, RosterImportService.MAX_REPORTED_ERRORS));
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new BulkImportResultDTO(rows, imported, failed,
+                firstId, lastId, failed > errors.size(), errors));
+    }
+
+    /**
+     * Send the request to every node in parallel and merge the JSON bodies.
+     */
+    private void gather(HttpServletRequest request, HttpServletResponse response, Merger merger) throws IOException {
+        String target = pathAndQuery(request);
+        Map<String, String> headers = Map.of(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> calls = new LinkedHashMap<>();
+        for (String node : membership.getNodes()) {
+            calls.put(node, client.sendAsync(node, "GET", target, headers, null));
+        }
+
+        List<JsonNode> partials = new ArrayList<>(calls.size());
+        for (Map.Entry<String, CompletableFuture<HttpResponse<byte[]>>> call : calls.entrySet()) {
+            HttpResponse<byte[]> partial;
+            try {
+                partial = call.getValue().join();
+            } catch (CompletionException e) {
+                writeError(response, HttpStatus.BAD_GATEWAY, "Bad Gateway", "Node " + call.getKey() + " is unavailable");
+                return;
+            }
+            if (partial.statusCode() != HttpStatus.OK.value()) {
+                // Same request on every node, so one node's error (e.g. a bad date) is everyone's
+                response.setStatus(partial.statusCode());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getOutputStream().write(partial.body());
+                return;
+            }
+            partials.add(objectMapper.readTree(partial.body()));
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        objectMapper.writeValue(response.getOutputStream(), merger.merge(partials));
+    }
+
+    private JsonNode mergeLists(List<JsonNode> partials, Comparator<JsonNode> order) {
+        List<JsonNode> items = new ArrayList<>();
+        for (JsonNode partial : partials) {
+            partial.forEach(items::add);
+        }
+        items.sort(order);
+        ArrayNode merged = objectMapper.createArrayNode();
+        merged.addAll(items);
+        return merged;
+    }
+
+    private JsonNode mergeSections(List<JsonNode> partials) {
+        Set<String> sections = new TreeSet<>();
+        for (JsonNode partial : partials) {
+            partial.forEach(section -> sections.add(section.asText()));
+        }
+        ArrayNode merged = objectMapper.createArrayNode();
+        sections.forEach(merged::add);
+        return merged;
+    }
+
+    private JsonNode mergeReports(List<JsonNode> partials) {
+        long total = 0;
+        long present = 0;
+        long absent = 0;
+        List<JsonNode> students = new ArrayList<>();
+        for (JsonNode partial : partials) {
+            total += partial.path("totalStudents").asLong();
+            present += partial.path("presentCount").asLong();
+            absent += partial.path("absentCount").asLong();
+            partial.path("students").forEach(students::add);
+        }
+        students.sort(byId());
+
+        ObjectNode merged = objectMapper.createObjectNode();
+        merged.put("totalStudents", total);
+        merged.put("presentCount", present);
+        merged.put("absentCount", absent);
+        merged.put("attendanceRate", total > 0 ? (present * 100.0 / total) : 0.0);
+        merged.putArray("students").addAll(students);
+        return merged;
+    }
+
+    private JsonNode mergeTerms(List<JsonNode> partials) {
+        int days = 0;
+        long recorded = 0;
+        long present = 0;
+        Map<String, long[]> weekdays = new LinkedHashMap<>();
+        List<JsonNode> students = new ArrayList<>();
+        for (JsonNode partial : partials) {
+            // Days recorded on only some nodes cannot be told apart from the counts alone
+            days = Math.max(days, partial.path("days").asInt());
+            recorded += partial.path("totalRecorded").asLong();
+            present += partial.path("totalPresent").asLong();
+            // Each node's weekday rate, weighted by its records on that weekday
+            partial.path("weekdayRecorded").fields().forEachRemaining(weekday -> {
+                long dayRecorded = weekday.getValue().asLong();
+                long dayPresent = Math.round(partial.path("weekdayRates").path(weekday.getKey()).asDouble()
+                        * dayRecorded / 100);
+                long[] totals = weekdays.computeIfAbsent(weekday.getKey(), key -> new long[2]);
+                totals[0] += dayRecorded;
+                totals[1] += dayPresent;
+            });
+            partial.path("students").forEach(students::add);
+        }
+        students.sort(byId());
+
+        JsonNode first = partials.get(0);
+        ObjectNode merged = objectMapper.createObjectNode();
+        merged.set("from", first.path("from"));
+        merged.set("to", first.path("to"));
+        merged.put("days", days);
+        merged.put("totalRecorded", recorded);
+        merged.put("totalPresent", present);
+        merged.put("attendanceRate", recorded > 0 ? (present * 100.0 / recorded) : 0.0);
+        ObjectNode rates = merged.putObject("weekdayRates");
+        ObjectNode counts = merged.putObject("weekdayRecorded");
+        weekdays.forEach((weekday, totals) -> {
+            rates.put(weekday, totals[1] * 100.0 / totals[0]);
+            counts.put(weekday, totals[0]);
+        });
+        merged.putArray("students").addAll(students);
+        return merged;
+    }
+
+    private JsonNode mergeDailyRates(List<JsonNode> partials) {
+        Map<String, long[]> days = new TreeMap<>();
+        for (JsonNode partial : partials) {
+            for (JsonNode day : partial) {
+                long[] totals = days.computeIfAbsent(day.path("date").asText(), key -> new long[2]);
+                totals[0] += day.path("recordedCount").asLong();
+                totals[1] += day.path("presentCount").asLong();
+            }
+        }
+        ArrayNode merged = objectMapper.createArrayNode();
+        days.forEach((date, totals) -> {
+            ObjectNode day = merged.addObject();
+            day.put("date", date);
+            day.put("recordedCount", totals[0]);
+            day.put("presentCount", totals[1]);
+            day.put("absentCount", totals[0] - totals[1]);
+            day.put("attendanceRate", totals[0] > 0 ? (totals[1] * 100.0 / totals[0]) : 0.0);
+        });
+        return merged;
+    }
+
+    private JsonNode mergeRollups(List<JsonNode> partials) {
+        int days = 0;
+        long recorded = 0;
+        long present = 0;
+        List<JsonNode> students = new ArrayList<>();
+        for (JsonNode partial : partials) {
+            days = Math.max(days, partial.path("days").asInt());
+            recorded += partial.path("recordedCount").asLong();
+            present += partial.path("presentCount").asLong();
+            partial.path("students").forEach(students::add);
+        }
+        students.sort(byId());
+
+        JsonNode first = partials.get(0);
+        ObjectNode merged = objectMapper.createObjectNode();
+        merged.set("period", first.path("period"));
+        merged.set("start", first.path("start"));
+        merged.set("end", first.path("end"));
+        merged.put("days", days);
+        merged.put("recordedCount", recorded);
+        merged.put("presentCount", present);
+        merged.put("absentCount", recorded - present);
+        merged.put("attendanceRate", recorded > 0 ? (present * 100.0 / recorded) : 0.0);
+        merged.putArray("students").addAll(students);
+        return merged;
+    }
+
+    private JsonNode mergeDistinctCounts(List<JsonNode> partials) {
+        // Nodes hold disjoint students, so the estimates add up, no less accurate than the worst of them
+        long estimate = 0;
+        double relativeError = 0;
+        for (JsonNode partial : partials) {
+            estimate += partial.path("estimate").asLong();
+            relativeError = Math.max(relativeError, partial.path("relativeError").asDouble());
+        }
+        JsonNode first = partials.get(0);
+        ObjectNode merged = objectMapper.createObjectNode();
+        merged.set("from", first.path("from"));
+        merged.set("to", first.path("to"));
+        merged.put("estimate", estimate);
+        merged.put("relativeError", relativeError);
+        return merged;
+    }
+
+    private JsonNode mergeTopAbsentees(List<JsonNode> partials, int k) {
+        List<JsonNode> items = new ArrayList<>();
+        for (JsonNode partial : partials) {
+            partial.forEach(items::add);
+        }
+        items.sort(Comparator.<JsonNode>comparingLong(node -> -node.path("estimatedAbsentDays").asLong())
+                .thenComparing(byId())
+                .thenComparing(node -> node.path("name").isNull()));
+        // Unsectioned days written before sharding may be counted on more than one node
+        Set<Long> seen = new HashSet<>();
+        ArrayNode merged = objectMapper.createArrayNode();
+        for (JsonNode item : items) {
+            if (merged.size() < k && seen.add(item.path("id").asLong())) {
+                merged.add(item);
+            }
+        }
+        return merged;
+    }
+
+    private static int parseLimit(String k) {
+        try {
+            return k != null ? Math.max(0, Integer.parseInt(k.trim())) : 10;
+        } catch (NumberFormatException e) {
+            // Every node rejects it the same way, so no merge happens
+            return 10;
+        }
+    }
+
+    private String readSection(byte[] body) {
+        try {
+            JsonNode section = objectMapper.readTree(body).path("section");
+            return section.isTextual() && !section.asText().isBlank() ? section.asText() : null;
+        } catch (IOException e) {
+            // Malformed JSON is reported by the controller
+            return null;
+        }
+    }
+
+    private Long readStudentId(byte[] body) {
+        try {
+            JsonNode studentId = objectMapper.readTree(body).path("studentId");
+            return studentId.canConvertToLong() ? studentId.asLong() : null;
+        } catch (IOException e) {
+            // Malformed JSON is reported by the controller
+            return null;
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            // Not a student ID; the controller reports it
+            return null;
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String error, String message)
+            throws IOException {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", error);
+        errorResponse.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String pathAndQuery(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return request.getRequestURI() + (query != null ? "?" + query : "");
+    }
+
+    private static Comparator<JsonNode> byId() {
+        return Comparator.comparingLong(node -> node.path("id").asLong());
+    }
+
+    /**
+     * Combines the JSON bodies returned by each node.
+     */
+    @FunctionalInterface
+    private interface Merger {
+        JsonNode merge(List<JsonNode> partials);
+    }
+
+    /**
+     * Request whose body was already read for routing and is replayed to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+    }
+}
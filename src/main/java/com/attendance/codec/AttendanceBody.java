@@ -0,0 +1,47 @@
+package com.attendance.codec;
+
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.StudentDTO;
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * The request and response bodies that have binary and columnar encodings.
+ */
+public enum AttendanceBody {
+    /** A list of StudentDTO (roster, search results, daily attendance). */
+    STUDENT_LIST,
+    /** An AttendanceReportDTO. */
+    REPORT,
+    /** A DailyAttendanceRequest. */
+    DAILY_REQUEST;
+
+    /**
+     * Classify a body type.
+     * A List whose element type is not known (a ResponseEntity&lt;?&gt; body)
+     * counts as a student list; encoding checks the elements.
+     * @param type the declared or runtime type
+     * @return the body kind, or null if the type has no encoding
+     */
+    public static AttendanceBody of(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> raw = resolved.resolve();
+        if (raw == null) {
+            return null;
+        }
+        if (AttendanceReportDTO.class.isAssignableFrom(raw)) {
+            return REPORT;
+        }
+        if (DailyAttendanceRequest.class.isAssignableFrom(raw)) {
+            return DAILY_REQUEST;
+        }
+        if (List.class.isAssignableFrom(raw)) {
+            Class<?> element = resolved.asCollection().resolveGeneric(0);
+            return element == null || StudentDTO.class.isAssignableFrom(element) ? STUDENT_LIST : null;
+        }
+        return null;
+    }
+}
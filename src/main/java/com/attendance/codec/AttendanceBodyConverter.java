@@ -0,0 +1,89 @@
+package com.attendance.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Message converter for one of the formats AttendanceCodecs adds on top of
+ * Jackson's (Protocol Buffers, columnar JSON), limited to the roster,
+ * report and daily save bodies.
+ * A converter created as explicit-only never offers its format on its own,
+ * so it is written only when the client's Accept header names it.
+ */
+public class AttendanceBodyConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final AttendanceCodecs codecs;
+    private final MediaType format;
+    private final boolean explicitOnly;
+
+    /**
+     * Create a converter.
+     * @param codecs the attendance encoders
+     * @param format the format this converter reads and writes
+     * @param explicitOnly true to leave the format out of the producible types
+     */
+    public AttendanceBodyConverter(AttendanceCodecs codecs, MediaType format, boolean explicitOnly) {
+        super(format);
+        this.codecs = codecs;
+        this.format = format;
+        this.explicitOnly = explicitOnly;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return codecs.supports(AttendanceBody.of(clazz), format);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return codecs.supports(AttendanceBody.of(type), format) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (mediaType == null && explicitOnly) {
+            return false;
+        }
+        return codecs.supports(AttendanceBody.of(type != null ? type : clazz), format) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return decode(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return decode(clazz, inputMessage);
+    }
+
+    private Object decode(Type type, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return codecs.decode(inputMessage.getBody().readAllBytes(), format, AttendanceBody.of(type));
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid " + format + " body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        byte[] bytes;
+        try {
+            bytes = codecs.encode(value, format);
+        } catch (IOException e) {
+            throw new HttpMessageNotWritableException("Cannot write " + format + ": " + e.getMessage(), e);
+        }
+        outputMessage.getBody().write(bytes);
+    }
+}
@@ -0,0 +1,172 @@
+package com.attendance.codec;
+
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.StudentDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes and decodes the roster, report and daily save bodies in every
+ * format of AttendanceMediaTypes. The Jackson formats share the
+ * application's ObjectMapper configuration, so CBOR and Smile carry the
+ * same fields as the JSON.
+ */
+@Component
+public class AttendanceCodecs {
+
+    private static final TypeReference<List<StudentDTO>> STUDENT_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    /**
+     * Constructor with dependency injection.
+     * @param objectMapper Spring's JSON mapper
+     */
+    public AttendanceCodecs(ObjectMapper objectMapper) {
+        this.json = objectMapper;
+        this.cbor = objectMapper.copyWith(new CBORFactory());
+        this.smile = objectMapper.copyWith(new SmileFactory());
+    }
+
+    /**
+     * Check whether a body has an encoding in a format.
+     * @param body the body kind
+     * @param type one of the AttendanceMediaTypes formats
+     * @return true if encode and decode support the pair
+     */
+    public boolean supports(AttendanceBody body, MediaType type) {
+        if (body == null) {
+            return false;
+        }
+        if (AttendanceMediaTypes.COLUMNAR_JSON.equalsTypeAndSubtype(type)) {
+            return body != AttendanceBody.DAILY_REQUEST;
+        }
+        return AttendanceMediaTypes.PROTOBUF.equalsTypeAndSubtype(type) || mapperFor(type) != null;
+    }
+
+    /**
+     * Encode a body.
+     * @param value a student list, report or daily save request
+     * @param type the format
+     * @return the encoded bytes
+     * @throws IOException if the value cannot be encoded in the format
+     */
+    public byte[] encode(Object value, MediaType type) throws IOException {
+        AttendanceBody body = classify(value);
+        if (AttendanceMediaTypes.PROTOBUF.equalsTypeAndSubtype(type)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            switch (body) {
+                case STUDENT_LIST -> AttendanceProtobuf.writeStudents(students(value), out);
+                case REPORT -> AttendanceProtobuf.writeReport((AttendanceReportDTO) value, out);
+                case DAILY_REQUEST -> AttendanceProtobuf.writeDailyRequest((DailyAttendanceRequest) value, out);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+        if (AttendanceMediaTypes.COLUMNAR_JSON.equalsTypeAndSubtype(type)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (JsonGenerator out = json.getFactory().createGenerator(bytes)) {
+                switch (body) {
+                    case STUDENT_LIST -> ColumnarJson.writeStudents(students(value), out);
+                    case REPORT -> ColumnarJson.writeReport((AttendanceReportDTO) value, out);
+                    case DAILY_REQUEST -> throw new IOException("Daily save requests have no columnar form");
+                }
+            }
+            return bytes.toByteArray();
+        }
+        return requireMapper(type).writeValueAsBytes(value);
+    }
+
+    /**
+     * Decode a body.
+     * @param bytes the encoded bytes
+     * @param type the format
+     * @param body the kind of body expected
+     * @return the decoded student list, report or daily save request
+     * @throws IOException if the bytes are not a valid body in the format
+     */
+    public Object decode(byte[] bytes, MediaType type, AttendanceBody body) throws IOException {
+        if (AttendanceMediaTypes.PROTOBUF.equalsTypeAndSubtype(type)) {
+            CodedInputStream in = CodedInputStream.newInstance(bytes);
+            return switch (body) {
+                case STUDENT_LIST -> AttendanceProtobuf.readStudents(in);
+                case REPORT -> AttendanceProtobuf.readReport(in);
+                case DAILY_REQUEST -> AttendanceProtobuf.readDailyRequest(in);
+            };
+        }
+        if (AttendanceMediaTypes.COLUMNAR_JSON.equalsTypeAndSubtype(type)) {
+            try (JsonParser in = json.getFactory().createParser(bytes)) {
+                return switch (body) {
+                    case STUDENT_LIST -> ColumnarJson.readStudents(in);
+                    case REPORT -> ColumnarJson.readReport(in);
+                    case DAILY_REQUEST -> throw new IOException("Daily save requests have no columnar form");
+                };
+            }
+        }
+        ObjectMapper mapper = requireMapper(type);
+        return switch (body) {
+            case STUDENT_LIST -> mapper.readValue(bytes, STUDENT_LIST);
+            case REPORT -> mapper.readValue(bytes, AttendanceReportDTO.class);
+            case DAILY_REQUEST -> mapper.readValue(bytes, DailyAttendanceRequest.class);
+        };
+    }
+
+    private ObjectMapper mapperFor(MediaType type) {
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(type)) {
+            return json;
+        }
+        if (AttendanceMediaTypes.CBOR.equalsTypeAndSubtype(type)) {
+            return cbor;
+        }
+        if (AttendanceMediaTypes.SMILE.equalsTypeAndSubtype(type)) {
+            return smile;
+        }
+        return null;
+    }
+
+    private ObjectMapper requireMapper(MediaType type) throws IOException {
+        ObjectMapper mapper = mapperFor(type);
+        if (mapper == null) {
+            throw new IOException("Unsupported attendance format: " + type);
+        }
+        return mapper;
+    }
+
+    private static AttendanceBody classify(Object value) throws IOException {
+        AttendanceBody body = value != null ? AttendanceBody.of(value.getClass()) : null;
+        if (body == null) {
+            throw new IOException("No attendance encoding for " + (value != null ? value.getClass() : null));
+        }
+        return body;
+    }
+
+    /**
+     * Cast a list body, checking its elements since the list's own type is erased.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<StudentDTO> students(Object value) throws IOException {
+        for (Object element : (List<?>) value) {
+            if (!(element instanceof StudentDTO)) {
+                throw new IOException("Expected a list of students but found " + element);
+            }
+        }
+        return (List<StudentDTO>) value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.attendance.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the Protocol Buffers and columnar JSON converters.
+ * Protocol Buffers goes after the default converters, so a wildcard Accept
+ * header still gets JSON. Columnar JSON has to go before the Jackson JSON
+ * converter, which otherwise claims every application/*+json type and would
+ * write plain JSON under the columnar content type; it is explicit-only so
+ * that position does not make it the wildcard default. CBOR and Smile are
+ * handled by the Jackson converters Spring adds when those data formats are
+ * on the classpath.
+ */
+@Configuration
+public class AttendanceFormatsConfig implements WebMvcConfigurer {
+
+    private final AttendanceCodecs codecs;
+
+    /**
+     * Constructor with dependency injection.
+     * @param codecs the attendance encoders
+     */
+    public AttendanceFormatsConfig(AttendanceCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        converters.add(json, new AttendanceBodyConverter(codecs, AttendanceMediaTypes.COLUMNAR_JSON, true));
+        converters.add(new AttendanceBodyConverter(codecs, AttendanceMediaTypes.PROTOBUF, false));
+    }
+}
@@ -0,0 +1,69 @@
+package com.attendance.codec;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Media types the roster and report endpoints can answer in, and the choice
+ * between them for a request's Accept header.
+ */
+public final class AttendanceMediaTypes {
+
+    /** Jackson CBOR, with the same field names as the JSON. */
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    /** Jackson Smile, with the same field names as the JSON. */
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    /** Protocol Buffers, per proto/attendance.proto. */
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+    /** JSON with student lists as a column header and one array per row. */
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType("application/vnd.attendance.columnar+json");
+
+    // JSON first, so wildcards resolve to it
+    private static final List<MediaType> SUPPORTED = List.of(
+            MediaType.APPLICATION_JSON, CBOR, SMILE, PROTOBUF, COLUMNAR_JSON);
+
+    private AttendanceMediaTypes() {
+    }
+
+    /**
+     * Pick the response format for an Accept header: the supported type with
+     * the highest quality, a specific type winning over a wildcard of equal
+     * quality and the earlier entry winning a tie.
+     * @param accept the Accept header, or null
+     * @return the chosen type; JSON if the header is absent, invalid or names nothing supported
+     */
+    public static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> requested;
+        try {
+            requested = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = MediaType.APPLICATION_JSON;
+        double bestQuality = -1;
+        boolean bestSpecific = false;
+        for (MediaType entry : requested) {
+            double quality = entry.getQualityValue();
+            if (quality <= 0) {
+                continue;
+            }
+            boolean specific = !entry.isWildcardType() && !entry.isWildcardSubtype();
+            for (MediaType supported : SUPPORTED) {
+                if (entry.includes(supported)) {
+                    if (quality > bestQuality || (quality == bestQuality && specific && !bestSpecific)) {
+                        best = supported;
+                        bestQuality = quality;
+                        bestSpecific = specific;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,256 @@
+package com.attendance.codec;
+
+import com.attendance.dto.AttendanceEntryDTO;
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.StudentDTO;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocol Buffers encoding of the attendance DTOs, following
+ * proto/attendance.proto field for field. Written against the protobuf
+ * runtime's coded streams rather than generated classes, so the DTOs stay
+ * the only model and the build needs no protoc step.
+ */
+public final class AttendanceProtobuf {
+
+    private static final int STATUS_UNSPECIFIED = 0;
+    private static final int STATUS_PRESENT = 1;
+    private static final int STATUS_ABSENT = 2;
+
+    private AttendanceProtobuf() {
+    }
+
+    /**
+     * Write a StudentList message.
+     * @param students the students
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeStudents(List<StudentDTO> students, CodedOutputStream out) throws IOException {
+        for (StudentDTO student : students) {
+            writeStudent(1, student, out);
+        }
+    }
+
+    /**
+     * Read a StudentList message.
+     * @param in the stream to read from
+     * @return the students
+     * @throws IOException if the input is not a valid message
+     */
+    public static List<StudentDTO> readStudents(CodedInputStream in) throws IOException {
+        List<StudentDTO> students = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == 1) {
+                students.add(readStudent(in));
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Write an AttendanceReport message.
+     * @param report the report
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeReport(AttendanceReportDTO report, CodedOutputStream out) throws IOException {
+        out.writeInt64(1, report.getTotalStudents());
+        out.writeInt64(2, report.getPresentCount());
+        out.writeInt64(3, report.getAbsentCount());
+        out.writeDouble(4, report.getAttendanceRate());
+        if (report.getStudents() != null) {
+            for (StudentDTO student : report.getStudents()) {
+                writeStudent(5, student, out);
+            }
+        }
+    }
+
+    /**
+     * Read an AttendanceReport message.
+     * @param in the stream to read from
+     * @return the report
+     * @throws IOException if the input is not a valid message
+     */
+    public static AttendanceReportDTO readReport(CodedInputStream in) throws IOException {
+        AttendanceReportDTO report = new AttendanceReportDTO();
+        List<StudentDTO> students = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> report.setTotalStudents(in.readInt64());
+                case 2 -> report.setPresentCount(in.readInt64());
+                case 3 -> report.setAbsentCount(in.readInt64());
+                case 4 -> report.setAttendanceRate(in.readDouble());
+                case 5 -> students.add(readStudent(in));
+                default -> in.skipField(tag);
+            }
+        }
+        report.setStudents(students);
+        return report;
+    }
+
+    /**
+     * Write a DailyAttendanceRequest message.
+     * @param request the request
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeDailyRequest(DailyAttendanceRequest request, CodedOutputStream out) throws IOException {
+        if (request.getDate() != null) {
+            out.writeInt32(1, (int) request.getDate().toEpochDay());
+        }
+        if (request.getEntries() != null) {
+            for (AttendanceEntryDTO entry : request.getEntries()) {
+                out.writeTag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(entrySize(entry));
+                if (entry.getStudentId() != null) {
+                    out.writeInt64(1, entry.getStudentId());
+                }
+                int status = statusNumber(entry.getStatus());
+                if (status != STATUS_UNSPECIFIED) {
+                    out.writeEnum(2, status);
+                }
+            }
+        }
+        if (request.getSection() != null) {
+            out.writeString(3, request.getSection());
+        }
+    }
+
+    /**
+     * Read a DailyAttendanceRequest message.
+     * @param in the stream to read from
+     * @return the request
+     * @throws IOException if the input is not a valid message
+     */
+    public static DailyAttendanceRequest readDailyRequest(CodedInputStream in) throws IOException {
+        DailyAttendanceRequest request = new DailyAttendanceRequest();
+        List<AttendanceEntryDTO> entries = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> request.setDate(LocalDate.ofEpochDay(in.readInt32()));
+                case 2 -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    AttendanceEntryDTO entry = new AttendanceEntryDTO();
+                    int field;
+                    while ((field = in.readTag()) != 0) {
+                        switch (WireFormat.getTagFieldNumber(field)) {
+                            case 1 -> entry.setStudentId(in.readInt64());
+                            case 2 -> entry.setStatus(statusName(in.readEnum()));
+                            default -> in.skipField(field);
+                        }
+                    }
+                    in.popLimit(limit);
+                    entries.add(entry);
+                }
+                case 3 -> request.setSection(in.readString());
+                default -> in.skipField(tag);
+            }
+        }
+        request.setEntries(entries);
+        return request;
+    }
+
+    private static void writeStudent(int fieldNumber, StudentDTO student, CodedOutputStream out) throws IOException {
+        out.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(studentSize(student));
+        if (student.getId() != null) {
+            out.writeInt64(1, student.getId());
+        }
+        if (student.getName() != null) {
+            out.writeString(2, student.getName());
+        }
+        int status = statusNumber(student.getStatus());
+        if (status != STATUS_UNSPECIFIED) {
+            out.writeEnum(3, status);
+        }
+        if (student.getDate() != null) {
+            out.writeInt32(4, (int) student.getDate().toEpochDay());
+        }
+        if (student.getSection() != null) {
+            out.writeString(5, student.getSection());
+        }
+    }
+
+    private static StudentDTO readStudent(CodedInputStream in) throws IOException {
+        int limit = in.pushLimit(in.readRawVarint32());
+        StudentDTO student = new StudentDTO();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> student.setId(in.readInt64());
+                case 2 -> student.setName(in.readString());
+                case 3 -> student.setStatus(statusName(in.readEnum()));
+                case 4 -> student.setDate(LocalDate.ofEpochDay(in.readInt32()));
+                case 5 -> student.setSection(in.readString());
+                default -> in.skipField(tag);
+            }
+        }
+        in.popLimit(limit);
+        return student;
+    }
+
+    private static int studentSize(StudentDTO student) {
+        int size = 0;
+        if (student.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, student.getId());
+        }
+        if (student.getName() != null) {
+            size += CodedOutputStream.computeStringSize(2, student.getName());
+        }
+        int status = statusNumber(student.getStatus());
+        if (status != STATUS_UNSPECIFIED) {
+            size += CodedOutputStream.computeEnumSize(3, status);
+        }
+        if (student.getDate() != null) {
+            size += CodedOutputStream.computeInt32Size(4, (int) student.getDate().toEpochDay());
+        }
+        if (student.getSection() != null) {
+            size += CodedOutputStream.computeStringSize(5, student.getSection());
+        }
+        return size;
+    }
+
+    private static int entrySize(AttendanceEntryDTO entry) {
+        int size = 0;
+        if (entry.getStudentId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, entry.getStudentId());
+        }
+        int status = statusNumber(entry.getStatus());
+        if (status != STATUS_UNSPECIFIED) {
+            size += CodedOutputStream.computeEnumSize(2, status);
+        }
+        return size;
+    }
+
+    private static int statusNumber(String status) {
+        if ("PRESENT".equalsIgnoreCase(status)) {
+            return STATUS_PRESENT;
+        }
+        if ("ABSENT".equalsIgnoreCase(status)) {
+            return STATUS_ABSENT;
+        }
+        return STATUS_UNSPECIFIED;
+    }
+
+    private static String statusName(int status) {
+        return switch (status) {
+            case STATUS_PRESENT -> "PRESENT";
+            case STATUS_ABSENT -> "ABSENT";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.attendance.codec;
+
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.StudentDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar JSON for student lists: the field names once, then one array
+ * per student, e.g. {"columns":["id","name","status","date","section"],
+ * "rows":[[1,"Ada","PRESENT","2025-11-20",null]]}. Reports keep their
+ * totals as plain fields with the students in this form. Readers map
+ * columns by name, so columns may be added or reordered.
+ */
+public final class ColumnarJson {
+
+    private static final String[] COLUMNS = {"id", "name", "status", "date", "section"};
+
+    private ColumnarJson() {
+    }
+
+    /**
+     * Write a student list as a columnar object.
+     * @param students the students
+     * @param out the generator to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeStudents(List<StudentDTO> students, JsonGenerator out) throws IOException {
+        out.writeStartObject();
+        out.writeFieldName("columns");
+        out.writeArray(COLUMNS, 0, COLUMNS.length);
+        out.writeFieldName("rows");
+        out.writeStartArray();
+        for (StudentDTO student : students) {
+            out.writeStartArray();
+            if (student.getId() != null) {
+                out.writeNumber(student.getId());
+            } else {
+                out.writeNull();
+            }
+            out.writeString(student.getName());
+            out.writeString(student.getStatus());
+            out.writeString(student.getDate() != null ? student.getDate().toString() : null);
+            out.writeString(student.getSection());
+            out.writeEndArray();
+        }
+        out.writeEndArray();
+        out.writeEndObject();
+    }
+
+    /**
+     * Read a columnar student list.
+     * @param in the parser, positioned before or at the object's start
+     * @return the students
+     * @throws IOException if the input is not a columnar student list
+     */
+    public static List<StudentDTO> readStudents(JsonParser in) throws IOException {
+        expect(in.currentToken() == JsonToken.START_OBJECT ? JsonToken.START_OBJECT : in.nextToken(),
+                JsonToken.START_OBJECT);
+        int[] positions = null;
+        List<StudentDTO> students = new ArrayList<>();
+        while (in.nextToken() == JsonToken.FIELD_NAME) {
+            String field = in.currentName();
+            in.nextToken();
+            if ("columns".equals(field)) {
+                positions = readColumns(in);
+            } else if ("rows".equals(field)) {
+                if (positions == null) {
+                    throw new IOException("columns must come before rows");
+                }
+                expect(in.currentToken(), JsonToken.START_ARRAY);
+                while (in.nextToken() == JsonToken.START_ARRAY) {
+                    students.add(readRow(in, positions));
+                }
+            } else {
+                in.skipChildren();
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Write a report with its students in columnar form.
+     * @param report the report
+     * @param out the generator to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeReport(AttendanceReportDTO report, JsonGenerator out) throws IOException {
+        out.writeStartObject();
+        out.writeNumberField("totalStudents", report.getTotalStudents());
+        out.writeNumberField("presentCount", report.getPresentCount());
+        out.writeNumberField("absentCount", report.getAbsentCount());
+        out.writeNumberField("attendanceRate", report.getAttendanceRate());
+        out.writeFieldName("students");
+        writeStudents(report.getStudents() != null ? report.getStudents() : List.of(), out);
+        out.writeEndObject();
+    }
+
+    /**
+     * Read a report with its students in columnar form.
+     * @param in the parser, positioned before or at the object's start
+     * @return the report
+     * @throws IOException if the input is not a columnar report
+     */
+    public static AttendanceReportDTO readReport(JsonParser in) throws IOException {
+        expect(in.currentToken() == JsonToken.START_OBJECT ? JsonToken.START_OBJECT : in.nextToken(),
+                JsonToken.START_OBJECT);
+        AttendanceReportDTO report = new AttendanceReportDTO();
+        while (in.nextToken() == JsonToken.FIELD_NAME) {
+            String field = in.currentName();
+            in.nextToken();
+            switch (field) {
+                case "totalStudents" -> report.setTotalStudents(in.getLongValue());
+                case "presentCount" -> report.setPresentCount(in.getLongValue());
+                case "absentCount" -> report.setAbsentCount(in.getLongValue());
+                case "attendanceRate" -> report.setAttendanceRate(in.getDoubleValue());
+                case "students" -> report.setStudents(readStudents(in));
+                default -> in.skipChildren();
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Map each known column to its position in a row.
+     * @return position per entry of COLUMNS, or -1 if the column is missing
+     */
+    private static int[] readColumns(JsonParser in) throws IOException {
+        expect(in.currentToken(), JsonToken.START_ARRAY);
+        int[] positions = new int[COLUMNS.length];
+        Arrays.fill(positions, -1);
+        int position = 0;
+        while (in.nextToken() != JsonToken.END_ARRAY) {
+            String name = in.getValueAsString();
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (COLUMNS[c].equals(name)) {
+                    positions[c] = position;
+                }
+            }
+            position++;
+        }
+        return positions;
+    }
+
+    private static StudentDTO readRow(JsonParser in, int[] positions) throws IOException {
+        String[] values = new String[COLUMNS.length];
+        int position = 0;
+        while (in.nextToken() != JsonToken.END_ARRAY) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (positions[c] == position) {
+                    values[c] = in.currentToken() == JsonToken.VALUE_NULL ? null : in.getValueAsString();
+                }
+            }
+            in.skipChildren();
+            position++;
+        }
+        StudentDTO student = new StudentDTO();
+        student.setId(values[0] != null ? Long.valueOf(values[0]) : null);
+        student.setName(values[1]);
+        student.setStatus(values[2]);
+        student.setDate(values[3] != null ? LocalDate.parse(values[3]) : null);
+        student.setSection(values[4]);
+        return student;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual);
+        }
+    }
+}
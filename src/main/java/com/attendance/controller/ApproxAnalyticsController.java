@@ -0,0 +1,102 @@
+package com.attendance.controller;
+
+import com.attendance.dto.ApproxAbsenteeDTO;
+import com.attendance.dto.ApproxCountDTO;
+import com.attendance.dto.ApproxQuantilesDTO;
+import com.attendance.service.ApproximateAnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * REST endpoints for approximate analytics.
+ * Answers come from mergeable sketches in bounded memory, so they stay fast
+ * for district-wide data at the cost of a small, reported error. Ranges are
+ * widened to whole months.
+ */
+@RestController
+@RequestMapping("/api/analytics/approx")
+@CrossOrigin(origins = "*")
+public class ApproxAnalyticsController {
+
+    private final ApproximateAnalyticsService approximateAnalyticsService;
+
+    /**
+     * Constructor with dependency injection.
+     * @param approximateAnalyticsService the sketch-backed analytics service
+     */
+    public ApproxAnalyticsController(ApproximateAnalyticsService approximateAnalyticsService) {
+        this.approximateAnalyticsService = approximateAnalyticsService;
+    }
+
+    /**
+     * Estimate how many distinct students have recorded attendance.
+     * @param from first day of the window (optional)
+     * @param to last day of the window (optional)
+     * @param section limit to one section (optional)
+     * @return the estimate with its relative error
+     */
+    @GetMapping("/distinct-students")
+    public ResponseEntity<ApproxCountDTO> getDistinctStudents(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "section", required = false) String section) {
+        return ResponseEntity.ok(approximateAnalyticsService.getDistinctStudents(
+                parseOptionalDate(from), parseOptionalDate(to), section));
+    }
+
+    /**
+     * Estimate the most-absent students.
+     * @param k number of students, defaults to 10
+     * @param from first day of the window (optional)
+     * @param to last day of the window (optional)
+     * @param section limit to one section (optional)
+     * @return students by estimated absent days
+     */
+    @GetMapping("/top-absent")
+    public ResponseEntity<List<ApproxAbsenteeDTO>> getTopAbsentees(
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "section", required = false) String section) {
+        return ResponseEntity.ok(approximateAnalyticsService.getTopAbsentees(
+                k, parseOptionalDate(from), parseOptionalDate(to), section));
+    }
+
+    /**
+     * Estimate quantiles of class daily attendance rates.
+     * @param q comma-separated quantiles between 0 and 1 (optional)
+     * @param from first day of the window (optional)
+     * @param to last day of the window (optional)
+     * @param section limit to one section (optional)
+     * @return rate per quantile
+     */
+    @GetMapping("/rate-quantiles")
+    public ResponseEntity<ApproxQuantilesDTO> getRateQuantiles(
+            @RequestParam(value = "q", required = false) List<Double> q,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "section", required = false) String section) {
+        return ResponseEntity.ok(approximateAnalyticsService.getRateQuantiles(
+                q, parseOptionalDate(from), parseOptionalDate(to), section));
+    }
+
+    /**
+     * Parse an optional yyyy-MM-dd request parameter.
+     * @param date the raw parameter value
+     * @return the parsed date, or null if blank
+     */
+    private LocalDate parseOptionalDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        }
+    }
+}
@@ -1,17 +1,46 @@
 package com.attendance.controller;
 
+import com.attendance.codec.AttendanceMediaTypes;
+import com.attendance.dto.AbsenteeDTO;
 import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.BulkImportResultDTO;
+import com.attendance.dto.CoalescingStatsDTO;
 import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.DailyRateDTO;
+import com.attendance.dto.DayVersionDTO;
+import com.attendance.dto.MarkRequest;
 import com.attendance.dto.NewStudentRequest;
+import com.attendance.dto.RollupDTO;
 import com.attendance.dto.StudentDTO;
+import com.attendance.dto.TermSummaryDTO;
+import com.attendance.live.AttendanceBroadcaster;
+import com.attendance.model.DataVersion;
 import com.attendance.service.AttendanceService;
+import com.attendance.service.ReportRollupService;
+import com.attendance.service.RosterImportService;
+import com.attendance.service.SerializedResponseCache;
+import com.attendance.service.TermAggregationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,25 +53,60 @@ import java.util.List;
 public class AttendanceController {
     
     private final AttendanceService attendanceService;
+    private final TermAggregationService termAggregationService;
+    private final AttendanceBroadcaster broadcaster;
+    private final RosterImportService rosterImportService;
+    private final ReportRollupService reportRollupService;
+    private final SerializedResponseCache responseCache;
+    private final long historicalMaxAgeSeconds;
 
     /**
      * Constructor with dependency injection.
      * @param attendanceService the attendance service
+     * @param termAggregationService the multi-day aggregation service
+     * @param broadcaster the live attendance feed
+     * @param rosterImportService the bulk roster import service
+     * @param reportRollupService the precomputed period rollups
+     * @param responseCache serialized daily and report bodies
+     * @param historicalMaxAgeSeconds browser cache lifetime for past days' responses
      */
-    public AttendanceController(AttendanceService attendanceService) {
+    public AttendanceController(AttendanceService attendanceService,
+                                TermAggregationService termAggregationService,
+                                AttendanceBroadcaster broadcaster,
+                                RosterImportService rosterImportService,
+                                ReportRollupService reportRollupService,
+                                SerializedResponseCache responseCache,
+                                @Value("${attendance.cache.historical-max-age-seconds:300}") long historicalMaxAgeSeconds) {
         this.attendanceService = attendanceService;
+        this.termAggregationService = termAggregationService;
+        this.broadcaster = broadcaster;
+        this.rosterImportService = rosterImportService;
+        this.reportRollupService = reportRollupService;
+        this.responseCache = responseCache;
+        this.historicalMaxAgeSeconds = historicalMaxAgeSeconds;
     }
 
     /**
-     * Get all students.
+     * Get all students, optionally limited to one section.
+     * @param section the section (optional)
      * @return list of all students
      */
     @GetMapping("/students")
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<StudentDTO> students = attendanceService.getAllStudents();
+    public ResponseEntity<List<StudentDTO>> getAllStudents(
+            @RequestParam(value = "section", required = false) String section) {
+        List<StudentDTO> students = attendanceService.getAllStudents(section);
         return ResponseEntity.ok(students);
     }
 
+    /**
+     * Get the names of all known sections.
+     * @return sorted section names
+     */
+    @GetMapping("/sections")
+    public ResponseEntity<List<String>> getSections() {
+        return ResponseEntity.ok(attendanceService.getSections());
+    }
+
     /**
      * Add a new student.
      * @param request the new student request
@@ -54,19 +118,122 @@ public class AttendanceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(student);
     }
 
+    /**
+     * Delete a student.
+     * The student leaves the roster and their attendance records disappear
+     * from every read at once; the day files are cleaned up in the background.
+     * @param id the student ID
+     * @return no content
+     */
+    @DeleteMapping("/students/{id}")
+    public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
+        attendanceService.deleteStudent(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Import many students from a streamed roster.
+     * Send text/csv (name[,creation_date] per line) or application/x-ndjson
+     * (one NewStudentRequest object per line).
+     * @param request the raw HTTP request, read as a stream
+     * @return import summary with per-row errors
+     * @throws IOException if reading the body fails
+     */
+    @PostMapping(value = "/students/import", consumes = {"text/csv", "text/plain", "application/x-ndjson"})
+    public ResponseEntity<BulkImportResultDTO> importStudents(HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType() != null ? request.getContentType() : "";
+        RosterImportService.Format format = contentType.contains("ndjson")
+                ? RosterImportService.Format.NDJSON
+                : RosterImportService.Format.CSV;
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            BulkImportResultDTO result = rosterImportService.importStudents(reader, format);
+            return ResponseEntity.ok(result);
+        }
+    }
+
     /**
      * Mark attendance for a student.
+     * Built for check-in kiosks: the mark is applied in memory and written to
+     * the day file with other marks in the next batch.
      * @param request the mark attendance request
      * @return the updated student
      */
+    @PostMapping("/attendance/mark")
+    public ResponseEntity<StudentDTO> markAttendance(@Valid @RequestBody MarkRequest request) {
+        return ResponseEntity.ok(attendanceService.markAttendance(request));
+    }
+    
+    /**
+     * Get attendance for a date, optionally limited to one section.
+     * @param date the target date (yyyy-MM-dd)
+     * @param section limit to one section (optional)
+     * @param asOf read the day as it was recorded at this moment (yyyy-MM-ddTHH:mm, optional)
+     * @return the day's attendance, or 304 if the client's copy is current
+     */
     @GetMapping("/attendance/daily")
-    public ResponseEntity<List<StudentDTO>> getDailyAttendance(@RequestParam String date) {
+    public ResponseEntity<?> getDailyAttendance(@RequestParam String date,
+                                                @RequestParam(value = "section", required = false) String section,
+                                                @RequestParam(value = "asOf", required = false) String asOf,
+                                                ServletWebRequest webRequest) {
+        LocalDate targetDate;
         try {
-            List<StudentDTO> students = attendanceService.getAttendanceForDate(LocalDate.parse(date));
-            return ResponseEntity.ok(students);
+            targetDate = LocalDate.parse(date);
         } catch (DateTimeParseException ex) {
             throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
         }
+        LocalDateTime asOfTime = parseOptionalDateTime(asOf);
+        
+        // Validators describe the current files, not an earlier version
+        if (asOfTime == null) {
+            MediaType format = AttendanceMediaTypes.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+            if (isNotModified(targetDate, section, format, webRequest)) {
+                return null;
+            }
+            return serialized(responseCache.getDaily(targetDate, section, format), format, webRequest);
+        }
+        List<StudentDTO> students = attendanceService.getAttendanceForDate(targetDate, section, asOfTime);
+        return ResponseEntity.ok(students);
+    }
+    
+    /**
+     * Report how many daily attendance reads were coalesced.
+     * Concurrent reads of the same day and version share one computation.
+     * @return request, computation and coalesced counts since startup
+     */
+    @GetMapping("/attendance/daily/stats")
+    public ResponseEntity<CoalescingStatsDTO> getDailyReadStats() {
+        return ResponseEntity.ok(attendanceService.getDailyReadStats());
+    }
+    
+    /**
+     * List the retained versions of a day's attendance.
+     * @param date the target date (yyyy-MM-dd)
+     * @param section limit to one section (optional)
+     * @return versions ordered by the time they were written
+     */
+    @GetMapping("/attendance/versions")
+    public ResponseEntity<List<DayVersionDTO>> getAttendanceVersions(@RequestParam String date,
+                                                                     @RequestParam(value = "section", required = false) String section) {
+        LocalDate targetDate = parseOptionalDate(date);
+        if (targetDate == null) {
+            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        }
+        return ResponseEntity.ok(attendanceService.getAttendanceVersions(targetDate, section));
+    }
+    
+    /**
+     * Subscribe to live attendance changes for a date as Server-Sent Events.
+     * Each "attendance" event carries the changed statuses and the day's totals.
+     * @param date the date to follow
+     * @return the event stream
+     */
+    @GetMapping(value = "/attendance/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAttendance(@RequestParam String date) {
+        LocalDate targetDate = parseOptionalDate(date);
+        if (targetDate == null) {
+            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        }
+        return broadcaster.subscribe(targetDate);
     }
     
     /**
@@ -81,12 +248,18 @@ public class AttendanceController {
     }
 
     /**
-     * Get attendance report with statistics.
+     * Get attendance report with statistics, optionally for one section.
+     * @param date the date to report on (optional, defaults to today)
+     * @param section limit to one section (optional)
+     * @param asOf report the day as it was recorded at this moment (optional)
      * @return the attendance report
      */
     @GetMapping("/attendance/report")
-    public ResponseEntity<AttendanceReportDTO> getAttendanceReport(
-            @RequestParam(value = "date", required = false) String date) {
+    public ResponseEntity<?> getAttendanceReport(
+            @RequestParam(value = "date", required = false) String date,
+            @RequestParam(value = "section", required = false) String section,
+            @RequestParam(value = "asOf", required = false) String asOf,
+            ServletWebRequest webRequest) {
         LocalDate targetDate = null;
         if (date != null && !date.isBlank()) {
             try {
@@ -96,10 +269,34 @@ public class AttendanceController {
             }
         }
         
-        AttendanceReportDTO report = attendanceService.getAttendanceReport(targetDate);
+        LocalDateTime asOfTime = parseOptionalDateTime(asOf);
+        
+        if (asOfTime == null) {
+            LocalDate reportDate = targetDate != null ? targetDate : LocalDate.now();
+            MediaType format = AttendanceMediaTypes.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT));
+            if (isNotModified(reportDate, section, format, webRequest)) {
+                return null;
+            }
+            return serialized(responseCache.getReport(reportDate, section, format), format, webRequest);
+        }
+        AttendanceReportDTO report = attendanceService.getAttendanceReport(targetDate, section, asOfTime);
         return ResponseEntity.ok(report);
     }
 
+    /**
+     * Get attendance aggregated over a term or other date range.
+     * @param from first day of the range (optional)
+     * @param to last day of the range (optional)
+     * @return the term summary
+     */
+    @GetMapping("/attendance/term")
+    public ResponseEntity<TermSummaryDTO> getTermSummary(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to) {
+        TermSummaryDTO summary = termAggregationService.getTermSummary(parseOptionalDate(from), parseOptionalDate(to));
+        return ResponseEntity.ok(summary);
+    }
+
     /**
      * Search for students by name.
      * @param name the name to search for
@@ -110,4 +307,144 @@ public class AttendanceController {
         List<StudentDTO> students = attendanceService.searchStudent(name);
         return ResponseEntity.ok(students);
     }
+
+    /**
+     * Get students whose absence rate over a window meets a threshold.
+     * @param from first day of the window (optional)
+     * @param to last day of the window (optional)
+     * @param threshold minimum absence percentage, defaults to 10
+     * @return list of chronic absentees
+     */
+    @GetMapping("/analytics/chronic-absentees")
+    public ResponseEntity<List<AbsenteeDTO>> getChronicAbsentees(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "threshold", defaultValue = "10") double threshold) {
+        List<AbsenteeDTO> absentees = attendanceService.getChronicAbsentees(
+                parseOptionalDate(from), parseOptionalDate(to), threshold);
+        return ResponseEntity.ok(absentees);
+    }
+
+    /**
+     * Get students absent on every one of the given days.
+     * @param dates comma-separated list of dates
+     * @return list of matching students
+     */
+    @GetMapping("/analytics/absent-on-all")
+    public ResponseEntity<List<StudentDTO>> getStudentsAbsentOnAll(@RequestParam List<String> dates) {
+        List<LocalDate> targetDates = new ArrayList<>();
+        for (String date : dates) {
+            targetDates.add(parseOptionalDate(date));
+        }
+        targetDates.removeIf(date -> date == null);
+        List<StudentDTO> students = attendanceService.getStudentsAbsentOnAll(targetDates);
+        return ResponseEntity.ok(students);
+    }
+
+    /**
+     * Get daily attendance rates over a window.
+     * @param from first day of the window (optional)
+     * @param to last day of the window (optional)
+     * @return list of daily rates
+     */
+    @GetMapping("/analytics/daily-rates")
+    public ResponseEntity<List<DailyRateDTO>> getDailyRates(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to) {
+        List<DailyRateDTO> rates = attendanceService.getDailyRates(parseOptionalDate(from), parseOptionalDate(to));
+        return ResponseEntity.ok(rates);
+    }
+
+    /**
+     * Get precomputed attendance totals for a day, ISO week or month.
+     * @param period "day", "week" or "month", defaults to week
+     * @param date any day in the period (optional, defaults to today)
+     * @param studentId limit per-student totals to one student (optional)
+     * @return the period rollup
+     */
+    @GetMapping("/analytics/rollup")
+    public ResponseEntity<RollupDTO> getRollup(
+            @RequestParam(value = "period", defaultValue = "week") String period,
+            @RequestParam(value = "date", required = false) String date,
+            @RequestParam(value = "studentId", required = false) Long studentId) {
+        RollupDTO rollup = reportRollupService.getRollup(period, parseOptionalDate(date), studentId);
+        return ResponseEntity.ok(rollup);
+    }
+
+    /**
+     * Apply caching headers for a date's data and check the request's validators.
+     * Runs before any file is read: the version comes from file metadata and the
+     * roster counter. When this returns true Spring has already set a 304.
+     * @param date the date the response is built from
+     * @param section the section the response is limited to, or null
+     * @param format the response's media type; each format gets its own entity tag
+     * @param webRequest the current request
+     * @return true if the client's cached copy is still current
+     */
+    private boolean isNotModified(LocalDate date, String section, MediaType format, ServletWebRequest webRequest) {
+        DataVersion version = attendanceService.getAttendanceVersion(date, section);
+        // Past days rarely change, so browsers may reuse them briefly; today's must always revalidate
+        CacheControl cacheControl = date.isBefore(LocalDate.now())
+                ? CacheControl.maxAge(Duration.ofSeconds(historicalMaxAgeSeconds)).cachePrivate().mustRevalidate()
+                : CacheControl.noCache().cachePrivate();
+        if (webRequest.getResponse() != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+        String tag = MediaType.APPLICATION_JSON.equalsTypeAndSubtype(format)
+                ? version.getTag()
+                : version.getTag() + "-" + format.getSubtype();
+        return webRequest.checkNotModified("\"" + tag + "\"", version.getLastModified());
+    }
+
+    /**
+     * Write a pre-serialized body, gzipped if the client accepts it and a
+     * compressed copy exists.
+     * @param body the serialized response
+     * @param format the body's media type
+     * @param webRequest the current request
+     * @return the response carrying the stored bytes
+     */
+    private ResponseEntity<byte[]> serialized(SerializedResponseCache.Body body, MediaType format,
+                                              ServletWebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (body.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return response.body(body.getBytes());
+    }
+
+    /**
+     * Parse an optional ISO date-time request parameter, such as 2025-11-20T10:00.
+     * @param dateTime the raw parameter value
+     * @return the parsed date-time, or null if blank
+     */
+    private LocalDateTime parseOptionalDateTime(String dateTime) {
+        if (dateTime == null || dateTime.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(dateTime.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid asOf format. Use yyyy-MM-ddTHH:mm[:ss]");
+        }
+    }
+
+    /**
+     * Parse an optional yyyy-MM-dd request parameter.
+     * @param date the raw parameter value
+     * @return the parsed date, or null if blank
+     */
+    private LocalDate parseOptionalDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        }
+    }
 }
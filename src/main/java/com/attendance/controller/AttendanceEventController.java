@@ -0,0 +1,74 @@
+package com.attendance.controller;
+
+import com.attendance.dto.AttendanceEventBatchDTO;
+import com.attendance.dto.CheckInTimesDTO;
+import com.attendance.service.AttendanceEventService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * REST endpoints over the append-only attendance event log.
+ */
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class AttendanceEventController {
+
+    private final AttendanceEventService attendanceEventService;
+
+    /**
+     * Constructor with dependency injection.
+     * @param attendanceEventService the event log service
+     */
+    public AttendanceEventController(AttendanceEventService attendanceEventService) {
+        this.attendanceEventService = attendanceEventService;
+    }
+
+    /**
+     * Replay events from an offset.
+     * @param from offset of the first event, defaults to 0
+     * @param limit maximum events, defaults to 1000
+     * @return the events and the offset to continue from
+     */
+    @GetMapping
+    public ResponseEntity<AttendanceEventBatchDTO> getEvents(
+            @RequestParam(value = "from", defaultValue = "0") long from,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(attendanceEventService.getEvents(from, limit));
+    }
+
+    /**
+     * Profile when students checked in on a day.
+     * @param date the day (optional, defaults to today)
+     * @param section limit to one section (optional)
+     * @param lateAfter late cut-off as HH:mm (optional)
+     * @return first check-ins per hour and the late arrivals
+     */
+    @GetMapping("/check-in-times")
+    public ResponseEntity<CheckInTimesDTO> getCheckInTimes(
+            @RequestParam(value = "date", required = false) String date,
+            @RequestParam(value = "section", required = false) String section,
+            @RequestParam(value = "lateAfter", required = false) String lateAfter) {
+        LocalDate targetDate = null;
+        if (date != null && !date.isBlank()) {
+            try {
+                targetDate = LocalDate.parse(date.trim());
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+            }
+        }
+        LocalTime cutoff = null;
+        if (lateAfter != null && !lateAfter.isBlank()) {
+            try {
+                cutoff = LocalTime.parse(lateAfter.trim());
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid time format. Use HH:mm");
+            }
+        }
+        return ResponseEntity.ok(attendanceEventService.getCheckInTimes(targetDate, section, cutoff));
+    }
+}
@@ -0,0 +1,99 @@
+package com.attendance.controller;
+
+import com.attendance.cluster.ClusterMembership;
+import com.attendance.cluster.ShardRebalancer;
+import com.attendance.dto.ClusterStatusDTO;
+import com.attendance.dto.SectionHandoffDTO;
+import com.attendance.service.AttendanceService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST endpoints for cluster membership and section handoff.
+ * These are never routed by ShardRoutingFilter; each call acts on the node
+ * that receives it.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@CrossOrigin(origins = "*")
+public class ClusterController {
+
+    private final ClusterMembership membership;
+    private final ShardRebalancer rebalancer;
+    private final AttendanceService attendanceService;
+
+    /**
+     * Constructor with dependency injection.
+     * @param membership this node's view of the ring
+     * @param rebalancer moves sections after membership changes
+     * @param attendanceService the attendance service
+     */
+    public ClusterController(ClusterMembership membership, ShardRebalancer rebalancer,
+                             AttendanceService attendanceService) {
+        this.membership = membership;
+        this.rebalancer = rebalancer;
+        this.attendanceService = attendanceService;
+    }
+
+    /**
+     * Get this node's view of the cluster.
+     * @return membership and the owner of each locally known section
+     */
+    @GetMapping
+    public ResponseEntity<ClusterStatusDTO> getStatus() {
+        Map<String, String> owners = new LinkedHashMap<>();
+        owners.put(ClusterMembership.UNSECTIONED_KEY, membership.ownerOf(null));
+        for (String section : attendanceService.getSections()) {
+            owners.put(section, membership.ownerOf(section));
+        }
+        return ResponseEntity.ok(new ClusterStatusDTO(membership.isEnabled(), membership.getSelf(),
+                membership.getNodes(), owners));
+    }
+
+    /**
+     * Add a node to the cluster. The new membership is pushed to every node and
+     * each one hands off the sections it no longer owns.
+     * @param url the new node's base URL
+     * @return the updated cluster view
+     */
+    @PostMapping("/nodes")
+    public ResponseEntity<ClusterStatusDTO> addNode(@RequestParam String url) {
+        if (membership.addNode(url)) {
+            rebalancer.propagateMembership();
+            rebalancer.scheduleRebalance();
+        }
+        return getStatus();
+    }
+
+    /**
+     * Replace this node's membership with the list sent by a peer.
+     * @param nodes base URLs of all nodes in join order
+     * @return the updated cluster view
+     */
+    @PutMapping("/nodes")
+    public ResponseEntity<ClusterStatusDTO> setNodes(@RequestBody List<String> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Node list must not be empty");
+        }
+        if (membership.setNodes(nodes)) {
+            rebalancer.scheduleRebalance();
+        }
+        return getStatus();
+    }
+
+    /**
+     * Receive a section from the node that owned it before a rebalance.
+     * @param handoff the section's roster and day files
+     * @return 201 Created once the section is stored
+     */
+    @PostMapping("/handoff")
+    public ResponseEntity<Void> acceptHandoff(@RequestBody SectionHandoffDTO handoff) {
+        attendanceService.importSection(handoff);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+}
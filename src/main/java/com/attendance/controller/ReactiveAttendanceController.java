@@ -0,0 +1,102 @@
+package com.attendance.controller;
+
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.StudentDTO;
+import com.attendance.service.AttendanceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Streaming variants of the attendance read endpoints.
+ * Responses are written while the day files are parsed, instead of after the
+ * whole roster is built, and the request thread is released as soon as the
+ * stream is set up. File reads run on the service's bounded read scheduler
+ * and only advance as the client consumes the response.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@CrossOrigin(origins = "*")
+public class ReactiveAttendanceController {
+
+    private static final int LINES_PER_WRITE = 64;
+
+    private final AttendanceService attendanceService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor with dependency injection.
+     * @param attendanceService the attendance service
+     * @param objectMapper the application's JSON mapper
+     */
+    public ReactiveAttendanceController(AttendanceService attendanceService, ObjectMapper objectMapper) {
+        this.attendanceService = attendanceService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream attendance for a date as newline-delimited JSON, one student per line.
+     * @param date the target date (yyyy-MM-dd), defaults to today
+     * @param section limit to one section (optional)
+     * @return the student stream
+     */
+    @GetMapping(value = "/attendance/daily", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> streamDailyAttendance(
+            @RequestParam(value = "date", required = false) String date,
+            @RequestParam(value = "section", required = false) String section) {
+        // MVC writes and flushes once per element, so students go out in blocks of lines
+        return attendanceService.streamAttendanceForDate(parseOptionalDate(date), section)
+                .buffer(LINES_PER_WRITE)
+                .map(this::toJsonLines);
+    }
+
+    /**
+     * Get the attendance report for a date, computed over the streamed roster.
+     * @param date the target date (yyyy-MM-dd), defaults to today
+     * @param section limit to one section (optional)
+     * @return the attendance report
+     */
+    @GetMapping("/attendance/report")
+    public Mono<AttendanceReportDTO> getAttendanceReport(
+            @RequestParam(value = "date", required = false) String date,
+            @RequestParam(value = "section", required = false) String section) {
+        return attendanceService.streamAttendanceForDate(parseOptionalDate(date), section)
+                .collectList()
+                .map(students -> {
+                    long present = students.stream().filter(s -> "PRESENT".equalsIgnoreCase(s.getStatus())).count();
+                    long absent = students.stream().filter(s -> "ABSENT".equalsIgnoreCase(s.getStatus())).count();
+                    double rate = students.isEmpty() ? 0.0 : present * 100.0 / students.size();
+                    return new AttendanceReportDTO(students.size(), present, absent, rate, students);
+                });
+    }
+
+    private String toJsonLines(List<StudentDTO> students) {
+        StringBuilder lines = new StringBuilder(students.size() * 96);
+        try {
+            for (StudentDTO student : students) {
+                lines.append(objectMapper.writeValueAsString(student)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize attendance", e);
+        }
+        return lines.toString();
+    }
+
+    private LocalDate parseOptionalDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.attendance.controller;
+
+import com.attendance.dto.ReplicationBatchDTO;
+import com.attendance.dto.ReplicationSnapshotDTO;
+import com.attendance.dto.ReplicationStatusDTO;
+import com.attendance.replication.ReplicationFollower;
+import com.attendance.replication.ReplicationLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST endpoints for leader/follower replication.
+ * Followers read the log and snapshots from the leader; the status endpoint
+ * reports replication lag on either side.
+ */
+@RestController
+@RequestMapping("/api/replication")
+@CrossOrigin(origins = "*")
+public class ReplicationController {
+
+    // Upper bounds so one follower cannot pin a request thread or pull the whole log at once
+    private static final long MAX_WAIT_MILLIS = 30_000;
+    private static final int MAX_LIMIT = 5_000;
+
+    private final ReplicationLog replicationLog;
+    private final ReplicationFollower follower;
+
+    /**
+     * Constructor with dependency injection.
+     * @param replicationLog this node's ordered write stream
+     * @param follower this node's follower state
+     */
+    public ReplicationController(ReplicationLog replicationLog, ReplicationFollower follower) {
+        this.replicationLog = replicationLog;
+        this.follower = follower;
+    }
+
+    /**
+     * Read log entries after a sequence, waiting up to {@code wait} ms for one.
+     * @param epoch the leader epoch the follower's sequence belongs to
+     * @param after last sequence the follower has applied
+     * @param limit maximum entries to return
+     * @param wait maximum wait in milliseconds when there is nothing new
+     * @param followerName name used for lag reporting (optional)
+     * @return the page of entries, or a snapshot-required marker
+     */
+    @GetMapping("/log")
+    public ResponseEntity<ReplicationBatchDTO> readLog(
+            @RequestParam(value = "epoch", required = false) String epoch,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            @RequestParam(value = "wait", defaultValue = "0") long wait,
+            @RequestParam(value = "follower", required = false) String followerName) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return ResponseEntity.ok(replicationLog.readAfter(epoch, after, Math.min(limit, MAX_LIMIT),
+                Math.max(0, Math.min(wait, MAX_WAIT_MILLIS)), followerName));
+    }
+
+    /**
+     * Get a full copy of the roster and day files.
+     * @return the snapshot
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<ReplicationSnapshotDTO> getSnapshot() {
+        return ResponseEntity.ok(replicationLog.snapshot());
+    }
+
+    /**
+     * Get replication role and lag for this node.
+     * @return replication status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ReplicationStatusDTO> getStatus() {
+        if (follower.isFollower()) {
+            return ResponseEntity.ok(follower.getStatus());
+        }
+        long sequence = replicationLog.getSequence();
+        return ResponseEntity.ok(new ReplicationStatusDTO("leader", null, replicationLog.getEpoch(), sequence,
+                sequence, 0, 0, 0, replicationLog.getFollowerLag()));
+    }
+}
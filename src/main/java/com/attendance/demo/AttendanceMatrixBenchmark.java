@@ -0,0 +1,163 @@
+package com.attendance.demo;
+
+import com.attendance.analytics.AttendanceMatrix;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Micro-benchmark comparing cohort queries on the bitmap AttendanceMatrix
+ * against the equivalent loops over Student objects.
+ * Uses synthetic in-memory data, so no attendance files are touched.
+ *
+ * Usage: AttendanceMatrixBenchmark [students] [days]
+ */
+public class AttendanceMatrixBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int dayCount = args.length > 1 ? Integer.parseInt(args[1]) : 180;
+
+        System.out.println("========================================");
+        System.out.println("  Attendance Matrix Benchmark");
+        System.out.println("========================================");
+        System.out.printf("Students: %d | Days: %d%n%n", studentCount, dayCount);
+
+        Map<LocalDate, List<Student>> recordsByDay = generate(studentCount, dayCount);
+        List<LocalDate> days = new ArrayList<>(recordsByDay.keySet());
+        List<LocalDate> lastWeek = days.subList(days.size() - 5, days.size());
+
+        long start = System.nanoTime();
+        AttendanceMatrix matrix = AttendanceMatrix.fromDays(recordsByDay);
+        System.out.printf("Matrix build: %.2f ms%n%n", (System.nanoTime() - start) / 1e6);
+
+        System.out.printf("%-28s %12s %12s%n", "Query", "Objects (ms)", "Bitmap (ms)");
+        System.out.println("----------------------------------------------------------");
+        report("chronic absentees (10%)",
+                time(() -> objectChronicAbsentees(recordsByDay, 10.0)),
+                time(() -> bitmapChronicAbsentees(matrix, 10.0)));
+        report("absent on last 5 days",
+                time(() -> objectAbsentOnAll(recordsByDay, lastWeek)),
+                time(() -> AttendanceMatrix.popcount(matrix.absentOnAll(lastWeek))));
+        report("daily rates over term",
+                time(() -> objectDailyRates(recordsByDay)),
+                time(() -> bitmapDailyRates(matrix)));
+        System.out.println("========================================");
+    }
+
+    private static Map<LocalDate, List<Student>> generate(int studentCount, int dayCount) {
+        Random random = new Random(42);
+        Map<LocalDate, List<Student>> recordsByDay = new LinkedHashMap<>();
+        LocalDate first = LocalDate.of(2025, 1, 6);
+        for (int d = 0; d < dayCount; d++) {
+            LocalDate day = first.plusDays(d);
+            List<Student> students = new ArrayList<>(studentCount);
+            for (long id = 1; id <= studentCount; id++) {
+                // A tenth of the cohort misses school far more often than the rest
+                double absenceChance = id % 10 == 0 ? 0.25 : 0.04;
+                AttendanceStatus status = random.nextDouble() < absenceChance
+                        ? AttendanceStatus.ABSENT
+                        : AttendanceStatus.PRESENT;
+                students.add(new Student(id, "Student " + id, status, day));
+            }
+            recordsByDay.put(day, students);
+        }
+        return recordsByDay;
+    }
+
+    private static long objectChronicAbsentees(Map<LocalDate, List<Student>> recordsByDay, double threshold) {
+        Map<Long, int[]> counts = new HashMap<>();
+        for (List<Student> students : recordsByDay.values()) {
+            for (Student student : students) {
+                int[] c = counts.computeIfAbsent(student.getId(), id -> new int[2]);
+                c[0]++;
+                if (student.getStatus() == AttendanceStatus.ABSENT) {
+                    c[1]++;
+                }
+            }
+        }
+        return counts.values().stream().filter(c -> c[1] * 100.0 / c[0] >= threshold).count();
+    }
+
+    private static long bitmapChronicAbsentees(AttendanceMatrix matrix, double threshold) {
+        int[] recorded = new int[matrix.studentCount()];
+        int[] absent = new int[matrix.studentCount()];
+        matrix.countWindow(null, null, recorded, absent);
+        long count = 0;
+        for (int row = 0; row < recorded.length; row++) {
+            if (recorded[row] > 0 && absent[row] * 100.0 / recorded[row] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long objectAbsentOnAll(Map<LocalDate, List<Student>> recordsByDay, List<LocalDate> dates) {
+        Set<Long> result = null;
+        for (LocalDate date : dates) {
+            Set<Long> absent = new HashSet<>();
+            for (Student student : recordsByDay.get(date)) {
+                if (student.getStatus() == AttendanceStatus.ABSENT) {
+                    absent.add(student.getId());
+                }
+            }
+            if (result == null) {
+                result = absent;
+            } else {
+                result.retainAll(absent);
+            }
+        }
+        return result == null ? 0 : result.size();
+    }
+
+    private static long objectDailyRates(Map<LocalDate, List<Student>> recordsByDay) {
+        long checksum = 0;
+        for (List<Student> students : recordsByDay.values()) {
+            long present = students.stream().filter(s -> s.getStatus() == AttendanceStatus.PRESENT).count();
+            checksum += present * 100 / Math.max(1, students.size());
+        }
+        return checksum;
+    }
+
+    private static long bitmapDailyRates(AttendanceMatrix matrix) {
+        long checksum = 0;
+        for (LocalDate day : matrix.getDays()) {
+            checksum += matrix.presentCount(day) * 100L / Math.max(1, matrix.recordedCount(day));
+        }
+        return checksum;
+    }
+
+    /**
+     * Run a query repeatedly and return the mean time of the measured rounds.
+     */
+    private static double time(LongQuery query) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += query.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += query.run();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return millis;
+    }
+
+    private static void report(String name, double objectMillis, double bitmapMillis) {
+        System.out.printf("%-28s %12.3f %12.3f  (%.1fx)%n",
+                name, objectMillis, bitmapMillis, objectMillis / Math.max(bitmapMillis, 1e-6));
+    }
+
+    @FunctionalInterface
+    private interface LongQuery {
+        long run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.attendance.demo;
+
+import com.attendance.analytics.BitKernel;
+import com.attendance.analytics.BitKernels;
+
+import java.util.*;
+
+/**
+ * Micro-benchmark comparing the BitKernel implementations on the two
+ * operations AttendanceMatrix spends its time in: counting present/recorded
+ * bits per day and intersecting absent rows across days.
+ * Uses synthetic bitmaps, so no attendance files are touched.
+ * The vector kernel is only measured when the JVM is started with
+ * --add-modules jdk.incubator.vector.
+ *
+ * Usage: BitKernelBenchmark [students] [days]
+ */
+public class BitKernelBenchmark {
+
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int MEASURED_ROUNDS = 200;
+
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int dayCount = args.length > 1 ? Integer.parseInt(args[1]) : 180;
+
+        System.out.println("========================================");
+        System.out.println("  Bit Kernel Benchmark");
+        System.out.println("========================================");
+        System.out.printf("Students: %d | Days: %d | Default kernel: %s%n%n",
+                studentCount, dayCount, BitKernels.getDefault().name());
+
+        long[][] present = new long[dayCount][];
+        long[][] recorded = new long[dayCount][];
+        generate(studentCount, present, recorded);
+
+        List<BitKernel> kernels = new ArrayList<>(List.of(BitKernels.SCALAR, BitKernels.SWAR));
+        if (BitKernels.vector() != null) {
+            kernels.add(BitKernels.vector());
+        } else {
+            System.out.println("(vector kernel skipped: run with --add-modules jdk.incubator.vector)");
+            System.out.println();
+        }
+
+        // Every kernel must agree before any timing is worth reporting
+        long expectedCount = countAll(BitKernels.SCALAR, present, recorded);
+        long expectedAbsent = absentOnAll(BitKernels.SCALAR, present, recorded);
+        for (BitKernel kernel : kernels) {
+            if (countAll(kernel, present, recorded) != expectedCount
+                    || absentOnAll(kernel, present, recorded) != expectedAbsent) {
+                throw new IllegalStateException(kernel.name() + " kernel disagrees with scalar results");
+            }
+        }
+
+        System.out.printf("%-22s %18s %18s%n", "Kernel", "Daily counts (ms)", "Absent on all (ms)");
+        System.out.println("----------------------------------------------------------");
+        double scalarCount = 0;
+        double scalarAbsent = 0;
+        for (BitKernel kernel : kernels) {
+            double countMillis = time(() -> countAll(kernel, present, recorded));
+            double absentMillis = time(() -> absentOnAll(kernel, present, recorded));
+            if (kernel == BitKernels.SCALAR) {
+                scalarCount = countMillis;
+                scalarAbsent = absentMillis;
+            }
+            System.out.printf("%-22s %11.3f (%.1fx) %11.3f (%.1fx)%n", kernel.name(),
+                    countMillis, scalarCount / Math.max(countMillis, 1e-6),
+                    absentMillis, scalarAbsent / Math.max(absentMillis, 1e-6));
+        }
+        System.out.println("========================================");
+    }
+
+    private static void generate(int studentCount, long[][] present, long[][] recorded) {
+        Random random = new Random(42);
+        int words = (studentCount + 63) >>> 6;
+        for (int d = 0; d < present.length; d++) {
+            present[d] = new long[words];
+            recorded[d] = new long[words];
+            for (int row = 0; row < studentCount; row++) {
+                recorded[d][row >>> 6] |= 1L << row;
+                if (random.nextInt(100) >= (row % 10 == 0 ? 25 : 4)) {
+                    present[d][row >>> 6] |= 1L << row;
+                }
+            }
+        }
+    }
+
+    private static long countAll(BitKernel kernel, long[][] present, long[][] recorded) {
+        long checksum = 0;
+        for (int d = 0; d < present.length; d++) {
+            checksum += kernel.popcount(present[d]) + kernel.popcount(recorded[d]);
+        }
+        return checksum;
+    }
+
+    private static long absentOnAll(BitKernel kernel, long[][] present, long[][] recorded) {
+        long[] result = new long[present[0].length];
+        Arrays.fill(result, -1L);
+        for (int d = present.length - 5; d < present.length; d++) {
+            kernel.andNotInto(result, recorded[d], present[d]);
+        }
+        return kernel.popcount(result);
+    }
+
+    /**
+     * Run a query repeatedly and return the mean time of the measured rounds.
+     */
+    private static double time(LongQuery query) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += query.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += query.run();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / MEASURED_ROUNDS;
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return millis;
+    }
+
+    @FunctionalInterface
+    private interface LongQuery {
+        long run();
+    }
+}
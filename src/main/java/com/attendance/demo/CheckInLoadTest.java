@@ -0,0 +1,207 @@
+package com.attendance.demo;
+
+import com.attendance.AttendanceApplication;
+import com.attendance.dto.MarkRequest;
+import com.attendance.model.Student;
+import com.attendance.service.AttendanceService;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Load test for the single-student check-in endpoint.
+ * Starts the application in this JVM on a random port against a temporary
+ * data directory, then sends check-ins for random students from several
+ * threads, first straight to AttendanceService and then over HTTP to
+ * POST /api/attendance/mark. Reports throughput and latency percentiles for
+ * both, and checks that every student's last mark reached the day file.
+ *
+ * Usage: CheckInLoadTest [check-ins] [threads] [students]
+ */
+public class CheckInLoadTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+    private static final String[] STATUSES = {"PRESENT", "ABSENT"};
+
+    public static void main(String[] args) throws Exception {
+        int checkIns = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int studentCount = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+
+        Path dir = Files.createTempDirectory("attendance-check-in-load");
+        // DevTools would otherwise relaunch the application in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // The application and storage log every file write; keep that out of the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ExecutorService clients = Executors.newFixedThreadPool(threadCount);
+        // Passed as arguments so they take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AttendanceApplication.class)
+                .run("--server.port=0",
+                        "--attendance.data-dir=" + dir,
+                        "--attendance.cold.after-days=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        String[] serviceRow;
+        String[] httpRow;
+        boolean persisted;
+        try {
+            long firstId = seed(context, studentCount);
+            AttendanceService attendanceService = context.getBean(AttendanceService.class);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            URI uri = URI.create("http://localhost:" + port + "/api/attendance/mark");
+
+            MarkTask direct = (id, status) -> attendanceService.markAttendance(new MarkRequest(id, status, DAY));
+            MarkTask http = (id, status) -> {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"studentId\":" + id + ",\"status\":\"" + status + "\",\"date\":\"" + DAY + "\"}"))
+                        .build();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Check-in failed with HTTP " + response.statusCode());
+                }
+            };
+
+            // Untimed rounds let the JIT compile both paths
+            run(clients, threadCount, Math.min(checkIns, 5_000), firstId, studentCount, direct, null);
+            run(clients, threadCount, Math.min(checkIns, 5_000), firstId, studentCount, http, null);
+
+            serviceRow = run(clients, threadCount, checkIns, firstId, studentCount, direct, "AttendanceService");
+            Map<Long, String> lastMarks = new HashMap<>();
+            httpRow = run(clients, threadCount, checkIns, firstId, studentCount, http, "POST /api/attendance/mark",
+                    lastMarks);
+            persisted = verify(context, lastMarks);
+        } finally {
+            System.setOut(console);
+            clients.shutdownNow();
+            context.close();
+            deleteRecursively(dir);
+        }
+
+        System.out.println("========================================");
+        System.out.println("  Check-in Load Test");
+        System.out.println("========================================");
+        System.out.printf("Check-ins: %d | Threads: %d | Students: %d%n%n", checkIns, threadCount, studentCount);
+        System.out.printf("%-28s %12s %10s %10s %10s%n", "Path", "Marks/s", "p50 (us)", "p99 (us)", "max (us)");
+        System.out.println("------------------------------------------------------------------------");
+        System.out.printf("%-28s %12s %10s %10s %10s%n", (Object[]) serviceRow);
+        System.out.printf("%-28s %12s %10s %10s %10s%n", (Object[]) httpRow);
+        System.out.println();
+        System.out.println("Last mark of every student on disk: " + (persisted ? "yes" : "NO"));
+        System.out.println("========================================");
+    }
+
+    private static long seed(ConfigurableApplicationContext context, int studentCount) {
+        InMemoryStudentStore studentStore = context.getBean(InMemoryStudentStore.class);
+        long firstId = studentStore.allocateIds(studentCount);
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            students.add(new Student(firstId + i, "Student " + i, Student.AttendanceStatus.ABSENT, DAY));
+        }
+        studentStore.saveAll(students);
+        return firstId;
+    }
+
+    private static String[] run(ExecutorService clients, int threadCount, int checkIns, long firstId,
+                                int studentCount, MarkTask task, String label) throws Exception {
+        return run(clients, threadCount, checkIns, firstId, studentCount, task, label, null);
+    }
+
+    /**
+     * Send check-ins from every client thread and time each one.
+     * @param lastMarks receives each student's last status, or null
+     * @return row of {label, marks per second, p50, p99, max}
+     */
+    private static String[] run(ExecutorService clients, int threadCount, int checkIns, long firstId,
+                                int studentCount, MarkTask task, String label, Map<Long, String> lastMarks)
+            throws Exception {
+        int perThread = checkIns / threadCount;
+        long[][] latencies = new long[threadCount][perThread];
+        List<Future<Map<Long, String>>> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            long[] threadLatencies = latencies[t];
+            workers.add(clients.submit(() -> {
+                // Each thread owns every threadCount-th student, so its last mark per student is the final one
+                Map<Long, String> threadMarks = new HashMap<>();
+                int owned = (studentCount - thread + threadCount - 1) / threadCount;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    long id = firstId + thread + (long) random.nextInt(owned) * threadCount;
+                    String status = STATUSES[random.nextInt(STATUSES.length)];
+                    long sent = System.nanoTime();
+                    task.mark(id, status);
+                    threadLatencies[i] = System.nanoTime() - sent;
+                    threadMarks.put(id, status);
+                }
+                return threadMarks;
+            }));
+        }
+        for (Future<Map<Long, String>> worker : workers) {
+            Map<Long, String> threadMarks = worker.get();
+            if (lastMarks != null) {
+                lastMarks.putAll(threadMarks);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new String[] {label, String.format("%.0f", all.length / seconds),
+                String.format("%.0f", percentile(all, 0.50) / 1e3), String.format("%.0f", percentile(all, 0.99) / 1e3),
+                String.format("%.0f", all[all.length - 1] / 1e3)};
+    }
+
+    /**
+     * Wait for the flusher, then compare the day file with the last mark sent for each student.
+     */
+    private static boolean verify(ConfigurableApplicationContext context, Map<Long, String> lastMarks)
+            throws IOException, InterruptedException {
+        CsvAttendanceStorage csvStorage = context.getBean(CsvAttendanceStorage.class);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Map<Long, String> onDisk = new HashMap<>();
+            csvStorage.scanAttendance(DAY, (id, status) -> onDisk.put(id, status.name()));
+            if (onDisk.entrySet().containsAll(lastMarks.entrySet())) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @FunctionalInterface
+    private interface MarkTask {
+        void mark(long id, String status) throws Exception;
+    }
+}
@@ -0,0 +1,112 @@
+package com.attendance.demo;
+
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.storage.ColdCodec;
+import com.attendance.storage.CsvAttendanceStorage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark for the cold storage tier.
+ * Writes the same synthetic term of day files into one temporary directory
+ * per tier, moves them to cold storage with each codec, and reports disk
+ * footprint against the time to read every day back through readAttendance.
+ *
+ * Usage: ColdStorageBenchmark [students] [days]
+ */
+public class ColdStorageBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    public static void main(String[] args) throws IOException {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int dayCount = args.length > 1 ? Integer.parseInt(args[1]) : 180;
+
+        System.out.println("========================================");
+        System.out.println("  Cold Storage Benchmark");
+        System.out.println("========================================");
+        System.out.printf("Students: %d | Days: %d%n%n", studentCount, dayCount);
+        System.out.printf("%-18s %12s %8s %14s %14s%n", "Tier", "Disk (KB)", "Ratio", "Tier move (ms)", "Read all (ms)");
+        System.out.println("----------------------------------------------------------------------");
+
+        long hotBytes = run("hot (csv)", null, studentCount, dayCount, 0);
+        for (ColdCodec codec : ColdCodec.values()) {
+            run("cold " + codec.name().toLowerCase(), codec, studentCount, dayCount, hotBytes);
+        }
+        System.out.println("========================================");
+    }
+
+    private static long run(String label, ColdCodec codec, int studentCount, int dayCount, long hotBytes)
+            throws IOException {
+        Path dir = Files.createTempDirectory("attendance-cold-bench");
+        // Storage logs every file it touches; keep that noise out of the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long bytes;
+        double moveMillis = 0;
+        double readMillis;
+        try {
+            CsvAttendanceStorage csvStorage = new CsvAttendanceStorage(dir.toString());
+            writeDays(csvStorage, studentCount, dayCount);
+            if (codec != null) {
+                long start = System.nanoTime();
+                csvStorage.moveToColdTier(FIRST_DAY.plusDays(dayCount), codec);
+                moveMillis = (System.nanoTime() - start) / 1e6;
+            }
+            bytes = diskUsage(dir);
+            readMillis = timeReads(csvStorage);
+        } finally {
+            System.setOut(console);
+        }
+
+        System.out.printf("%-18s %12.1f %7.2fx %14s %14.1f%n", label, bytes / 1024.0,
+                hotBytes > 0 ? (double) hotBytes / bytes : 1.0,
+                codec != null ? String.format("%.1f", moveMillis) : "-", readMillis);
+        return bytes;
+    }
+
+    private static void writeDays(CsvAttendanceStorage csvStorage, int studentCount, int dayCount)
+            throws IOException {
+        Random random = new Random(11);
+        for (int d = 0; d < dayCount; d++) {
+            LocalDate day = FIRST_DAY.plusDays(d);
+            List<Student> students = new ArrayList<>(studentCount);
+            for (long id = 1; id <= studentCount; id++) {
+                AttendanceStatus status = random.nextInt(10) == 0 ? AttendanceStatus.ABSENT : AttendanceStatus.PRESENT;
+                students.add(new Student(id, "Student " + id, status, day));
+            }
+            csvStorage.writeDailyAttendance(day, students);
+        }
+    }
+
+    private static double timeReads(CsvAttendanceStorage csvStorage) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long records = 0;
+            for (LocalDate date : csvStorage.getAvailableDates()) {
+                records += csvStorage.readAttendance(date).size();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            if (records == 0) {
+                throw new IllegalStateException("No records read back");
+            }
+        }
+        return best / 1e6;
+    }
+
+    private static long diskUsage(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+}
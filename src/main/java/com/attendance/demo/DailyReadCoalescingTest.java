@@ -0,0 +1,176 @@
+package com.attendance.demo;
+
+import com.attendance.AttendanceApplication;
+import com.attendance.dto.CoalescingStatsDTO;
+import com.attendance.dto.StudentDTO;
+import com.attendance.model.Student;
+import com.attendance.service.AttendanceService;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Checks that a burst of identical daily attendance reads costs one file read.
+ * Starts the application in this JVM against a temporary data directory,
+ * with the read-your-writes overlay off and a day file storage that counts
+ * (and slows down) partition reads. Each round releases many threads at once
+ * on getAttendanceForDate for the same day, then reports how many times the
+ * day file was read and how many requests joined a computation in flight.
+ *
+ * Usage: DailyReadCoalescingTest [threads] [rounds] [read-delay-ms]
+ */
+public class DailyReadCoalescingTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+    private static final int STUDENTS = 500;
+
+    public static void main(String[] args) throws Exception {
+        int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long readDelayMs = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+        Path dir = Files.createTempDirectory("attendance-read-coalescing");
+        CountingStorage countingStorage = new CountingStorage(dir.toString(), readDelayMs);
+        // DevTools would otherwise relaunch the application in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // The application and storage log every file read; keep that out of the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ExecutorService clients = Executors.newFixedThreadPool(threadCount);
+        // An explicitly registered bean takes the place of the scanned storage component
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AttendanceApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx).registerBean(
+                        "csvAttendanceStorage", CsvAttendanceStorage.class, () -> countingStorage))
+                .run("--server.port=0",
+                        "--attendance.data-dir=" + dir,
+                        "--attendance.cold.after-days=0",
+                        "--attendance.overlay.max-partitions=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        List<String[]> rows = new ArrayList<>();
+        boolean oneReadPerBurst = true;
+        CoalescingStatsDTO stats;
+        try {
+            seed(context, countingStorage);
+            AttendanceService attendanceService = context.getBean(AttendanceService.class);
+            for (int round = 1; round <= rounds; round++) {
+                countingStorage.reads.set(0);
+                long coalescedBefore = attendanceService.getDailyReadStats().getCoalesced();
+                long start = System.nanoTime();
+                Set<Integer> sizes = burst(clients, threadCount, attendanceService);
+                double millis = (System.nanoTime() - start) / 1e6;
+                int reads = countingStorage.reads.get();
+                long coalesced = attendanceService.getDailyReadStats().getCoalesced() - coalescedBefore;
+                oneReadPerBurst &= reads == 1 && sizes.equals(Collections.singleton(STUDENTS));
+                rows.add(new String[] {String.valueOf(round), String.valueOf(threadCount), String.valueOf(reads),
+                        String.valueOf(coalesced), String.format("%.1f", millis)});
+            }
+            stats = attendanceService.getDailyReadStats();
+        } finally {
+            System.setOut(console);
+            clients.shutdownNow();
+            context.close();
+            deleteRecursively(dir);
+        }
+
+        System.out.println("========================================");
+        System.out.println("  Daily Read Coalescing Test");
+        System.out.println("========================================");
+        System.out.printf("Threads: %d | Rounds: %d | Read delay: %d ms | Students: %d%n%n",
+                threadCount, rounds, readDelayMs, STUDENTS);
+        System.out.printf("%-8s %10s %12s %12s %12s%n", "Round", "Requests", "File reads", "Coalesced", "Time (ms)");
+        System.out.println("--------------------------------------------------------------");
+        for (String[] row : rows) {
+            System.out.printf("%-8s %10s %12s %12s %12s%n", (Object[]) row);
+        }
+        System.out.println();
+        System.out.printf("Totals: %d requests, %d computed, %d coalesced%n",
+                stats.getRequests(), stats.getComputed(), stats.getCoalesced());
+        System.out.println("One file read per burst: " + (oneReadPerBurst ? "yes" : "NO"));
+        System.out.println("========================================");
+    }
+
+    private static void seed(ConfigurableApplicationContext context, CsvAttendanceStorage csvStorage)
+            throws IOException {
+        InMemoryStudentStore studentStore = context.getBean(InMemoryStudentStore.class);
+        long firstId = studentStore.allocateIds(STUDENTS);
+        List<Student> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            Student.AttendanceStatus status = i % 4 == 0 ? Student.AttendanceStatus.ABSENT : Student.AttendanceStatus.PRESENT;
+            students.add(new Student(firstId + i, "Student " + i, status, DAY));
+        }
+        studentStore.saveAll(students);
+        csvStorage.writeDailyAttendance(DAY, null, new ArrayList<>(students));
+    }
+
+    /**
+     * Release every client thread at once on the same daily read.
+     * @return the distinct result sizes seen
+     */
+    private static Set<Integer> burst(ExecutorService clients, int threadCount, AttendanceService attendanceService)
+            throws Exception {
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<List<StudentDTO>>> workers = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            workers.add(clients.submit(() -> {
+                ready.countDown();
+                go.await();
+                return attendanceService.getAttendanceForDate(DAY, null);
+            }));
+        }
+        ready.await();
+        go.countDown();
+        Set<Integer> sizes = new HashSet<>();
+        for (Future<List<StudentDTO>> worker : workers) {
+            sizes.add(worker.get().size());
+        }
+        return sizes;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Day file storage that counts partition reads and stands in for a slow disk.
+     */
+    private static final class CountingStorage extends CsvAttendanceStorage {
+        final AtomicInteger reads = new AtomicInteger();
+        private final long readDelayMs;
+
+        CountingStorage(String dir, long readDelayMs) {
+            super(dir);
+            this.readDelayMs = readDelayMs;
+        }
+
+        @Override
+        public List<Student> readAttendance(LocalDate date, String section) throws IOException {
+            reads.incrementAndGet();
+            try {
+                Thread.sleep(readDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.readAttendance(date, section);
+        }
+    }
+}
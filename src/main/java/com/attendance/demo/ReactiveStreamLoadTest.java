@@ -0,0 +1,175 @@
+package com.attendance.demo;
+
+import com.attendance.AttendanceApplication;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Load test comparing the blocking attendance endpoints with their streaming
+ * /api/reactive variants under many concurrent requests.
+ * Starts the application in this JVM on a random port against a temporary
+ * data directory holding one synthetic day, fires every request at once,
+ * and reports wall time, peak JVM threads and peak heap use per endpoint.
+ * The HTTP client runs in the same JVM on a fixed pool of 4 threads, so its
+ * overhead is included equally in every row.
+ *
+ * Usage: ReactiveStreamLoadTest [concurrent requests] [students]
+ */
+public class ReactiveStreamLoadTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+    private static final int CLIENT_THREADS = 4;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int studentCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Path dir = Files.createTempDirectory("attendance-reactive-load");
+        // DevTools would otherwise relaunch the application in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // The application and storage log every request and file read; keep that out of the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ExecutorService clientPool = Executors.newFixedThreadPool(CLIENT_THREADS);
+        List<String[]> rows = new ArrayList<>();
+        try {
+            // A fresh application per endpoint, so idle container threads from one run do not count toward the next
+            for (String path : List.of("/api/attendance/daily", "/api/reactive/attendance/daily",
+                    "/api/attendance/report", "/api/reactive/attendance/report")) {
+                rows.add(runEndpoint(dir, path, requests, studentCount, clientPool));
+            }
+        } finally {
+            System.setOut(console);
+            clientPool.shutdownNow();
+            deleteRecursively(dir);
+        }
+
+        System.out.println("========================================");
+        System.out.println("  Reactive Stream Load Test");
+        System.out.println("========================================");
+        System.out.printf("Concurrent requests: %d | Students: %d%n%n", requests, studentCount);
+        System.out.printf("%-34s %10s %13s %15s %8s%n", "Endpoint", "Wall (ms)", "Peak threads", "Peak heap (MB)", "Failed");
+        System.out.println("----------------------------------------------------------------------------------");
+        for (String[] row : rows) {
+            System.out.printf("%-34s %10s %13s %15s %8s%n", (Object[]) row);
+        }
+        System.out.println("========================================");
+    }
+
+    private static String[] runEndpoint(Path dir, String path, int requests, int studentCount,
+                                        ExecutorService clientPool) throws Exception {
+        // Passed as arguments so they take precedence over application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AttendanceApplication.class)
+                .run("--server.port=0",
+                        "--attendance.data-dir=" + dir,
+                        "--attendance.cold.after-days=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--server.tomcat.max-connections=" + Math.max(8192, requests * 2));
+        try {
+            seed(context, studentCount);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientPool)
+                    .build();
+            URI uri = URI.create("http://localhost:" + port + path + "?date=" + DAY);
+            // One small untimed round warms up both server and client
+            run(client, uri, 50);
+            return run(client, uri, requests);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int studentCount) throws IOException {
+        InMemoryStudentStore studentStore = context.getBean(InMemoryStudentStore.class);
+        CsvAttendanceStorage csvStorage = context.getBean(CsvAttendanceStorage.class);
+        Random random = new Random(7);
+        long firstId = studentStore.allocateIds(studentCount);
+        List<Student> day = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            AttendanceStatus status = random.nextInt(10) == 0 ? AttendanceStatus.ABSENT : AttendanceStatus.PRESENT;
+            Student student = new Student(firstId + i, "Student " + i, status, DAY);
+            studentStore.save(new Student(student));
+            day.add(student);
+        }
+        csvStorage.writeDailyAttendance(DAY, day);
+    }
+
+    /**
+     * Fire all requests at once and wait for every response body.
+     * @return row of {label, wall ms, peak threads, peak heap MB, failures}
+     */
+    private static String[] run(HttpClient client, URI uri, int requests) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong(memory.getHeapMemoryUsage().getUsed());
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+
+        AtomicInteger failures = new AtomicInteger();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long start = System.nanoTime();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+        sampler.interrupt();
+        sampler.join();
+
+        return new String[] {uri.getPath(), String.valueOf(wallMillis), String.valueOf(threads.getPeakThreadCount()),
+                String.format("%.1f", peakHeap.get() / (1024.0 * 1024.0)), String.valueOf(failures.get())};
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
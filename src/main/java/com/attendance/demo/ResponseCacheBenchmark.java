@@ -0,0 +1,143 @@
+package com.attendance.demo;
+
+import com.attendance.AttendanceApplication;
+import com.attendance.model.Student;
+import com.attendance.service.AttendanceService;
+import com.attendance.service.SerializedResponseCache;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark of the CPU one daily attendance response costs, before and after
+ * pre-serialized bodies.
+ * Starts the application in this JVM against a temporary data directory,
+ * writes one day for a roster of the given size, then serves that day
+ * repeatedly: once the old way (build the StudentDTO list, serialize it
+ * with Jackson) and once from SerializedResponseCache, plain and gzipped.
+ * Each body is copied into a reused buffer, standing in for the response.
+ *
+ * Usage: ResponseCacheBenchmark [students] [requests]
+ */
+public class ResponseCacheBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Path dir = Files.createTempDirectory("attendance-response-cache");
+        // DevTools would otherwise relaunch the application in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // The application and storage log every file read; keep that out of the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AttendanceApplication.class)
+                .run("--server.port=0",
+                        "--attendance.data-dir=" + dir,
+                        "--attendance.cold.after-days=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        List<String[]> rows = new ArrayList<>();
+        try {
+            seed(context, studentCount);
+            AttendanceService attendanceService = context.getBean(AttendanceService.class);
+            SerializedResponseCache responseCache = context.getBean(SerializedResponseCache.class);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+            ResponseTask jackson = () -> objectMapper.writeValueAsBytes(attendanceService.getAttendanceForDate(DAY, null));
+            ResponseTask cached = () -> responseCache.getDaily(DAY, null, MediaType.APPLICATION_JSON).getBytes();
+            ResponseTask gzipped = () -> responseCache.getDaily(DAY, null, MediaType.APPLICATION_JSON).getGzip();
+
+            // Untimed rounds let the JIT compile every path
+            for (ResponseTask task : new ResponseTask[] {jackson, cached, gzipped}) {
+                measure(task, Math.min(requests, 500), sink);
+            }
+            rows.add(row("DTOs + Jackson (before)", measure(jackson, requests, sink)));
+            rows.add(row("Cached JSON bytes", measure(cached, requests, sink)));
+            rows.add(row("Cached gzip bytes", measure(gzipped, requests, sink)));
+        } finally {
+            System.setOut(console);
+            context.close();
+            deleteRecursively(dir);
+        }
+
+        System.out.println("========================================");
+        System.out.println("  Response Cache Benchmark");
+        System.out.println("========================================");
+        System.out.printf("Students: %d | Requests per path: %d%n%n", studentCount, requests);
+        System.out.printf("%-26s %14s %14s %12s%n", "Path", "CPU/req (us)", "Wall/req (us)", "Body bytes");
+        System.out.println("--------------------------------------------------------------------");
+        for (String[] row : rows) {
+            System.out.printf("%-26s %14s %14s %12s%n", (Object[]) row);
+        }
+        System.out.println("========================================");
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int studentCount) throws IOException {
+        InMemoryStudentStore studentStore = context.getBean(InMemoryStudentStore.class);
+        long firstId = studentStore.allocateIds(studentCount);
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Student.AttendanceStatus status = i % 7 == 0 ? Student.AttendanceStatus.ABSENT : Student.AttendanceStatus.PRESENT;
+            students.add(new Student(firstId + i, "Student " + i, status, DAY));
+        }
+        studentStore.saveAll(students);
+        context.getBean(CsvAttendanceStorage.class).writeDailyAttendance(DAY, null, new ArrayList<>(students));
+    }
+
+    /**
+     * Serve the day repeatedly on this thread.
+     * @return {thread CPU ns, wall ns, body bytes} per request
+     */
+    private static long[] measure(ResponseTask task, int requests, ByteArrayOutputStream sink) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long bytes = 0;
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long wallStart = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            byte[] body = task.respond();
+            sink.reset();
+            sink.write(body);
+            bytes += body.length;
+        }
+        long wall = System.nanoTime() - wallStart;
+        long cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+        return new long[] {cpu / requests, wall / requests, bytes / requests};
+    }
+
+    private static String[] row(String label, long[] perRequest) {
+        return new String[] {label, String.format("%.1f", perRequest[0] / 1e3),
+                String.format("%.1f", perRequest[1] / 1e3), String.valueOf(perRequest[2])};
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseTask {
+        byte[] respond() throws Exception;
+    }
+}
@@ -0,0 +1,247 @@
+package com.attendance.demo;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Startup comparison of the packaged application: the executable jar on the
+ * JVM, with and without the startup warm-up, the Class Data Sharing build
+ * (with and without warm-up), the jar with its Spring AOT initializers (when
+ * it was built with the native profile) and the native executable.
+ * Each launch gets a fresh data directory and a free port. Time to first
+ * request runs from process start to the first successful GET /api/students,
+ * and the resident set size is read from /proc at that moment, so this runs
+ * on Linux only. A roster is then imported and one client alternates a
+ * check-in with a read of the day for the load period; throughput is counted
+ * in half-second windows, reporting the peak and the time from the start of
+ * the load until a window first reaches 90% of it. Launches whose artifact is
+ * missing are skipped.
+ *
+ * Build first with mvn -DskipTests package (JVM jar), mvn -Pcds -DskipTests
+ * package (adds target/cds) or mvn -Pnative -DskipTests package (jar with
+ * AOT, plus target/attendance).
+ *
+ * Usage: StartupComparison [runs] [load-seconds] [students]
+ */
+public class StartupComparison {
+
+    private static final Path JAR = Path.of("target", "attendance-1.0.0.jar");
+    private static final Path CDS_JAR = Path.of("target", "cds", "attendance.jar");
+    private static final Path CDS_ARCHIVE = Path.of("target", "cds", "attendance.jsa");
+    private static final Path NATIVE = Path.of("target", "attendance");
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(60);
+    private static final long WINDOW_NANOS = 500_000_000L;
+    private static final String WARMUP = "--attendance.warmup.enabled=true";
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int loadSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int studentCount = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Load load = new Load(loadSeconds, studentCount);
+
+        List<String[]> rows = new ArrayList<>();
+        if (Files.exists(JAR)) {
+            String jar = JAR.toString();
+            rows.add(row("JVM jar", runs, load, java, "-jar", jar));
+            rows.add(row("JVM jar + warm-up", runs, load, java, "-jar", jar, WARMUP));
+            if (isAotProcessed(JAR)) {
+                rows.add(row("JVM jar, Spring AOT", runs, load, java, "-Dspring.aot.enabled=true", "-jar", jar));
+            }
+        }
+        if (Files.exists(CDS_ARCHIVE)) {
+            // The archive records the absolute jar path it was trained with
+            String archive = "-XX:SharedArchiveFile=" + CDS_ARCHIVE.toAbsolutePath();
+            String jar = CDS_JAR.toAbsolutePath().toString();
+            rows.add(row("CDS", runs, load, java, archive, "-jar", jar));
+            rows.add(row("CDS + warm-up", runs, load, java, archive, "-jar", jar, WARMUP));
+        }
+        if (Files.isExecutable(NATIVE)) {
+            rows.add(row("Native executable", runs, load, NATIVE.toString()));
+        }
+
+        System.out.println("========================================");
+        System.out.println("  Startup Comparison");
+        System.out.println("========================================");
+        System.out.printf("Runs per launch: %d (medians) | Load: %d s over %d students%n%n",
+                runs, loadSeconds, studentCount);
+        if (rows.isEmpty()) {
+            System.out.println("No artifacts found; build " + JAR + ", " + CDS_ARCHIVE + " or " + NATIVE + " first");
+        } else {
+            System.out.printf("%-22s %14s %10s %12s %16s%n", "Launch", "First req (ms)", "RSS (MB)",
+                    "Peak req/s", "To 90% peak (s)");
+            System.out.println("------------------------------------------------------------------------------");
+            for (String[] row : rows) {
+                System.out.printf("%-22s %14s %10s %12s %16s%n", (Object[]) row);
+            }
+        }
+        System.out.println("========================================");
+    }
+
+    private static String[] row(String label, int runs, Load load, String... command) throws Exception {
+        long[] readyMillis = new long[runs];
+        long[] rssKilobytes = new long[runs];
+        long[] peakRates = new long[runs];
+        long[] millisToPeak = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] result = launch(load, command);
+            readyMillis[i] = result[0];
+            rssKilobytes[i] = result[1];
+            peakRates[i] = result[2];
+            millisToPeak[i] = result[3];
+        }
+        return new String[] {label, String.valueOf(median(readyMillis)),
+                String.format("%.1f", median(rssKilobytes) / 1024.0), String.valueOf(median(peakRates)),
+                String.format("%.1f", median(millisToPeak) / 1e3)};
+    }
+
+    /**
+     * Start the application once, wait for it to answer, run the load and stop it.
+     * @return {milliseconds to first request, resident set size in kB at that moment,
+     *          peak requests per second, milliseconds from load start to 90% of the peak}
+     */
+    private static long[] launch(Load load, String... command) throws Exception {
+        Path dir = Files.createTempDirectory("attendance-startup");
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(Arrays.asList(command));
+        arguments.add("--server.port=" + port);
+        arguments.add("--attendance.data-dir=" + dir);
+        arguments.add("--spring.main.banner-mode=off");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        String base = "http://localhost:" + port + "/api";
+        HttpRequest roster = HttpRequest.newBuilder(URI.create(base + "/students")).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(String.join(" ", command) + " exited with " + process.exitValue());
+                }
+                if (System.nanoTime() - start > READY_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(String.join(" ", command) + " did not start within " + READY_TIMEOUT);
+                }
+                try {
+                    if (client.send(roster, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListening) {
+                    // Not accepting connections yet
+                }
+                Thread.sleep(5);
+            }
+            long readyMillis = (System.nanoTime() - start) / 1_000_000;
+            long rss = residentKilobytes(process.pid());
+            long[] throughput = load.run(client, base);
+            return new long[] {readyMillis, rss, throughput[0], throughput[1]};
+        } finally {
+            process.destroy();
+            process.waitFor();
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Check-ins and daily reads from one client, the mix the warm-up covers.
+     */
+    private record Load(int seconds, int studentCount) {
+
+        /**
+         * Import the roster, then alternate check-ins and reads of the day.
+         * @return {peak requests per second, milliseconds from load start to 90% of the peak}
+         */
+        long[] run(HttpClient client, String base) throws Exception {
+            StringBuilder csv = new StringBuilder("name\n");
+            for (int i = 0; i < studentCount; i++) {
+                csv.append("Load Student\n");
+            }
+            client.send(HttpRequest.newBuilder(URI.create(base + "/students/import"))
+                    .header("Content-Type", "text/csv")
+                    .POST(HttpRequest.BodyPublishers.ofString(csv.toString())).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            String today = LocalDate.now().toString();
+            HttpRequest daily = HttpRequest.newBuilder(URI.create(base + "/attendance/daily?date=" + today)).build();
+
+            List<Long> windows = new ArrayList<>();
+            long loadStart = System.nanoTime();
+            long loadEnd = loadStart + seconds * 1_000_000_000L;
+            long windowEnd = loadStart + WINDOW_NANOS;
+            long count = 0;
+            for (long now = loadStart; now < loadEnd; now = System.nanoTime()) {
+                // The 20 sample students come first, then the imported roster
+                long studentId = 1 + ThreadLocalRandom.current().nextInt(studentCount + 20);
+                String status = ThreadLocalRandom.current().nextBoolean() ? "PRESENT" : "ABSENT";
+                String mark = "{\"studentId\":" + studentId + ",\"status\":\"" + status + "\",\"date\":\"" + today + "\"}";
+                client.send(HttpRequest.newBuilder(URI.create(base + "/attendance/mark"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(mark)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                client.send(daily, HttpResponse.BodyHandlers.discarding());
+                count += 2;
+                while (System.nanoTime() >= windowEnd) {
+                    windows.add(count);
+                    count = 0;
+                    windowEnd += WINDOW_NANOS;
+                }
+            }
+
+            long peak = windows.stream().mapToLong(Long::longValue).max().orElse(0);
+            int reached = 0;
+            while (reached < windows.size() && windows.get(reached) * 10 < peak * 9) {
+                reached++;
+            }
+            long perSecond = peak * 1_000_000_000L / WINDOW_NANOS;
+            return new long[] {perSecond, (reached + 1) * WINDOW_NANOS / 1_000_000};
+        }
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isAotProcessed(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.getManifest() != null
+                    && "true".equals(file.getManifest().getMainAttributes().getValue("Spring-Boot-Native-Processed"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.attendance.demo;
+
+import com.attendance.analytics.TermAggregate;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.service.TermAggregationService;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Benchmark for parallel term aggregation.
+ * Writes a year of synthetic day files into a temporary directory, then
+ * compares sequential readAttendance calls against TermAggregationService
+ * at increasing parallelism.
+ *
+ * Usage: TermAggregationBenchmark [students] [days]
+ */
+public class TermAggregationBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int dayCount = args.length > 1 ? Integer.parseInt(args[1]) : 365;
+
+        Path dir = Files.createTempDirectory("attendance-bench");
+        CsvAttendanceStorage csvStorage = new CsvAttendanceStorage(dir.toString());
+
+        System.out.println("========================================");
+        System.out.println("  Term Aggregation Benchmark");
+        System.out.println("========================================");
+        System.out.printf("Students: %d | Days: %d | Cores: %d%n",
+                studentCount, dayCount, Runtime.getRuntime().availableProcessors());
+        System.out.println("Data directory: " + dir + "\n");
+
+        writeYear(csvStorage, studentCount, dayCount);
+
+        double sequential = timeSequential(csvStorage);
+        System.out.printf("%-26s %10.1f ms%n", "sequential readAttendance", sequential);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+            report(csvStorage, parallelism, sequential);
+        }
+        if (Integer.bitCount(cores) != 1) {
+            report(csvStorage, cores, sequential);
+        }
+        System.out.println("========================================");
+    }
+
+    private static void writeYear(CsvAttendanceStorage csvStorage, int studentCount, int dayCount)
+            throws IOException {
+        Random random = new Random(7);
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        for (int d = 0; d < dayCount; d++) {
+            LocalDate day = first.plusDays(d);
+            List<Student> students = new ArrayList<>(studentCount);
+            for (long id = 1; id <= studentCount; id++) {
+                AttendanceStatus status = random.nextInt(10) == 0 ? AttendanceStatus.ABSENT : AttendanceStatus.PRESENT;
+                students.add(new Student(id, "Student " + id, status, day));
+            }
+            csvStorage.writeDailyAttendance(day, students);
+        }
+    }
+
+    private static double timeSequential(CsvAttendanceStorage csvStorage) throws IOException {
+        // readAttendance logs every file it reads; keep that noise out of the results
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                Map<Long, int[]> counts = new HashMap<>();
+                for (LocalDate date : csvStorage.getAvailableDates()) {
+                    for (Student student : csvStorage.readAttendance(date)) {
+                        int[] c = counts.computeIfAbsent(student.getId(), id -> new int[2]);
+                        c[student.getStatus() == AttendanceStatus.PRESENT ? 0 : 1]++;
+                    }
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            return best / 1e6;
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static void report(CsvAttendanceStorage csvStorage, int parallelism, double sequential) {
+        TermAggregationService service = new TermAggregationService(new InMemoryStudentStore(), csvStorage, parallelism);
+        try {
+            long best = Long.MAX_VALUE;
+            TermAggregate aggregate = null;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                aggregate = service.aggregate(null, null);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            double millis = best / 1e6;
+            System.out.printf("%-26s %10.1f ms  (%.2fx, %d records)%n",
+                    "fork-join parallelism=" + parallelism, millis, sequential / millis,
+                    aggregate.totalRecorded());
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.attendance.demo;
+
+import com.attendance.codec.AttendanceBody;
+import com.attendance.codec.AttendanceCodecs;
+import com.attendance.codec.AttendanceMediaTypes;
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.StudentDTO;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Micro-benchmark of the attendance report in every negotiable format:
+ * body size (plain and gzipped) and encode/decode time, with a check that
+ * each format decodes back to the same report.
+ * Uses a synthetic report, so no attendance files are touched.
+ *
+ * Usage: WireFormatBenchmark [students]
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+    private static final String[] SECTIONS = {"7A", "7B", "8A", "8B", null};
+
+    public static void main(String[] args) throws IOException {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+
+        AttendanceCodecs codecs = new AttendanceCodecs(Jackson2ObjectMapperBuilder.json().build());
+        AttendanceReportDTO report = generate(studentCount);
+
+        System.out.println("========================================");
+        System.out.println("  Wire Format Benchmark");
+        System.out.println("========================================");
+        System.out.printf("Report with %d students%n%n", studentCount);
+        System.out.printf("%-14s %10s %10s %12s %12s %8s%n", "Format", "Bytes", "Gzipped", "Encode (us)", "Decode (us)", "Same");
+        System.out.println("--------------------------------------------------------------------------");
+        report(codecs, report, "JSON", MediaType.APPLICATION_JSON);
+        report(codecs, report, "Columnar JSON", AttendanceMediaTypes.COLUMNAR_JSON);
+        report(codecs, report, "CBOR", AttendanceMediaTypes.CBOR);
+        report(codecs, report, "Smile", AttendanceMediaTypes.SMILE);
+        report(codecs, report, "Protobuf", AttendanceMediaTypes.PROTOBUF);
+        System.out.println("========================================");
+    }
+
+    private static AttendanceReportDTO generate(int studentCount) {
+        Random random = new Random(42);
+        LocalDate day = LocalDate.of(2025, 11, 20);
+        List<StudentDTO> students = new ArrayList<>(studentCount);
+        long present = 0;
+        for (long id = 1; id <= studentCount; id++) {
+            String status = random.nextInt(10) == 0 ? "ABSENT" : "PRESENT";
+            present += "PRESENT".equals(status) ? 1 : 0;
+            students.add(new StudentDTO(id, "Student " + id, status, day, SECTIONS[(int) (id % SECTIONS.length)]));
+        }
+        return new AttendanceReportDTO(studentCount, present, studentCount - present,
+                present * 100.0 / studentCount, students);
+    }
+
+    private static void report(AttendanceCodecs codecs, AttendanceReportDTO report, String label, MediaType type)
+            throws IOException {
+        byte[] encoded = codecs.encode(report, type);
+        AttendanceReportDTO decoded = (AttendanceReportDTO) codecs.decode(encoded, type, AttendanceBody.REPORT);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            codecs.decode(codecs.encode(report, type), type, AttendanceBody.REPORT);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            codecs.encode(report, type);
+        }
+        double encodeMicros = (System.nanoTime() - start) / 1e3 / MEASURED_ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            codecs.decode(encoded, type, AttendanceBody.REPORT);
+        }
+        double decodeMicros = (System.nanoTime() - start) / 1e3 / MEASURED_ROUNDS;
+
+        System.out.printf("%-14s %10d %10d %12.1f %12.1f %8s%n", label, encoded.length, gzip(encoded).length,
+                encodeMicros, decodeMicros, sameReport(report, decoded) ? "yes" : "NO");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static boolean sameReport(AttendanceReportDTO expected, AttendanceReportDTO actual) {
+        if (expected.getTotalStudents() != actual.getTotalStudents()
+                || expected.getPresentCount() != actual.getPresentCount()
+                || expected.getAbsentCount() != actual.getAbsentCount()
+                || expected.getAttendanceRate() != actual.getAttendanceRate()
+                || expected.getStudents().size() != actual.getStudents().size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.getStudents().size(); i++) {
+            StudentDTO a = expected.getStudents().get(i);
+            StudentDTO b = actual.getStudents().get(i);
+            if (!Objects.equals(a.getId(), b.getId()) || !Objects.equals(a.getName(), b.getName())
+                    || !Objects.equals(a.getStatus(), b.getStatus()) || !Objects.equals(a.getDate(), b.getDate())
+                    || !Objects.equals(a.getSection(), b.getSection())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
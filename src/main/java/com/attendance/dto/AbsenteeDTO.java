@@ -0,0 +1,75 @@
+package com.attendance.dto;
+
+/**
+ * DTO describing a student's absence record over a date window.
+ */
+public class AbsenteeDTO {
+    private Long id;
+    private String name;
+    private int recordedDays;
+    private int absentDays;
+    private double absenceRate;
+
+    /**
+     * Default constructor.
+     */
+    public AbsenteeDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param id the student ID
+     * @param name the student name
+     * @param recordedDays number of days the student was recorded
+     * @param absentDays number of days the student was absent
+     * @param absenceRate absence percentage over recorded days
+     */
+    public AbsenteeDTO(Long id, String name, int recordedDays, int absentDays, double absenceRate) {
+        this.id = id;
+        this.name = name;
+        this.recordedDays = recordedDays;
+        this.absentDays = absentDays;
+        this.absenceRate = absenceRate;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getRecordedDays() {
+        return recordedDays;
+    }
+
+    public void setRecordedDays(int recordedDays) {
+        this.recordedDays = recordedDays;
+    }
+
+    public int getAbsentDays() {
+        return absentDays;
+    }
+
+    public void setAbsentDays(int absentDays) {
+        this.absentDays = absentDays;
+    }
+
+    public double getAbsenceRate() {
+        return absenceRate;
+    }
+
+    public void setAbsenceRate(double absenceRate) {
+        this.absenceRate = absenceRate;
+    }
+}
@@ -0,0 +1,64 @@
+package com.attendance.dto;
+
+/**
+ * DTO for a student in an approximate most-absent ranking.
+ */
+public class ApproxAbsenteeDTO {
+    private Long id;
+    private String name;
+    private long estimatedAbsentDays;
+    private long maxOverestimate;
+
+    /**
+     * Default constructor.
+     */
+    public ApproxAbsenteeDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param id the student ID
+     * @param name the student name
+     * @param estimatedAbsentDays estimated absent days, never below the true count
+     * @param maxOverestimate how far the estimate may exceed the true count
+     */
+    public ApproxAbsenteeDTO(Long id, String name, long estimatedAbsentDays, long maxOverestimate) {
+        this.id = id;
+        this.name = name;
+        this.estimatedAbsentDays = estimatedAbsentDays;
+        this.maxOverestimate = maxOverestimate;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getEstimatedAbsentDays() {
+        return estimatedAbsentDays;
+    }
+
+    public void setEstimatedAbsentDays(long estimatedAbsentDays) {
+        this.estimatedAbsentDays = estimatedAbsentDays;
+    }
+
+    public long getMaxOverestimate() {
+        return maxOverestimate;
+    }
+
+    public void setMaxOverestimate(long maxOverestimate) {
+        this.maxOverestimate = maxOverestimate;
+    }
+}
@@ -0,0 +1,66 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for an approximate distinct count with its expected error.
+ */
+public class ApproxCountDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private long estimate;
+    private double relativeError;
+
+    /**
+     * Default constructor.
+     */
+    public ApproxCountDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param from first day covered by the sketches
+     * @param to last day covered by the sketches
+     * @param estimate estimated distinct count
+     * @param relativeError relative standard error of the estimate
+     */
+    public ApproxCountDTO(LocalDate from, LocalDate to, long estimate, double relativeError) {
+        this.from = from;
+        this.to = to;
+        this.estimate = estimate;
+        this.relativeError = relativeError;
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getEstimate() {
+        return estimate;
+    }
+
+    public void setEstimate(long estimate) {
+        this.estimate = estimate;
+    }
+
+    public double getRelativeError() {
+        return relativeError;
+    }
+
+    public void setRelativeError(double relativeError) {
+        this.relativeError = relativeError;
+    }
+}
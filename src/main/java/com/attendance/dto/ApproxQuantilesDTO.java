@@ -0,0 +1,78 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * DTO for approximate quantiles of class daily attendance rates.
+ */
+public class ApproxQuantilesDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private long samples;
+    private double maxError;
+    private Map<String, Double> quantiles;
+
+    /**
+     * Default constructor.
+     */
+    public ApproxQuantilesDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param from first day covered by the sketches
+     * @param to last day covered by the sketches
+     * @param samples number of class-days summarized
+     * @param maxError worst-case error of each quantile, in percentage points
+     * @param quantiles rate per requested quantile, keyed by the quantile
+     */
+    public ApproxQuantilesDTO(LocalDate from, LocalDate to, long samples, double maxError, Map<String, Double> quantiles) {
+        this.from = from;
+        this.to = to;
+        this.samples = samples;
+        this.maxError = maxError;
+        this.quantiles = quantiles;
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    public void setMaxError(double maxError) {
+        this.maxError = maxError;
+    }
+
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+}
@@ -0,0 +1,91 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO pushed to live subscribers when a day's attendance changes.
+ * Carries only the students whose status changed plus the day's running totals.
+ */
+public class AttendanceDeltaDTO {
+    private LocalDate date;
+    private String section;
+    private List<AttendanceEntryDTO> changes;
+    private long totalStudents;
+    private long presentCount;
+    private long absentCount;
+
+    /**
+     * Default constructor.
+     */
+    public AttendanceDeltaDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param date the attendance date
+     * @param section the section the counts cover, or null for the whole school
+     * @param changes students whose status changed, with their new status
+     * @param totalStudents number of students recorded for the day
+     * @param presentCount number of present students
+     * @param absentCount number of absent students
+     */
+    public AttendanceDeltaDTO(LocalDate date, String section, List<AttendanceEntryDTO> changes,
+                              long totalStudents, long presentCount, long absentCount) {
+        this.date = date;
+        this.section = section;
+        this.changes = changes;
+        this.totalStudents = totalStudents;
+        this.presentCount = presentCount;
+        this.absentCount = absentCount;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public List<AttendanceEntryDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<AttendanceEntryDTO> changes) {
+        this.changes = changes;
+    }
+
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public void setTotalStudents(long totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(long presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public long getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(long absentCount) {
+        this.absentCount = absentCount;
+    }
+}
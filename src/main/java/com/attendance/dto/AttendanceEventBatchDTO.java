@@ -0,0 +1,66 @@
+package com.attendance.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the attendance event log.
+ */
+public class AttendanceEventBatchDTO {
+    private long from;
+    private long next;
+    private long endOffset;
+    private List<AttendanceEventDTO> events;
+
+    /**
+     * Default constructor.
+     */
+    public AttendanceEventBatchDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param from offset the page starts at
+     * @param next offset to request the following page from
+     * @param endOffset offset the next appended event will get
+     * @param events events from the requested offset, in log order
+     */
+    public AttendanceEventBatchDTO(long from, long next, long endOffset, List<AttendanceEventDTO> events) {
+        this.from = from;
+        this.next = next;
+        this.endOffset = endOffset;
+        this.events = events;
+    }
+
+    // Getters and Setters
+    public long getFrom() {
+        return from;
+    }
+
+    public void setFrom(long from) {
+        this.from = from;
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public void setNext(long next) {
+        this.next = next;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    public List<AttendanceEventDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<AttendanceEventDTO> events) {
+        this.events = events;
+    }
+}
@@ -0,0 +1,90 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of the attendance event log.
+ */
+public class AttendanceEventDTO {
+    private long offset;
+    private Long studentId;
+    private LocalDate date;
+    private String status;
+    private String source;
+    private LocalDateTime recordedAt;
+
+    /**
+     * Default constructor.
+     */
+    public AttendanceEventDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param offset position of the event in the log
+     * @param studentId the student ID
+     * @param date the attendance day
+     * @param status the recorded status
+     * @param source how the change was recorded (CHECK_IN or DAILY_SAVE)
+     * @param recordedAt when the change was recorded, in server time
+     */
+    public AttendanceEventDTO(long offset, Long studentId, LocalDate date, String status, String source,
+                              LocalDateTime recordedAt) {
+        this.offset = offset;
+        this.studentId = studentId;
+        this.date = date;
+        this.status = status;
+        this.source = source;
+        this.recordedAt = recordedAt;
+    }
+
+    // Getters and Setters
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
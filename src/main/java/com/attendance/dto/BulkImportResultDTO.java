@@ -0,0 +1,100 @@
+package com.attendance.dto;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk roster import.
+ */
+public class BulkImportResultDTO {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private Long firstId;
+    private Long lastId;
+    private boolean errorsTruncated;
+    private List<ImportRowErrorDTO> errors;
+
+    /**
+     * Default constructor.
+     */
+    public BulkImportResultDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param totalRows number of data rows read
+     * @param imported number of students created
+     * @param failed number of rows rejected
+     * @param firstId lowest ID assigned, or null if nothing was imported
+     * @param lastId highest ID assigned, or null if nothing was imported
+     * @param errorsTruncated true if more rows failed than are listed in errors
+     * @param errors per-row validation errors
+     */
+    public BulkImportResultDTO(long totalRows, long imported, long failed, Long firstId, Long lastId,
+                               boolean errorsTruncated, List<ImportRowErrorDTO> errors) {
+        this.totalRows = totalRows;
+        this.imported = imported;
+        this.failed = failed;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.errorsTruncated = errorsTruncated;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public Long getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(Long firstId) {
+        this.firstId = firstId;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<ImportRowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
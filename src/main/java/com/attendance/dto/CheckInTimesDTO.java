@@ -0,0 +1,102 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for the time-of-day profile of a day's check-ins.
+ */
+public class CheckInTimesDTO {
+    private LocalDate date;
+    private String section;
+    private LocalTime lateAfter;
+    private long checkedIn;
+    private long lateCount;
+    private List<Long> checkInsByHour;
+    private List<LateArrivalDTO> lateArrivals;
+
+    /**
+     * Default constructor.
+     */
+    public CheckInTimesDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param date the attendance day
+     * @param section the section, or null for the whole school
+     * @param lateAfter check-ins after this time count as late
+     * @param checkedIn students with a PRESENT check-in made on the day
+     * @param lateCount students whose first check-in was late
+     * @param checkInsByHour first check-ins per hour of the day, index 0 to 23
+     * @param lateArrivals late students, earliest first
+     */
+    public CheckInTimesDTO(LocalDate date, String section, LocalTime lateAfter, long checkedIn,
+                           long lateCount, List<Long> checkInsByHour, List<LateArrivalDTO> lateArrivals) {
+        this.date = date;
+        this.section = section;
+        this.lateAfter = lateAfter;
+        this.checkedIn = checkedIn;
+        this.lateCount = lateCount;
+        this.checkInsByHour = checkInsByHour;
+        this.lateArrivals = lateArrivals;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public LocalTime getLateAfter() {
+        return lateAfter;
+    }
+
+    public void setLateAfter(LocalTime lateAfter) {
+        this.lateAfter = lateAfter;
+    }
+
+    public long getCheckedIn() {
+        return checkedIn;
+    }
+
+    public void setCheckedIn(long checkedIn) {
+        this.checkedIn = checkedIn;
+    }
+
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    public void setLateCount(long lateCount) {
+        this.lateCount = lateCount;
+    }
+
+    public List<Long> getCheckInsByHour() {
+        return checkInsByHour;
+    }
+
+    public void setCheckInsByHour(List<Long> checkInsByHour) {
+        this.checkInsByHour = checkInsByHour;
+    }
+
+    public List<LateArrivalDTO> getLateArrivals() {
+        return lateArrivals;
+    }
+
+    public void setLateArrivals(List<LateArrivalDTO> lateArrivals) {
+        this.lateArrivals = lateArrivals;
+    }
+}
@@ -0,0 +1,67 @@
+package com.attendance.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO describing this node's view of the sharded deployment.
+ */
+public class ClusterStatusDTO {
+    private boolean enabled;
+    private String self;
+    private List<String> nodes;
+    private Map<String, String> sectionOwners;
+
+    /**
+     * Default constructor.
+     */
+    public ClusterStatusDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param enabled whether requests are routed across nodes
+     * @param self this node's base URL
+     * @param nodes base URLs of all nodes on the ring
+     * @param sectionOwners owning node per locally known section
+     */
+    public ClusterStatusDTO(boolean enabled, String self, List<String> nodes, Map<String, String> sectionOwners) {
+        this.enabled = enabled;
+        this.self = self;
+        this.nodes = nodes;
+        this.sectionOwners = sectionOwners;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public void setSelf(String self) {
+        this.self = self;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+
+    public Map<String, String> getSectionOwners() {
+        return sectionOwners;
+    }
+
+    public void setSectionOwners(Map<String, String> sectionOwners) {
+        this.sectionOwners = sectionOwners;
+    }
+}
@@ -0,0 +1,64 @@
+package com.attendance.dto;
+
+/**
+ * DTO for how many daily attendance reads shared a computation.
+ */
+public class CoalescingStatsDTO {
+    private long requests;
+    private long computed;
+    private long coalesced;
+    private int inFlight;
+
+    /**
+     * Default constructor.
+     */
+    public CoalescingStatsDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param requests reads since startup
+     * @param computed reads that ran their own computation
+     * @param coalesced reads that joined a computation already in flight
+     * @param inFlight computations running now
+     */
+    public CoalescingStatsDTO(long requests, long computed, long coalesced, int inFlight) {
+        this.requests = requests;
+        this.computed = computed;
+        this.coalesced = coalesced;
+        this.inFlight = inFlight;
+    }
+
+    // Getters and Setters
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getComputed() {
+        return computed;
+    }
+
+    public void setComputed(long computed) {
+        this.computed = computed;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+}
@@ -1,9 +1,11 @@
 package com.attendance.dto;
 
+import com.attendance.model.Student;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,6 +23,10 @@ public class DailyAttendanceRequest {
     @Valid
     private List<AttendanceEntryDTO> entries;
     
+    // Optional: save only this section's partition; omitted saves school-wide
+    @Pattern(regexp = Student.SECTION_REGEX, message = Student.SECTION_MESSAGE)
+    private String section;
+    
     public DailyAttendanceRequest() {
     }
     
@@ -44,5 +50,13 @@ public class DailyAttendanceRequest {
     public void setEntries(List<AttendanceEntryDTO> entries) {
         this.entries = entries;
     }
+    
+    public String getSection() {
+        return section;
+    }
+    
+    public void setSection(String section) {
+        this.section = section;
+    }
 }
 
@@ -0,0 +1,78 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for a single day's attendance totals and rate.
+ */
+public class DailyRateDTO {
+    private LocalDate date;
+    private long recordedCount;
+    private long presentCount;
+    private long absentCount;
+    private double attendanceRate;
+
+    /**
+     * Default constructor.
+     */
+    public DailyRateDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param date the attendance date
+     * @param recordedCount number of students recorded
+     * @param presentCount number of present students
+     * @param absentCount number of absent students
+     * @param attendanceRate attendance percentage
+     */
+    public DailyRateDTO(LocalDate date, long recordedCount, long presentCount,
+                        long absentCount, double attendanceRate) {
+        this.date = date;
+        this.recordedCount = recordedCount;
+        this.presentCount = presentCount;
+        this.absentCount = absentCount;
+        this.attendanceRate = attendanceRate;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getRecordedCount() {
+        return recordedCount;
+    }
+
+    public void setRecordedCount(long recordedCount) {
+        this.recordedCount = recordedCount;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(long presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public long getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(long absentCount) {
+        this.absentCount = absentCount;
+    }
+
+    public double getAttendanceRate() {
+        return attendanceRate;
+    }
+
+    public void setAttendanceRate(double attendanceRate) {
+        this.attendanceRate = attendanceRate;
+    }
+}
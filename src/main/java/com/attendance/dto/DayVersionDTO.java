@@ -0,0 +1,89 @@
+package com.attendance.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one retained version of a partition's day.
+ */
+public class DayVersionDTO {
+    private String section;
+    private long version;
+    private LocalDateTime writtenAt;
+    private boolean deleted;
+    private long recordedCount;
+    private long presentCount;
+
+    /**
+     * Default constructor.
+     */
+    public DayVersionDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param section the section, or null for the unsectioned partition
+     * @param version the version number within the partition's day
+     * @param writtenAt when the version was written, in server time
+     * @param deleted true if the version records the day file being deleted
+     * @param recordedCount number of records in the version
+     * @param presentCount number of present records in the version
+     */
+    public DayVersionDTO(String section, long version, LocalDateTime writtenAt, boolean deleted,
+                         long recordedCount, long presentCount) {
+        this.section = section;
+        this.version = version;
+        this.writtenAt = writtenAt;
+        this.deleted = deleted;
+        this.recordedCount = recordedCount;
+        this.presentCount = presentCount;
+    }
+
+    // Getters and Setters
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getWrittenAt() {
+        return writtenAt;
+    }
+
+    public void setWrittenAt(LocalDateTime writtenAt) {
+        this.writtenAt = writtenAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public long getRecordedCount() {
+        return recordedCount;
+    }
+
+    public void setRecordedCount(long recordedCount) {
+        this.recordedCount = recordedCount;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(long presentCount) {
+        this.presentCount = presentCount;
+    }
+}
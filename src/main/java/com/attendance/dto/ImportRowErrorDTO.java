@@ -0,0 +1,42 @@
+package com.attendance.dto;
+
+/**
+ * DTO describing why a single roster import row was rejected.
+ */
+public class ImportRowErrorDTO {
+    private long row;
+    private String message;
+
+    /**
+     * Default constructor.
+     */
+    public ImportRowErrorDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param row 1-based line number in the uploaded file
+     * @param message the validation error
+     */
+    public ImportRowErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
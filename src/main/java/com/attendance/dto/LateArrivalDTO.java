@@ -0,0 +1,55 @@
+package com.attendance.dto;
+
+import java.time.LocalTime;
+
+/**
+ * DTO for a student whose first check-in of a day came after the cut-off.
+ */
+public class LateArrivalDTO {
+    private Long id;
+    private String name;
+    private LocalTime checkedInAt;
+
+    /**
+     * Default constructor.
+     */
+    public LateArrivalDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param id the student ID
+     * @param name the student name
+     * @param checkedInAt time of the student's first PRESENT check-in
+     */
+    public LateArrivalDTO(Long id, String name, LocalTime checkedInAt) {
+        this.id = id;
+        this.name = name;
+        this.checkedInAt = checkedInAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalTime getCheckedInAt() {
+        return checkedInAt;
+    }
+
+    public void setCheckedInAt(LocalTime checkedInAt) {
+        this.checkedInAt = checkedInAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.attendance.dto;
 
+import com.attendance.model.Student;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -10,13 +11,26 @@ import java.time.LocalDate;
  */
 public class NewStudentRequest {
     
-    @NotBlank(message = "Student name is required")
-    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
-    @Pattern(regexp = "^[a-zA-Z\\s]+$", message = "Please enter a valid name without numbers or symbols.")
+    // Shared with bulk import, which validates rows against the precompiled pattern
+    public static final String NAME_REGEX = "^[a-zA-Z\\s]+$";
+    public static final java.util.regex.Pattern NAME_PATTERN = java.util.regex.Pattern.compile(NAME_REGEX);
+    public static final int NAME_MIN_LENGTH = 2;
+    public static final int NAME_MAX_LENGTH = 100;
+    public static final String NAME_REQUIRED_MESSAGE = "Student name is required";
+    public static final String NAME_SIZE_MESSAGE = "Name must be between 2 and 100 characters";
+    public static final String NAME_PATTERN_MESSAGE = "Please enter a valid name without numbers or symbols.";
+    
+    @NotBlank(message = NAME_REQUIRED_MESSAGE)
+    @Size(min = NAME_MIN_LENGTH, max = NAME_MAX_LENGTH, message = NAME_SIZE_MESSAGE)
+    @Pattern(regexp = NAME_REGEX, message = NAME_PATTERN_MESSAGE)
     private String name;
     
     // NEW: Optional creation date - if not provided, will use current date
     private LocalDate creationDate;
+    
+    // Optional class/section; omitted means unsectioned
+    @Pattern(regexp = Student.SECTION_REGEX, message = Student.SECTION_MESSAGE)
+    private String section;
 
     /**
      * Default constructor.
@@ -50,11 +64,20 @@ public class NewStudentRequest {
         this.creationDate = creationDate;
     }
 
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
     @Override
     public String toString() {
         return "NewStudentRequest{" +
                 "name='" + name + '\'' +
                 ", creationDate=" + creationDate +
+                ", section='" + section + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,67 @@
+package com.attendance.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the leader's replication log.
+ */
+public class ReplicationBatchDTO {
+    private String epoch;
+    private long leaderSequence;
+    private boolean snapshotRequired;
+    private List<ReplicationEntryDTO> entries;
+
+    /**
+     * Default constructor.
+     */
+    public ReplicationBatchDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param epoch identifies the leader process; sequences restart with it
+     * @param leaderSequence latest sequence on the leader
+     * @param snapshotRequired true if the requested entries are no longer retained
+     * @param entries entries after the requested sequence, in order
+     */
+    public ReplicationBatchDTO(String epoch, long leaderSequence, boolean snapshotRequired,
+                               List<ReplicationEntryDTO> entries) {
+        this.epoch = epoch;
+        this.leaderSequence = leaderSequence;
+        this.snapshotRequired = snapshotRequired;
+        this.entries = entries;
+    }
+
+    // Getters and Setters
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    public void setLeaderSequence(long leaderSequence) {
+        this.leaderSequence = leaderSequence;
+    }
+
+    public boolean isSnapshotRequired() {
+        return snapshotRequired;
+    }
+
+    public void setSnapshotRequired(boolean snapshotRequired) {
+        this.snapshotRequired = snapshotRequired;
+    }
+
+    public List<ReplicationEntryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<ReplicationEntryDTO> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,125 @@
+package com.attendance.dto;
+
+import com.attendance.model.Student;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for one entry of the leader's replication log.
+ * Attendance entries carry the partition's full contents after the write,
+ * so applying an entry twice, or after a snapshot that already includes it,
+ * leaves the follower in the same state.
+ */
+public class ReplicationEntryDTO {
+
+    /**
+     * Kind of change recorded by an entry.
+     */
+    public enum Type {
+        /** A day partition was written; students holds its full contents. */
+        ATTENDANCE,
+        /** A day partition was deleted. */
+        ATTENDANCE_DELETED,
+        /** Students were added or replaced in the roster. */
+        STUDENTS,
+        /** A student was removed from the roster. */
+        STUDENT_DELETED,
+        /** The roster was cleared. */
+        ROSTER_CLEARED,
+        /** A student was deleted; their attendance records are hidden from reads. */
+        TOMBSTONE
+    }
+
+    private long sequence;
+    private long timestamp;
+    private Type type;
+    private LocalDate date;
+    private String section;
+    private List<Student> students;
+    private Long studentId;
+
+    /**
+     * Default constructor.
+     */
+    public ReplicationEntryDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param sequence position in the leader's log
+     * @param timestamp leader time of the change in epoch millis
+     * @param type kind of change
+     * @param date the day, for attendance entries
+     * @param section the section, for attendance entries (null for unsectioned)
+     * @param students partition contents or saved students
+     * @param studentId the removed student's ID, for STUDENT_DELETED
+     */
+    public ReplicationEntryDTO(long sequence, long timestamp, Type type, LocalDate date, String section,
+                               List<Student> students, Long studentId) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.date = date;
+        this.section = section;
+        this.students = students;
+        this.studentId = studentId;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<Student> students) {
+        this.students = students;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+}
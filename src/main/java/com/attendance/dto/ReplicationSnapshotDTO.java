@@ -0,0 +1,71 @@
+package com.attendance.dto;
+
+import com.attendance.model.Student;
+
+import java.util.List;
+
+/**
+ * DTO for a full copy of the leader's roster and day partitions.
+ * Followers load it on start-up, or when they fall behind the retained log,
+ * then continue from its sequence.
+ */
+public class ReplicationSnapshotDTO {
+    private String epoch;
+    private long sequence;
+    private List<Student> students;
+    private List<ReplicationEntryDTO> partitions;
+
+    /**
+     * Default constructor.
+     */
+    public ReplicationSnapshotDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param epoch identifies the leader process
+     * @param sequence log sequence the snapshot is at least as new as
+     * @param students the roster
+     * @param partitions one ATTENDANCE entry per day partition
+     */
+    public ReplicationSnapshotDTO(String epoch, long sequence, List<Student> students,
+                                  List<ReplicationEntryDTO> partitions) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.students = students;
+        this.partitions = partitions;
+    }
+
+    // Getters and Setters
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<Student> students) {
+        this.students = students;
+    }
+
+    public List<ReplicationEntryDTO> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<ReplicationEntryDTO> partitions) {
+        this.partitions = partitions;
+    }
+}
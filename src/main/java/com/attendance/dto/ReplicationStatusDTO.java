@@ -0,0 +1,123 @@
+package com.attendance.dto;
+
+import java.util.Map;
+
+/**
+ * DTO reporting replication state and lag for this node.
+ */
+public class ReplicationStatusDTO {
+    private String role;
+    private String leader;
+    private String epoch;
+    private long appliedSequence;
+    private long leaderSequence;
+    private long lagEntries;
+    private long lagMillis;
+    private long stalenessMillis;
+    private Map<String, Long> followerLagEntries;
+
+    /**
+     * Default constructor.
+     */
+    public ReplicationStatusDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param role "leader" or "follower"
+     * @param leader the leader's base URL (null on the leader)
+     * @param epoch the leader epoch being followed
+     * @param appliedSequence last sequence applied locally
+     * @param leaderSequence latest known sequence on the leader
+     * @param lagEntries log entries not yet applied
+     * @param lagMillis age of the oldest change not yet applied, 0 when caught up
+     * @param stalenessMillis time since this node was last known to be caught up
+     * @param followerLagEntries per-follower lag as seen by the leader
+     */
+    public ReplicationStatusDTO(String role, String leader, String epoch, long appliedSequence,
+                                long leaderSequence, long lagEntries, long lagMillis, long stalenessMillis,
+                                Map<String, Long> followerLagEntries) {
+        this.role = role;
+        this.leader = leader;
+        this.epoch = epoch;
+        this.appliedSequence = appliedSequence;
+        this.leaderSequence = leaderSequence;
+        this.lagEntries = lagEntries;
+        this.lagMillis = lagMillis;
+        this.stalenessMillis = stalenessMillis;
+        this.followerLagEntries = followerLagEntries;
+    }
+
+    // Getters and Setters
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getLeader() {
+        return leader;
+    }
+
+    public void setLeader(String leader) {
+        this.leader = leader;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public void setAppliedSequence(long appliedSequence) {
+        this.appliedSequence = appliedSequence;
+    }
+
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    public void setLeaderSequence(long leaderSequence) {
+        this.leaderSequence = leaderSequence;
+    }
+
+    public long getLagEntries() {
+        return lagEntries;
+    }
+
+    public void setLagEntries(long lagEntries) {
+        this.lagEntries = lagEntries;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    public long getStalenessMillis() {
+        return stalenessMillis;
+    }
+
+    public void setStalenessMillis(long stalenessMillis) {
+        this.stalenessMillis = stalenessMillis;
+    }
+
+    public Map<String, Long> getFollowerLagEntries() {
+        return followerLagEntries;
+    }
+
+    public void setFollowerLagEntries(Map<String, Long> followerLagEntries) {
+        this.followerLagEntries = followerLagEntries;
+    }
+}
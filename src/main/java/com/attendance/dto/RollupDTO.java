@@ -0,0 +1,123 @@
+package com.attendance.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for precomputed attendance totals over a day, ISO week or month.
+ */
+public class RollupDTO {
+    private String period;
+    private LocalDate start;
+    private LocalDate end;
+    private int days;
+    private long recordedCount;
+    private long presentCount;
+    private long absentCount;
+    private double attendanceRate;
+    private List<AbsenteeDTO> students;
+
+    /**
+     * Default constructor.
+     */
+    public RollupDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param period the period type (day, week or month)
+     * @param start first day of the period
+     * @param end last day of the period
+     * @param days number of days in the period with recorded attendance
+     * @param recordedCount number of attendance records
+     * @param presentCount number of present records
+     * @param absentCount number of absent records
+     * @param attendanceRate attendance percentage
+     * @param students per-student totals for the period
+     */
+    public RollupDTO(String period, LocalDate start, LocalDate end, int days, long recordedCount,
+                     long presentCount, long absentCount, double attendanceRate, List<AbsenteeDTO> students) {
+        this.period = period;
+        this.start = start;
+        this.end = end;
+        this.days = days;
+        this.recordedCount = recordedCount;
+        this.presentCount = presentCount;
+        this.absentCount = absentCount;
+        this.attendanceRate = attendanceRate;
+        this.students = students;
+    }
+
+    // Getters and Setters
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDate end) {
+        this.end = end;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public long getRecordedCount() {
+        return recordedCount;
+    }
+
+    public void setRecordedCount(long recordedCount) {
+        this.recordedCount = recordedCount;
+    }
+
+    public long getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(long presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public long getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(long absentCount) {
+        this.absentCount = absentCount;
+    }
+
+    public double getAttendanceRate() {
+        return attendanceRate;
+    }
+
+    public void setAttendanceRate(double attendanceRate) {
+        this.attendanceRate = attendanceRate;
+    }
+
+    public List<AbsenteeDTO> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<AbsenteeDTO> students) {
+        this.students = students;
+    }
+}
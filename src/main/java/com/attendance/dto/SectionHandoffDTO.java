@@ -0,0 +1,60 @@
+package com.attendance.dto;
+
+import com.attendance.model.Student;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO carrying one section's roster and day files from the node that gives
+ * it up to the node that now owns it.
+ */
+public class SectionHandoffDTO {
+    private String section;
+    private List<Student> students;
+    private Map<LocalDate, List<Student>> days;
+
+    /**
+     * Default constructor.
+     */
+    public SectionHandoffDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param section the section, or null for unsectioned students
+     * @param students roster entries in the section
+     * @param days attendance records per day
+     */
+    public SectionHandoffDTO(String section, List<Student> students, Map<LocalDate, List<Student>> days) {
+        this.section = section;
+        this.students = students;
+        this.days = days;
+    }
+
+    // Getters and Setters
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<Student> students) {
+        this.students = students;
+    }
+
+    public Map<LocalDate, List<Student>> getDays() {
+        return days;
+    }
+
+    public void setDays(Map<LocalDate, List<Student>> days) {
+        this.days = days;
+    }
+}
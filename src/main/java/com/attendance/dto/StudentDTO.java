@@ -12,6 +12,7 @@ public class StudentDTO {
     private String name;
     private String status;
     private LocalDate date;
+    private String section;
 
     /**
      * Default constructor.
@@ -33,6 +34,19 @@ public class StudentDTO {
         this.date = date;
     }
 
+    /**
+     * Constructor with all fields including section.
+     * @param id the student ID
+     * @param name the student name
+     * @param status the attendance status
+     * @param date the attendance date
+     * @param section the student's section, or null
+     */
+    public StudentDTO(Long id, String name, String status, LocalDate date, String section) {
+        this(id, name, status, date);
+        this.section = section;
+    }
+
     /**
      * Factory method to create StudentDTO from Student entity.
      * @param student the student entity
@@ -43,7 +57,8 @@ public class StudentDTO {
             student.getId(),
             student.getName(),
             student.getStatus() != null ? student.getStatus().name() : null,
-            student.getDate()
+            student.getDate(),
+            student.getSection()
         );
     }
 
@@ -79,4 +94,12 @@ public class StudentDTO {
     public void setDate(LocalDate date) {
         this.date = date;
     }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
 }
@@ -0,0 +1,126 @@
+package com.attendance.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for attendance aggregated over a term or any multi-day range.
+ */
+public class TermSummaryDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private long totalRecorded;
+    private long totalPresent;
+    private double attendanceRate;
+    private Map<DayOfWeek, Double> weekdayRates;
+    private Map<DayOfWeek, Long> weekdayRecorded;
+    private List<AbsenteeDTO> students;
+
+    /**
+     * Default constructor.
+     */
+    public TermSummaryDTO() {
+    }
+
+    /**
+     * Constructor with all fields.
+     * @param from first day of the range
+     * @param to last day of the range
+     * @param days number of days with attendance files in the range
+     * @param totalRecorded total attendance records
+     * @param totalPresent total present records
+     * @param attendanceRate overall attendance percentage
+     * @param weekdayRates attendance percentage per weekday
+     * @param weekdayRecorded attendance records per weekday, the weights of weekdayRates
+     * @param students per-student recorded and absent day counts
+     */
+    public TermSummaryDTO(LocalDate from, LocalDate to, int days, long totalRecorded, long totalPresent,
+                          double attendanceRate, Map<DayOfWeek, Double> weekdayRates,
+                          Map<DayOfWeek, Long> weekdayRecorded, List<AbsenteeDTO> students) {
+        this.from = from;
+        this.to = to;
+        this.days = days;
+        this.totalRecorded = totalRecorded;
+        this.totalPresent = totalPresent;
+        this.attendanceRate = attendanceRate;
+        this.weekdayRates = weekdayRates;
+        this.weekdayRecorded = weekdayRecorded;
+        this.students = students;
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public long getTotalRecorded() {
+        return totalRecorded;
+    }
+
+    public void setTotalRecorded(long totalRecorded) {
+        this.totalRecorded = totalRecorded;
+    }
+
+    public long getTotalPresent() {
+        return totalPresent;
+    }
+
+    public void setTotalPresent(long totalPresent) {
+        this.totalPresent = totalPresent;
+    }
+
+    public double getAttendanceRate() {
+        return attendanceRate;
+    }
+
+    public void setAttendanceRate(double attendanceRate) {
+        this.attendanceRate = attendanceRate;
+    }
+
+    public Map<DayOfWeek, Double> getWeekdayRates() {
+        return weekdayRates;
+    }
+
+    public void setWeekdayRates(Map<DayOfWeek, Double> weekdayRates) {
+        this.weekdayRates = weekdayRates;
+    }
+
+    public Map<DayOfWeek, Long> getWeekdayRecorded() {
+        return weekdayRecorded;
+    }
+
+    public void setWeekdayRecorded(Map<DayOfWeek, Long> weekdayRecorded) {
+        this.weekdayRecorded = weekdayRecorded;
+    }
+
+    public List<AbsenteeDTO> getStudents() {
+        return students;
+    }
+
+    public void setStudents(List<AbsenteeDTO> students) {
+        this.students = students;
+    }
+}
@@ -0,0 +1,194 @@
+package com.attendance.live;
+
+import com.attendance.dto.AttendanceDeltaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out attendance deltas to Server-Sent Events subscribers, grouped by date.
+ * An idle subscriber is just an async SseEmitter and a small queue; no thread is
+ * held while nothing is published. Each delta is serialized once and delivered by
+ * a shared worker pool, one drain at a time per subscriber so order is preserved.
+ * A subscriber that falls more than maxPending events behind is dropped rather
+ * than allowed to stall delivery to everyone else.
+ */
+@Component
+public class AttendanceBroadcaster {
+
+    private static final String EVENT_NAME = "attendance";
+
+    private final Map<LocalDate, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService deliveryPool;
+    private final ScheduledExecutorService heartbeat;
+    private final long timeoutMillis;
+    private final int maxPending;
+
+    /**
+     * Constructor with dependency injection.
+     * @param objectMapper JSON mapper used to serialize each delta once
+     * @param timeoutMillis how long a subscription stays open before the client reconnects
+     * @param maxPending queued events after which a slow subscriber is dropped
+     * @param heartbeatSeconds interval between keep-alive comments
+     */
+    public AttendanceBroadcaster(ObjectMapper objectMapper,
+                                 @Value("${attendance.live.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${attendance.live.max-pending:32}") int maxPending,
+                                 @Value("${attendance.live.heartbeat-seconds:30}") long heartbeatSeconds) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPending = maxPending;
+        this.deliveryPool = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), daemonThreads("sse-delivery"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop delivery and heartbeat threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        deliveryPool.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Subscribe to live changes for a date.
+     * @param date the attendance date to follow
+     * @return emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(LocalDate date) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(date, emitter);
+        subscribers.computeIfAbsent(date, d -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Publish a delta to every subscriber of its date.
+     * @param delta the change to broadcast
+     */
+    public void publish(AttendanceDeltaDTO delta) {
+        Set<Subscriber> targets = subscribers.get(delta.getDate());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            System.err.println("Error serializing attendance delta: " + e.getMessage());
+            return;
+        }
+
+        // Built once and shared: the frames are immutable once built
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event().name(EVENT_NAME).data(payload).build();
+        for (Subscriber subscriber : targets) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    /**
+     * Get the number of open subscriptions across all dates.
+     * @return subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void sendHeartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.enqueue(ping)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.date, (date, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One open SSE connection with its private delivery queue.
+     */
+    private final class Subscriber {
+        private final LocalDate date;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(LocalDate date, SseEmitter emitter) {
+            this.date = date;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (pending.incrementAndGet() > maxPending) {
+                // Slow consumer: cut it loose, the browser will reconnect and reload
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    deliveryPool.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued after the last poll but before draining was cleared
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                deliveryPool.execute(this::drain);
+            }
+        }
+    }
+}
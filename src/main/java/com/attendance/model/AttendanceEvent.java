@@ -0,0 +1,65 @@
+package com.attendance.model;
+
+import com.attendance.model.Student.AttendanceStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One recorded attendance change: a student's status for a day, when it was
+ * recorded and through which path. Events are immutable; their position in
+ * the event log is their offset.
+ */
+public final class AttendanceEvent {
+
+    /**
+     * How an event was recorded.
+     */
+    public enum Source {
+        // A single-student mark (POST /api/attendance/mark)
+        CHECK_IN,
+        // One entry of a full daily save (POST /api/attendance/save)
+        DAILY_SAVE
+    }
+
+    private final long studentId;
+    private final LocalDate date;
+    private final AttendanceStatus status;
+    private final long timestamp;
+    private final Source source;
+
+    /**
+     * Constructor with all fields.
+     * @param studentId the student ID
+     * @param date the attendance day
+     * @param status the recorded status
+     * @param timestamp when the change was recorded, in epoch milliseconds
+     * @param source how the change was recorded
+     */
+    public AttendanceEvent(long studentId, LocalDate date, AttendanceStatus status, long timestamp, Source source) {
+        this.studentId = studentId;
+        this.date = date;
+        this.status = status;
+        this.timestamp = timestamp;
+        this.source = source;
+    }
+
+    public long getStudentId() {
+        return studentId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public AttendanceStatus getStatus() {
+        return status;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+}
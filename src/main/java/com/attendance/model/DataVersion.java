@@ -0,0 +1,37 @@
+package com.attendance.model;
+
+/**
+ * Version stamp for a piece of attendance data, used for HTTP validators.
+ * The tag changes whenever the underlying data changes; lastModified is the
+ * best-known modification time for If-Modified-Since clients.
+ */
+public class DataVersion {
+    private final String tag;
+    private final long lastModified;
+
+    /**
+     * Constructor with all fields.
+     * @param tag opaque version token
+     * @param lastModified last modification time in epoch millis
+     */
+    public DataVersion(String tag, long lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "DataVersion{" +
+                "tag='" + tag + '\'' +
+                ", lastModified=" + lastModified +
+                '}';
+    }
+}
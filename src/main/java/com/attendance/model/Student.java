@@ -1,18 +1,26 @@
 package com.attendance.model;
 
 import java.time.LocalDate;
+import java.util.regex.Pattern;
 
 /**
  * Student entity representing a student in the attendance system.
  * Stores basic student information and current attendance status.
  */
 public class Student {
+    /** Allowed section names: also used as partition directory names. */
+    public static final String SECTION_REGEX = "^[A-Za-z0-9_-]{1,32}$";
+    public static final String SECTION_MESSAGE = "Invalid section name: use letters, digits, '-' or '_' (max 32)";
+    private static final Pattern SECTION_PATTERN = Pattern.compile(SECTION_REGEX);
+
     private Long id;
     private String name;
     private AttendanceStatus status;
     private LocalDate date;
     // NEW: Creation date to track when the student was added to the system
     private LocalDate creationDate;
+    // Class/section the student belongs to; null means unsectioned
+    private String section;
 
     /**
      * Enumeration for student attendance status.
@@ -48,6 +56,19 @@ public class Student {
         this.creationDate = date != null ? date : LocalDate.now();
     }
 
+    /**
+     * Copy constructor.
+     * @param other the student to copy
+     */
+    public Student(Student other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.status = other.status;
+        this.date = other.date;
+        this.creationDate = other.creationDate;
+        this.section = other.section;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -90,6 +111,31 @@ public class Student {
         this.creationDate = creationDate != null ? creationDate : LocalDate.now();
     }
 
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = normalizeSection(section);
+    }
+
+    /**
+     * Normalize and validate a section name.
+     * @param section the raw section name
+     * @return the trimmed name, or null for blank input
+     * @throws IllegalArgumentException if the name is not allowed
+     */
+    public static String normalizeSection(String section) {
+        if (section == null || section.isBlank()) {
+            return null;
+        }
+        String trimmed = section.trim();
+        if (!SECTION_PATTERN.matcher(trimmed).matches()) {
+            throw new IllegalArgumentException(SECTION_MESSAGE);
+        }
+        return trimmed;
+    }
+
     @Override
     public String toString() {
         return "Student{" +
@@ -98,6 +144,7 @@ public class Student {
                 ", status=" + status +
                 ", date=" + date +
                 ", creationDate=" + creationDate +
+                ", section='" + section + '\'' +
                 '}';
     }
 }
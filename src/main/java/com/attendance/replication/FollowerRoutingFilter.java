@@ -0,0 +1,91 @@
+package com.attendance.replication;
+
+import com.attendance.cluster.ClusterClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps a follower read-only and its reads within the staleness bound.
+ * Writes are relayed to the leader, which is the only node that accepts
+ * them; they reach this node's copy through the replication log. Reads are
+ * served locally with the current staleness in a response header, unless
+ * the follower has not been caught up recently enough, in which case they
+ * are relayed to the leader too.
+ */
+@Component
+public class FollowerRoutingFilter extends OncePerRequestFilter {
+
+    /** Response header carrying how stale a follower's local read may be. */
+    public static final String STALENESS_HEADER = "X-Replication-Staleness-Ms";
+
+    private static final String API_PREFIX = "/api/";
+    private static final String REPLICATION_PREFIX = "/api/replication";
+    private static final String CLUSTER_PREFIX = "/api/cluster";
+
+    private final ReplicationFollower follower;
+    private final ClusterClient client;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor with dependency injection.
+     * @param follower this node's replication state
+     * @param client HTTP client for leader calls
+     * @param objectMapper JSON mapper for error bodies
+     */
+    public FollowerRoutingFilter(ReplicationFollower follower, ClusterClient client, ObjectMapper objectMapper) {
+        this.follower = follower;
+        this.client = client;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !follower.isFollower()
+                || request.getHeader(ClusterClient.FORWARDED_HEADER) != null
+                || !path.startsWith(API_PREFIX)
+                || path.startsWith(REPLICATION_PREFIX)
+                || path.startsWith(CLUSTER_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (read && !follower.isStale()) {
+            response.setHeader(STALENESS_HEADER, String.valueOf(follower.getStalenessMillis()));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = read ? null : request.getInputStream().readAllBytes();
+        try {
+            client.relay(follower.getLeader(), request, body, response);
+        } catch (IOException e) {
+            writeError(response, "Leader " + follower.getLeader() + " is unavailable");
+        }
+    }
+
+    private void writeError(HttpServletResponse response, String message) throws IOException {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.BAD_GATEWAY.value());
+        errorResponse.put("error", "Bad Gateway");
+        errorResponse.put("message", message);
+        response.setStatus(HttpStatus.BAD_GATEWAY.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
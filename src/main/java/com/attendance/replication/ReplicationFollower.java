@@ -0,0 +1,280 @@
+package com.attendance.replication;
+
+import com.attendance.cluster.ClusterClient;
+import com.attendance.dto.ReplicationBatchDTO;
+import com.attendance.dto.ReplicationEntryDTO;
+import com.attendance.dto.ReplicationSnapshotDTO;
+import com.attendance.dto.ReplicationStatusDTO;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Follower side of leader/follower replication.
+ * When a leader URL is configured, a background thread long-polls the
+ * leader's replication log and applies each entry to the local roster and
+ * attendance_data copy, in log order. It starts from a snapshot and falls
+ * back to one whenever the leader no longer retains the entries it needs.
+ * The follower is "caught up" whenever a poll returns with nothing left to
+ * apply; reads are only served locally while that happened recently enough.
+ */
+@Component
+public class ReplicationFollower {
+
+    private static final Map<String, String> JSON_HEADERS = Map.of("Accept", "application/json");
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final String leader;
+    private final String followerName;
+    private final long pollWaitMillis;
+    private final long maxStalenessMillis;
+    private final int batchSize;
+    private final ClusterClient client;
+    private final ObjectMapper objectMapper;
+    private final InMemoryStudentStore studentStore;
+    private final CsvAttendanceStorage csvStorage;
+
+    private volatile Thread worker;
+    private volatile String epoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    // Leader timestamp of the newest applied entry, and when we last knew we had everything
+    private volatile long lastAppliedTimestamp;
+    private volatile long caughtUpAt;
+
+    /**
+     * Constructor with dependency injection.
+     * @param leader the leader's base URL; empty for a leader or standalone node
+     * @param port this node's HTTP port, used to name it to the leader
+     * @param pollWaitMillis how long each poll may wait on the leader for new entries
+     * @param maxStalenessMillis how far behind reads may be before they go to the leader
+     * @param batchSize maximum entries per poll
+     * @param client HTTP client for leader calls
+     * @param objectMapper JSON mapper for log pages and snapshots
+     * @param studentStore the student storage component
+     * @param csvStorage the CSV storage component
+     */
+    public ReplicationFollower(@Value("${attendance.replication.leader:}") String leader,
+                               @Value("${server.port:8080}") int port,
+                               @Value("${attendance.replication.poll-wait-ms:2000}") long pollWaitMillis,
+                               @Value("${attendance.replication.max-staleness-ms:5000}") long maxStalenessMillis,
+                               @Value("${attendance.replication.batch-size:500}") int batchSize,
+                               ClusterClient client, ObjectMapper objectMapper,
+                               InMemoryStudentStore studentStore, CsvAttendanceStorage csvStorage) {
+        this.leader = leader.endsWith("/") ? leader.substring(0, leader.length() - 1) : leader;
+        this.followerName = "port-" + port;
+        // A poll blocked on the leader counts against the staleness bound, so keep it well inside it
+        this.pollWaitMillis = Math.min(pollWaitMillis, maxStalenessMillis / 2);
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.batchSize = batchSize;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.studentStore = studentStore;
+        this.csvStorage = csvStorage;
+    }
+
+    /**
+     * Start following once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isFollower() || worker != null) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        System.out.println("Following leader " + leader);
+    }
+
+    /**
+     * Stop following.
+     */
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Check whether this node replicates from a leader.
+     * @return true if a leader URL is configured
+     */
+    public boolean isFollower() {
+        return !leader.isBlank();
+    }
+
+    /**
+     * Get the leader's base URL.
+     * @return leader URL, empty if this node is not a follower
+     */
+    public String getLeader() {
+        return leader;
+    }
+
+    /**
+     * Get how long ago this node was last known to hold every leader write.
+     * @return staleness in milliseconds; Long.MAX_VALUE before the first sync
+     */
+    public long getStalenessMillis() {
+        long at = caughtUpAt;
+        return at == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - at;
+    }
+
+    /**
+     * Check whether local reads are within the staleness bound.
+     * @return true if reads must go to the leader instead
+     */
+    public boolean isStale() {
+        return getStalenessMillis() > maxStalenessMillis;
+    }
+
+    /**
+     * Get replication progress and lag.
+     * @return follower status
+     */
+    public ReplicationStatusDTO getStatus() {
+        long applied = appliedSequence;
+        long known = leaderSequence;
+        long lagMillis = applied >= known || lastAppliedTimestamp == 0
+                ? 0 : Math.max(0, System.currentTimeMillis() - lastAppliedTimestamp);
+        long staleness = getStalenessMillis();
+        return new ReplicationStatusDTO("follower", leader, epoch, applied, known, Math.max(0, known - applied),
+                lagMillis, staleness == Long.MAX_VALUE ? -1 : staleness, Map.of());
+    }
+
+    private void run() {
+        boolean needSnapshot = true;
+        while (worker == Thread.currentThread()) {
+            try {
+                if (needSnapshot) {
+                    loadSnapshot();
+                    needSnapshot = false;
+                }
+                needSnapshot = !pollOnce();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Replication from " + leader + " failed: "
+                        + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetch and apply one page of the leader's log.
+     * @return false if the follower must reload from a snapshot
+     */
+    private boolean pollOnce() throws IOException {
+        String path = "/api/replication/log?epoch=" + URLEncoder.encode(epoch, StandardCharsets.UTF_8)
+                + "&after=" + appliedSequence + "&limit=" + batchSize + "&wait=" + pollWaitMillis
+                + "&follower=" + followerName;
+        ReplicationBatchDTO batch = objectMapper.readValue(get(path), ReplicationBatchDTO.class);
+        if (batch.isSnapshotRequired()) {
+            return false;
+        }
+
+        leaderSequence = batch.getLeaderSequence();
+        for (ReplicationEntryDTO entry : batch.getEntries()) {
+            apply(entry);
+            appliedSequence = entry.getSequence();
+            lastAppliedTimestamp = entry.getTimestamp();
+        }
+        if (appliedSequence >= batch.getLeaderSequence()) {
+            caughtUpAt = System.currentTimeMillis();
+        }
+        return true;
+    }
+
+    private void loadSnapshot() throws IOException {
+        // The snapshot holds every write the leader had when it was requested
+        long requestedAt = System.currentTimeMillis();
+        ReplicationSnapshotDTO snapshot = objectMapper.readValue(get("/api/replication/snapshot"),
+                ReplicationSnapshotDTO.class);
+
+        // Drop local day files the leader does not have, then overwrite the rest
+        Set<String> kept = new HashSet<>();
+        for (ReplicationEntryDTO partition : snapshot.getPartitions()) {
+            kept.add(partition.getDate() + "/" + partition.getSection());
+        }
+        List<String> sections = new ArrayList<>();
+        sections.add(null);
+        sections.addAll(csvStorage.getSections());
+        for (String section : sections) {
+            for (LocalDate date : csvStorage.getAvailableDates(section)) {
+                if (!kept.contains(date + "/" + section)) {
+                    csvStorage.deleteAttendance(date, section);
+                }
+            }
+        }
+        for (ReplicationEntryDTO partition : snapshot.getPartitions()) {
+            apply(partition);
+        }
+        studentStore.deleteAll();
+        studentStore.saveAll(snapshot.getStudents());
+
+        epoch = snapshot.getEpoch();
+        appliedSequence = snapshot.getSequence();
+        leaderSequence = snapshot.getSequence();
+        caughtUpAt = requestedAt;
+        System.out.println("Loaded snapshot from " + leader + " at sequence " + snapshot.getSequence() + ": "
+                + snapshot.getStudents().size() + " students, " + snapshot.getPartitions().size() + " day files");
+    }
+
+    private void apply(ReplicationEntryDTO entry) throws IOException {
+        switch (entry.getType()) {
+            case ATTENDANCE:
+                csvStorage.writeDailyAttendance(entry.getDate(), entry.getSection(), new ArrayList<>(entry.getStudents()));
+                break;
+            case ATTENDANCE_DELETED:
+                csvStorage.deleteAttendance(entry.getDate(), entry.getSection());
+                break;
+            case STUDENTS:
+                studentStore.saveAll(entry.getStudents());
+                break;
+            case STUDENT_DELETED:
+                studentStore.deleteById(entry.getStudentId());
+                break;
+            case ROSTER_CLEARED:
+                studentStore.deleteAll();
+                break;
+            case TOMBSTONE:
+                // The leader's day files keep the records until its compactor purges them
+                csvStorage.addTombstone(entry.getStudentId());
+                break;
+            default:
+                throw new IllegalStateException("Unknown replication entry type: " + entry.getType());
+        }
+    }
+
+    private byte[] get(String path) throws IOException {
+        HttpResponse<byte[]> response = client.send(leader, "GET", path, JSON_HEADERS, null);
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " from " + leader + path);
+        }
+        return response.body();
+    }
+}
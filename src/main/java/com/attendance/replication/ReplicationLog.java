@@ -0,0 +1,229 @@
+package com.attendance.replication;
+
+import com.attendance.dto.ReplicationBatchDTO;
+import com.attendance.dto.ReplicationEntryDTO;
+import com.attendance.dto.ReplicationEntryDTO.Type;
+import com.attendance.dto.ReplicationSnapshotDTO;
+import com.attendance.model.Student;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import com.attendance.storage.StorageWriteListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ordered stream of this node's storage writes, served to followers.
+ * The log starts recording when the first follower asks for it, so a node
+ * nobody follows keeps no copies. From then on every partition write,
+ * partition delete, tombstone and roster change is appended with the next
+ * sequence number; the last {@code capacity} entries are kept in memory, and
+ * fewer when together they hold more than {@code maxRecords} student records.
+ * A follower that asks for entries older than that, or whose epoch does not
+ * match (the leader restarted), is told to load a snapshot.
+ */
+@Component
+public class ReplicationLog implements StorageWriteListener {
+
+    private final InMemoryStudentStore studentStore;
+    private final CsvAttendanceStorage csvStorage;
+    private final int capacity;
+    private final long maxRecords;
+    // Sequences restart with the process, so followers check the epoch as well
+    private final String epoch = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+    private final Deque<ReplicationEntryDTO> entries = new ArrayDeque<>();
+    private long sequence;
+    private long retainedRecords;
+    private boolean active;
+    // Last sequence each follower asked to continue from
+    private final Map<String, Long> followerAcks = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with dependency injection.
+     * @param studentStore the student storage component
+     * @param csvStorage the CSV storage component
+     * @param capacity number of entries retained for followers
+     * @param maxRecords student records retained across all entries
+     */
+    public ReplicationLog(InMemoryStudentStore studentStore, CsvAttendanceStorage csvStorage,
+                          @Value("${attendance.replication.log-capacity:1000}") int capacity,
+                          @Value("${attendance.replication.log-max-records:200000}") long maxRecords) {
+        this.studentStore = studentStore;
+        this.csvStorage = csvStorage;
+        this.capacity = capacity;
+        this.maxRecords = maxRecords;
+    }
+
+    @Override
+    public void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+        append(Type.ATTENDANCE, date, section, copyOf(records), null);
+    }
+
+    @Override
+    public void partitionDeleted(LocalDate date, String section) {
+        append(Type.ATTENDANCE_DELETED, date, section, null, null);
+    }
+
+    @Override
+    public void studentTombstoned(Long studentId) {
+        append(Type.TOMBSTONE, null, null, null, studentId);
+    }
+
+    @Override
+    public void studentsSaved(Collection<Student> students) {
+        append(Type.STUDENTS, null, null, copyOf(students), null);
+    }
+
+    @Override
+    public void studentDeleted(Long studentId) {
+        append(Type.STUDENT_DELETED, null, null, null, studentId);
+    }
+
+    @Override
+    public void rosterCleared() {
+        append(Type.ROSTER_CLEARED, null, null, null, null);
+    }
+
+    /**
+     * Get the identifier of this leader process.
+     * @return epoch string
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Get the latest sequence number.
+     * @return sequence of the newest entry, 0 if none
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Read entries after a sequence, waiting briefly if there are none yet.
+     * @param followerEpoch the epoch the follower's sequence belongs to, or null
+     * @param after last sequence the follower has applied
+     * @param limit maximum entries to return
+     * @param waitMillis how long to wait for a new entry when caught up
+     * @param follower follower name used for lag reporting, or null
+     * @return the batch, flagged if a snapshot is needed instead
+     */
+    public synchronized ReplicationBatchDTO readAfter(String followerEpoch, long after, int limit,
+                                                      long waitMillis, String follower) {
+        activate();
+        if (follower != null) {
+            followerAcks.put(follower, after);
+        }
+        long oldest = entries.isEmpty() ? sequence + 1 : entries.peekFirst().getSequence();
+        if (!epoch.equals(followerEpoch) || after > sequence || after < oldest - 1) {
+            return new ReplicationBatchDTO(epoch, sequence, true, List.of());
+        }
+
+        long deadline = System.currentTimeMillis() + waitMillis;
+        long remaining = waitMillis;
+        while (sequence == after && remaining > 0) {
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            remaining = deadline - System.currentTimeMillis();
+        }
+        if (!entries.isEmpty() && after < entries.peekFirst().getSequence() - 1) {
+            // Trimmed while we waited
+            return new ReplicationBatchDTO(epoch, sequence, true, List.of());
+        }
+
+        List<ReplicationEntryDTO> batch = new ArrayList<>();
+        for (ReplicationEntryDTO entry : entries) {
+            if (entry.getSequence() > after) {
+                batch.add(entry);
+                if (batch.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return new ReplicationBatchDTO(epoch, sequence, false, batch);
+    }
+
+    /**
+     * Build a full copy of the roster and every day partition.
+     * The sequence is taken first, so replaying the log from it afterwards
+     * converges even if writes land while the copy is read.
+     * @return the snapshot
+     */
+    public ReplicationSnapshotDTO snapshot() {
+        activate();
+        long at = getSequence();
+        List<ReplicationEntryDTO> partitions = new ArrayList<>();
+        List<String> sections = new ArrayList<>();
+        sections.add(null);
+        sections.addAll(csvStorage.getSections());
+        try {
+            for (String section : sections) {
+                for (LocalDate date : csvStorage.getAvailableDates(section)) {
+                    partitions.add(new ReplicationEntryDTO(at, System.currentTimeMillis(), Type.ATTENDANCE,
+                            date, section, csvStorage.readAttendance(date, section), null));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read attendance for snapshot", e);
+        }
+        return new ReplicationSnapshotDTO(epoch, at, copyOf(studentStore.snapshot()), partitions);
+    }
+
+    /**
+     * Get how many entries each follower is behind, from its last request.
+     * @return lag in entries per follower name
+     */
+    public synchronized Map<String, Long> getFollowerLag() {
+        Map<String, Long> lag = new TreeMap<>();
+        followerAcks.forEach((follower, ack) -> lag.put(follower, Math.max(0, sequence - ack)));
+        return lag;
+    }
+
+    // Writes before this are covered by the snapshot every new follower starts from
+    private synchronized void activate() {
+        if (!active) {
+            active = true;
+            studentStore.addWriteListener(this);
+            csvStorage.addWriteListener(this);
+            System.out.println("Replication log started for followers");
+        }
+    }
+
+    private synchronized void append(Type type, LocalDate date, String section, List<Student> students,
+                                     Long studentId) {
+        entries.addLast(new ReplicationEntryDTO(++sequence, System.currentTimeMillis(), type, date, section,
+                students, studentId));
+        retainedRecords += students != null ? students.size() : 0;
+        // The newest entry is always kept, however large
+        while (entries.size() > 1 && (entries.size() > capacity || retainedRecords > maxRecords)) {
+            List<Student> trimmed = entries.removeFirst().getStudents();
+            retainedRecords -= trimmed != null ? trimmed.size() : 0;
+        }
+        notifyAll();
+    }
+
+    // Stored students are mutable and get updated in place, so the log keeps its own copies
+    private static List<Student> copyOf(Collection<Student> students) {
+        List<Student> copies = new ArrayList<>(students.size());
+        for (Student student : students) {
+            copies.add(new Student(student));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,503 @@
+package com.attendance.service;
+
+import com.attendance.analytics.CountMinSketch;
+import com.attendance.analytics.HyperLogLog;
+import com.attendance.analytics.QuantileHistogram;
+import com.attendance.analytics.SpaceSaving;
+import com.attendance.dto.ApproxAbsenteeDTO;
+import com.attendance.dto.ApproxCountDTO;
+import com.attendance.dto.ApproxQuantilesDTO;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import com.attendance.storage.StorageWriteListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approximate analytics for district-sized data, answered from sketches.
+ * Every section and month gets one bucket of fixed-size sketches: a
+ * HyperLogLog of students recorded, a Count-Min sketch plus Space-Saving
+ * heavy hitters of absences, and a histogram of each class-day's attendance
+ * rate. A bucket takes about 25 KB however many records it summarizes, and
+ * queries merge the buckets in range, so memory is bounded by sections times
+ * the retention window rather than by roster size or history.
+ * Buckets are fed by the storage write listener. Sketches cannot forget, so
+ * when a day already in a bucket is rewritten or deleted the bucket is rebuilt
+ * from that section's files for the month, in the background. Today's
+ * partitions are rewritten by every check-in flush, so they are kept aside as
+ * open days, replaced on each write and sketched on their own for queries;
+ * an open day joins its bucket once a later day is written or the date
+ * passes.
+ */
+@Service
+public class ApproximateAnalyticsService implements StorageWriteListener {
+
+    private static final int HLL_PRECISION = 12;
+    private static final int CMS_DEPTH = 4;
+    private static final int CMS_WIDTH = 1024;
+    private static final int HEAVY_HITTERS = 64;
+    private static final int RATE_BINS = 1000;
+    private static final List<Double> DEFAULT_QUANTILES = List.of(0.1, 0.25, 0.5, 0.75, 0.9);
+
+    private final CsvAttendanceStorage csvStorage;
+    private final InMemoryStudentStore studentStore;
+    private final int retentionMonths;
+    private final long rebuildDelayMillis;
+    private final ScheduledExecutorService rebuilder;
+
+    // Guarded by this
+    private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+    private final Set<BucketKey> pendingRebuilds = new HashSet<>();
+    private final Set<BucketKey> rebuilding = new HashSet<>();
+    // Today's records per section (null for unsectioned), not yet in the buckets
+    private final Map<String, OpenDay> openDays = new HashMap<>();
+
+    /**
+     * Constructor with dependency injection.
+     * @param csvStorage the CSV storage component
+     * @param studentStore the student storage component, for names
+     * @param retentionMonths months of history kept in sketches, including the current one
+     * @param rebuildDelayMillis delay before rebuilding a month after a rewrite, so bursts of saves coalesce
+     */
+    public ApproximateAnalyticsService(CsvAttendanceStorage csvStorage, InMemoryStudentStore studentStore,
+                                       @Value("${attendance.approx.retention-months:24}") int retentionMonths,
+                                       @Value("${attendance.approx.rebuild-delay-ms:2000}") long rebuildDelayMillis) {
+        this.csvStorage = csvStorage;
+        this.studentStore = studentStore;
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.rebuildDelayMillis = rebuildDelayMillis;
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "approx-analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        csvStorage.addWriteListener(this);
+        rebuilder.execute(this::buildAll);
+    }
+
+    /**
+     * Stop the rebuild thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Estimate the number of distinct students with recorded attendance.
+     * @param from first day (optional); whole months are covered
+     * @param to last day (optional); whole months are covered
+     * @param section limit to one section (optional)
+     * @return the estimate and its relative standard error
+     */
+    public ApproxCountDTO getDistinctStudents(LocalDate from, LocalDate to, String section) {
+        Merged merged = merge(from, to, section);
+        return new ApproxCountDTO(merged.from.atDay(1), merged.to.atEndOfMonth(),
+                merged.students.estimate(), merged.students.relativeError());
+    }
+
+    /**
+     * Estimate the students with the most absences.
+     * @param k number of students to return, at most 64
+     * @param from first day (optional); whole months are covered
+     * @param to last day (optional); whole months are covered
+     * @param section limit to one section (optional)
+     * @return students by estimated absent days, highest first
+     */
+    public List<ApproxAbsenteeDTO> getTopAbsentees(int k, LocalDate from, LocalDate to, String section) {
+        if (k < 1 || k > HEAVY_HITTERS) {
+            throw new IllegalArgumentException("k must be between 1 and " + HEAVY_HITTERS);
+        }
+        Merged merged = merge(from, to, section);
+        long bound = merged.absences.errorBound();
+
+        List<long[]> ranked = new ArrayList<>();
+        for (long id : merged.heavyHitters.items()) {
+            long estimate = merged.absences.estimate(id);
+            if (estimate > 0) {
+                ranked.add(new long[] {id, estimate});
+            }
+        }
+        ranked.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+
+        List<ApproxAbsenteeDTO> result = new ArrayList<>(Math.min(k, ranked.size()));
+        for (long[] entry : ranked.subList(0, Math.min(k, ranked.size()))) {
+            Student student = studentStore.snapshot().find(entry[0]);
+            result.add(new ApproxAbsenteeDTO(entry[0], student != null ? student.getName() : null,
+                    entry[1], Math.min(bound, entry[1])));
+        }
+        return result;
+    }
+
+    /**
+     * Estimate quantiles of class daily attendance rates.
+     * @param quantiles quantiles between 0 and 1 (optional, defaults to 0.1, 0.25, 0.5, 0.75, 0.9)
+     * @param from first day (optional); whole months are covered
+     * @param to last day (optional); whole months are covered
+     * @param section limit to one section (optional)
+     * @return rate per quantile; null rates if no class-day is recorded
+     */
+    public ApproxQuantilesDTO getRateQuantiles(List<Double> quantiles, LocalDate from, LocalDate to, String section) {
+        List<Double> targets = quantiles == null || quantiles.isEmpty() ? DEFAULT_QUANTILES : quantiles;
+        for (double q : targets) {
+            if (q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantiles must be between 0 and 1");
+            }
+        }
+        Merged merged = merge(from, to, section);
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double q : targets) {
+            values.put(String.valueOf(q), merged.rates.getCount() > 0 ? merged.rates.quantile(q) : null);
+        }
+        return new ApproxQuantilesDTO(merged.from.atDay(1), merged.to.atEndOfMonth(), merged.rates.getCount(),
+                merged.rates.binWidth() / 2, values);
+    }
+
+    @Override
+    public void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+        BucketKey key = new BucketKey(section, YearMonth.from(date));
+        if (!isRetained(key.month)) {
+            return;
+        }
+        synchronized (this) {
+            closePastDays();
+            Bucket bucket = buckets.get(key);
+            if (date.equals(LocalDate.now())) {
+                OpenDay open = openDays.get(section);
+                if (open != null && !open.date.equals(date)) {
+                    close(section, open);
+                }
+                if (bucket != null && bucket.hasDay(date)) {
+                    // Sketched before it was opened, at startup; the rebuild leaves it to the open day
+                    requestRebuild(key);
+                }
+                openDays.put(section, new OpenDay(date, records));
+                return;
+            }
+            if ((bucket != null && bucket.hasDay(date)) || pendingRebuilds.contains(key) || rebuilding.contains(key)) {
+                // The day's previous records cannot be subtracted from the sketches
+                requestRebuild(key);
+                return;
+            }
+            if (bucket == null) {
+                bucket = new Bucket();
+                buckets.put(key, bucket);
+            }
+            for (Student record : records) {
+                if (record.getId() != null && record.getStatus() != null) {
+                    bucket.add(record.getId(), record.getStatus());
+                }
+            }
+            bucket.endDay(date);
+        }
+    }
+
+    @Override
+    public void partitionDeleted(LocalDate date, String section) {
+        BucketKey key = new BucketKey(section, YearMonth.from(date));
+        synchronized (this) {
+            OpenDay open = openDays.get(section);
+            if (open != null && open.date.equals(date)) {
+                openDays.remove(section);
+            }
+            Bucket bucket = buckets.get(key);
+            if ((bucket != null && bucket.hasDay(date)) || rebuilding.contains(key)) {
+                requestRebuild(key);
+            }
+        }
+    }
+
+    /**
+     * Merge every bucket in range into fresh sketches.
+     */
+    private Merged merge(LocalDate from, LocalDate to, String section) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        String targetSection = Student.normalizeSection(section);
+        YearMonth oldest = YearMonth.now().minusMonths(retentionMonths - 1L);
+        YearMonth fromMonth = from != null ? YearMonth.from(from) : oldest;
+        YearMonth toMonth = to != null ? YearMonth.from(to) : YearMonth.now();
+
+        Merged merged = new Merged(fromMonth, toMonth);
+        synchronized (this) {
+            closePastDays();
+            buckets.keySet().removeIf(key -> !isRetained(key.month));
+            for (Map.Entry<String, OpenDay> entry : openDays.entrySet()) {
+                OpenDay open = entry.getValue();
+                YearMonth month = YearMonth.from(open.date);
+                Bucket bucket = buckets.get(new BucketKey(entry.getKey(), month));
+                // A bucket still holding the day from before it was opened already counts it
+                if ((targetSection == null || targetSection.equals(entry.getKey()))
+                        && !month.isBefore(fromMonth) && !month.isAfter(toMonth)
+                        && (bucket == null || !bucket.hasDay(open.date))) {
+                    Bucket sketched = open.sketch();
+                    merged.students.merge(sketched.students);
+                    merged.absences.merge(sketched.absences);
+                    merged.heavyHitters.merge(sketched.heavyHitters);
+                    merged.rates.merge(sketched.rates);
+                }
+            }
+            for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+                BucketKey key = entry.getKey();
+                if ((targetSection == null || targetSection.equals(key.section))
+                        && !key.month.isBefore(fromMonth) && !key.month.isAfter(toMonth)) {
+                    Bucket bucket = entry.getValue();
+                    merged.students.merge(bucket.students);
+                    merged.absences.merge(bucket.absences);
+                    merged.heavyHitters.merge(bucket.heavyHitters);
+                    merged.rates.merge(bucket.rates);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private boolean isRetained(YearMonth month) {
+        return !month.isBefore(YearMonth.now().minusMonths(retentionMonths - 1L));
+    }
+
+    /**
+     * Move open days from before today into their buckets. Caller holds the lock.
+     */
+    private void closePastDays() {
+        LocalDate today = LocalDate.now();
+        for (Map.Entry<String, OpenDay> entry : new ArrayList<>(openDays.entrySet())) {
+            if (entry.getValue().date.isBefore(today)) {
+                close(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Add an open day's records to its bucket, or leave them to a rebuild of
+     * the bucket, which reads the day from its file once it is closed. Caller
+     * holds the lock.
+     */
+    private void close(String section, OpenDay open) {
+        openDays.remove(section);
+        BucketKey key = new BucketKey(section, YearMonth.from(open.date));
+        if (!isRetained(key.month)) {
+            return;
+        }
+        Bucket bucket = buckets.get(key);
+        if ((bucket != null && bucket.hasDay(open.date)) || pendingRebuilds.contains(key) || rebuilding.contains(key)) {
+            requestRebuild(key);
+            return;
+        }
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets.put(key, bucket);
+        }
+        open.addTo(bucket);
+    }
+
+    /**
+     * Schedule a bucket rebuild unless one is already waiting. Caller holds the lock.
+     */
+    private void requestRebuild(BucketKey key) {
+        if (pendingRebuilds.add(key)) {
+            rebuilder.schedule(() -> rebuild(key), rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Build every retained bucket from the files on disk.
+     */
+    private void buildAll() {
+        Set<BucketKey> keys = new LinkedHashSet<>();
+        List<String> partitions = new ArrayList<>();
+        partitions.add(null);
+        partitions.addAll(csvStorage.getSections());
+        for (String section : partitions) {
+            for (LocalDate date : csvStorage.getAvailableDates(section)) {
+                if (isRetained(YearMonth.from(date))) {
+                    keys.add(new BucketKey(section, YearMonth.from(date)));
+                }
+            }
+        }
+        synchronized (this) {
+            // Writes to these months until they are built are picked up by the build itself
+            pendingRebuilds.addAll(keys);
+        }
+        for (BucketKey key : keys) {
+            rebuild(key);
+        }
+        System.out.println("Built approximate analytics sketches for " + keys.size() + " section-months");
+    }
+
+    private void rebuild(BucketKey key) {
+        LocalDate openDate;
+        synchronized (this) {
+            pendingRebuilds.remove(key);
+            rebuilding.add(key);
+            OpenDay open = openDays.get(key.section);
+            openDate = open != null ? open.date : null;
+        }
+        try {
+            Bucket fresh = new Bucket();
+            for (LocalDate date : csvStorage.getAvailableDates(key.section)) {
+                // The open day is counted on its own until it closes
+                if (YearMonth.from(date).equals(key.month) && !date.equals(openDate)) {
+                    csvStorage.scanAttendance(date, key.section, fresh::add);
+                    fresh.endDay(date);
+                }
+            }
+            synchronized (this) {
+                if (fresh.days == 0) {
+                    buckets.remove(key);
+                } else {
+                    buckets.put(key, fresh);
+                }
+                OpenDay open = openDays.get(key.section);
+                if (open != null && fresh.hasDay(open.date)) {
+                    // Opened while its file was being read
+                    requestRebuild(key);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error rebuilding approximate analytics for " + key.month + " "
+                    + (key.section != null ? key.section : "(unsectioned)") + ": " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Sketches for one section and month.
+     */
+    private static final class Bucket {
+        private final HyperLogLog students = new HyperLogLog(HLL_PRECISION);
+        private final CountMinSketch absences = new CountMinSketch(CMS_DEPTH, CMS_WIDTH);
+        private final SpaceSaving heavyHitters = new SpaceSaving(HEAVY_HITTERS);
+        private final QuantileHistogram rates = new QuantileHistogram(0, 100, RATE_BINS);
+        // Bit d set once day-of-month d is in the sketches
+        private long dayMask;
+        private int days;
+        private int dayRecorded;
+        private int dayPresent;
+
+        private void add(long id, AttendanceStatus status) {
+            students.add(id);
+            dayRecorded++;
+            if (status == AttendanceStatus.PRESENT) {
+                dayPresent++;
+            } else {
+                absences.add(id, 1);
+                heavyHitters.offer(id, 1);
+            }
+        }
+
+        private void endDay(LocalDate date) {
+            if (dayRecorded > 0) {
+                rates.add(dayPresent * 100.0 / dayRecorded);
+            }
+            dayMask |= 1L << date.getDayOfMonth();
+            days++;
+            dayRecorded = 0;
+            dayPresent = 0;
+        }
+
+        private boolean hasDay(LocalDate date) {
+            return (dayMask & (1L << date.getDayOfMonth())) != 0;
+        }
+    }
+
+    /**
+     * One section's records for the current day, kept outside the buckets.
+     */
+    private static final class OpenDay {
+        private final LocalDate date;
+        private final long[] ids;
+        private final AttendanceStatus[] statuses;
+        // Built on the first query after each write
+        private Bucket sketched;
+
+        private OpenDay(LocalDate date, Collection<Student> records) {
+            this.date = date;
+            List<Student> valid = new ArrayList<>(records.size());
+            for (Student record : records) {
+                if (record.getId() != null && record.getStatus() != null) {
+                    valid.add(record);
+                }
+            }
+            ids = new long[valid.size()];
+            statuses = new AttendanceStatus[valid.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = valid.get(i).getId();
+                statuses[i] = valid.get(i).getStatus();
+            }
+        }
+
+        private void addTo(Bucket bucket) {
+            for (int i = 0; i < ids.length; i++) {
+                bucket.add(ids[i], statuses[i]);
+            }
+            bucket.endDay(date);
+        }
+
+        private Bucket sketch() {
+            if (sketched == null) {
+                sketched = new Bucket();
+                addTo(sketched);
+            }
+            return sketched;
+        }
+    }
+
+    /**
+     * Sketches merged over a query range.
+     */
+    private static final class Merged {
+        private final YearMonth from;
+        private final YearMonth to;
+        private final HyperLogLog students = new HyperLogLog(HLL_PRECISION);
+        private final CountMinSketch absences = new CountMinSketch(CMS_DEPTH, CMS_WIDTH);
+        private final SpaceSaving heavyHitters = new SpaceSaving(HEAVY_HITTERS);
+        private final QuantileHistogram rates = new QuantileHistogram(0, 100, RATE_BINS);
+
+        private Merged(YearMonth from, YearMonth to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * A section (null for unsectioned) and month.
+     */
+    private static final class BucketKey {
+        private final String section;
+        private final YearMonth month;
+
+        private BucketKey(String section, YearMonth month) {
+            this.section = section;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return Objects.equals(section, other.section) && month.equals(other.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(section) + month.hashCode();
+        }
+    }
+}
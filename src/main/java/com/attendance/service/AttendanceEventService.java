@@ -0,0 +1,268 @@
+package com.attendance.service;
+
+import com.attendance.dto.AttendanceEventBatchDTO;
+import com.attendance.dto.AttendanceEventDTO;
+import com.attendance.dto.CheckInTimesDTO;
+import com.attendance.dto.LateArrivalDTO;
+import com.attendance.model.AttendanceEvent;
+import com.attendance.model.AttendanceEvent.Source;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.storage.AttendanceEventLog;
+import com.attendance.storage.InMemoryStudentStore;
+import com.attendance.storage.RosterSnapshot;
+import com.attendance.storage.StorageWriteListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads over the attendance event log: pages of raw events, and a
+ * projection of when students check in.
+ * The projection keeps each student's first PRESENT check-in time per day,
+ * for check-ins made on the day itself (back-filled marks say nothing about
+ * arrival). It follows appends, so it covers history the day files cannot
+ * express, and keeps only the last retention-days days. A background job
+ * saves it with the log offset it covers, so a restart loads that copy and
+ * replays only the events appended since.
+ */
+@Service
+public class AttendanceEventService implements StorageWriteListener {
+
+    private static final int MAX_PAGE_SIZE = 10000;
+    private static final String STATE_NAME = "check-in-times";
+
+    private final AttendanceEventLog eventLog;
+    private final InMemoryStudentStore studentStore;
+    private final LocalTime defaultLateAfter;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final long retentionDays;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private final TreeMap<LocalDate, Map<Long, Long>> firstCheckIns = new TreeMap<>();
+    private LocalDate oldestDay;
+    private long nextOffset;
+
+    /**
+     * Constructor with dependency injection.
+     * @param eventLog the attendance event log
+     * @param studentStore the student storage component, for names and sections
+     * @param defaultLateAfter check-ins after this time of day count as late unless a request says otherwise
+     * @param retentionDays days of check-in times kept, today included
+     * @param saveIntervalMinutes interval between saves of the check-in times
+     */
+    public AttendanceEventService(AttendanceEventLog eventLog, InMemoryStudentStore studentStore,
+                                  @Value("${attendance.events.late-after:08:30}") String defaultLateAfter,
+                                  @Value("${attendance.events.check-in-times.retention-days:90}") long retentionDays,
+                                  @Value("${attendance.events.check-in-times.save-interval-minutes:5}") long saveIntervalMinutes) {
+        this.eventLog = eventLog;
+        this.studentStore = studentStore;
+        this.defaultLateAfter = LocalTime.parse(defaultLateAfter);
+        this.retentionDays = retentionDays;
+        eventLog.addWriteListener(this);
+        synchronized (this) {
+            oldestDay = LocalDate.now(zone).minusDays(retentionDays - 1);
+            // Appends arriving meanwhile wait for the lock and skip what the replay already applied
+            try {
+                nextOffset = eventLog.replay(loadState(), Integer.MAX_VALUE, this::apply);
+            } catch (IOException e) {
+                System.err.println("Error replaying the attendance event log: " + e.getMessage());
+            }
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-check-in-times");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::saveState, saveIntervalMinutes, saveIntervalMinutes,
+                TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stop the background job and save the check-in times one last time.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        saveState();
+    }
+
+    @Override
+    public synchronized void eventsAppended(long firstOffset, List<AttendanceEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (firstOffset + i >= nextOffset) {
+                apply(firstOffset + i, events.get(i));
+            }
+        }
+    }
+
+    private void apply(long offset, AttendanceEvent event) {
+        nextOffset = offset + 1;
+        if (event.getSource() != Source.CHECK_IN || event.getStatus() != AttendanceStatus.PRESENT
+                || event.getDate().isBefore(oldestDay)) {
+            return;
+        }
+        if (!Instant.ofEpochMilli(event.getTimestamp()).atZone(zone).toLocalDate().equals(event.getDate())) {
+            return;
+        }
+        firstCheckIns.computeIfAbsent(event.getDate(), date -> new HashMap<>())
+                .merge(event.getStudentId(), event.getTimestamp(), Math::min);
+    }
+
+    /**
+     * Load the saved check-in times.
+     * @return offset to replay the log from
+     */
+    private long loadState() {
+        byte[] state;
+        try {
+            state = eventLog.readState(STATE_NAME);
+        } catch (IOException e) {
+            System.err.println("Error reading saved check-in times: " + e.getMessage());
+            return 0;
+        }
+        if (state == null) {
+            return 0;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(state));
+            long offset = in.readLong();
+            if (offset > eventLog.getEndOffset()) {
+                // Saved against a log that has since been replaced
+                return 0;
+            }
+            int days = in.readInt();
+            for (int d = 0; d < days; d++) {
+                LocalDate date = LocalDate.ofEpochDay(in.readLong());
+                int count = in.readInt();
+                Map<Long, Long> checkIns = new HashMap<>(count * 2);
+                for (int i = 0; i < count; i++) {
+                    checkIns.put(in.readLong(), in.readLong());
+                }
+                if (!date.isBefore(oldestDay)) {
+                    firstCheckIns.put(date, checkIns);
+                }
+            }
+            return offset;
+        } catch (IOException e) {
+            // Replaying from the start is always safe, only slower
+            System.err.println("Ignoring unreadable saved check-in times: " + e.getMessage());
+            firstCheckIns.clear();
+            return 0;
+        }
+    }
+
+    /**
+     * Drop days past the retention period and save the rest with the offset they cover.
+     */
+    private void saveState() {
+        long offset;
+        Map<LocalDate, Map<Long, Long>> copy = new TreeMap<>();
+        synchronized (this) {
+            oldestDay = LocalDate.now(zone).minusDays(retentionDays - 1);
+            firstCheckIns.headMap(oldestDay).clear();
+            offset = nextOffset;
+            firstCheckIns.forEach((date, checkIns) -> copy.put(date, new HashMap<>(checkIns)));
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(offset);
+            out.writeInt(copy.size());
+            for (Map.Entry<LocalDate, Map<Long, Long>> day : copy.entrySet()) {
+                out.writeLong(day.getKey().toEpochDay());
+                out.writeInt(day.getValue().size());
+                for (Map.Entry<Long, Long> checkIn : day.getValue().entrySet()) {
+                    out.writeLong(checkIn.getKey());
+                    out.writeLong(checkIn.getValue());
+                }
+            }
+            eventLog.saveState(STATE_NAME, bytes.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            // Only costs a longer replay at the next start
+            System.err.println("Error saving check-in times: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read a page of the event log.
+     * @param from offset of the first event
+     * @param limit maximum events, at most 10000
+     * @return the events and the offset to continue from
+     */
+    public AttendanceEventBatchDTO getEvents(long from, int limit) {
+        if (from < 0) {
+            throw new IllegalArgumentException("from must not be negative");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<AttendanceEventDTO> events = new ArrayList<>();
+        long next;
+        try {
+            next = eventLog.replay(from, limit, (offset, event) -> events.add(new AttendanceEventDTO(
+                    offset, event.getStudentId(), event.getDate(), event.getStatus().name(), event.getSource().name(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()), zone))));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the attendance event log", e);
+        }
+        return new AttendanceEventBatchDTO(from, next, eventLog.getEndOffset(), events);
+    }
+
+    /**
+     * Profile when students checked in on a day.
+     * Days past the retention period have no check-in times.
+     * @param date the day, or null for today
+     * @param section limit to one section (optional)
+     * @param lateAfter late cut-off, or null for the configured default
+     * @return first check-ins per hour and the late arrivals
+     */
+    public CheckInTimesDTO getCheckInTimes(LocalDate date, String section, LocalTime lateAfter) {
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        String targetSection = Student.normalizeSection(section);
+        LocalTime cutoff = lateAfter != null ? lateAfter : defaultLateAfter;
+
+        Map<Long, Long> checkIns;
+        synchronized (this) {
+            checkIns = new HashMap<>(firstCheckIns.getOrDefault(targetDate, Collections.emptyMap()));
+        }
+
+        RosterSnapshot roster = studentStore.snapshot();
+        Long[] byHour = new Long[24];
+        Arrays.fill(byHour, 0L);
+        long checkedIn = 0;
+        List<LateArrivalDTO> late = new ArrayList<>();
+        for (Map.Entry<Long, Long> checkIn : checkIns.entrySet()) {
+            Student student = roster.find(checkIn.getKey());
+            if (targetSection != null && (student == null || !targetSection.equals(student.getSection()))) {
+                continue;
+            }
+            LocalTime time = Instant.ofEpochMilli(checkIn.getValue()).atZone(zone).toLocalTime();
+            checkedIn++;
+            byHour[time.getHour()]++;
+            if (time.isAfter(cutoff)) {
+                late.add(new LateArrivalDTO(checkIn.getKey(), student != null ? student.getName() : null, time));
+            }
+        }
+        late.sort(Comparator.comparing(LateArrivalDTO::getCheckedInAt));
+        return new CheckInTimesDTO(targetDate, targetSection, cutoff, checkedIn, late.size(),
+                Arrays.asList(byHour), late);
+    }
+}
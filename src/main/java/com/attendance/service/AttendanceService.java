@@ -1,11 +1,20 @@
 package com.attendance.service;
 
+import com.attendance.dto.AbsenteeDTO;
 import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.CoalescingStatsDTO;
 import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.DailyRateDTO;
+import com.attendance.dto.DayVersionDTO;
+import com.attendance.dto.MarkRequest;
 import com.attendance.dto.NewStudentRequest;
+import com.attendance.dto.SectionHandoffDTO;
 import com.attendance.dto.StudentDTO;
+import com.attendance.model.DataVersion;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,12 +29,32 @@ public interface AttendanceService {
      */
     StudentDTO addStudent(NewStudentRequest request);
     
+    /**
+     * Delete a student from the roster and hide their attendance records.
+     * The records are purged from the day files in the background.
+     * @param id the student ID
+     */
+    void deleteStudent(Long id);
+    
     /**
      * Get all students in the system.
      * @return list of all student DTOs
      */
     List<StudentDTO> getAllStudents();
     
+    /**
+     * Get all students in a section.
+     * @param section the section, or null for every student
+     * @return list of student DTOs
+     */
+    List<StudentDTO> getAllStudents(String section);
+    
+    /**
+     * Get the names of all known sections.
+     * @return sorted section names
+     */
+    List<String> getSections();
+    
     /**
      * Get attendance for a specific date.
      * @param date the target date
@@ -33,12 +62,84 @@ public interface AttendanceService {
      */
     List<StudentDTO> getAttendanceForDate(LocalDate date);
     
+    /**
+     * Get attendance for a specific date and section.
+     * @param date the target date
+     * @param section the section, or null for the whole school
+     * @return list of student DTOs for the date
+     */
+    List<StudentDTO> getAttendanceForDate(LocalDate date, String section);
+    
+    /**
+     * Get attendance for a date and section as it was recorded at an earlier moment.
+     * Each partition is read from the version of its day file that was current
+     * at that moment; the roster is today's.
+     * @param date the target date
+     * @param section the section, or null for the whole school
+     * @param asOf the moment to read at, or null for the current attendance
+     * @return list of student DTOs for the date
+     */
+    List<StudentDTO> getAttendanceForDate(LocalDate date, String section, LocalDateTime asOf);
+    
+    /**
+     * Get counters for daily attendance reads that shared a computation.
+     * @return requests, computations and coalesced requests since startup
+     */
+    CoalescingStatsDTO getDailyReadStats();
+    
+    /**
+     * List the retained versions of a day's attendance.
+     * @param date the target date
+     * @param section the section, or null for every partition
+     * @return versions ordered by the time they were written
+     */
+    List<DayVersionDTO> getAttendanceVersions(LocalDate date, String section);
+    
+    /**
+     * Stream attendance for a date and section while the day files are read.
+     * Holds the same entries as getAttendanceForDate, but students with a
+     * record come first in file order, followed by students not yet marked.
+     * Files are read on a bounded scheduler, only as fast as the subscriber
+     * requests elements.
+     * @param date the target date
+     * @param section the section, or null for the whole school
+     * @return stream of student DTOs for the date
+     */
+    Flux<StudentDTO> streamAttendanceForDate(LocalDate date, String section);
+    
+    /**
+     * Get the version of the data behind a date's attendance and report,
+     * without reading the day file.
+     * @param date the target date
+     * @return version stamp that changes whenever the result would change
+     */
+    DataVersion getAttendanceVersion(LocalDate date);
+    
+    /**
+     * Get the version of a section's attendance and report for a date.
+     * @param date the target date
+     * @param section the section, or null for the whole school
+     * @return version stamp that changes whenever the result would change
+     */
+    DataVersion getAttendanceVersion(LocalDate date, String section);
+    
     /**
      * Persist attendance for a specific date.
-     * @param request payload containing the date and student statuses
+     * With a section set, only that section's partition is written and every
+     * entry must belong to it; otherwise each student's own section is written.
+     * @param request payload containing the date, optional section and student statuses
      */
     void saveDailyAttendance(DailyAttendanceRequest request);
     
+    /**
+     * Mark one student's attendance for a day.
+     * The mark is visible to reads immediately and written to the day file
+     * with other marks in the next batch, a few milliseconds later.
+     * @param request payload with the student ID, status and optional date (defaults to today)
+     * @return the recorded attendance
+     */
+    StudentDTO markAttendance(MarkRequest request);
+    
     /**
      * Search for students by name.
      * @param name the name to search for
@@ -52,4 +153,64 @@ public interface AttendanceService {
      * @return attendance report DTO
      */
     AttendanceReportDTO getAttendanceReport(LocalDate date);
+    
+    /**
+     * Get attendance report with statistics for a date and section.
+     * @param date the date to report on
+     * @param section the section, or null for the whole school
+     * @return attendance report DTO
+     */
+    AttendanceReportDTO getAttendanceReport(LocalDate date, String section);
+    
+    /**
+     * Get attendance report with statistics for a date and section as it was at an earlier moment.
+     * @param date the date to report on
+     * @param section the section, or null for the whole school
+     * @param asOf the moment to report at, or null for the current attendance
+     * @return attendance report DTO
+     */
+    AttendanceReportDTO getAttendanceReport(LocalDate date, String section, LocalDateTime asOf);
+    
+    /**
+     * Find students whose absence rate over a window meets a threshold.
+     * @param from first day of the window (inclusive), or null for all history
+     * @param to last day of the window (inclusive), or null for all history
+     * @param minAbsenceRate minimum absence percentage over recorded days
+     * @return matching students, most absent first
+     */
+    List<AbsenteeDTO> getChronicAbsentees(LocalDate from, LocalDate to, double minAbsenceRate);
+    
+    /**
+     * Find students recorded absent on every one of the given days.
+     * @param dates the days to check
+     * @return matching students ordered by ID
+     */
+    List<StudentDTO> getStudentsAbsentOnAll(List<LocalDate> dates);
+    
+    /**
+     * Get attendance totals and rate for each recorded day in a window.
+     * @param from first day of the window (inclusive), or null for all history
+     * @param to last day of the window (inclusive), or null for all history
+     * @return daily rates in ascending date order
+     */
+    List<DailyRateDTO> getDailyRates(LocalDate from, LocalDate to);
+    
+    /**
+     * Collect one section's roster and day files for handing to another node.
+     * @param section the section, or null for unsectioned students
+     * @return the section's data
+     */
+    SectionHandoffDTO exportSection(String section);
+    
+    /**
+     * Take ownership of a section handed over by another node.
+     * @param handoff the section's roster and day files
+     */
+    void importSection(SectionHandoffDTO handoff);
+    
+    /**
+     * Remove a section's roster entries and day files from this node.
+     * @param section the section, or null for unsectioned students
+     */
+    void dropSection(String section);
 }
@@ -1,24 +1,71 @@
 package com.attendance.service;
 
+import com.attendance.analytics.AttendanceMatrix;
+import com.attendance.dto.AbsenteeDTO;
+import com.attendance.dto.AttendanceDeltaDTO;
 import com.attendance.dto.AttendanceEntryDTO;
 import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.CoalescingStatsDTO;
 import com.attendance.dto.DailyAttendanceRequest;
+import com.attendance.dto.DailyRateDTO;
+import com.attendance.dto.DayVersionDTO;
+import com.attendance.dto.MarkRequest;
 import com.attendance.dto.NewStudentRequest;
+import com.attendance.dto.SectionHandoffDTO;
 import com.attendance.dto.StudentDTO;
 import com.attendance.exception.NotFoundException;
+import com.attendance.live.AttendanceBroadcaster;
+import com.attendance.model.AttendanceEvent;
+import com.attendance.model.AttendanceEvent.Source;
+import com.attendance.model.DataVersion;
 import com.attendance.model.Student;
 import com.attendance.model.Student.AttendanceStatus;
 import com.attendance.storage.InMemoryStudentStore;
+import com.attendance.storage.AttendanceEventLog;
+import com.attendance.storage.AttendanceRecordReader;
+import com.attendance.storage.AttendanceRecordVisitor;
+import com.attendance.storage.AttendanceVersionStore;
 import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.DayVersion;
+import com.attendance.storage.RosterSnapshot;
+import com.attendance.storage.StorageWriteListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
@@ -28,21 +75,175 @@ import java.util.stream.Collectors;
 @Service
 public class AttendanceServiceImpl implements AttendanceService {
     
+    // Elements a streamed read may parse ahead of its subscriber
+    private static final int STREAM_READ_AHEAD = 64;
+    // Event log checkpoint: offset up to which every logged check-in is in the day files
+    private static final String DAY_FILE_CHECKPOINT = "day-files";
+    
     private final InMemoryStudentStore studentStore;
     private final CsvAttendanceStorage csvStorage;
+    private final AttendanceEventLog eventLog;
+    private final AttendanceVersionStore versionStore;
+    private final AttendanceBroadcaster broadcaster;
+    // Recently written day partitions, served without going back to disk
+    private final RecentAttendanceOverlay recentAttendance;
+    // Concurrent daily reads of the same date, section and version share one computation
+    private final SingleFlight<String, List<StudentDTO>> dailyReads = new SingleFlight<>();
+    // Bitmap view of all day files; rebuilt lazily after a delete invalidates it
+    private volatile AttendanceMatrix attendanceMatrix;
+    private final AtomicLong attendanceWrites = new AtomicLong();
+    // Days written since the matrix was built, replaced in it on the next analytics read
+    private final Set<LocalDate> changedDays = ConcurrentHashMap.newKeySet();
+    // Blocking file reads behind streamed responses; bounded so streams queue instead of adding threads
+    private final Scheduler readScheduler;
+    // Single-student marks waiting for the next batched write
+    private final CheckInBuffer checkIns = new CheckInBuffer();
+    private final ScheduledExecutorService checkInFlusher;
+    private final int checkInFlushThreshold;
+    private final AtomicBoolean checkInFlushRequested = new AtomicBoolean();
+    // Held by a flush from its drain until its batches are written, and by full saves, so a save
+    // never lands between the two; taken before checkInLogLock
+    private final Object checkInFlushLock = new Object();
+    // Shared by check-ins from their log append until they are buffered; exclusive while a flush
+    // drains the buffer, and for full saves so they reach the log in the order they reach the day files
+    private final ReadWriteLock checkInLogLock = new ReentrantReadWriteLock();
+    // Event log offset the day files are known to cover; written only by flushes
+    private volatile long checkpointedOffset;
+    // The checkpoint stays put until logged check-ins from the last run are back in the buffer
+    private volatile boolean checkInsReplayed;
+    // Roster versions restart with the process, so tags carry a per-run prefix
+    private final String instanceTag = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
 
     /**
      * Constructor with dependency injection.
      * @param studentStore the student storage component
      * @param csvStorage the CSV storage component
+     * @param eventLog append-only log of attendance events
+     * @param versionStore immutable history of the day files, for as-of reads
+     * @param broadcaster live feed for saved attendance changes
+     * @param overlayPartitions number of recently written day partitions kept in memory
+     * @param readThreads maximum threads reading day files for streamed responses
+     * @param maxQueuedReads maximum streamed reads waiting for a thread before new streams are rejected
+     * @param checkInFlushIntervalMs time between batched writes of single-student check-ins
+     * @param checkInFlushThreshold pending check-ins that trigger a write before the interval ends
      */
-    public AttendanceServiceImpl(InMemoryStudentStore studentStore, CsvAttendanceStorage csvStorage) {
+    public AttendanceServiceImpl(InMemoryStudentStore studentStore, CsvAttendanceStorage csvStorage,
+                                 AttendanceEventLog eventLog, AttendanceVersionStore versionStore,
+                                 AttendanceBroadcaster broadcaster,
+                                 @Value("${attendance.overlay.max-partitions:64}") int overlayPartitions,
+                                 @Value("${attendance.reactive.read-threads:16}") int readThreads,
+                                 @Value("${attendance.reactive.max-queued-reads:100000}") int maxQueuedReads,
+                                 @Value("${attendance.mark.flush-interval-ms:50}") long checkInFlushIntervalMs,
+                                 @Value("${attendance.mark.flush-threshold:5000}") int checkInFlushThreshold) {
         this.studentStore = studentStore;
         this.csvStorage = csvStorage;
+        this.eventLog = eventLog;
+        this.versionStore = versionStore;
+        this.broadcaster = broadcaster;
+        this.recentAttendance = new RecentAttendanceOverlay(overlayPartitions);
+        csvStorage.addWriteListener(recentAttendance);
+        this.readScheduler = Schedulers.newBoundedElastic(readThreads, maxQueuedReads, "attendance-reads", 60, true);
+        this.checkInFlushThreshold = checkInFlushThreshold;
+        this.checkInFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "check-in-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checkInFlusher.scheduleWithFixedDelay(this::flushCheckIns,
+                checkInFlushIntervalMs, checkInFlushIntervalMs, TimeUnit.MILLISECONDS);
+        // Day files can also change underneath us (replication, section handoff)
+        csvStorage.addWriteListener(new StorageWriteListener() {
+            @Override
+            public void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+                // Runs under the partition lock; the day is re-read later, not here
+                changedDays.add(date);
+            }
+
+            @Override
+            public void partitionDeleted(LocalDate date, String section) {
+                invalidateAttendanceMatrix();
+            }
+
+            @Override
+            public void studentTombstoned(Long studentId) {
+                invalidateAttendanceMatrix();
+            }
+        });
+        // Never hand a deleted student's ID to someone else; their records stay hidden
+        studentStore.ensureNextIdAtLeast(csvStorage.getMaxTombstonedId() + 1);
         // Load today's attendance from CSV if it exists
         loadTodayAttendance();
     }
     
+    /**
+     * Stop the threads reading day files for streamed responses, and write any
+     * check-ins still waiting for a flush.
+     */
+    @PreDestroy
+    public void shutdown() {
+        readScheduler.dispose();
+        checkInFlusher.shutdown();
+        try {
+            checkInFlusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushCheckIns();
+    }
+    
+    /**
+     * Read a day's records, taking recently written partitions from the overlay.
+     * @param date the day
+     * @param section the section, or null for every partition
+     * @return the records; overlay records are shared and must not be modified
+     * @throws IOException if a partition has to be read from disk and fails
+     */
+    private List<Student> readDay(LocalDate date, String section) throws IOException {
+        if (section != null) {
+            List<Student> recent = recentAttendance.get(date, section);
+            return recent != null ? recent : csvStorage.readAttendance(date, section);
+        }
+        List<Student> records = new ArrayList<>();
+        for (String partition : getPartitions()) {
+            List<Student> recent = recentAttendance.get(date, partition);
+            if (recent != null) {
+                records.addAll(recent);
+            } else if (csvStorage.attendanceExists(date, partition)) {
+                records.addAll(csvStorage.readAttendance(date, partition));
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Visit a day's statuses, taking recently written partitions from the overlay.
+     * @param date the day
+     * @param section the section, or null for every partition
+     * @param visitor receives each record's ID and status
+     * @throws IOException if a partition has to be read from disk and fails
+     */
+    private void scanDay(LocalDate date, String section, AttendanceRecordVisitor visitor) throws IOException {
+        for (String partition : section != null ? Collections.singletonList(section) : getPartitions()) {
+            List<Student> recent = recentAttendance.get(date, partition);
+            if (recent == null) {
+                csvStorage.scanAttendance(date, partition, visitor);
+                continue;
+            }
+            for (Student record : recent) {
+                if (record.getStatus() != null) {
+                    visitor.visit(record.getId(), record.getStatus());
+                }
+            }
+        }
+    }
+    
+    private List<String> getPartitions() {
+        List<String> partitions = new ArrayList<>();
+        partitions.add(null);
+        partitions.addAll(csvStorage.getSections());
+        return partitions;
+    }
+    
     /**
      * Load attendance data from CSV for today's date.
      */
@@ -61,6 +262,83 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
     }
 
+    /**
+     * Write check-ins that were logged but never reached the day files,
+     * because the process stopped before their flush. Runs once the roster
+     * has been loaded, so the students can be found.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayCheckIns() {
+        long from = eventLog.getCheckpoint(DAY_FILE_CHECKPOINT);
+        checkpointedOffset = from;
+        // Last logged check-in per day and student; full saves are logged after
+        // their write, so they cancel earlier check-ins
+        Map<LocalDate, Map<Long, AttendanceEvent>> latest = new HashMap<>();
+        try {
+            eventLog.replay(from, Integer.MAX_VALUE, (offset, event) -> {
+                Map<Long, AttendanceEvent> day = latest.computeIfAbsent(event.getDate(), date -> new LinkedHashMap<>());
+                if (event.getSource() == Source.DAILY_SAVE) {
+                    day.remove(event.getStudentId());
+                } else {
+                    day.put(event.getStudentId(), event);
+                }
+            });
+        } catch (IOException e) {
+            // Leave the checkpoint where it is so the next start tries again
+            System.err.println("Error replaying check-ins from the event log: " + e.getMessage());
+            return;
+        }
+
+        RosterSnapshot roster = studentStore.snapshot();
+        int replayed = 0;
+        int skipped = 0;
+        for (Map.Entry<LocalDate, Map<Long, AttendanceEvent>> day : latest.entrySet()) {
+            // Students no longer on the roster are found in the day's own file
+            Map<Long, Student> dayRecords = null;
+            List<Student> records = new ArrayList<>();
+            for (AttendanceEvent event : day.getValue().values()) {
+                Student base = roster.find(event.getStudentId());
+                if (base == null) {
+                    if (dayRecords == null) {
+                        dayRecords = readDayRecords(day.getKey());
+                    }
+                    base = dayRecords.get(event.getStudentId());
+                }
+                if (base == null) {
+                    skipped++;
+                    continue;
+                }
+                records.add(newRecord(base, event.getStatus(), event.getDate()));
+            }
+            // Check-ins received since startup are newer and win
+            checkIns.restore(day.getKey(), records);
+            replayed += records.size();
+        }
+        if (replayed > 0 || skipped > 0) {
+            System.out.println("Replayed " + replayed + " check-ins from the event log"
+                    + (skipped > 0 ? ", skipped " + skipped + " for unknown students" : ""));
+        }
+        checkInsReplayed = true;
+        flushCheckIns();
+    }
+
+    private Map<Long, Student> readDayRecords(LocalDate date) {
+        Map<Long, Student> records = new HashMap<>();
+        try {
+            for (Student record : csvStorage.readAttendance(date)) {
+                records.put(record.getId(), record);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading attendance for " + date + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    private void invalidateAttendanceMatrix() {
+        attendanceWrites.incrementAndGet();
+        attendanceMatrix = null;
+    }
+
     @Override
     public StudentDTO addStudent(NewStudentRequest request) {
         Student student = new Student();
@@ -73,43 +351,71 @@ public class AttendanceServiceImpl implements AttendanceService {
                 : LocalDate.now();
         student.setCreationDate(creationDate);
         student.setDate(creationDate); // Set attendance date to creation date initially
+        student.setSection(request.getSection());
         
         Student saved = studentStore.save(student);
         return StudentDTO.fromEntity(saved);
     }
 
+    @Override
+    public void deleteStudent(Long id) {
+        if (studentStore.snapshot().find(id) == null) {
+            throw new NotFoundException("Student not found with ID: " + id);
+        }
+        try {
+            // Also clears the student from the overlay and the attendance matrix, via the write listeners
+            csvStorage.addTombstone(id);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to record deletion of student " + id, e);
+        }
+        studentStore.deleteById(id);
+    }
+
     @Override
     public List<StudentDTO> getAllStudents() {
-        return studentStore.findAll().stream()
-                .map(StudentDTO::fromEntity)
-                .collect(Collectors.toList());
+        return getAllStudents(null);
+    }
+    
+    @Override
+    public List<StudentDTO> getAllStudents(String section) {
+        String targetSection = Student.normalizeSection(section);
+        RosterSnapshot roster = studentStore.snapshot();
+        List<StudentDTO> result = new ArrayList<>(roster.size());
+        for (int i = 0; i < roster.size(); i++) {
+            Student student = roster.get(i);
+            if (targetSection == null || targetSection.equals(student.getSection())) {
+                result.add(StudentDTO.fromEntity(student));
+            }
+        }
+        return result;
     }
     
     @Override
     public List<StudentDTO> getAttendanceForDate(LocalDate date) {
+        return getAttendanceForDate(date, null);
+    }
+    
+    @Override
+    public List<StudentDTO> getAttendanceForDate(LocalDate date, String section) {
         LocalDate targetDate = date != null ? date : LocalDate.now();
-        
-        // UPDATED: Filter students by creation date - only include students created on or before target date
-        List<Student> baseStudents = studentStore.findAll().stream()
-                .filter(student -> {
-                    LocalDate creationDate = student.getCreationDate() != null 
-                            ? student.getCreationDate() 
-                            : student.getDate() != null ? student.getDate() : LocalDate.now();
-                    return !creationDate.isAfter(targetDate); // creationDate <= targetDate
-                })
-                .collect(Collectors.toList());
-        
+        String targetSection = Student.normalizeSection(section);
+        // The tag changes with any write the view depends on, so a caller never
+        // joins a computation that started before a write it has already seen
+        String key = getAttendanceVersion(targetDate, targetSection).getTag();
+        return dailyReads.execute(key, () ->
+                Collections.unmodifiableList(computeAttendanceForDate(targetDate, targetSection)));
+    }
+    
+    private List<StudentDTO> computeAttendanceForDate(LocalDate targetDate, String targetSection) {
         Map<Long, Student> attendanceForDate = new HashMap<>();
         
         if (csvStorage.attendanceExists(targetDate)) {
             try {
-                List<Student> attendanceStudents = csvStorage.readAttendance(targetDate);
+                // A section only needs its own partition; the school-wide view reads them all
+                List<Student> attendanceStudents = readDay(targetDate, targetSection);
                 for (Student record : attendanceStudents) {
                     // NEW: Also filter CSV records by creation date
-                    LocalDate recordCreationDate = record.getCreationDate() != null 
-                            ? record.getCreationDate() 
-                            : record.getDate() != null ? record.getDate() : targetDate;
-                    if (!recordCreationDate.isAfter(targetDate)) {
+                    if (isRecordVisible(record, targetDate)) {
                         attendanceForDate.put(record.getId(), record);
                     }
                 }
@@ -117,6 +423,108 @@ public class AttendanceServiceImpl implements AttendanceService {
                 System.err.println("Error reading attendance for " + targetDate + ": " + e.getMessage());
             }
         }
+        // Check-ins not yet flushed to the day files
+        for (Student mark : pendingMarks(targetDate, targetSection)) {
+            attendanceForDate.put(mark.getId(), mark);
+        }
+        return buildDailyView(targetDate, targetSection, attendanceForDate);
+    }
+    
+    @Override
+    public CoalescingStatsDTO getDailyReadStats() {
+        long requests = dailyReads.getRequestCount();
+        long coalesced = dailyReads.getCoalescedCount();
+        return new CoalescingStatsDTO(requests, requests - coalesced, coalesced, dailyReads.getInFlightCount());
+    }
+    
+    @Override
+    public List<StudentDTO> getAttendanceForDate(LocalDate date, String section, LocalDateTime asOf) {
+        if (asOf == null) {
+            return getAttendanceForDate(date, section);
+        }
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        String targetSection = Student.normalizeSection(section);
+        long asOfMillis = asOf.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        RosterSnapshot roster = studentStore.snapshot();
+        List<String> partitions = targetSection != null
+                ? Collections.singletonList(targetSection)
+                : getPartitions();
+        
+        Map<Long, Student> attendanceForDate = new HashMap<>();
+        try {
+            // Versions hold IDs and statuses; names come from the roster, or today's file for former students
+            Map<Long, Student> currentRecords = null;
+            for (String partition : partitions) {
+                DayVersion version = versionStore.getVersionAsOf(targetDate, partition, asOfMillis);
+                if (version == null || version.isDeleted()) {
+                    continue;
+                }
+                List<long[]> offRoster = new ArrayList<>();
+                version.forEach((id, status) -> {
+                    Student base = roster.find(id);
+                    if (base != null) {
+                        attendanceForDate.putIfAbsent(id, newRecord(base, status, targetDate));
+                    } else {
+                        offRoster.add(new long[] {id, status.ordinal()});
+                    }
+                });
+                for (long[] entry : offRoster) {
+                    if (currentRecords == null) {
+                        currentRecords = readDayRecords(targetDate);
+                    }
+                    Student base = currentRecords.get(entry[0]);
+                    if (base == null) {
+                        base = new Student(entry[0], null, null, targetDate);
+                        base.setSection(partition);
+                    }
+                    attendanceForDate.putIfAbsent(entry[0],
+                            newRecord(base, AttendanceStatus.values()[(int) entry[1]], targetDate));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read attendance versions for " + targetDate, e);
+        }
+        return buildDailyView(targetDate, targetSection, attendanceForDate);
+    }
+    
+    @Override
+    public List<DayVersionDTO> getAttendanceVersions(LocalDate date, String section) {
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        String targetSection = Student.normalizeSection(section);
+        List<String> partitions = targetSection != null
+                ? Collections.singletonList(targetSection)
+                : getPartitions();
+        List<DayVersionDTO> result = new ArrayList<>();
+        try {
+            for (String partition : partitions) {
+                for (DayVersion version : versionStore.getVersions(targetDate, partition)) {
+                    result.add(new DayVersionDTO(partition, version.getVersion(),
+                            LocalDateTime.ofInstant(Instant.ofEpochMilli(version.getTimestamp()), ZoneId.systemDefault()),
+                            version.isDeleted(), version.size(), version.presentCount()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read attendance versions for " + targetDate, e);
+        }
+        result.sort(Comparator.comparing(DayVersionDTO::getWrittenAt));
+        return result;
+    }
+    
+    /**
+     * Merge a day's records with the roster: every roster student on or after
+     * their creation date, with their recorded status if any, plus records of
+     * students no longer on the roster.
+     * @param targetDate the day
+     * @param targetSection the section, or null for the whole school
+     * @param attendanceForDate the day's records by student ID
+     * @return the view, ordered by student ID
+     */
+    private List<StudentDTO> buildDailyView(LocalDate targetDate, String targetSection,
+                                            Map<Long, Student> attendanceForDate) {
+        // UPDATED: Filter students by creation date - only include students created on or before target date
+        List<Student> baseStudents = studentStore.snapshot().stream()
+                .filter(student -> isOnRoster(student, targetSection, targetDate))
+                .collect(Collectors.toList());
         
         List<StudentDTO> result = baseStudents.stream()
                 .map(baseStudent -> {
@@ -129,7 +537,8 @@ public class AttendanceServiceImpl implements AttendanceService {
                             baseStudent.getId(),
                             baseStudent.getName(),
                             status,
-                            recordDate
+                            recordDate,
+                            baseStudent.getSection()
                     );
                 })
                 .collect(Collectors.toList());
@@ -137,13 +546,8 @@ public class AttendanceServiceImpl implements AttendanceService {
         // UPDATED: Only add CSV records that don't exist in result and pass creation date filter
         attendanceForDate.forEach((id, record) -> {
             boolean exists = result.stream().anyMatch(dto -> dto.getId().equals(id));
-            if (!exists) {
-                LocalDate recordCreationDate = record.getCreationDate() != null 
-                        ? record.getCreationDate() 
-                        : record.getDate() != null ? record.getDate() : targetDate;
-                if (!recordCreationDate.isAfter(targetDate)) {
-                    result.add(StudentDTO.fromEntity(record));
-                }
+            if (!exists && isRecordVisible(record, targetDate)) {
+                result.add(StudentDTO.fromEntity(record));
             }
         });
         
@@ -151,19 +555,188 @@ public class AttendanceServiceImpl implements AttendanceService {
         return result;
     }
     
+    @Override
+    public Flux<StudentDTO> streamAttendanceForDate(LocalDate date, String section) {
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        String targetSection = Student.normalizeSection(section);
+        
+        return Flux.defer(() -> {
+            RosterSnapshot roster = studentStore.snapshot();
+            // Emitted roster students by position; a set is only needed for records of students not on the roster
+            BitSet emitted = new BitSet(roster.size());
+            Set<Long> emittedOffRoster = new HashSet<>();
+            List<String> partitions = targetSection != null
+                    ? Collections.singletonList(targetSection)
+                    : getPartitions();
+            
+            Map<Long, Student> marks = new LinkedHashMap<>();
+            for (Student mark : pendingMarks(targetDate, targetSection)) {
+                marks.put(mark.getId(), mark);
+            }
+            
+            // Records go out as they are parsed; a student repeated in a later partition keeps its first record.
+            // Indexed because the unsectioned partition is null, which a Flux cannot carry.
+            // Unflushed check-ins replace the stored record, and the rest follow the files.
+            Flux<StudentDTO> recorded = Flux.range(0, partitions.size())
+                    .concatMap(i -> streamPartition(targetDate, partitions.get(i)))
+                    .map(record -> marks.getOrDefault(record.getId(), record))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(marks.values())))
+                    .filter(record -> isRecordVisible(record, targetDate) && markEmitted(record.getId(), roster,
+                            emitted, emittedOffRoster))
+                    .map(record -> {
+                        Student student = roster.find(record.getId());
+                        if (student == null || !isOnRoster(student, targetSection, targetDate)) {
+                            return StudentDTO.fromEntity(record);
+                        }
+                        return new StudentDTO(student.getId(), student.getName(),
+                                record.getStatus() != null ? record.getStatus().name() : null,
+                                record.getDate(), student.getSection());
+                    });
+            Flux<StudentDTO> unmarked = Flux.defer(() -> Flux.range(0, roster.size())
+                    .filter(position -> !emitted.get(position))
+                    .map(roster::get)
+                    .filter(student -> isOnRoster(student, targetSection, targetDate))
+                    .map(student -> new StudentDTO(student.getId(), student.getName(), null,
+                            targetDate, student.getSection())));
+            return recorded.concatWith(unmarked);
+        }).subscribeOn(readScheduler)
+                // Read ahead in batches so a subscriber requesting one element at a time does not hop threads per line
+                .limitRate(STREAM_READ_AHEAD);
+    }
+    
+    /**
+     * Get a day's unflushed check-ins that belong in a view.
+     * @param date the day
+     * @param section the section, or null for the whole school
+     * @return the pending records; shared and must not be modified
+     */
+    private List<Student> pendingMarks(LocalDate date, String section) {
+        List<Student> marks = checkIns.get(date);
+        if (marks.isEmpty()) {
+            return marks;
+        }
+        // Students deleted since their check-in are hidden, as in the day files
+        return marks.stream()
+                .filter(mark -> section == null || section.equals(mark.getSection()))
+                .filter(mark -> !csvStorage.isTombstoned(mark.getId()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Record that a student's entry was emitted.
+     * @return true if it was not emitted before
+     */
+    private static boolean markEmitted(long id, RosterSnapshot roster, BitSet emitted, Set<Long> emittedOffRoster) {
+        int position = roster.positionOf(id);
+        if (position < 0) {
+            return emittedOffRoster.add(id);
+        }
+        if (emitted.get(position)) {
+            return false;
+        }
+        emitted.set(position);
+        return true;
+    }
+    
+    /**
+     * Emit one partition's records for a day, reading the file a line per requested element.
+     * @param date the day
+     * @param partition the section, or null for the unsectioned partition
+     * @return the records; empty if the partition has no file for the day
+     */
+    private Flux<Student> streamPartition(LocalDate date, String partition) {
+        List<Student> recent = recentAttendance.get(date, partition);
+        if (recent != null) {
+            return Flux.fromIterable(recent);
+        }
+        return Flux.defer(() -> {
+            AttendanceRecordReader reader;
+            try {
+                reader = csvStorage.openAttendance(date, partition);
+            } catch (IOException e) {
+                return Flux.error(new IllegalStateException("Failed to read attendance for " + date, e));
+            }
+            if (reader == null) {
+                return Flux.empty();
+            }
+            return Flux.using(() -> reader, open -> Flux.<Student>generate(sink -> {
+                try {
+                    Student record = open.next();
+                    if (record != null) {
+                        sink.next(record);
+                    } else {
+                        sink.complete();
+                    }
+                } catch (IOException e) {
+                    sink.error(new IllegalStateException("Failed to read attendance for " + date, e));
+                }
+            }), open -> {
+                try {
+                    open.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing attendance file for " + date + ": " + e.getMessage());
+                }
+            });
+        });
+    }
+    
+    /**
+     * Check whether a roster student belongs in a date's attendance view.
+     * Students only appear from their creation date on.
+     */
+    private static boolean isOnRoster(Student student, String section, LocalDate date) {
+        if (section != null && !section.equals(student.getSection())) {
+            return false;
+        }
+        LocalDate creationDate = student.getCreationDate() != null 
+                ? student.getCreationDate() 
+                : student.getDate() != null ? student.getDate() : LocalDate.now();
+        return !creationDate.isAfter(date); // creationDate <= date
+    }
+    
+    /**
+     * Check whether a stored attendance record was created on or before a date.
+     */
+    private static boolean isRecordVisible(Student record, LocalDate date) {
+        LocalDate recordCreationDate = record.getCreationDate() != null 
+                ? record.getCreationDate() 
+                : record.getDate() != null ? record.getDate() : date;
+        return !recordCreationDate.isAfter(date);
+    }
+    
+    @Override
+    public DataVersion getAttendanceVersion(LocalDate date) {
+        return getAttendanceVersion(date, null);
+    }
+    
+    @Override
+    public DataVersion getAttendanceVersion(LocalDate date, String section) {
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        String targetSection = Student.normalizeSection(section);
+        String tag = targetDate + (targetSection != null ? "-" + targetSection : "") + "-" + instanceTag
+                + "-" + studentStore.getVersion()
+                + "-" + csvStorage.getAttendanceVersion(targetDate)
+                + "-" + checkIns.getVersion(targetDate);
+        long lastModified = Math.max(studentStore.getLastModified(), csvStorage.getAttendanceLastModified(targetDate));
+        return new DataVersion(tag, lastModified);
+    }
+    
     @Override
     public void saveDailyAttendance(DailyAttendanceRequest request) {
         LocalDate targetDate = request.getDate() != null ? request.getDate() : LocalDate.now();
-        Map<Long, Student> roster = studentStore.findAll().stream()
-                .collect(Collectors.toMap(Student::getId, student -> student));
+        String targetSection = Student.normalizeSection(request.getSection());
+        RosterSnapshot roster = studentStore.snapshot();
         
         List<Student> recordsToPersist = new ArrayList<>();
         
         for (AttendanceEntryDTO entry : request.getEntries()) {
-            Student base = roster.get(entry.getStudentId());
+            Student base = entry.getStudentId() != null ? roster.find(entry.getStudentId()) : null;
             if (base == null) {
                 throw new NotFoundException("Student not found with ID: " + entry.getStudentId());
             }
+            if (targetSection != null && !targetSection.equals(base.getSection())) {
+                throw new IllegalArgumentException("Student " + entry.getStudentId() + " is not in section " + targetSection);
+            }
             
             AttendanceStatus status;
             try {
@@ -172,26 +745,229 @@ public class AttendanceServiceImpl implements AttendanceService {
                 throw new IllegalArgumentException("Invalid status for student " + entry.getStudentId());
             }
             
-            Student record = new Student();
-            record.setId(base.getId());
-            record.setName(base.getName());
-            record.setStatus(status);
-            record.setDate(targetDate);
-            // UPDATED: Preserve creation date from base student
-            record.setCreationDate(base.getCreationDate() != null 
-                    ? base.getCreationDate() 
-                    : base.getDate() != null ? base.getDate() : targetDate);
-            recordsToPersist.add(record);
-            
-            // keep in-memory store in sync with latest saved status
-            studentStore.save(record);
+            recordsToPersist.add(newRecord(base, status, targetDate));
+        }
+        
+        // keep in-memory store in sync with latest saved status, once every entry is valid
+        studentStore.saveAll(recordsToPersist);
+        
+        Map<Long, AttendanceStatus> previousStatuses = new HashMap<>();
+        long[] totals;
+        synchronized (checkInFlushLock) {
+            checkInLogLock.writeLock().lock();
+            try {
+                // This save is newer than any check-in still waiting for the same students
+                checkIns.discard(targetDate, recordsToPersist.stream().map(Student::getId).collect(Collectors.toList()));
+                try {
+                    // Only the touched partition(s) are read and rewritten
+                    scanDay(targetDate, targetSection, previousStatuses::put);
+                    if (targetSection != null) {
+                        csvStorage.writeDailyAttendance(targetDate, targetSection, recordsToPersist);
+                    } else {
+                        csvStorage.writeDailyAttendance(targetDate, recordsToPersist);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to save attendance for " + targetDate, e);
+                }
+                totals = countDay(targetDate, targetSection);
+                long savedAt = System.currentTimeMillis();
+                List<AttendanceEvent> events = new ArrayList<>(recordsToPersist.size());
+                for (Student record : recordsToPersist) {
+                    events.add(new AttendanceEvent(record.getId(), targetDate, record.getStatus(), savedAt, Source.DAILY_SAVE));
+                }
+                try {
+                    eventLog.append(events);
+                } catch (IOException e) {
+                    // The day file already holds the save; only its history entry is lost
+                    System.err.println("Error logging attendance events for " + targetDate + ": " + e.getMessage());
+                }
+            } finally {
+                checkInLogLock.writeLock().unlock();
+            }
+        }
+        
+        if (totals != null) {
+            broadcaster.publish(buildDelta(targetDate, targetSection, recordsToPersist, previousStatuses, totals));
+        }
+    }
+    
+    @Override
+    public StudentDTO markAttendance(MarkRequest request) {
+        LocalDate targetDate = request.getDate() != null ? request.getDate() : LocalDate.now();
+        Student base = request.getStudentId() != null ? studentStore.snapshot().find(request.getStudentId()) : null;
+        if (base == null) {
+            throw new NotFoundException("Student not found with ID: " + request.getStudentId());
+        }
+        AttendanceStatus status;
+        try {
+            status = AttendanceStatus.valueOf(request.getStatus().trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid status. Use PRESENT or ABSENT");
         }
         
+        Student record = newRecord(base, status, targetDate);
+        int pending;
+        checkInLogLock.readLock().lock();
         try {
-            csvStorage.writeDailyAttendance(targetDate, recordsToPersist);
+            // Logged before it is acknowledged, so a crash before the flush does not lose it
+            eventLog.append(List.of(new AttendanceEvent(record.getId(), targetDate, status,
+                    System.currentTimeMillis(), Source.CHECK_IN)));
+            pending = checkIns.put(record);
         } catch (IOException e) {
-            throw new IllegalStateException("Failed to save attendance for " + targetDate, e);
+            throw new IllegalStateException("Failed to record check-in for student " + record.getId(), e);
+        } finally {
+            checkInLogLock.readLock().unlock();
         }
+        if (pending >= checkInFlushThreshold && checkInFlushRequested.compareAndSet(false, true)) {
+            checkInFlusher.execute(this::flushCheckIns);
+        }
+        return StudentDTO.fromEntity(record);
+    }
+    
+    /**
+     * Write buffered check-ins to the day files, one batch per day.
+     * Runs on the flusher thread, and once more at shutdown. The drain and the
+     * writes hold the lock full saves take, so no save lands between them, and
+     * drained marks stay readable until their batch is on disk. A batch that
+     * fails to write is put back for the next run. Once every batch is
+     * written, the event log checkpoint moves past the check-ins they hold.
+     */
+    private void flushCheckIns() {
+        checkInFlushRequested.set(false);
+        long coveredOffset;
+        Map<LocalDate, List<Student>> written = new HashMap<>();
+        Map<LocalDate, Map<Long, AttendanceStatus>> previousStatuses = new HashMap<>();
+        Map<LocalDate, String> deltaSections = new HashMap<>();
+        Map<LocalDate, long[]> totals = new HashMap<>();
+        boolean allWritten = true;
+        synchronized (checkInFlushLock) {
+            Map<LocalDate, List<Student>> batches;
+            checkInLogLock.writeLock().lock();
+            try {
+                // Every check-in logged before this offset is now either in the batches or on disk
+                coveredOffset = eventLog.getEndOffset();
+                batches = checkIns.drain();
+            } finally {
+                checkInLogLock.writeLock().unlock();
+            }
+            for (Map.Entry<LocalDate, List<Student>> batch : batches.entrySet()) {
+                LocalDate date = batch.getKey();
+                List<Student> records = batch.getValue();
+                Map<Long, AttendanceStatus> previous = new HashMap<>();
+                try {
+                    Set<String> sections = new HashSet<>();
+                    for (Student record : records) {
+                        sections.add(record.getSection());
+                    }
+                    for (String section : sections) {
+                        scanDay(date, section, previous::put);
+                    }
+                    // Merges into the existing day files, grouped by section
+                    csvStorage.saveAttendance(date, records);
+                    checkIns.flushed(date);
+                    written.put(date, records);
+                    previousStatuses.put(date, previous);
+                    // A batch within one section is reported as that section, any other as the whole school
+                    String section = sections.size() == 1 ? sections.iterator().next() : null;
+                    deltaSections.put(date, section);
+                    totals.put(date, countDay(date, section));
+                } catch (IOException | RuntimeException e) {
+                    checkIns.restore(date, records);
+                    System.err.println("Error saving " + records.size() + " check-ins for " + date + ": " + e.getMessage());
+                    allWritten = false;
+                }
+            }
+        }
+        for (Map.Entry<LocalDate, List<Student>> batch : written.entrySet()) {
+            LocalDate date = batch.getKey();
+            try {
+                // keep in-memory store in sync with latest saved status
+                studentStore.saveAll(batch.getValue());
+                if (totals.get(date) != null) {
+                    broadcaster.publish(buildDelta(date, deltaSections.get(date), batch.getValue(),
+                            previousStatuses.get(date), totals.get(date)));
+                }
+            } catch (RuntimeException e) {
+                // The batch is on disk; a failure here must not stop the scheduled flushes
+                System.err.println("Error publishing check-ins for " + date + ": " + e.getMessage());
+            }
+        }
+        if (allWritten && checkInsReplayed && coveredOffset > checkpointedOffset) {
+            try {
+                eventLog.saveCheckpoint(DAY_FILE_CHECKPOINT, coveredOffset);
+                checkpointedOffset = coveredOffset;
+            } catch (IOException e) {
+                // Only costs a longer replay at the next start
+                System.err.println("Error saving event log checkpoint: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Build the attendance record of a roster student for a day.
+     * @param base the roster entry
+     * @param status the recorded status
+     * @param date the day
+     * @return a new record carrying the student's name, section and creation date
+     */
+    private static Student newRecord(Student base, AttendanceStatus status, LocalDate date) {
+        Student record = new Student();
+        record.setId(base.getId());
+        record.setName(base.getName());
+        record.setStatus(status);
+        record.setDate(date);
+        record.setSection(base.getSection());
+        // UPDATED: Preserve creation date from base student
+        record.setCreationDate(base.getCreationDate() != null 
+                ? base.getCreationDate() 
+                : base.getDate() != null ? base.getDate() : date);
+        return record;
+    }
+    
+    /**
+     * Build the live-feed delta for a save or a batch of check-ins: only
+     * students whose status changed, plus the day's new totals.
+     * @param date the saved date
+     * @param section the section the totals cover, or null for the whole school
+     * @param saved records written for the date
+     * @param previousStatuses statuses on file before the write
+     * @param totals recorded and present students, from {@link #countDay}
+     * @return the delta to broadcast
+     */
+    private AttendanceDeltaDTO buildDelta(LocalDate date, String section, List<Student> saved,
+                                          Map<Long, AttendanceStatus> previousStatuses, long[] totals) {
+        List<AttendanceEntryDTO> changes = new ArrayList<>();
+        for (Student record : saved) {
+            if (previousStatuses.get(record.getId()) != record.getStatus()) {
+                changes.add(new AttendanceEntryDTO(record.getId(), record.getStatus().name()));
+            }
+        }
+        return new AttendanceDeltaDTO(date, section, changes, totals[0], totals[1], totals[0] - totals[1]);
+    }
+
+    /**
+     * Count a day's recorded and present students as written, in one section
+     * or across every partition. The caller holds the save lock, so the counts
+     * match the write just made.
+     * @param date the day
+     * @param section the section, or null for the whole school
+     * @return {recorded, present}, or null if the day could not be read
+     */
+    private long[] countDay(LocalDate date, String section) {
+        long[] totals = new long[2];
+        try {
+            scanDay(date, section, (studentId, status) -> {
+                totals[0]++;
+                if (status == AttendanceStatus.PRESENT) {
+                    totals[1]++;
+                }
+            });
+        } catch (IOException e) {
+            // The write stands; only its live update is skipped
+            System.err.println("Error counting attendance for " + date + ": " + e.getMessage());
+            return null;
+        }
+        return totals;
     }
 
     @Override
@@ -206,8 +982,18 @@ public class AttendanceServiceImpl implements AttendanceService {
 
     @Override
     public AttendanceReportDTO getAttendanceReport(LocalDate date) {
+        return getAttendanceReport(date, null);
+    }
+    
+    @Override
+    public AttendanceReportDTO getAttendanceReport(LocalDate date, String section) {
+        return getAttendanceReport(date, section, null);
+    }
+    
+    @Override
+    public AttendanceReportDTO getAttendanceReport(LocalDate date, String section, LocalDateTime asOf) {
         LocalDate targetDate = date != null ? date : LocalDate.now();
-        List<StudentDTO> dailyAttendance = getAttendanceForDate(targetDate);
+        List<StudentDTO> dailyAttendance = getAttendanceForDate(targetDate, section, asOf);
         
         long total = dailyAttendance.size();
         long present = dailyAttendance.stream()
@@ -220,4 +1006,180 @@ public class AttendanceServiceImpl implements AttendanceService {
         
         return new AttendanceReportDTO(total, present, absent, rate, dailyAttendance);
     }
+
+    @Override
+    public List<String> getSections() {
+        Set<String> sections = new TreeSet<>(csvStorage.getSections());
+        for (Student student : studentStore.snapshot()) {
+            if (student.getSection() != null) {
+                sections.add(student.getSection());
+            }
+        }
+        return new ArrayList<>(sections);
+    }
+    
+    @Override
+    public SectionHandoffDTO exportSection(String section) {
+        String targetSection = Student.normalizeSection(section);
+        List<Student> students = studentStore.snapshot().stream()
+                .filter(student -> Objects.equals(targetSection, student.getSection()))
+                .collect(Collectors.toList());
+        
+        Map<LocalDate, List<Student>> days = new TreeMap<>();
+        try {
+            for (LocalDate date : csvStorage.getAvailableDates(targetSection)) {
+                days.put(date, csvStorage.readAttendance(date, targetSection));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read section " + targetSection, e);
+        }
+        return new SectionHandoffDTO(targetSection, students, days);
+    }
+    
+    @Override
+    public void importSection(SectionHandoffDTO handoff) {
+        String targetSection = Student.normalizeSection(handoff.getSection());
+        List<Student> students = handoff.getStudents() != null ? handoff.getStudents() : List.of();
+        for (Student student : students) {
+            if (student.getId() == null) {
+                throw new IllegalArgumentException("Handed-off students must keep their IDs");
+            }
+            student.setSection(targetSection);
+        }
+        
+        try {
+            if (handoff.getDays() != null) {
+                for (Map.Entry<LocalDate, List<Student>> day : handoff.getDays().entrySet()) {
+                    List<Student> records = new ArrayList<>(day.getValue());
+                    records.forEach(record -> record.setSection(targetSection));
+                    csvStorage.writeDailyAttendance(day.getKey(), targetSection, records);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to store section " + targetSection, e);
+        } finally {
+            invalidateAttendanceMatrix();
+        }
+        studentStore.saveAll(students);
+        System.out.println("Took over section " + (targetSection != null ? targetSection : "(unsectioned)")
+                + ": " + students.size() + " students, "
+                + (handoff.getDays() != null ? handoff.getDays().size() : 0) + " days");
+    }
+    
+    @Override
+    public void dropSection(String section) {
+        String targetSection = Student.normalizeSection(section);
+        for (Student student : studentStore.snapshot()) {
+            if (Objects.equals(targetSection, student.getSection())) {
+                studentStore.deleteById(student.getId());
+            }
+        }
+        try {
+            csvStorage.deletePartition(targetSection);
+        } finally {
+            invalidateAttendanceMatrix();
+        }
+    }
+    
+    @Override
+    public List<AbsenteeDTO> getChronicAbsentees(LocalDate from, LocalDate to, double minAbsenceRate) {
+        AttendanceMatrix matrix = getAttendanceMatrix();
+        int rows = matrix.studentCount();
+        int[] recordedDays = new int[rows];
+        int[] absentDays = new int[rows];
+        matrix.countWindow(from, to, recordedDays, absentDays);
+        
+        List<AbsenteeDTO> result = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (recordedDays[row] == 0) {
+                continue;
+            }
+            double absenceRate = absentDays[row] * 100.0 / recordedDays[row];
+            if (absentDays[row] > 0 && absenceRate >= minAbsenceRate) {
+                result.add(new AbsenteeDTO(matrix.studentIdAt(row), matrix.studentNameAt(row),
+                        recordedDays[row], absentDays[row], absenceRate));
+            }
+        }
+        
+        result.sort(Comparator.comparingDouble(AbsenteeDTO::getAbsenceRate).reversed()
+                .thenComparing(AbsenteeDTO::getId));
+        return result;
+    }
+    
+    @Override
+    public List<StudentDTO> getStudentsAbsentOnAll(List<LocalDate> dates) {
+        if (dates == null || dates.isEmpty()) {
+            throw new IllegalArgumentException("At least one date is required");
+        }
+        AttendanceMatrix matrix = getAttendanceMatrix();
+        LocalDate lastDate = dates.stream().max(Comparator.naturalOrder()).get();
+        
+        List<StudentDTO> result = new ArrayList<>();
+        for (int row : AttendanceMatrix.rows(matrix.absentOnAll(dates))) {
+            result.add(new StudentDTO(matrix.studentIdAt(row), matrix.studentNameAt(row),
+                    AttendanceStatus.ABSENT.name(), lastDate));
+        }
+        return result;
+    }
+    
+    @Override
+    public List<DailyRateDTO> getDailyRates(LocalDate from, LocalDate to) {
+        AttendanceMatrix matrix = getAttendanceMatrix();
+        List<DailyRateDTO> result = new ArrayList<>();
+        for (LocalDate day : matrix.daysBetween(from, to)) {
+            long recorded = matrix.recordedCount(day);
+            long present = matrix.presentCount(day);
+            double rate = recorded > 0 ? (present * 100.0 / recorded) : 0.0;
+            result.add(new DailyRateDTO(day, recorded, present, recorded - present, rate));
+        }
+        return result;
+    }
+    
+    /**
+     * Get the bitmap matrix over every available day file, building it on first
+     * use and after a delete. Days written since are replaced one at a time,
+     * from the overlay where it holds their partitions.
+     * @return the current attendance matrix
+     */
+    private AttendanceMatrix getAttendanceMatrix() {
+        AttendanceMatrix matrix = attendanceMatrix;
+        if (matrix != null && changedDays.isEmpty()) {
+            return matrix;
+        }
+        synchronized (this) {
+            matrix = attendanceMatrix;
+            long writesBefore = attendanceWrites.get();
+            if (matrix != null) {
+                for (LocalDate day : new ArrayList<>(changedDays)) {
+                    // A write landing after this is marked again and picked up next time
+                    changedDays.remove(day);
+                    try {
+                        matrix = matrix.withDay(day, readDay(day, null));
+                    } catch (IOException e) {
+                        changedDays.add(day);
+                        System.err.println("Error reading attendance for " + day + ": " + e.getMessage());
+                    }
+                }
+                if (attendanceWrites.get() == writesBefore) {
+                    attendanceMatrix = matrix;
+                }
+                return matrix;
+            }
+            changedDays.clear();
+            Map<LocalDate, List<Student>> recordsByDay = new LinkedHashMap<>();
+            for (LocalDate day : csvStorage.getAvailableDates()) {
+                try {
+                    recordsByDay.put(day, csvStorage.readAttendance(day));
+                } catch (IOException e) {
+                    System.err.println("Error reading attendance for " + day + ": " + e.getMessage());
+                }
+            }
+            matrix = AttendanceMatrix.fromDays(recordsByDay);
+            // Only cache if no save landed while the files were being read
+            if (attendanceWrites.get() == writesBefore) {
+                attendanceMatrix = matrix;
+            }
+            return matrix;
+        }
+    }
 }
@@ -0,0 +1,191 @@
+package com.attendance.service;
+
+import com.attendance.model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-student check-ins waiting to be written to the day files.
+ * Each mark is an O(1) map update under its day's lock; a background flush
+ * drains every day at once and persists each day's marks as one batch, so a
+ * student scanned repeatedly before a flush costs a single record. Days are
+ * locked independently, and draining swaps the day's map rather than copying it.
+ * Drained marks stay readable until their batch is reported written or put back.
+ */
+public final class CheckInBuffer {
+
+    private final Map<LocalDate, DayMarks> days = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Record a mark, replacing any pending mark for the same student and day.
+     * @param record the attendance record; its date selects the day
+     * @return number of marks now waiting to be flushed
+     */
+    public int put(Student record) {
+        while (true) {
+            DayMarks marks = days.computeIfAbsent(record.getDate(), date -> new DayMarks());
+            synchronized (marks) {
+                // A drain may have retired this day between the lookup and the lock
+                if (marks.retired) {
+                    continue;
+                }
+                if (marks.records.put(record.getId(), record) == null) {
+                    pending.incrementAndGet();
+                }
+                marks.version = sequence.incrementAndGet();
+                return pending.get();
+            }
+        }
+    }
+
+    /**
+     * Take every pending mark. The marks stay visible to get until
+     * flushed or restore is called for their day.
+     * @return marks grouped by day; each day's list holds one record per student
+     */
+    public Map<LocalDate, List<Student>> drain() {
+        Map<LocalDate, List<Student>> drained = new HashMap<>();
+        for (Map.Entry<LocalDate, DayMarks> entry : days.entrySet()) {
+            DayMarks marks = entry.getValue();
+            synchronized (marks) {
+                if (marks.records.isEmpty()) {
+                    if (marks.flushing.isEmpty()) {
+                        // Idle since the last drain: drop the day so the map does not grow forever
+                        marks.retired = true;
+                        days.remove(entry.getKey(), marks);
+                    }
+                    continue;
+                }
+                drained.put(entry.getKey(), new ArrayList<>(marks.records.values()));
+                pending.addAndGet(-marks.records.size());
+                marks.flushing.putAll(marks.records);
+                marks.records = new LinkedHashMap<>();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Report a day's drained marks as written, so reads stop overlaying them.
+     * @param date the day
+     */
+    public void flushed(LocalDate date) {
+        DayMarks marks = days.get(date);
+        if (marks == null) {
+            return;
+        }
+        synchronized (marks) {
+            marks.flushing.clear();
+        }
+    }
+
+    /**
+     * Put back marks whose flush failed, unless the student was marked again since.
+     * @param date the day
+     * @param records the marks taken by drain, or replayed from the event log
+     */
+    public void restore(LocalDate date, Collection<Student> records) {
+        for (Student record : records) {
+            while (true) {
+                DayMarks marks = days.computeIfAbsent(date, key -> new DayMarks());
+                synchronized (marks) {
+                    if (marks.retired) {
+                        continue;
+                    }
+                    marks.flushing.remove(record.getId());
+                    if (marks.records.putIfAbsent(record.getId(), record) == null) {
+                        pending.incrementAndGet();
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop pending marks that a later full save supersedes.
+     * @param date the day
+     * @param studentIds students written by the save
+     */
+    public void discard(LocalDate date, Collection<Long> studentIds) {
+        DayMarks marks = days.get(date);
+        if (marks == null) {
+            return;
+        }
+        synchronized (marks) {
+            for (Long id : studentIds) {
+                marks.flushing.remove(id);
+                if (marks.records.remove(id) != null) {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the pending marks for a day, for reads that must see them before the flush.
+     * @param date the day
+     * @return the pending and in-flight records, empty if there are none; records are shared and must not be modified
+     */
+    public List<Student> get(LocalDate date) {
+        DayMarks marks = days.get(date);
+        if (marks == null) {
+            return Collections.emptyList();
+        }
+        synchronized (marks) {
+            if (marks.flushing.isEmpty()) {
+                return new ArrayList<>(marks.records.values());
+            }
+            // Marks taken since the drain are newer than the batch being written
+            Map<Long, Student> visible = new LinkedHashMap<>(marks.flushing);
+            visible.putAll(marks.records);
+            return new ArrayList<>(visible.values());
+        }
+    }
+
+    /**
+     * Get a token that changes whenever a day receives a mark.
+     * @param date the day
+     * @return sequence number of the day's latest mark, 0 if the day has no recent marks
+     */
+    public long getVersion(LocalDate date) {
+        DayMarks marks = days.get(date);
+        if (marks == null) {
+            return 0;
+        }
+        synchronized (marks) {
+            return marks.version;
+        }
+    }
+
+    /**
+     * Get the number of marks waiting to be flushed.
+     * @return pending mark count
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Pending marks of one day, keyed by student ID.
+     */
+    private static final class DayMarks {
+        private Map<Long, Student> records = new LinkedHashMap<>();
+        // Drained and not yet reported written
+        private final Map<Long, Student> flushing = new HashMap<>();
+        private long version;
+        private boolean retired;
+    }
+}
@@ -0,0 +1,162 @@
+package com.attendance.service;
+
+import com.attendance.model.Student;
+import com.attendance.storage.StorageWriteListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-your-writes overlay of the most recently written day partitions.
+ * Storage reports each partition's full contents after every write; the
+ * overlay keeps an immutable copy and publishes a new map with a single
+ * volatile write, so readers never lock and never see a half-built
+ * partition. Only the newest maxPartitions writes are kept; anything else
+ * is read from disk as before.
+ */
+public final class RecentAttendanceOverlay implements StorageWriteListener {
+
+    private final int maxPartitions;
+    // Replaced wholesale on every change; iteration order is oldest write first
+    private volatile Map<PartitionKey, List<Student>> partitions = Collections.emptyMap();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create an overlay.
+     * @param maxPartitions number of day partitions kept in memory
+     */
+    public RecentAttendanceOverlay(int maxPartitions) {
+        this.maxPartitions = maxPartitions;
+    }
+
+    @Override
+    public void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+        if (maxPartitions <= 0) {
+            return;
+        }
+        List<Student> copies = new ArrayList<>(records.size());
+        for (Student record : records) {
+            copies.add(new Student(record));
+        }
+        List<Student> snapshot = Collections.unmodifiableList(copies);
+        synchronized (this) {
+            LinkedHashMap<PartitionKey, List<Student>> next = new LinkedHashMap<>(partitions);
+            PartitionKey key = new PartitionKey(date, section);
+            next.remove(key);
+            next.put(key, snapshot);
+            Iterator<PartitionKey> oldest = next.keySet().iterator();
+            while (next.size() > maxPartitions) {
+                oldest.next();
+                oldest.remove();
+            }
+            partitions = Collections.unmodifiableMap(next);
+        }
+    }
+
+    @Override
+    public void partitionDeleted(LocalDate date, String section) {
+        PartitionKey key = new PartitionKey(date, section);
+        synchronized (this) {
+            if (partitions.containsKey(key)) {
+                LinkedHashMap<PartitionKey, List<Student>> next = new LinkedHashMap<>(partitions);
+                next.remove(key);
+                partitions = Collections.unmodifiableMap(next);
+            }
+        }
+    }
+
+    @Override
+    public void studentTombstoned(Long studentId) {
+        removeStudent(studentId);
+    }
+
+    /**
+     * Drop a deleted student's records from every partition in the overlay,
+     * since they no longer match what a read from disk returns.
+     * @param studentId the deleted student's ID
+     */
+    public void removeStudent(Long studentId) {
+        synchronized (this) {
+            LinkedHashMap<PartitionKey, List<Student>> next = new LinkedHashMap<>(partitions);
+            boolean changed = false;
+            for (Map.Entry<PartitionKey, List<Student>> entry : next.entrySet()) {
+                List<Student> kept = new ArrayList<>(entry.getValue());
+                if (kept.removeIf(record -> studentId.equals(record.getId()))) {
+                    entry.setValue(Collections.unmodifiableList(kept));
+                    changed = true;
+                }
+            }
+            if (changed) {
+                partitions = Collections.unmodifiableMap(next);
+            }
+        }
+    }
+
+    /**
+     * Get a recently written partition.
+     * The returned records are shared and must not be modified.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @return the partition's records, or null if it is not in the overlay
+     */
+    public List<Student> get(LocalDate date, String section) {
+        List<Student> records = partitions.get(new PartitionKey(date, section));
+        (records != null ? hits : misses).incrementAndGet();
+        return records;
+    }
+
+    /**
+     * Get the number of reads served from the overlay.
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of reads that fell back to disk.
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Day and section identifying one partition file.
+     */
+    private static final class PartitionKey {
+        private final LocalDate date;
+        private final String section;
+
+        private PartitionKey(LocalDate date, String section) {
+            this.date = date;
+            this.section = section;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PartitionKey)) {
+                return false;
+            }
+            PartitionKey other = (PartitionKey) o;
+            return date.equals(other.date) && Objects.equals(section, other.section);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * date.hashCode() + Objects.hashCode(section);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.attendance.service;
+
+import com.attendance.analytics.AttendanceRollups;
+import com.attendance.analytics.AttendanceRollups.Period;
+import com.attendance.analytics.AttendanceRollups.Rollup;
+import com.attendance.dto.AbsenteeDTO;
+import com.attendance.dto.RollupDTO;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import com.attendance.storage.StorageWriteListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps day, ISO-week and month rollups of recorded attendance materialized.
+ * Writes through CsvAttendanceStorage update the affected rollups as they
+ * happen. A background job reconciles against the day files on disk, to pick
+ * up changes made while the application was down or outside it, and saves the
+ * rollups to a compact binary file in the data directory so a restart does
+ * not rescan history.
+ */
+@Service
+public class ReportRollupService implements StorageWriteListener {
+
+    private static final String ROLLUP_FILE = "rollups.bin";
+
+    private final CsvAttendanceStorage csvStorage;
+    private final InMemoryStudentStore studentStore;
+    private final Path rollupFile;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this
+    private AttendanceRollups rollups;
+    private boolean dirty;
+
+    /**
+     * Constructor with dependency injection.
+     * @param csvStorage the CSV storage component
+     * @param studentStore the student storage component, for names
+     * @param dataDir directory holding the day files and the rollup file
+     * @param refreshSeconds interval between reconcile-and-save runs
+     */
+    public ReportRollupService(CsvAttendanceStorage csvStorage, InMemoryStudentStore studentStore,
+                               @Value("${attendance.data-dir:attendance_data}") String dataDir,
+                               @Value("${attendance.rollups.refresh-seconds:300}") long refreshSeconds) {
+        this.csvStorage = csvStorage;
+        this.studentStore = studentStore;
+        this.rollupFile = Paths.get(dataDir, ROLLUP_FILE);
+        this.rollups = load(rollupFile);
+        csvStorage.addWriteListener(this);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-rollups");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop the background job and save pending changes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            save();
+        } catch (IOException e) {
+            System.err.println("Error saving report rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get precomputed totals for the day, ISO week or month containing a date.
+     * @param period "day", "week" or "month"
+     * @param date any day in the period, or null for today
+     * @param studentId limit per-student totals to one student (optional)
+     * @return the rollup; all counts are zero if nothing was recorded in the period
+     */
+    public RollupDTO getRollup(String period, LocalDate date, Long studentId) {
+        Period targetPeriod = parsePeriod(period);
+        LocalDate start = targetPeriod.start(date != null ? date : LocalDate.now());
+        LocalDate end = targetPeriod.end(start);
+
+        int days = 0;
+        long recorded = 0;
+        long present = 0;
+        List<long[]> counts = new ArrayList<>();
+        synchronized (this) {
+            Rollup rollup = rollups.get(targetPeriod, start);
+            if (rollup != null) {
+                days = rollup.getDays();
+                recorded = rollup.getRecorded();
+                present = rollup.getPresent();
+                long[] ids = studentId != null ? new long[] {studentId} : rollup.studentIds();
+                for (long id : ids) {
+                    counts.add(new long[] {id, rollup.presentDays(id), rollup.absentDays(id)});
+                }
+            }
+        }
+
+        List<AbsenteeDTO> students = new ArrayList<>(counts.size());
+        for (long[] count : counts) {
+            int studentPresent = (int) count[1];
+            int studentAbsent = (int) count[2];
+            int studentRecorded = studentPresent + studentAbsent;
+            if (studentRecorded == 0) {
+                continue;
+            }
+            Student student = studentStore.snapshot().find(count[0]);
+            students.add(new AbsenteeDTO(count[0], student != null ? student.getName() : null,
+                    studentRecorded, studentAbsent, studentAbsent * 100.0 / studentRecorded));
+        }
+        double rate = recorded > 0 ? (present * 100.0 / recorded) : 0.0;
+        return new RollupDTO(targetPeriod.name().toLowerCase(), start, end, days, recorded, present,
+                recorded - present, rate, students);
+    }
+
+    @Override
+    public void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+        List<Student> sorted = new ArrayList<>(records.size());
+        for (Student record : records) {
+            if (record.getId() != null && record.getStatus() != null) {
+                sorted.add(record);
+            }
+        }
+        sorted.sort(Comparator.comparing(Student::getId));
+        long[] ids = new long[sorted.size()];
+        BitSet present = new BitSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = sorted.get(i).getId();
+            present.set(i, sorted.get(i).getStatus() == AttendanceStatus.PRESENT);
+        }
+        // Called under the partition lock, so the file stamp matches these records
+        long stamp = csvStorage.getAttendanceLastModified(date, section);
+        synchronized (this) {
+            rollups.replace(date, section, stamp, ids, present);
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void partitionDeleted(LocalDate date, String section) {
+        synchronized (this) {
+            dirty |= rollups.remove(date, section);
+        }
+    }
+
+    private void refresh() {
+        try {
+            reconcile();
+            save();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error refreshing report rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bring the rollups in line with the day files on disk.
+     * Only partition days whose file stamp differs from the recorded one are
+     * rescanned. A rescan is dropped if the listener recorded a write to the
+     * same partition day while the file was being read; that write is newer.
+     * @throws IOException if a day file cannot be read
+     */
+    private void reconcile() throws IOException {
+        int rescanned = 0;
+        List<String> partitions = new ArrayList<>();
+        partitions.add(null);
+        partitions.addAll(csvStorage.getSections());
+        for (String section : partitions) {
+            for (LocalDate date : csvStorage.getAvailableDates(section)) {
+                long stamp = csvStorage.getAttendanceLastModified(date, section);
+                long recordedStamp;
+                synchronized (this) {
+                    recordedStamp = rollups.getStamp(date, section);
+                }
+                if (recordedStamp == stamp) {
+                    continue;
+                }
+
+                TreeMap<Long, AttendanceStatus> statuses = new TreeMap<>();
+                csvStorage.scanAttendance(date, section, statuses::put);
+                long[] ids = new long[statuses.size()];
+                BitSet present = new BitSet(ids.length);
+                int i = 0;
+                for (Map.Entry<Long, AttendanceStatus> status : statuses.entrySet()) {
+                    ids[i] = status.getKey();
+                    present.set(i++, status.getValue() == AttendanceStatus.PRESENT);
+                }
+                synchronized (this) {
+                    if (rollups.getStamp(date, section) != recordedStamp) {
+                        continue;
+                    }
+                    rollups.replace(date, section, stamp, ids, present);
+                    dirty = true;
+                }
+                rescanned++;
+            }
+        }
+
+        synchronized (this) {
+            // Deletes fire the listener after the file is gone, so a missing file here is really gone
+            rollups.forEachPartitionDay((date, section) -> {
+                if (!csvStorage.attendanceExists(date, section)) {
+                    dirty |= rollups.remove(date, section);
+                }
+            });
+        }
+        if (rescanned > 0) {
+            System.out.println("Rebuilt report rollups for " + rescanned + " changed attendance files");
+        }
+    }
+
+    /**
+     * Write the rollups to disk if they changed since the last save.
+     * @throws IOException if the file cannot be written
+     */
+    private void save() throws IOException {
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            Path temp = Paths.get(rollupFile + ".tmp");
+            Files.createDirectories(rollupFile.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                rollups.writeTo(out);
+            }
+            Files.move(temp, rollupFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        }
+    }
+
+    private static AttendanceRollups load(Path file) {
+        if (!Files.exists(file)) {
+            return new AttendanceRollups();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            AttendanceRollups loaded = AttendanceRollups.readFrom(in);
+            System.out.println("Loaded report rollups from " + file);
+            return loaded;
+        } catch (IOException e) {
+            // Rebuilt from the day files by the first reconcile pass
+            System.err.println("Ignoring unreadable rollup file " + file + ": " + e.getMessage());
+            return new AttendanceRollups();
+        }
+    }
+
+    private static Period parsePeriod(String period) {
+        if (period != null) {
+            for (Period candidate : Period.values()) {
+                if (candidate.name().equalsIgnoreCase(period.trim())) {
+                    return candidate;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid period. Use day, week or month");
+    }
+}
@@ -0,0 +1,259 @@
+package com.attendance.service;
+
+import com.attendance.dto.BulkImportResultDTO;
+import com.attendance.dto.ImportRowErrorDTO;
+import com.attendance.dto.NewStudentRequest;
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import com.attendance.storage.InMemoryStudentStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk roster import from a streamed CSV or NDJSON body.
+ * Rows are parsed one line at a time and validated with the same rules as
+ * NewStudentRequest, using its precompiled name pattern instead of running
+ * bean validation per row. Valid rows are buffered into batches; each batch
+ * reserves a contiguous ID block from the store's counter and is inserted
+ * with a single saveAll call.
+ */
+@Service
+public class RosterImportService {
+
+    /**
+     * Supported roster upload formats.
+     */
+    public enum Format {
+        /** One student per line: name[,creation_date[,section]], optional "name" header. */
+        CSV,
+        /** One JSON object per line: {"name": ..., "creationDate": ..., "section": ...}. */
+        NDJSON
+    }
+
+    /** Most row errors listed in an import report. */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int BATCH_SIZE = 1000;
+
+    private final InMemoryStudentStore studentStore;
+    private final ObjectReader requestReader;
+
+    /**
+     * Constructor with dependency injection.
+     * @param studentStore the student storage component
+     * @param objectMapper JSON mapper for NDJSON rows
+     */
+    public RosterImportService(InMemoryStudentStore studentStore, ObjectMapper objectMapper) {
+        this.studentStore = studentStore;
+        this.requestReader = objectMapper.readerFor(NewStudentRequest.class);
+    }
+
+    /**
+     * Import students from a roster stream.
+     * @param input the roster body
+     * @param format the roster format
+     * @return per-row import report
+     * @throws IOException if reading the stream fails
+     */
+    public BulkImportResultDTO importStudents(Reader input, Format format) throws IOException {
+        LocalDate today = LocalDate.now();
+        List<Student> batch = new ArrayList<>(BATCH_SIZE);
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+        long rows = 0;
+        long imported = 0;
+        long failed = 0;
+        Long firstId = null;
+        Long lastId = null;
+
+        BufferedReader reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            rows++;
+
+            Student student = new Student();
+            String error = format == Format.CSV
+                    ? parseCsvRow(line, student, today)
+                    : parseJsonRow(line, student, today);
+            if (error != null) {
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ImportRowErrorDTO(lineNumber, error));
+                }
+                continue;
+            }
+
+            batch.add(student);
+            if (batch.size() == BATCH_SIZE) {
+                long first = flush(batch);
+                firstId = firstId == null ? first : firstId;
+                imported += BATCH_SIZE;
+                lastId = first + BATCH_SIZE - 1;
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            long first = flush(batch);
+            firstId = firstId == null ? first : firstId;
+            imported += batch.size();
+            lastId = first + batch.size() - 1;
+        }
+
+        System.out.println("Imported " + imported + " students (" + failed + " rows rejected)");
+        return new BulkImportResultDTO(rows, imported, failed, firstId, lastId, failed > errors.size(), errors);
+    }
+
+    /**
+     * Assign a contiguous ID block to a batch and insert it.
+     * @return the first ID of the block
+     */
+    private long flush(List<Student> batch) {
+        long first = studentStore.allocateIds(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setId(first + i);
+        }
+        studentStore.saveAll(batch);
+        return first;
+    }
+
+    /**
+     * Read the section a roster row names, without validating the rest of it.
+     * Used to send each row of a sharded import to the node owning its section.
+     * @param line one data row
+     * @param format the roster format
+     * @return the raw section, or null if the row names none or cannot be read
+     */
+    public String sectionOf(String line, Format format) {
+        if (format == Format.CSV) {
+            String[] fields = splitCsvRow(line);
+            return fields != null ? fields[2] : null;
+        }
+        try {
+            NewStudentRequest request = requestReader.readValue(line);
+            return request != null ? request.getSection() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String parseCsvRow(String line, Student student, LocalDate today) {
+        String[] fields = splitCsvRow(line);
+        if (fields == null) {
+            return "Unterminated quoted name";
+        }
+        String name = fields[0];
+        String dateField = fields[1];
+        String section = fields[2];
+
+        LocalDate creationDate = null;
+        if (!dateField.isEmpty()) {
+            try {
+                creationDate = LocalDate.parse(dateField);
+            } catch (DateTimeParseException e) {
+                return "Invalid creation date format. Use yyyy-MM-dd";
+            }
+        }
+        return populate(student, name, creationDate, section, today);
+    }
+
+    private String parseJsonRow(String line, Student student, LocalDate today) {
+        NewStudentRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return "Invalid JSON: " + e.getOriginalMessage();
+        }
+        if (request == null) {
+            return NewStudentRequest.NAME_REQUIRED_MESSAGE;
+        }
+        return populate(student, request.getName(), request.getCreationDate(), request.getSection(), today);
+    }
+
+    /**
+     * Validate a row with NewStudentRequest's rules and fill in the student.
+     * @return the first validation message, or null if the row is valid
+     */
+    private String populate(Student student, String name, LocalDate creationDate, String section, LocalDate today) {
+        if (name == null || name.isBlank()) {
+            return NewStudentRequest.NAME_REQUIRED_MESSAGE;
+        }
+        if (name.length() < NewStudentRequest.NAME_MIN_LENGTH || name.length() > NewStudentRequest.NAME_MAX_LENGTH) {
+            return NewStudentRequest.NAME_SIZE_MESSAGE;
+        }
+        if (!NewStudentRequest.NAME_PATTERN.matcher(name).matches()) {
+            return NewStudentRequest.NAME_PATTERN_MESSAGE;
+        }
+
+        String normalizedSection;
+        try {
+            normalizedSection = Student.normalizeSection(section);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+
+        // Same defaults as AttendanceServiceImpl.addStudent
+        LocalDate effectiveDate = creationDate != null ? creationDate : today;
+        student.setName(name);
+        student.setStatus(AttendanceStatus.ABSENT);
+        student.setCreationDate(effectiveDate);
+        student.setDate(effectiveDate);
+        student.setSection(normalizedSection);
+        return null;
+    }
+
+    /**
+     * Split a CSV row into its name, creation date and section fields.
+     * @return the three fields, the section null if absent; null if the quoted name is unterminated
+     */
+    private static String[] splitCsvRow(String line) {
+        String name;
+        String rest;
+        String trimmed = line.trim();
+        if (trimmed.startsWith("\"")) {
+            int end = trimmed.indexOf('"', 1);
+            while (end > 0 && end + 1 < trimmed.length() && trimmed.charAt(end + 1) == '"') {
+                end = trimmed.indexOf('"', end + 2);
+            }
+            if (end < 0) {
+                return null;
+            }
+            name = trimmed.substring(1, end).replace("\"\"", "\"");
+            rest = trimmed.substring(end + 1);
+            rest = rest.startsWith(",") ? rest.substring(1) : rest;
+        } else {
+            int comma = trimmed.indexOf(',');
+            name = comma < 0 ? trimmed : trimmed.substring(0, comma);
+            rest = comma < 0 ? "" : trimmed.substring(comma + 1);
+        }
+
+        int comma = rest.indexOf(',');
+        String dateField = (comma < 0 ? rest : rest.substring(0, comma)).trim();
+        String section = comma < 0 ? null : rest.substring(comma + 1).trim();
+        return new String[] {name, dateField, section};
+    }
+
+    /**
+     * Check whether a CSV roster's first line is a column header.
+     * @param line the first line
+     * @return true if it names the name column
+     */
+    public static boolean isCsvHeader(String line) {
+        int comma = line.indexOf(',');
+        String first = (comma < 0 ? line : line.substring(0, comma)).trim();
+        return first.equalsIgnoreCase("name") || first.equalsIgnoreCase("student_name");
+    }
+}
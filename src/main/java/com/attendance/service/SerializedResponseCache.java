@@ -0,0 +1,185 @@
+package com.attendance.service;
+
+import com.attendance.codec.AttendanceCodecs;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized bodies of daily attendance and report responses.
+ * Each entry holds the encoded bytes (and a gzip copy, for bodies worth
+ * compressing) of one date, section and format, stamped with the data
+ * version it was built from. A request whose version still matches gets the
+ * stored bytes without building DTOs or running an encoder; the first
+ * request after a write finds a new version and rebuilds the entry. Misses
+ * for the same version share one build.
+ */
+@Service
+public class SerializedResponseCache {
+
+    private enum Kind { DAILY, REPORT }
+
+    private final AttendanceService attendanceService;
+    private final AttendanceCodecs codecs;
+    private final int maxEntries;
+    private final int gzipMinBytes;
+    private final Map<Kind, Map<String, Body>> entries = new EnumMap<>(Kind.class);
+    private final SingleFlight<String, Body> builds = new SingleFlight<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor with dependency injection.
+     * @param attendanceService the attendance service the bodies are built from
+     * @param codecs encoders for every response format
+     * @param maxEntries date/section/format bodies kept per kind of response
+     * @param gzipMinBytes smallest body that also gets a gzip copy
+     */
+    public SerializedResponseCache(AttendanceService attendanceService, AttendanceCodecs codecs,
+                                   @Value("${attendance.response-cache.max-entries:256}") int maxEntries,
+                                   @Value("${attendance.response-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.attendanceService = attendanceService;
+        this.codecs = codecs;
+        this.maxEntries = maxEntries;
+        this.gzipMinBytes = gzipMinBytes;
+        for (Kind kind : Kind.values()) {
+            entries.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Get the serialized daily attendance for a date.
+     * @param date the day
+     * @param section the section, or null for the whole school
+     * @param format one of the AttendanceMediaTypes formats
+     * @return the body, current as of this call
+     */
+    public Body getDaily(LocalDate date, String section, MediaType format) {
+        return get(Kind.DAILY, date, section, format, () -> attendanceService.getAttendanceForDate(date, section));
+    }
+
+    /**
+     * Get the serialized attendance report for a date.
+     * @param date the day
+     * @param section the section, or null for the whole school
+     * @param format one of the AttendanceMediaTypes formats
+     * @return the body, current as of this call
+     */
+    public Body getReport(LocalDate date, String section, MediaType format) {
+        return get(Kind.REPORT, date, section, format, () -> attendanceService.getAttendanceReport(date, section));
+    }
+
+    /**
+     * Get the number of requests answered from a stored body.
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests that had to build a body.
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private Body get(Kind kind, LocalDate date, String section, MediaType format, Supplier<Object> source) {
+        String key = date + "|" + section + "|" + format.getType() + "/" + format.getSubtype();
+        Map<String, Body> bodies = entries.get(kind);
+        // Read before the data, so a body is never older than the version it is stored under
+        String tag = attendanceService.getAttendanceVersion(date, section).getTag();
+        Body body = bodies.get(key);
+        if (body != null && body.tag.equals(tag)) {
+            hits.incrementAndGet();
+            body.lastUsed = System.nanoTime();
+            return body;
+        }
+        misses.incrementAndGet();
+        return builds.execute(kind + "|" + key + "|" + tag, () -> {
+            Body built = serialize(tag, source.get(), format);
+            bodies.put(key, built);
+            evictIfFull(bodies);
+            return built;
+        });
+    }
+
+    private Body serialize(String tag, Object value, MediaType format) {
+        try {
+            byte[] encoded = codecs.encode(value, format);
+            byte[] gzip = null;
+            if (encoded.length >= gzipMinBytes) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(encoded.length / 4);
+                try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                    out.write(encoded);
+                }
+                gzip = compressed.toByteArray();
+            }
+            return new Body(tag, encoded, gzip);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize attendance response as " + format, e);
+        }
+    }
+
+    /**
+     * Drop the least recently used bodies beyond the configured limit.
+     */
+    private void evictIfFull(Map<String, Body> bodies) {
+        while (bodies.size() > maxEntries) {
+            bodies.entrySet().stream()
+                    .min((a, b) -> Long.compare(a.getValue().lastUsed, b.getValue().lastUsed))
+                    .ifPresent(oldest -> bodies.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    /**
+     * One serialized response body.
+     */
+    public static final class Body {
+        private final String tag;
+        private final byte[] bytes;
+        private final byte[] gzip;
+        private volatile long lastUsed = System.nanoTime();
+
+        Body(String tag, byte[] bytes, byte[] gzip) {
+            this.tag = tag;
+            this.bytes = bytes;
+            this.gzip = gzip;
+        }
+
+        /**
+         * Get the data version the body was built from.
+         * @return version tag
+         */
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * Get the encoded bytes; shared, must not be modified.
+         * @return the body
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Get the gzip-compressed bytes; shared, must not be modified.
+         * @return compressed body, or null if the body is too small to be worth compressing
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.attendance.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time.
+ * A caller arriving while a computation for its key is in flight waits for
+ * that computation and receives the same result (or exception) instead of
+ * starting its own. Nothing is cached: once the computation finishes, the
+ * next caller starts a new one, so keys should include whatever version
+ * the result depends on.
+ *
+ * @param <K> key type
+ * @param <V> result type; results are shared between callers and must not be modified
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Compute a result, or join the computation already running for the key.
+     * @param key identifies the computation
+     * @param computation run by the first caller for the key
+     * @return the computation's result
+     */
+    public V execute(K key, Supplier<V> computation) {
+        requests.incrementAndGet();
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            V result = computation.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Get the number of calls to execute.
+     * @return request count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Get the number of calls that joined a computation already in flight.
+     * @return coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Get the number of computations currently running.
+     * @return in-flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
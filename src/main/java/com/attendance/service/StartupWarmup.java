@@ -0,0 +1,144 @@
+package com.attendance.service;
+
+import com.attendance.codec.AttendanceBody;
+import com.attendance.codec.AttendanceCodecs;
+import com.attendance.codec.AttendanceMediaTypes;
+import com.attendance.dto.AttendanceReportDTO;
+import com.attendance.dto.MarkRequest;
+import com.attendance.dto.StudentDTO;
+import com.attendance.live.AttendanceBroadcaster;
+import com.attendance.model.Student;
+import com.attendance.storage.AttendanceEventLog;
+import com.attendance.storage.AttendanceVersionStore;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Optional JIT warm-up before the application takes requests.
+ * Runs once every bean exists but before the web server starts, against a
+ * scratch storage, roster and service in a temporary directory filled with
+ * synthetic students, so the real data and caches are never touched. Each
+ * round parses the day file, builds the daily list and report, records a
+ * check-in and encodes and decodes the report in every response format,
+ * which gets those paths compiled before the first real request needs them.
+ */
+@Component
+public class StartupWarmup implements SmartInitializingSingleton {
+
+    private static final LocalDate DAY = LocalDate.of(2000, 1, 3);
+    // Parsed straight from its file; check-in flushes only rewrite DAY
+    private static final LocalDate PARSED_DAY = DAY.plusDays(1);
+    private static final MediaType[] FORMATS = {
+            MediaType.APPLICATION_JSON, AttendanceMediaTypes.COLUMNAR_JSON, AttendanceMediaTypes.CBOR,
+            AttendanceMediaTypes.SMILE, AttendanceMediaTypes.PROTOBUF
+    };
+
+    private final AttendanceCodecs codecs;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int studentCount;
+    private final int rounds;
+
+    /**
+     * Constructor with dependency injection.
+     * @param codecs the response encoders, warmed in place
+     * @param objectMapper Spring's JSON mapper
+     * @param enabled whether to warm up at all
+     * @param studentCount synthetic students in the scratch roster
+     * @param rounds passes over the hot paths
+     */
+    public StartupWarmup(AttendanceCodecs codecs, ObjectMapper objectMapper,
+                         @Value("${attendance.warmup.enabled:false}") boolean enabled,
+                         @Value("${attendance.warmup.students:2000}") int studentCount,
+                         @Value("${attendance.warmup.rounds:50}") int rounds) {
+        this.codecs = codecs;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.studentCount = studentCount;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || rounds <= 0 || studentCount <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("attendance-warmup");
+            warmUp(dir.toString());
+            System.out.println("Warm-up: " + rounds + " rounds over " + studentCount + " students in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException | RuntimeException e) {
+            // A failed warm-up only costs speed; start anyway
+            System.err.println("Warm-up skipped: " + e);
+        } finally {
+            if (dir != null) {
+                deleteRecursively(dir);
+            }
+        }
+    }
+
+    private void warmUp(String dir) throws IOException {
+        CsvAttendanceStorage storage = new CsvAttendanceStorage(dir);
+        // Keep a line per scratch file read and write out of the startup log
+        storage.setVerbose(false);
+        InMemoryStudentStore studentStore = new InMemoryStudentStore();
+        AttendanceEventLog eventLog = new AttendanceEventLog(dir, 16 * 1024 * 1024, false);
+        AttendanceVersionStore versionStore = new AttendanceVersionStore(storage, dir, 1, 60);
+        AttendanceBroadcaster broadcaster = new AttendanceBroadcaster(objectMapper, 1000, 1, 60);
+        AttendanceServiceImpl service = new AttendanceServiceImpl(studentStore, storage, eventLog, versionStore,
+                broadcaster, 64, 1, 1000, 50, Integer.MAX_VALUE);
+        try {
+            long firstId = studentStore.allocateIds(studentCount);
+            List<Student> students = new ArrayList<>(studentCount);
+            for (int i = 0; i < studentCount; i++) {
+                Student.AttendanceStatus status = i % 9 == 0 ? Student.AttendanceStatus.ABSENT
+                        : Student.AttendanceStatus.PRESENT;
+                students.add(new Student(firstId + i, "Warmup Student", status, DAY));
+            }
+            studentStore.saveAll(students);
+            storage.writeDailyAttendance(DAY, null, new ArrayList<>(students));
+            storage.writeDailyAttendance(PARSED_DAY, null, new ArrayList<>(students));
+
+            for (int round = 0; round < rounds; round++) {
+                storage.readAttendance(PARSED_DAY, null);
+                List<StudentDTO> daily = service.getAttendanceForDate(DAY, null);
+                AttendanceReportDTO report = service.getAttendanceReport(DAY, null);
+                service.markAttendance(new MarkRequest(firstId + round % studentCount,
+                        round % 2 == 0 ? "ABSENT" : "PRESENT", DAY));
+                MediaType format = FORMATS[round % FORMATS.length];
+                codecs.decode(codecs.encode(report, format), format, AttendanceBody.REPORT);
+                codecs.encode(daily, format);
+            }
+        } finally {
+            service.shutdown();
+            versionStore.shutdown();
+            broadcaster.shutdown();
+            eventLog.shutdown();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete warm-up directory " + dir + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.attendance.service;
+
+import com.attendance.analytics.TermAggregate;
+import com.attendance.dto.AbsenteeDTO;
+import com.attendance.dto.TermSummaryDTO;
+import com.attendance.model.Student;
+import com.attendance.storage.CsvAttendanceStorage;
+import com.attendance.storage.InMemoryStudentStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Aggregates attendance over many days in parallel.
+ * The date range is split into fork-join tasks; each leaf scans its day files
+ * straight into a primitive TermAggregate and the partials are merged on the
+ * way back up, so no Student objects are built on the hot path.
+ */
+@Service
+public class TermAggregationService {
+
+    // Days per leaf task; a day file is already a coarse unit of work
+    private static final int DAYS_PER_TASK = 2;
+
+    private final InMemoryStudentStore studentStore;
+    private final CsvAttendanceStorage csvStorage;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor with dependency injection.
+     * @param studentStore the student storage component
+     * @param csvStorage the CSV storage component
+     * @param parallelism worker threads for aggregation, 0 for one per core
+     */
+    public TermAggregationService(InMemoryStudentStore studentStore,
+                                  CsvAttendanceStorage csvStorage,
+                                  @Value("${attendance.aggregation.parallelism:0}") int parallelism) {
+        this.studentStore = studentStore;
+        this.csvStorage = csvStorage;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Shut down the aggregation worker pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Get the number of worker threads used for aggregation.
+     * @return parallelism level
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Aggregate every available day file within an inclusive range.
+     * @param from first day (inclusive), or null for all history
+     * @param to last day (inclusive), or null for all history
+     * @return the merged aggregate
+     */
+    public TermAggregate aggregate(LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date : csvStorage.getAvailableDates()) {
+            if ((from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to))) {
+                dates.add(date);
+            }
+        }
+        try {
+            return pool.invoke(new AggregateTask(dates.toArray(new LocalDate[0]), 0, dates.size()));
+        } catch (UncheckedIOException e) {
+            throw new IllegalStateException("Failed to aggregate attendance", e.getCause());
+        }
+    }
+
+    /**
+     * Summarize attendance over an inclusive range.
+     * @param from first day (inclusive), or null for all history
+     * @param to last day (inclusive), or null for all history
+     * @return term summary with weekday rates and per-student counts
+     */
+    public TermSummaryDTO getTermSummary(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        TermAggregate aggregate = aggregate(from, to);
+
+        Map<DayOfWeek, Double> weekdayRates = new EnumMap<>(DayOfWeek.class);
+        Map<DayOfWeek, Long> weekdayRecorded = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            long recorded = aggregate.weekdayRecorded(day);
+            if (recorded > 0) {
+                weekdayRates.put(day, aggregate.weekdayPresent(day) * 100.0 / recorded);
+                weekdayRecorded.put(day, recorded);
+            }
+        }
+
+        List<AbsenteeDTO> students = new ArrayList<>(aggregate.getStudentCount());
+        for (long id : aggregate.studentIds()) {
+            int present = aggregate.presentDays(id);
+            int absent = aggregate.absentDays(id);
+            int recorded = present + absent;
+            String name = studentStore.findById(id).map(Student::getName).orElse(null);
+            students.add(new AbsenteeDTO(id, name, recorded, absent, absent * 100.0 / recorded));
+        }
+
+        long totalRecorded = aggregate.totalRecorded();
+        long totalPresent = aggregate.totalPresent();
+        double rate = totalRecorded > 0 ? (totalPresent * 100.0 / totalRecorded) : 0.0;
+        return new TermSummaryDTO(from, to, aggregate.getDays(), totalRecorded, totalPresent,
+                rate, weekdayRates, weekdayRecorded, students);
+    }
+
+    /**
+     * Fork-join task reducing a slice of the date array into one partial.
+     */
+    private class AggregateTask extends RecursiveTask<TermAggregate> {
+        private final LocalDate[] dates;
+        private final int start;
+        private final int end;
+
+        AggregateTask(LocalDate[] dates, int start, int end) {
+            this.dates = dates;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected TermAggregate compute() {
+            if (end - start <= DAYS_PER_TASK) {
+                TermAggregate partial = new TermAggregate();
+                for (int i = start; i < end; i++) {
+                    LocalDate date = dates[i];
+                    try {
+                        csvStorage.scanAttendance(date, (id, status) -> partial.add(date, id, status));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    partial.addDay();
+                }
+                return partial;
+            }
+            int mid = (start + end) >>> 1;
+            AggregateTask left = new AggregateTask(dates, start, mid);
+            left.fork();
+            TermAggregate right = new AggregateTask(dates, mid, end).compute();
+            return left.join().merge(right);
+        }
+    }
+}
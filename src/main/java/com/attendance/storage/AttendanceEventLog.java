@@ -0,0 +1,391 @@
+package com.attendance.storage;
+
+import com.attendance.model.AttendanceEvent;
+import com.attendance.model.AttendanceEvent.Source;
+import com.attendance.model.Student.AttendanceStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of attendance events, stored in the events/ directory of
+ * the data directory.
+ * Events are written in frames of one append each: payload length, CRC32,
+ * then the events with varint-encoded IDs and days and timestamps stored as
+ * deltas from the frame's first one, so a check-in costs around a dozen
+ * bytes. The log is split into segment files named by the offset of their
+ * first event; a torn frame at the end of the last segment (a crash during
+ * an append) is cut off when the log is opened. Consumers replay from any
+ * offset and keep their position as a named checkpoint next to the segments,
+ * or save their whole state there to resume from it instead of offset 0.
+ */
+@Component
+public class AttendanceEventLog {
+
+    private static final String EVENTS_DIR = "events";
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_EXTENSION = ".log";
+    private static final String CHECKPOINT_EXTENSION = ".offset";
+    private static final String STATE_EXTENSION = ".state";
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final AttendanceStatus[] STATUSES = AttendanceStatus.values();
+    private static final Source[] SOURCES = Source.values();
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final List<StorageWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel channel;
+    private long segmentSize;
+    private long endOffset;
+
+    /**
+     * Constructor with dependency injection.
+     * @param dataDir directory holding the day files; the log lives in its events/ subdirectory
+     * @param segmentBytes size after which appends start a new segment file
+     * @param fsync force every append to the device before returning
+     */
+    public AttendanceEventLog(@Value("${attendance.data-dir:attendance_data}") String dataDir,
+                              @Value("${attendance.events.segment-bytes:16777216}") long segmentBytes,
+                              @Value("${attendance.events.fsync:false}") boolean fsync) {
+        this.dir = Paths.get(dataDir, EVENTS_DIR);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(dir);
+            File[] files = dir.toFile().listFiles((d, name) ->
+                    name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_EXTENSION));
+            if (files != null) {
+                for (File file : files) {
+                    String name = file.getName();
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_EXTENSION.length())), file.toPath());
+                }
+            }
+            if (segments.isEmpty()) {
+                segments.put(0L, segmentPath(0));
+            }
+            openLastSegment();
+            System.out.println("Opened attendance event log at offset " + endOffset);
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Failed to open attendance event log in " + dir, e);
+        }
+    }
+
+    /**
+     * Close the current segment.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing attendance event log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Register a listener notified after every append.
+     * @param listener the listener to add
+     */
+    public void addWriteListener(StorageWriteListener listener) {
+        writeListeners.add(listener);
+    }
+
+    /**
+     * Append events as one frame.
+     * @param events the events, in the order they happened
+     * @return offset of the first event
+     * @throws IOException if the frame cannot be written; nothing is appended then
+     */
+    public synchronized long append(List<AttendanceEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return endOffset;
+        }
+        ByteBuffer frame = encode(events);
+        if (segmentSize > 0 && segmentSize + frame.remaining() > segmentBytes) {
+            roll();
+        }
+        int frameBytes = frame.remaining();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            // Drop the partial frame so the next append starts on a frame boundary
+            channel.truncate(segmentSize);
+            channel.position(segmentSize);
+            throw e;
+        }
+        segmentSize += frameBytes;
+        long firstOffset = endOffset;
+        endOffset += events.size();
+        for (StorageWriteListener listener : writeListeners) {
+            listener.eventsAppended(firstOffset, events);
+        }
+        return firstOffset;
+    }
+
+    /**
+     * Get the offset the next appended event will get.
+     * @return number of events in the log
+     */
+    public synchronized long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Replay events in log order, up to the end of the log at the time of the call.
+     * @param from offset of the first event to visit
+     * @param limit maximum events to visit
+     * @param visitor receives each event with its offset
+     * @return offset after the last visited event; replay continues from there
+     * @throws IOException if a segment cannot be read or is corrupt
+     */
+    public long replay(long from, int limit, AttendanceEventVisitor visitor) throws IOException {
+        long end;
+        NavigableMap<Long, Path> toRead;
+        synchronized (this) {
+            end = endOffset;
+            Long firstBase = segments.floorKey(Math.max(from, 0));
+            toRead = new TreeMap<>(firstBase != null ? segments.tailMap(firstBase, true) : segments);
+        }
+        long next = Math.max(from, 0);
+        long stop = Math.min(end, next + limit);
+        for (Map.Entry<Long, Path> segment : toRead.entrySet()) {
+            if (next >= stop) {
+                break;
+            }
+            Long nextBase = toRead.higherKey(segment.getKey());
+            long segmentEnd = nextBase != null ? Math.min(nextBase, stop) : stop;
+            long offset = segment.getKey();
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(segment.getValue())))) {
+                while (offset < segmentEnd) {
+                    byte[] payload = readFrame(in);
+                    if (payload == null) {
+                        throw new IOException("Event log segment " + segment.getValue().getFileName()
+                                + " ends before offset " + segmentEnd);
+                    }
+                    DataInputStream events = new DataInputStream(new ByteArrayInputStream(payload));
+                    int count = (int) readVarLong(events);
+                    if (offset + count <= next) {
+                        offset += count;
+                        continue;
+                    }
+                    long baseTimestamp = events.readLong();
+                    for (int i = 0; i < count && offset < segmentEnd; i++, offset++) {
+                        AttendanceEvent event = decodeEvent(events, baseTimestamp);
+                        if (offset >= next) {
+                            visitor.visit(offset, event);
+                            next = offset + 1;
+                        }
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Get a consumer's saved position.
+     * @param consumer name of the consumer
+     * @return offset of the first event the consumer has not processed, 0 if none saved
+     */
+    public long getCheckpoint(String consumer) {
+        Path file = dir.resolve(consumer + CHECKPOINT_EXTENSION);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            // Replaying from the start is always safe, only slower
+            System.err.println("Ignoring unreadable event log checkpoint " + file + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Save a consumer's position.
+     * @param consumer name of the consumer
+     * @param offset offset of the first event the consumer has not processed
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public void saveCheckpoint(String consumer, long offset) throws IOException {
+        Path file = dir.resolve(consumer + CHECKPOINT_EXTENSION);
+        Path temp = dir.resolve(consumer + CHECKPOINT_EXTENSION + ".tmp");
+        Files.writeString(temp, Long.toString(offset), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Get a consumer's saved state.
+     * @param consumer name of the consumer
+     * @return the bytes last saved, or null if none were
+     * @throws IOException if the state exists but cannot be read
+     */
+    public byte[] readState(String consumer) throws IOException {
+        Path file = dir.resolve(consumer + STATE_EXTENSION);
+        return Files.exists(file) ? Files.readAllBytes(file) : null;
+    }
+
+    /**
+     * Save a consumer's state, replacing the previous one in a single step.
+     * The state should record the offset it covers, so the consumer knows
+     * where to resume replaying.
+     * @param consumer name of the consumer
+     * @param state the encoded state
+     * @throws IOException if the state cannot be written
+     */
+    public void saveState(String consumer, byte[] state) throws IOException {
+        Path file = dir.resolve(consumer + STATE_EXTENSION);
+        Path temp = dir.resolve(consumer + STATE_EXTENSION + ".tmp");
+        Files.write(temp, state);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Open the last segment for appending, counting its events and cutting
+     * off a torn frame at its end.
+     */
+    private void openLastSegment() throws IOException {
+        Map.Entry<Long, Path> last = segments.lastEntry();
+        long validBytes = 0;
+        long count = 0;
+        if (Files.exists(last.getValue())) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(last.getValue())))) {
+                byte[] payload;
+                while ((payload = readFrame(in)) != null) {
+                    count += readVarLong(new DataInputStream(new ByteArrayInputStream(payload)));
+                    validBytes += FRAME_HEADER_BYTES + payload.length;
+                }
+            } catch (IOException e) {
+                // A frame failing its checksum ends the valid part of the segment
+            }
+        }
+        channel = FileChannel.open(last.getValue(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > validBytes) {
+            System.err.println("Truncating " + (channel.size() - validBytes) + " bytes of incomplete events from "
+                    + last.getValue().getFileName());
+            channel.truncate(validBytes);
+        }
+        channel.position(validBytes);
+        segmentSize = validBytes;
+        endOffset = last.getKey() + count;
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        Path path = segmentPath(endOffset);
+        segments.put(endOffset, path);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseOffset, SEGMENT_EXTENSION));
+    }
+
+    /**
+     * Read one frame's payload.
+     * @return the payload, or null at a clean end of the segment
+     * @throws IOException if the frame is incomplete or fails its checksum
+     */
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        int checksum = in.readInt();
+        if (length <= 0) {
+            throw new IOException("Malformed event frame length " + length);
+        }
+        byte[] payload = in.readNBytes(length);
+        if (payload.length < length) {
+            throw new EOFException("Incomplete event frame");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Event frame checksum mismatch");
+        }
+        return payload;
+    }
+
+    private static ByteBuffer encode(List<AttendanceEvent> events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + events.size() * 12);
+        DataOutputStream out = new DataOutputStream(bytes);
+        long baseTimestamp = events.get(0).getTimestamp();
+        writeVarLong(out, events.size());
+        out.writeLong(baseTimestamp);
+        for (AttendanceEvent event : events) {
+            writeVarLong(out, event.getStudentId());
+            writeVarLong(out, zigZag(event.getDate().toEpochDay()));
+            out.writeByte(event.getStatus().ordinal() | event.getSource().ordinal() << 4);
+            writeVarLong(out, zigZag(event.getTimestamp() - baseTimestamp));
+        }
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        return frame;
+    }
+
+    private static AttendanceEvent decodeEvent(DataInputStream in, long baseTimestamp) throws IOException {
+        long studentId = readVarLong(in);
+        LocalDate date = LocalDate.ofEpochDay(unZigZag(readVarLong(in)));
+        int flags = in.readUnsignedByte();
+        long timestamp = baseTimestamp + unZigZag(readVarLong(in));
+        return new AttendanceEvent(studentId, date, STATUSES[flags & 0x0F], timestamp, SOURCES[flags >>> 4]);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in event log");
+    }
+}
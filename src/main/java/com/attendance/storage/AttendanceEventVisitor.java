@@ -0,0 +1,17 @@
+package com.attendance.storage;
+
+import com.attendance.model.AttendanceEvent;
+
+/**
+ * Callback for replaying the attendance event log.
+ */
+@FunctionalInterface
+public interface AttendanceEventVisitor {
+
+    /**
+     * Visit a single event.
+     * @param offset the event's position in the log
+     * @param event the event
+     */
+    void visit(long offset, AttendanceEvent event);
+}
@@ -0,0 +1,73 @@
+package com.attendance.storage;
+
+import com.attendance.model.Student;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.function.BiFunction;
+import java.util.function.LongPredicate;
+
+/**
+ * Pull-style reader over one partition's day file.
+ * Records are parsed one line at a time as the caller asks for them, so a
+ * consumer can stop or pause part way through a file without the rest of it
+ * being read. Malformed lines and deleted students are skipped, as in
+ * readAttendance.
+ * Not thread-safe; must be closed.
+ */
+public final class AttendanceRecordReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final LocalDate date;
+    private final String section;
+    private final BiFunction<String, LocalDate, Student> parser;
+    private final LongPredicate skipped;
+    private boolean headerSkipped;
+
+    AttendanceRecordReader(BufferedReader reader, LocalDate date, String section,
+                           BiFunction<String, LocalDate, Student> parser, LongPredicate skipped) {
+        this.reader = reader;
+        this.date = date;
+        this.section = section;
+        this.parser = parser;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Read the next record.
+     * @return the record with its section set, or null at the end of the file
+     * @throws IOException if reading the file fails
+     */
+    public Student next() throws IOException {
+        if (!headerSkipped) {
+            headerSkipped = true;
+            if (reader.readLine() == null) {
+                return null;
+            }
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                Student student = parser.apply(line, date);
+                if (skipped.test(student.getId())) {
+                    continue;
+                }
+                student.setSection(section);
+                return student;
+            } catch (Exception e) {
+                System.err.println("Error parsing line: " + line + " - " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.attendance.storage;
+
+import com.attendance.model.Student.AttendanceStatus;
+
+/**
+ * Callback for streaming attendance records out of storage without
+ * building Student objects.
+ */
+@FunctionalInterface
+public interface AttendanceRecordVisitor {
+
+    /**
+     * Visit a single attendance record.
+     * @param studentId the student ID
+     * @param status the recorded attendance status
+     */
+    void visit(long studentId, AttendanceStatus status);
+}
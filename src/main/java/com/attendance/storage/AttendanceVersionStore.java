@@ -0,0 +1,725 @@
+package com.attendance.storage;
+
+import com.attendance.model.Student;
+import com.attendance.model.Student.AttendanceStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable version history of every partition's day.
+ * Each write or delete of a day file appends a numbered, timestamped version
+ * to that day's version file under versions/ in the data directory. Most
+ * versions are deltas (the students added, changed or removed since the
+ * previous version); every CHECKPOINT_INTERVAL versions, or when a delta
+ * would not be much smaller, a checkpoint holds the full day (sorted student
+ * IDs plus a present bitset). An in-memory index of each file's version
+ * timestamps and offsets turns "what did the register say at 10am" into a
+ * binary search and a decode from the nearest checkpoint. Versions are never
+ * changed once appended: readers take no locks, except to index a file the
+ * first time, and stop at the end of the last complete frame. A background
+ * job gives day files written before versioning existed a first version, and
+ * drops versions older than the retention period except the one still in
+ * effect at its start.
+ */
+@Component
+public class AttendanceVersionStore implements StorageWriteListener {
+
+    private static final String VERSIONS_DIR = "versions";
+    private static final String SECTION_DIR_PREFIX = "section_";
+    private static final String FILE_PREFIX = "attendance_";
+    private static final String FILE_EXTENSION = ".ver";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int FRAME_HEADER_BYTES = 8;
+    // Flags byte of a version; files written before deltas hold 0 or 1 here
+    private static final int FLAG_DELETED = 1;
+    private static final int FLAG_DELTA = 2;
+    // Longest run of deltas before the next full copy, bounding the decode of any one version
+    private static final int CHECKPOINT_INTERVAL = 32;
+
+    private final CsvAttendanceStorage csvStorage;
+    private final Path dir;
+    private final long retentionMillis;
+    private final ScheduledExecutorService scheduler;
+    // Appends and garbage collection of a file hold its lock; reads do not
+    private final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
+    // Newest version per file and where the next one goes, read from the file on its first append
+    private final Map<Path, Tail> tails = new ConcurrentHashMap<>();
+    // Timestamp and offset of every version per file, built on the first as-of read
+    private final Map<Path, VersionIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with dependency injection.
+     * @param csvStorage the CSV storage component whose writes are versioned
+     * @param dataDir directory holding the day files; versions live in its versions/ subdirectory
+     * @param retentionDays how long superseded versions are kept
+     * @param gcIntervalMinutes interval between garbage collection runs
+     */
+    public AttendanceVersionStore(CsvAttendanceStorage csvStorage,
+                                  @Value("${attendance.data-dir:attendance_data}") String dataDir,
+                                  @Value("${attendance.versions.retention-days:30}") long retentionDays,
+                                  @Value("${attendance.versions.gc-interval-minutes:60}") long gcIntervalMinutes) {
+        this.csvStorage = csvStorage;
+        this.dir = Paths.get(dataDir, VERSIONS_DIR);
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+        csvStorage.addWriteListener(this);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-versions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::maintain, 0, gcIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stop the background job.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+        List<Student> sorted = new ArrayList<>(records.size());
+        for (Student record : records) {
+            if (record.getId() != null && record.getStatus() != null) {
+                sorted.add(record);
+            }
+        }
+        sorted.sort(Comparator.comparing(Student::getId));
+        long[] ids = new long[sorted.size()];
+        BitSet present = new BitSet(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = sorted.get(i).getId();
+            present.set(i, sorted.get(i).getStatus() == AttendanceStatus.PRESENT);
+        }
+        append(date, section, false, ids, present, System.currentTimeMillis(), false);
+    }
+
+    @Override
+    public void partitionDeleted(LocalDate date, String section) {
+        append(date, section, true, new long[0], new BitSet(), System.currentTimeMillis(), false);
+    }
+
+    /**
+     * Get every retained version of a partition's day.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @return versions, oldest first; empty if the day was never versioned
+     * @throws IOException if the version file cannot be read
+     */
+    public List<DayVersion> getVersions(LocalDate date, String section) throws IOException {
+        return decodeAll(readFrames(versionFile(date, section), null));
+    }
+
+    /**
+     * Get the version of a partition's day that was current at a moment.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @param asOf the moment, in epoch milliseconds
+     * @return the last version written at or before the moment, or null if the
+     *         day had no file yet (or its history is older than the retention period)
+     * @throws IOException if the version file cannot be read
+     */
+    public DayVersion getVersionAsOf(LocalDate date, String section, long asOf) throws IOException {
+        Path file = versionFile(date, section);
+        VersionIndex index = indexes.get(file);
+        if (index == null) {
+            synchronized (lockFor(file)) {
+                index = indexes.get(file);
+                if (index == null) {
+                    index = buildIndex(readFrames(file, null));
+                    indexes.put(file, index);
+                }
+            }
+        }
+        int position = index.floor(asOf);
+        if (position < 0) {
+            return null;
+        }
+        DayVersion version = readRange(file, index.checkpoint(position), index.end(position));
+        if (version != null && version.getVersion() == index.version(position)) {
+            return version;
+        }
+        // Garbage collection rewrote the file after this index was taken; read it from the start
+        DayVersion current = null;
+        for (DayVersion candidate : getVersions(date, section)) {
+            if (candidate.getTimestamp() > asOf) {
+                break;
+            }
+            current = candidate;
+        }
+        return current;
+    }
+
+    private void maintain() {
+        try {
+            int seeded = seed();
+            int collected = collect();
+            if (seeded > 0 || collected > 0) {
+                System.out.println("Attendance versions: seeded " + seeded + " day files, dropped "
+                        + collected + " expired versions");
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error maintaining attendance versions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Give every day file without a history a first version, stamped with the file's modification time.
+     * @return number of day files seeded
+     */
+    private int seed() throws IOException {
+        int seeded = 0;
+        List<String> partitions = new ArrayList<>();
+        partitions.add(null);
+        partitions.addAll(csvStorage.getSections());
+        for (String section : partitions) {
+            for (LocalDate date : csvStorage.getAvailableDates(section)) {
+                if (Files.exists(versionFile(date, section))) {
+                    continue;
+                }
+                long stamp = csvStorage.getAttendanceLastModified(date, section);
+                TreeMap<Long, AttendanceStatus> statuses = new TreeMap<>();
+                csvStorage.scanAttendance(date, section, statuses::put);
+                long[] ids = new long[statuses.size()];
+                BitSet present = new BitSet(ids.length);
+                int i = 0;
+                for (Map.Entry<Long, AttendanceStatus> status : statuses.entrySet()) {
+                    ids[i] = status.getKey();
+                    present.set(i++, status.getValue() == AttendanceStatus.PRESENT);
+                }
+                // A write since the scan has created the history itself
+                if (append(date, section, false, ids, present, stamp, true)) {
+                    seeded++;
+                }
+            }
+        }
+        return seeded;
+    }
+
+    /**
+     * Drop versions superseded before the retention period began.
+     * @return number of versions dropped
+     */
+    private int collect() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            files = paths.filter(path -> path.getFileName().toString().endsWith(FILE_EXTENSION))
+                    .collect(Collectors.toList());
+        }
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        int dropped = 0;
+        for (Path file : files) {
+            synchronized (lockFor(file)) {
+                List<byte[]> frames = readFrames(file, null);
+                List<DayVersion> versions = decodeAll(frames);
+                // The newest version at or before the cutoff still describes the day at the cutoff
+                int keepFrom = 0;
+                for (int i = 0; i < versions.size(); i++) {
+                    if (versions.get(i).getTimestamp() <= cutoff) {
+                        keepFrom = i;
+                    }
+                }
+                DayVersion last = versions.isEmpty() ? null : versions.get(versions.size() - 1);
+                if (last != null && last.isDeleted() && last.getTimestamp() <= cutoff) {
+                    Files.delete(file);
+                    tails.remove(file);
+                    indexes.remove(file);
+                    dropped += frames.size();
+                    continue;
+                }
+                if (keepFrom == 0) {
+                    continue;
+                }
+                Path temp = Paths.get(file + ".tmp");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    // The oldest kept version may be a delta; it becomes a checkpoint of the same day
+                    DayVersion first = versions.get(keepFrom);
+                    out.write(frame(encodeCheckpoint(first.getVersion(), first.getTimestamp(), first.isDeleted(),
+                            first.ids(), first.present())));
+                    for (byte[] payload : frames.subList(keepFrom + 1, frames.size())) {
+                        out.write(frame(payload));
+                    }
+                }
+                // Readers holding the old file keep reading it; new readers see the new one
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                tails.remove(file);
+                indexes.remove(file);
+                dropped += keepFrom;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Append a version to a day's version file, as a delta from the previous
+     * version unless a checkpoint is due.
+     * @param onlyIfNew write only if the file does not exist yet
+     * @return true if the version was written
+     */
+    private boolean append(LocalDate date, String section, boolean deleted, long[] ids, BitSet present,
+                           long timestamp, boolean onlyIfNew) {
+        Path file = versionFile(date, section);
+        synchronized (lockFor(file)) {
+            try {
+                if (onlyIfNew && Files.exists(file)) {
+                    return false;
+                }
+                Tail tail = tails.get(file);
+                if (tail == null) {
+                    tail = recover(file);
+                }
+                long version = tail.last != null ? tail.last.getVersion() + 1 : 1;
+                byte[] payload = null;
+                if (!deleted && tail.last != null && tail.sinceCheckpoint < CHECKPOINT_INTERVAL) {
+                    payload = encodeDelta(version, timestamp, tail.last, ids, present);
+                }
+                boolean checkpoint = payload == null;
+                if (checkpoint) {
+                    payload = encodeCheckpoint(version, timestamp, deleted, ids, present);
+                }
+                byte[] framed = frame(payload);
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = Files.newOutputStream(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    out.write(framed);
+                }
+                long offset = tail.length;
+                long checkpointOffset = checkpoint ? offset : tail.checkpointOffset;
+                tails.put(file, new Tail(new DayVersion(version, timestamp, deleted, ids, present),
+                        checkpoint ? 0 : tail.sinceCheckpoint + 1, offset + framed.length, checkpointOffset));
+                VersionIndex index = indexes.get(file);
+                if (index != null) {
+                    index.add(timestamp, version, checkpointOffset, offset + framed.length);
+                }
+                return true;
+            } catch (IOException e) {
+                // The day file itself is written; only this point of its history is lost
+                System.err.println("Error recording attendance version for " + date
+                        + (section != null ? " section " + section : "") + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Read a file's newest version and where its next one goes, cutting off a
+     * frame torn by a crash so that later appends stay readable.
+     */
+    private Tail recover(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new Tail(null, 0, 0, 0);
+        }
+        long[] validBytes = new long[1];
+        List<byte[]> frames = readFrames(file, validBytes);
+        if (Files.size(file) > validBytes[0]) {
+            System.err.println("Truncating incomplete attendance version in " + file.getFileName());
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(validBytes[0]);
+            }
+            // The index may cover the torn frame
+            indexes.remove(file);
+        }
+        DayVersion last = null;
+        int sinceCheckpoint = 0;
+        long offset = 0;
+        long checkpointOffset = 0;
+        for (byte[] payload : frames) {
+            last = decode(payload, last);
+            if (isDelta(payload)) {
+                sinceCheckpoint++;
+            } else {
+                sinceCheckpoint = 0;
+                checkpointOffset = offset;
+            }
+            offset += FRAME_HEADER_BYTES + payload.length;
+        }
+        return new Tail(last, sinceCheckpoint, offset, checkpointOffset);
+    }
+
+    /**
+     * Index complete frames by timestamp.
+     */
+    private static VersionIndex buildIndex(List<byte[]> frames) throws IOException {
+        VersionIndex index = new VersionIndex();
+        long offset = 0;
+        long checkpointOffset = 0;
+        for (byte[] payload : frames) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            long version = readVarLong(in);
+            long timestamp = in.readLong();
+            if (!isDelta(payload)) {
+                checkpointOffset = offset;
+            }
+            offset += FRAME_HEADER_BYTES + payload.length;
+            index.add(timestamp, version, checkpointOffset, offset);
+        }
+        return index;
+    }
+
+    /**
+     * Decode the frames between a checkpoint and a later version.
+     * @return the version ending at the given offset, or null if the bytes
+     *         there are no longer the frames the index describes
+     */
+    private static DayVersion readRange(Path file, long from, long to) throws IOException {
+        byte[] bytes = new byte[(int) (to - from)];
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            if (raf.length() < to) {
+                return null;
+            }
+            raf.seek(from);
+            raf.readFully(bytes);
+        } catch (FileNotFoundException e) {
+            // Dropped by garbage collection
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        DayVersion version = null;
+        while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+            int size = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (size <= 0 || size > buffer.remaining()) {
+                return null;
+            }
+            byte[] payload = new byte[size];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum || (version == null && isDelta(payload))) {
+                return null;
+            }
+            version = decode(payload, version);
+        }
+        return buffer.hasRemaining() ? null : version;
+    }
+
+    private static List<DayVersion> decodeAll(List<byte[]> frames) throws IOException {
+        List<DayVersion> versions = new ArrayList<>(frames.size());
+        DayVersion previous = null;
+        for (byte[] payload : frames) {
+            previous = decode(payload, previous);
+            versions.add(previous);
+        }
+        return versions;
+    }
+
+    private Object lockFor(Path file) {
+        return fileLocks.computeIfAbsent(file, key -> new Object());
+    }
+
+    private Path versionFile(LocalDate date, String section) {
+        String normalized = Student.normalizeSection(section);
+        Path partition = normalized == null ? dir : dir.resolve(SECTION_DIR_PREFIX + normalized);
+        return partition.resolve(FILE_PREFIX + date.format(DATE_FORMATTER) + FILE_EXTENSION);
+    }
+
+    /**
+     * Read the complete frames of a version file; a torn or corrupt frame ends the file.
+     * @param validBytes if not null, receives the length of the complete frames
+     * @return frame payloads, oldest first; empty if the file does not exist
+     */
+    private static List<byte[]> readFrames(Path file, long[] validBytes) throws IOException {
+        List<byte[]> frames = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return frames;
+        }
+        long length = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int size;
+                try {
+                    size = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int checksum;
+                byte[] payload;
+                try {
+                    checksum = in.readInt();
+                    payload = size > 0 ? in.readNBytes(size) : null;
+                } catch (EOFException e) {
+                    break;
+                }
+                if (payload == null || payload.length < size) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                frames.add(payload);
+                length += FRAME_HEADER_BYTES + size;
+            }
+        } catch (NoSuchFileException e) {
+            // Dropped by garbage collection after the existence check
+        }
+        if (validBytes != null) {
+            validBytes[0] = length;
+        }
+        return frames;
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length)
+                .putInt(payload.length).putInt((int) crc.getValue()).put(payload).array();
+    }
+
+    private static byte[] encodeCheckpoint(long version, long timestamp, boolean deleted, long[] ids, BitSet present)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(24 + ids.length * 2);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeVarLong(out, version);
+        out.writeLong(timestamp);
+        out.writeByte(deleted ? FLAG_DELETED : 0);
+        writeIds(out, ids, ids.length);
+        byte[] bits = present.toByteArray();
+        writeVarLong(out, bits.length);
+        out.write(bits);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encode a version as the records that differ from the previous one.
+     * @return the delta, or null if it would not be much smaller than a checkpoint
+     */
+    private static byte[] encodeDelta(long version, long timestamp, DayVersion previous, long[] ids, BitSet present)
+            throws IOException {
+        long[] oldIds = previous.ids();
+        BitSet oldPresent = previous.present();
+        long[] changed = new long[ids.length];
+        BitSet changedPresent = new BitSet();
+        long[] removed = new long[oldIds.length];
+        int changedCount = 0;
+        int removedCount = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ids.length || j < oldIds.length) {
+            if (j == oldIds.length || (i < ids.length && ids[i] < oldIds[j])) {
+                changedPresent.set(changedCount, present.get(i));
+                changed[changedCount++] = ids[i++];
+            } else if (i == ids.length || oldIds[j] < ids[i]) {
+                removed[removedCount++] = oldIds[j++];
+            } else {
+                if (present.get(i) != oldPresent.get(j)) {
+                    changedPresent.set(changedCount, present.get(i));
+                    changed[changedCount++] = ids[i];
+                }
+                i++;
+                j++;
+            }
+        }
+        if ((changedCount + removedCount) * 2 > ids.length) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(24 + (changedCount + removedCount) * 3);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeVarLong(out, version);
+        out.writeLong(timestamp);
+        out.writeByte(FLAG_DELTA);
+        writeIds(out, changed, changedCount);
+        byte[] bits = changedPresent.toByteArray();
+        writeVarLong(out, bits.length);
+        out.write(bits);
+        writeIds(out, removed, removedCount);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a version.
+     * @param previous the version before it, needed if this one is a delta
+     */
+    private static DayVersion decode(byte[] payload, DayVersion previous) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long version = readVarLong(in);
+        long timestamp = in.readLong();
+        int flags = in.readUnsignedByte();
+        long[] ids = readIds(in);
+        byte[] bits = new byte[(int) readVarLong(in)];
+        in.readFully(bits);
+        BitSet present = BitSet.valueOf(bits);
+        if ((flags & FLAG_DELTA) == 0) {
+            return new DayVersion(version, timestamp, (flags & FLAG_DELETED) != 0, ids, present);
+        }
+        if (previous == null) {
+            throw new IOException("Attendance version " + version + " is a delta without a checkpoint");
+        }
+        long[] removed = readIds(in);
+        // Merge the sorted previous records with the sorted changes, skipping removed students
+        long[] oldIds = previous.ids();
+        BitSet oldPresent = previous.present();
+        long[] merged = new long[oldIds.length + ids.length];
+        BitSet mergedPresent = new BitSet(merged.length);
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        int r = 0;
+        while (i < ids.length || j < oldIds.length) {
+            if (j == oldIds.length || (i < ids.length && ids[i] <= oldIds[j])) {
+                if (j < oldIds.length && ids[i] == oldIds[j]) {
+                    j++;
+                }
+                mergedPresent.set(count, present.get(i));
+                merged[count++] = ids[i++];
+            } else {
+                while (r < removed.length && removed[r] < oldIds[j]) {
+                    r++;
+                }
+                if (r == removed.length || removed[r] != oldIds[j]) {
+                    mergedPresent.set(count, oldPresent.get(j));
+                    merged[count++] = oldIds[j];
+                }
+                j++;
+            }
+        }
+        return new DayVersion(version, timestamp, false, Arrays.copyOf(merged, count), mergedPresent);
+    }
+
+    private static boolean isDelta(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        readVarLong(in);
+        in.readLong();
+        return (in.readUnsignedByte() & FLAG_DELTA) != 0;
+    }
+
+    private static void writeIds(DataOutput out, long[] ids, int count) throws IOException {
+        writeVarLong(out, count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarLong(out, ids[i] - previous);
+            previous = ids[i];
+        }
+    }
+
+    private static long[] readIds(DataInput in) throws IOException {
+        long[] ids = new long[(int) readVarLong(in)];
+        long previous = 0;
+        for (int i = 0; i < ids.length; i++) {
+            previous += readVarLong(in);
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in attendance version file");
+    }
+
+    /**
+     * Newest version of a file and the state needed to append the next one.
+     */
+    private static final class Tail {
+        private final DayVersion last;
+        private final int sinceCheckpoint;
+        private final long length;
+        private final long checkpointOffset;
+
+        Tail(DayVersion last, int sinceCheckpoint, long length, long checkpointOffset) {
+            this.last = last;
+            this.sinceCheckpoint = sinceCheckpoint;
+            this.length = length;
+            this.checkpointOffset = checkpointOffset;
+        }
+    }
+
+    /**
+     * Timestamps and offsets of a file's versions, oldest first. Entries are
+     * added under the file's lock; readers see a prefix without locking.
+     */
+    private static final class VersionIndex {
+        private volatile long[] entries = new long[4 * 16];
+        private volatile int count;
+
+        void add(long timestamp, long version, long checkpointOffset, long end) {
+            long[] grown = entries;
+            if ((count + 1) * 4 > grown.length) {
+                grown = Arrays.copyOf(grown, grown.length * 2);
+            }
+            int at = count * 4;
+            grown[at] = timestamp;
+            grown[at + 1] = version;
+            grown[at + 2] = checkpointOffset;
+            grown[at + 3] = end;
+            entries = grown;
+            count++;
+        }
+
+        /**
+         * Find the last version written at or before a moment.
+         * @return its position, or -1 if every version is newer
+         */
+        int floor(long asOf) {
+            int size = count;
+            long[] snapshot = entries;
+            int low = 0;
+            int high = size - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (snapshot[mid * 4] <= asOf) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        long version(int position) {
+            return entries[position * 4 + 1];
+        }
+
+        long checkpoint(int position) {
+            return entries[position * 4 + 2];
+        }
+
+        long end(int position) {
+            return entries[position * 4 + 3];
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.attendance.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression codecs for cold-tier day files.
+ * The codec is recorded in the file extension, so files written with one
+ * codec stay readable after the configured codec changes.
+ */
+public enum ColdCodec {
+
+    /** Standard gzip at the default level: smallest files. */
+    GZIP("gz") {
+        @Override
+        public OutputStream compress(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) throws IOException {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+    },
+
+    /** Raw deflate at the fastest level: larger files, cheaper to write and read. */
+    DEFLATE_FAST("deflate") {
+        @Override
+        public OutputStream compress(OutputStream out) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+            return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) {
+            Inflater inflater = new Inflater(true);
+            return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String extension;
+
+    ColdCodec(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Get the file extension marking this codec, without the dot.
+     * @return extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Wrap a stream so that bytes written to it are compressed.
+     * @param out destination of the compressed bytes
+     * @return compressing stream; closing it closes out
+     * @throws IOException if the codec header cannot be written
+     */
+    public abstract OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * Wrap a stream so that reading it decompresses on the fly.
+     * @param in source of compressed bytes
+     * @return decompressing stream; closing it closes in
+     * @throws IOException if the codec header cannot be read
+     */
+    public abstract InputStream decompress(InputStream in) throws IOException;
+
+    /**
+     * Look up a codec by name, case-insensitively, accepting "-" for "_".
+     * @param name codec name, e.g. "gzip" or "deflate-fast"
+     * @return the codec
+     * @throws IllegalArgumentException if no codec has that name
+     */
+    public static ColdCodec fromName(String name) {
+        String normalized = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        for (ColdCodec codec : values()) {
+            if (codec.name().equals(normalized)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cold storage codec: " + name);
+    }
+}
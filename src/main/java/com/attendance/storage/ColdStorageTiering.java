@@ -0,0 +1,85 @@
+package com.attendance.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that moves old day files into the compressed cold tier.
+ * Days older than the configured age are only read for reports and history,
+ * so they are compressed once and then decompressed on the fly when read.
+ * A non-positive age disables tiering.
+ */
+@Component
+public class ColdStorageTiering {
+
+    private static final long INITIAL_DELAY_SECONDS = 60;
+
+    private final CsvAttendanceStorage csvStorage;
+    private final int afterDays;
+    private final ColdCodec codec;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor with dependency injection.
+     * @param csvStorage the CSV storage component
+     * @param afterDays age in days after which a day file is moved to cold storage; 0 disables tiering
+     * @param codec codec name for newly compressed files ("gzip" or "deflate-fast")
+     * @param intervalMinutes time between tiering runs
+     */
+    public ColdStorageTiering(CsvAttendanceStorage csvStorage,
+                              @Value("${attendance.cold.after-days:30}") int afterDays,
+                              @Value("${attendance.cold.codec:gzip}") String codec,
+                              @Value("${attendance.cold.interval-minutes:60}") long intervalMinutes) {
+        this.csvStorage = csvStorage;
+        this.afterDays = afterDays;
+        this.codec = ColdCodec.fromName(codec);
+        if (afterDays > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cold-storage-tiering");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::runSafely,
+                    INITIAL_DELAY_SECONDS, TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Stop the tiering thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Move every day older than the configured age to cold storage now.
+     * @return number of files moved
+     * @throws IOException if a file cannot be compressed
+     */
+    public int runOnce() throws IOException {
+        if (afterDays <= 0) {
+            return 0;
+        }
+        return csvStorage.moveToColdTier(LocalDate.now().minusDays(afterDays), codec);
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error moving attendance files to cold storage: " + e.getMessage());
+        }
+    }
+}
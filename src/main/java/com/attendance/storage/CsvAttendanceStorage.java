@@ -2,19 +2,36 @@ package com.attendance.storage;
 
 import com.attendance.model.Student;
 import com.attendance.model.Student.AttendanceStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * CSV-based storage for daily attendance records.
  * Each day's attendance is stored in a separate CSV file named with the date.
+ * Students without a section live in the top-level directory; each section
+ * gets its own partition directory (section_<name>) with its own day files,
+ * so a class's save or read only touches that class's file.
+ * Old days can be moved into a compressed cold tier (a cold/ directory in
+ * each partition); reads and date listings cover both tiers, and any write
+ * to a cold day brings it back to the hot tier as a plain CSV file.
+ * Deleting a student only records a tombstone (tombstones.csv); reads hide
+ * the student's records at once and TombstoneCompactor purges them from the
+ * day files later.
  * File format: student_id,student_name,attendance_status
  */
 @Component
@@ -23,86 +40,372 @@ public class CsvAttendanceStorage {
     private static final String ATTENDANCE_DIR = "attendance_data";
     private static final String FILE_PREFIX = "attendance_";
     private static final String FILE_EXTENSION = ".csv";
+    private static final String SECTION_DIR_PREFIX = "section_";
+    private static final String COLD_DIR = "cold";
+    private static final String TOMBSTONE_FILE = "tombstones.csv";
+    private static final String TOMBSTONE_HEADER = "student_id,event,timestamp";
+    private static final String TOMBSTONE_DELETED = "DELETED";
+    private static final String TOMBSTONE_PURGED = "PURGED";
     // UPDATED: Added creation_date column to track when student was added
     private static final String CSV_HEADER = "date,student_id,student_name,attendance_status,creation_date";
     private static final String CSV_DELIMITER = ",";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
+    private final String attendanceDir;
+    // Per-date write counters; disambiguate writes landing within one mtime tick
+    private final Map<LocalDate, AtomicLong> writeCounters = new ConcurrentHashMap<>();
+    // Sections with a partition directory; discovered at startup and on first write
+    private final Set<String> knownSections = ConcurrentHashMap.newKeySet();
+    // One lock per partition file, so writes to different sections run in parallel
+    private final Map<String, Object> partitionLocks = new ConcurrentHashMap<>();
+    private final List<StorageWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+    // Deleted student IDs, kept for good so reads stay filtered and IDs are never handed out again
+    private final Set<Long> tombstones = ConcurrentHashMap.newKeySet();
+    // Tombstones whose records may still be in day files
+    private final Set<Long> unpurgedTombstones = ConcurrentHashMap.newKeySet();
+    private final Object tombstoneLock = new Object();
+    // Per-file read and write messages; scratch storage such as the startup warm-up turns them off
+    private volatile boolean verbose = true;
+    
     /**
      * Constructor - creates attendance directory if it doesn't exist.
      */
     public CsvAttendanceStorage() {
+        this(ATTENDANCE_DIR);
+    }
+    
+    /**
+     * Constructor for a custom attendance directory.
+     * @param attendanceDir directory holding the daily CSV files
+     */
+    @Autowired
+    public CsvAttendanceStorage(@Value("${attendance.data-dir:" + ATTENDANCE_DIR + "}") String attendanceDir) {
+        this.attendanceDir = attendanceDir;
         try {
-            Path attendanceDir = Paths.get(ATTENDANCE_DIR);
-            if (!Files.exists(attendanceDir)) {
-                Files.createDirectories(attendanceDir);
-                System.out.println("Created attendance directory: " + ATTENDANCE_DIR);
+            Path dir = Paths.get(attendanceDir);
+            if (!Files.exists(dir)) {
+                Files.createDirectories(dir);
+                System.out.println("Created attendance directory: " + attendanceDir);
             }
         } catch (IOException e) {
             System.err.println("Error creating attendance directory: " + e.getMessage());
         }
+        
+        File[] sectionDirs = new File(attendanceDir).listFiles((d, name) -> name.startsWith(SECTION_DIR_PREFIX));
+        if (sectionDirs != null) {
+            for (File sectionDir : sectionDirs) {
+                if (sectionDir.isDirectory()) {
+                    knownSections.add(sectionDir.getName().substring(SECTION_DIR_PREFIX.length()));
+                }
+            }
+        }
+        loadTombstones();
+    }
+    
+    private void loadTombstones() {
+        File file = new File(attendanceDir, TOMBSTONE_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(CSV_DELIMITER);
+                if (fields.length < 2) {
+                    continue;
+                }
+                try {
+                    Long studentId = Long.parseLong(fields[0].trim());
+                    if (TOMBSTONE_PURGED.equals(fields[1].trim())) {
+                        unpurgedTombstones.remove(studentId);
+                    } else {
+                        tombstones.add(studentId);
+                        unpurgedTombstones.add(studentId);
+                    }
+                } catch (NumberFormatException e) {
+                    System.err.println("Error parsing tombstone: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading tombstones: " + e.getMessage());
+        }
+        System.out.println("Loaded " + tombstones.size() + " student tombstones ("
+                + unpurgedTombstones.size() + " awaiting compaction)");
+    }
+    
+    /**
+     * Register a listener notified after every partition write or delete, and every tombstone.
+     * @param listener the listener to add
+     */
+    public void addWriteListener(StorageWriteListener listener) {
+        writeListeners.add(listener);
+    }
+    
+    /**
+     * Turn the per-file read and write messages on or off.
+     * @param verbose whether to print a line for each day file read, written or deleted
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+    
+    private void logFileAccess(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+    
+    private void fireWritten(LocalDate date, String section, Collection<Student> records) {
+        for (StorageWriteListener listener : writeListeners) {
+            listener.partitionWritten(date, section, records);
+        }
+    }
+    
+    private void fireDeleted(LocalDate date, String section) {
+        for (StorageWriteListener listener : writeListeners) {
+            listener.partitionDeleted(date, section);
+        }
     }
     
     /**
-     * Get the CSV file path for a specific date.
+     * Get the CSV file path for a specific date and section.
      * @param date the date for the attendance file
+     * @param section the section, or null for the unsectioned partition
      * @return the file path
      */
-    private String getFilePath(LocalDate date) {
+    private String getFilePath(LocalDate date, String section) {
         String dateStr = date.format(DATE_FORMATTER);
-        return ATTENDANCE_DIR + File.separator + FILE_PREFIX + dateStr + FILE_EXTENSION;
+        return getPartitionDir(section) + File.separator + FILE_PREFIX + dateStr + FILE_EXTENSION;
+    }
+    
+    /**
+     * Get the directory holding a section's day files.
+     * @param section the section, or null for the unsectioned partition
+     * @return the directory path
+     */
+    private String getPartitionDir(String section) {
+        return section == null ? attendanceDir : attendanceDir + File.separator + SECTION_DIR_PREFIX + section;
+    }
+    
+    /**
+     * Get the directory holding a partition's compressed day files.
+     * @param section the section, or null for the unsectioned partition
+     * @return the directory path
+     */
+    private String getColdDir(String section) {
+        return getPartitionDir(section) + File.separator + COLD_DIR;
+    }
+    
+    private File getColdFile(LocalDate date, String section, ColdCodec codec) {
+        return new File(getColdDir(section) + File.separator + FILE_PREFIX + date.format(DATE_FORMATTER)
+                + FILE_EXTENSION + "." + codec.getExtension());
+    }
+    
+    /**
+     * Find the file holding a partition's day, hot copy first.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @return the hot CSV file, else the cold file of whichever codec wrote it, else null
+     */
+    private File findDayFile(LocalDate date, String section) {
+        File hot = new File(getFilePath(date, section));
+        if (hot.exists()) {
+            return hot;
+        }
+        for (ColdCodec codec : ColdCodec.values()) {
+            File cold = getColdFile(date, section, codec);
+            if (cold.exists()) {
+                return cold;
+            }
+        }
+        return null;
+    }
+    
+    private static OutputStream openDayFileOutput(Path path, ColdCodec codec) throws IOException {
+        OutputStream out = Files.newOutputStream(path);
+        if (codec == null) {
+            return out;
+        }
+        try {
+            return codec.compress(new BufferedOutputStream(out));
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Get the codec a day file was compressed with.
+     * @param file a file returned by findDayFile
+     * @return the codec, or null for a hot CSV file
+     */
+    private static ColdCodec codecOf(File file) {
+        for (ColdCodec codec : ColdCodec.values()) {
+            if (file.getName().endsWith(FILE_EXTENSION + "." + codec.getExtension())) {
+                return codec;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Open a day file for reading, decompressing cold files as they are read.
+     * @param file a file returned by findDayFile
+     * @return reader over the CSV text
+     * @throws IOException if the file cannot be opened
+     */
+    private BufferedReader openReader(File file) throws IOException {
+        if (file.getName().endsWith(FILE_EXTENSION)) {
+            return new BufferedReader(new FileReader(file));
+        }
+        for (ColdCodec codec : ColdCodec.values()) {
+            if (file.getName().endsWith(FILE_EXTENSION + "." + codec.getExtension())) {
+                InputStream in = new FileInputStream(file);
+                try {
+                    return new BufferedReader(new InputStreamReader(codec.decompress(in)));
+                } catch (IOException e) {
+                    in.close();
+                    throw e;
+                }
+            }
+        }
+        throw new IOException("Unrecognized attendance file: " + file);
+    }
+    
+    /**
+     * Delete the cold copies of a partition's day, e.g. after it was rewritten hot.
+     * @return true if a cold file was deleted
+     */
+    private boolean deleteColdCopies(LocalDate date, String section) {
+        boolean deleted = false;
+        for (ColdCodec codec : ColdCodec.values()) {
+            deleted |= getColdFile(date, section, codec).delete();
+        }
+        return deleted;
+    }
+    
+    /**
+     * Delete a partition's day from both tiers.
+     * @return true if any file was deleted
+     */
+    private boolean deleteDayFiles(LocalDate date, String section) {
+        boolean deleted = new File(getFilePath(date, section)).delete();
+        return deleteColdCopies(date, section) | deleted;
+    }
+    
+    /**
+     * Get every partition: null (unsectioned) followed by the known sections.
+     * @return list of partitions
+     */
+    private List<String> getPartitions() {
+        List<String> partitions = new ArrayList<>();
+        partitions.add(null);
+        partitions.addAll(getSections());
+        return partitions;
+    }
+    
+    /**
+     * Get the sections that have a partition directory.
+     * @return sorted section names
+     */
+    public List<String> getSections() {
+        List<String> sections = new ArrayList<>(knownSections);
+        Collections.sort(sections);
+        return sections;
+    }
+    
+    /**
+     * Make sure a section's partition directory exists.
+     * @param section the section, or null for the unsectioned partition
+     * @throws IOException if the directory cannot be created
+     */
+    private void ensurePartition(String section) throws IOException {
+        if (section != null && !knownSections.contains(section)) {
+            Files.createDirectories(Paths.get(getPartitionDir(section)));
+            knownSections.add(section);
+        }
+    }
+    
+    private Object lockFor(String filePath) {
+        return partitionLocks.computeIfAbsent(filePath, path -> new Object());
+    }
+    
+    /**
+     * Group records by the section partition they belong to.
+     * @param students records to group
+     * @return records per section (null key for unsectioned)
+     */
+    private static Map<String, List<Student>> groupBySection(List<Student> students) {
+        Map<String, List<Student>> groups = new LinkedHashMap<>();
+        for (Student student : students) {
+            groups.computeIfAbsent(Student.normalizeSection(student.getSection()), s -> new ArrayList<>()).add(student);
+        }
+        return groups;
     }
     
     /**
      * Save attendance records for a specific date.
-     * Creates a new file if it doesn't exist, or updates existing records.
+     * Records are merged into the partition of each student's section.
      * @param date the date for the attendance
      * @param students list of students with attendance status
      * @throws IOException if file operations fail
      */
     public void saveAttendance(LocalDate date, List<Student> students) throws IOException {
-        String filePath = getFilePath(date);
-        File file = new File(filePath);
-        
-        // Create file if it doesn't exist
-        if (!file.exists()) {
-            file.createNewFile();
-            System.out.println("Created new attendance file: " + filePath);
+        for (Map.Entry<String, List<Student>> group : groupBySection(students).entrySet()) {
+            saveAttendance(date, group.getKey(), group.getValue());
         }
+    }
+    
+    /**
+     * Save attendance records for a specific date and section.
+     * Creates a new file if it doesn't exist, or updates existing records.
+     * @param date the date for the attendance
+     * @param section the section partition, or null for unsectioned
+     * @param students list of students with attendance status
+     * @throws IOException if file operations fail
+     */
+    public void saveAttendance(LocalDate date, String section, List<Student> students) throws IOException {
+        section = Student.normalizeSection(section);
+        ensurePartition(section);
+        String filePath = getFilePath(date, section);
+        synchronized (lockFor(filePath)) {
+            writePartition(date, section, filePath, students);
+        }
+    }
+    
+    private void writePartition(LocalDate date, String section, String filePath, List<Student> students)
+            throws IOException {
+        File file = new File(filePath);
         
-        // Read existing records into a map
+        // Read existing records into a map, from whichever tier holds the day
         Map<Long, Student> existingRecords = new HashMap<>();
-        if (file.length() > 0) {
-            existingRecords = readAttendanceAsMap(date);
+        File existing = findDayFile(date, section);
+        if (existing != null && existing.length() > 0) {
+            existingRecords = readAttendanceAsMap(date, section);
         }
         
+        boolean created = !file.exists();
+        
         // Update with new student data
         for (Student student : students) {
             existingRecords.put(student.getId(), student);
         }
         
         // Write all records to file
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            // Write header
-            writer.write(CSV_HEADER);
-            writer.newLine();
-            
-            // Write student records
-            for (Student student : existingRecords.values()) {
-                if (student.getDate() == null) {
-                    student.setDate(date);
-                }
-                String line = formatStudentRecord(student);
-                writer.write(line);
-                writer.newLine();
+        try {
+            replaceDayFile(file, date, existingRecords.values());
+            if (created) {
+                logFileAccess("Created new attendance file: " + filePath);
             }
-            
-            writer.flush();
-            System.out.println("Saved " + existingRecords.size() + " attendance records to: " + filePath);
+            logFileAccess("Saved " + existingRecords.size() + " attendance records to: " + filePath);
         } catch (IOException e) {
             System.err.println("Error writing to file: " + filePath);
             throw e;
+        } finally {
+            markWritten(date);
         }
+        deleteColdCopies(date, section);
+        fireWritten(date, section, existingRecords.values());
     }
     
     /**
@@ -118,23 +421,50 @@ public class CsvAttendanceStorage {
     }
     
     /**
-     * Read attendance records for a specific date.
+     * Read attendance records for a specific date across all sections.
      * @param date the date to read attendance for
      * @return list of students with attendance status
      * @throws IOException if file reading fails
      */
     public List<Student> readAttendance(LocalDate date) throws IOException {
-        String filePath = getFilePath(date);
-        File file = new File(filePath);
+        List<Student> students = new ArrayList<>();
+        boolean found = false;
+        for (String section : getPartitions()) {
+            if (findDayFile(date, section) != null) {
+                students.addAll(readAttendance(date, section));
+                found = true;
+            }
+        }
+        if (!found) {
+            logFileAccess("No attendance file found for date: " + date);
+        }
+        return students;
+    }
+    
+    /**
+     * Read attendance records for a specific date and section.
+     * Records of deleted students are left out.
+     * @param date the date to read attendance for
+     * @param section the section partition, or null for unsectioned
+     * @return list of students with attendance status
+     * @throws IOException if file reading fails
+     */
+    public List<Student> readAttendance(LocalDate date, String section) throws IOException {
+        return readPartition(date, Student.normalizeSection(section), false);
+    }
+    
+    private List<Student> readPartition(LocalDate date, String section, boolean includeTombstoned)
+            throws IOException {
+        File file = findDayFile(date, section);
         
-        if (!file.exists()) {
-            System.out.println("No attendance file found for date: " + date);
+        if (file == null) {
             return new ArrayList<>();
         }
         
+        String filePath = file.getPath();
         List<Student> students = new ArrayList<>();
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader reader = openReader(file)) {
             String line;
             boolean isFirstLine = true;
             
@@ -152,13 +482,17 @@ public class CsvAttendanceStorage {
                 
                 try {
                     Student student = parseStudentRecord(line, date);
+                    if (!includeTombstoned && isTombstoned(student.getId())) {
+                        continue;
+                    }
+                    student.setSection(section);
                     students.add(student);
                 } catch (Exception e) {
                     System.err.println("Error parsing line: " + line + " - " + e.getMessage());
                 }
             }
             
-            System.out.println("Read " + students.size() + " attendance records from: " + filePath);
+            logFileAccess("Read " + students.size() + " attendance records from: " + filePath);
         } catch (IOException e) {
             System.err.println("Error reading file: " + filePath);
             throw e;
@@ -167,14 +501,31 @@ public class CsvAttendanceStorage {
         return students;
     }
     
+    /**
+     * Open one section's day file for reading a record at a time.
+     * @param date the date to read attendance for
+     * @param section the section partition, or null for unsectioned
+     * @return a reader the caller must close, or null if there is no file for the day
+     * @throws IOException if the file cannot be opened
+     */
+    public AttendanceRecordReader openAttendance(LocalDate date, String section) throws IOException {
+        section = Student.normalizeSection(section);
+        File file = findDayFile(date, section);
+        if (file == null) {
+            return null;
+        }
+        return new AttendanceRecordReader(openReader(file), date, section, this::parseStudentRecord,
+                this::isTombstoned);
+    }
+    
     /**
      * Read attendance records as a map (student ID -> Student).
      * @param date the date to read attendance for
      * @return map of student records
      * @throws IOException if file reading fails
      */
-    private Map<Long, Student> readAttendanceAsMap(LocalDate date) throws IOException {
-        List<Student> students = readAttendance(date);
+    private Map<Long, Student> readAttendanceAsMap(LocalDate date, String section) throws IOException {
+        List<Student> students = readAttendance(date, section);
         Map<Long, Student> studentMap = new HashMap<>();
         for (Student student : students) {
             studentMap.put(student.getId(), student);
@@ -182,30 +533,239 @@ public class CsvAttendanceStorage {
         return studentMap;
     }
     
+    /**
+     * Stream the id and status of every record for a date, across all sections,
+     * without materializing Student objects. Malformed lines are skipped.
+     * @param date the date to scan
+     * @param visitor callback receiving each record
+     * @return number of records visited
+     * @throws IOException if file reading fails
+     */
+    public int scanAttendance(LocalDate date, AttendanceRecordVisitor visitor) throws IOException {
+        int visited = 0;
+        for (String section : getPartitions()) {
+            visited += scanAttendance(date, section, visitor);
+        }
+        return visited;
+    }
+    
+    /**
+     * Stream the id and status of every record in one section's day file.
+     * Records of deleted students are skipped.
+     * @param date the date to scan
+     * @param section the section partition, or null for unsectioned
+     * @param visitor callback receiving each record
+     * @return number of records visited
+     * @throws IOException if file reading fails
+     */
+    public int scanAttendance(LocalDate date, String section, AttendanceRecordVisitor visitor) throws IOException {
+        File file = findDayFile(date, Student.normalizeSection(section));
+        if (file == null) {
+            return 0;
+        }
+        
+        int visited = 0;
+        int[] bounds = new int[12];
+        try (BufferedReader reader = openReader(file)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                int fields = splitFields(line, bounds);
+                if (fields < 3) {
+                    continue;
+                }
+                // Same layouts as parseStudentRecord: date-prefixed (4/5 columns) or legacy (3 columns)
+                int offset = (fields == 4 || fields == 5) ? 1 : 0;
+                try {
+                    long id = Long.parseLong(line, bounds[offset * 2], bounds[offset * 2 + 1], 10);
+                    AttendanceStatus status = parseStatus(line, bounds[(offset + 2) * 2], bounds[(offset + 2) * 2 + 1]);
+                    if (status != null && !isTombstoned(id)) {
+                        visitor.visit(id, status);
+                        visited++;
+                    }
+                } catch (NumberFormatException e) {
+                    // skip malformed record, same as readAttendance
+                }
+            }
+        }
+        return visited;
+    }
+    
+    /**
+     * Record the trimmed start/end offsets of up to six comma-separated fields,
+     * treating commas inside double quotes as part of the field.
+     * @return number of fields found
+     */
+    private static int splitFields(String line, int[] bounds) {
+        int fields = 0;
+        int start = 0;
+        boolean quoted = false;
+        int length = line.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? line.charAt(i) : ',';
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                if (fields * 2 + 1 < bounds.length) {
+                    int from = start;
+                    int to = i;
+                    while (from < to && line.charAt(from) == ' ') from++;
+                    while (to > from && line.charAt(to - 1) == ' ') to--;
+                    bounds[fields * 2] = from;
+                    bounds[fields * 2 + 1] = to;
+                }
+                fields++;
+                start = i + 1;
+            }
+        }
+        return fields;
+    }
+    
+    private static AttendanceStatus parseStatus(String line, int from, int to) {
+        int length = to - from;
+        if (length == 7 && line.regionMatches(true, from, "PRESENT", 0, 7)) {
+            return AttendanceStatus.PRESENT;
+        }
+        if (length == 6 && line.regionMatches(true, from, "ABSENT", 0, 6)) {
+            return AttendanceStatus.ABSENT;
+        }
+        return null;
+    }
+    
+    /**
+     * Get a version token for a day's file without reading it.
+     * Combines the file's modification time and length with an in-process
+     * write counter, so any write through this storage changes the token.
+     * @param date the date to check
+     * @return version token, "none" if there is no file for the date
+     */
+    public String getAttendanceVersion(LocalDate date) {
+        long writes = writeCount(date);
+        long hash = 1;
+        boolean found = false;
+        for (String section : getPartitions()) {
+            File file = findDayFile(date, section);
+            if (file == null) {
+                continue;
+            }
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                hash = 31 * hash + Objects.hashCode(section);
+                hash = 31 * hash + attributes.lastModifiedTime().toMillis();
+                hash = 31 * hash + attributes.size();
+                found = true;
+            } catch (IOException e) {
+                // file moved between tiers or deleted since the lookup
+            }
+        }
+        return found ? Long.toHexString(hash) + "-" + writes : "none-" + writes;
+    }
+    
+    /**
+     * Get the last modification time of a day's files.
+     * @param date the date to check
+     * @return epoch millis of the newest partition file, or 0 if there is none
+     */
+    public long getAttendanceLastModified(LocalDate date) {
+        long lastModified = 0;
+        for (String section : getPartitions()) {
+            File file = findDayFile(date, section);
+            if (file != null) {
+                lastModified = Math.max(lastModified, file.lastModified());
+            }
+        }
+        return lastModified;
+    }
+    
+    /**
+     * Get the last modification time of one partition's day file.
+     * @param date the date to check
+     * @param section the section, or null for the unsectioned partition
+     * @return epoch millis of the file in whichever tier holds it, or 0 if there is none
+     */
+    public long getAttendanceLastModified(LocalDate date, String section) {
+        File file = findDayFile(date, Student.normalizeSection(section));
+        return file != null ? file.lastModified() : 0;
+    }
+    
+    private long writeCount(LocalDate date) {
+        AtomicLong counter = writeCounters.get(date);
+        return counter == null ? 0 : counter.get();
+    }
+    
+    private void markWritten(LocalDate date) {
+        writeCounters.computeIfAbsent(date, d -> new AtomicLong()).incrementAndGet();
+    }
+    
     /**
      * Check if attendance file exists for a specific date.
      * @param date the date to check
      * @return true if file exists, false otherwise
      */
     public boolean attendanceExists(LocalDate date) {
-        String filePath = getFilePath(date);
-        return new File(filePath).exists();
+        for (String section : getPartitions()) {
+            if (attendanceExists(date, section)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
-     * Get list of all dates that have attendance records.
-     * @return list of dates with attendance files
+     * Check if attendance file exists for a specific date and section.
+     * @param date the date to check
+     * @param section the section partition, or null for unsectioned
+     * @return true if file exists, false otherwise
+     */
+    public boolean attendanceExists(LocalDate date, String section) {
+        return findDayFile(date, Student.normalizeSection(section)) != null;
+    }
+    
+    /**
+     * Get list of all dates that have attendance records in any section.
+     * @return list of dates with attendance files, most recent first
      */
     public List<LocalDate> getAvailableDates() {
-        List<LocalDate> dates = new ArrayList<>();
-        File dir = new File(ATTENDANCE_DIR);
+        Set<LocalDate> dates = new HashSet<>();
+        for (String section : getPartitions()) {
+            dates.addAll(getAvailableDates(section));
+        }
+        List<LocalDate> sorted = new ArrayList<>(dates);
+        sorted.sort(Comparator.reverseOrder());
+        return sorted;
+    }
+    
+    /**
+     * Get list of dates that have attendance records for a section.
+     * @param section the section partition, or null for unsectioned
+     * @return list of dates with attendance files, most recent first
+     */
+    public List<LocalDate> getAvailableDates(String section) {
+        section = Student.normalizeSection(section);
+        Set<LocalDate> found = new HashSet<>(listDates(new File(getPartitionDir(section)), FILE_EXTENSION));
+        for (ColdCodec codec : ColdCodec.values()) {
+            found.addAll(listDates(new File(getColdDir(section)), FILE_EXTENSION + "." + codec.getExtension()));
+        }
         
+        // Sort dates in descending order (most recent first)
+        List<LocalDate> dates = new ArrayList<>(found);
+        dates.sort(Comparator.reverseOrder());
+        return dates;
+    }
+    
+    /**
+     * List the dates of the day files in one directory.
+     * @param dir directory to list
+     * @param suffix file name suffix after the date, e.g. ".csv"
+     * @return dates found, unordered
+     */
+    private List<LocalDate> listDates(File dir, String suffix) {
+        List<LocalDate> dates = new ArrayList<>();
         if (!dir.exists() || !dir.isDirectory()) {
             return dates;
         }
         
         File[] files = dir.listFiles((d, name) -> 
-            name.startsWith(FILE_PREFIX) && name.endsWith(FILE_EXTENSION));
+            name.startsWith(FILE_PREFIX) && name.endsWith(suffix));
         
         if (files != null) {
             for (File file : files) {
@@ -213,7 +773,7 @@ public class CsvAttendanceStorage {
                     String fileName = file.getName();
                     // Extract date from filename: attendance_2025-11-13.csv
                     String dateStr = fileName.substring(FILE_PREFIX.length(), 
-                                                       fileName.length() - FILE_EXTENSION.length());
+                                                       fileName.length() - suffix.length());
                     LocalDate date = LocalDate.parse(dateStr, DATE_FORMATTER);
                     dates.add(date);
                 } catch (Exception e) {
@@ -221,9 +781,6 @@ public class CsvAttendanceStorage {
                 }
             }
         }
-        
-        // Sort dates in descending order (most recent first)
-        dates.sort(Comparator.reverseOrder());
         return dates;
     }
     
@@ -387,18 +944,75 @@ public class CsvAttendanceStorage {
      * @return true if file was deleted, false otherwise
      */
     public boolean deleteAttendance(LocalDate date) {
-        String filePath = getFilePath(date);
-        File file = new File(filePath);
+        boolean deletedAny = false;
+        for (String section : getPartitions()) {
+            String filePath = getFilePath(date, section);
+            
+            if (findDayFile(date, section) != null) {
+                boolean deleted;
+                synchronized (lockFor(filePath)) {
+                    deleted = deleteDayFiles(date, section);
+                    if (deleted) {
+                        fireDeleted(date, section);
+                    }
+                }
+                markWritten(date);
+                if (deleted) {
+                    logFileAccess("Deleted attendance file: " + filePath);
+                }
+                deletedAny |= deleted;
+            }
+        }
         
-        if (file.exists()) {
-            boolean deleted = file.delete();
+        return deletedAny;
+    }
+    
+    /**
+     * Delete one section's attendance file for a specific date.
+     * @param date the date to delete attendance for
+     * @param section the section, or null for the unsectioned partition
+     * @return true if the file was deleted
+     */
+    public boolean deleteAttendance(LocalDate date, String section) {
+        section = Student.normalizeSection(section);
+        String filePath = getFilePath(date, section);
+        boolean deleted;
+        synchronized (lockFor(filePath)) {
+            deleted = deleteDayFiles(date, section);
             if (deleted) {
-                System.out.println("Deleted attendance file: " + filePath);
+                fireDeleted(date, section);
             }
-            return deleted;
         }
-        
-        return false;
+        markWritten(date);
+        return deleted;
+    }
+    
+    /**
+     * Delete every day file of one partition, e.g. after it was handed to another node.
+     * @param section the section, or null for the unsectioned partition
+     * @return number of files deleted
+     */
+    public int deletePartition(String section) {
+        section = Student.normalizeSection(section);
+        int deleted = 0;
+        for (LocalDate date : getAvailableDates(section)) {
+            String filePath = getFilePath(date, section);
+            synchronized (lockFor(filePath)) {
+                if (deleteDayFiles(date, section)) {
+                    deleted++;
+                    fireDeleted(date, section);
+                }
+            }
+            markWritten(date);
+        }
+        new File(getColdDir(section)).delete();
+        if (section != null) {
+            new File(getPartitionDir(section)).delete();
+            knownSections.remove(section);
+        }
+        System.out.println("Deleted " + deleted + " attendance files from partition "
+                + (section != null ? section : "(unsectioned)"));
+        return deleted;
     }
     
     /**
@@ -408,70 +1022,248 @@ public class CsvAttendanceStorage {
      * @throws IOException if file operations fail
      */
     public void removeStudentFromAttendance(LocalDate date, Long studentId) throws IOException {
-        String filePath = getFilePath(date);
-        File file = new File(filePath);
-        
-        if (!file.exists()) {
-            return; // No file to update
+        for (String section : getPartitions()) {
+            String filePath = getFilePath(date, section);
+            synchronized (lockFor(filePath)) {
+                removeStudentFromPartition(date, section, filePath, studentId);
+            }
+        }
+    }
+    
+    private void removeStudentFromPartition(LocalDate date, String section, String filePath, Long studentId)
+            throws IOException {
+        if (removeFromPartition(date, section, filePath, s -> s.getId().equals(studentId)) > 0) {
+            logFileAccess("Removed student " + studentId + " from attendance file: " + filePath);
+        }
+    }
+    
+    /**
+     * Rewrite one partition's day file without the records matching a filter.
+     * The caller holds the partition lock.
+     * @return number of records removed
+     */
+    private int removeFromPartition(LocalDate date, String section, String filePath, Predicate<Student> filter)
+            throws IOException {
+        File source = findDayFile(date, section);
+        if (source == null) {
+            return 0; // No file to update
         }
+        // A cold day stays cold, in the codec it was written with
+        ColdCodec codec = codecOf(source);
+        File file = codec != null ? source : new File(filePath);
         
-        // Read all students except the one to delete
-        List<Student> students = readAttendance(date);
-        students.removeIf(s -> s.getId().equals(studentId));
+        // Read every record, tombstoned ones included, and drop the matching ones
+        List<Student> students = readPartition(date, section, true);
+        int before = students.size();
+        if (!students.removeIf(filter)) {
+            return 0; // Nothing to remove in this partition
+        }
         
-        // Rewrite the file without the deleted student
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            // Write header
-            writer.write(CSV_HEADER);
-            writer.newLine();
-            
-            // Write remaining student records
-            for (Student student : students) {
-                String line = formatStudentRecord(student);
-                writer.write(line);
-                writer.newLine();
-            }
-            
-            writer.flush();
-            System.out.println("Removed student " + studentId + " from attendance file: " + filePath);
+        // Rewrite the file without the removed records
+        try {
+            replaceDayFile(file, date, students, codec);
         } catch (IOException e) {
-            System.err.println("Error removing student from file: " + filePath);
+            System.err.println("Error removing students from file: " + file);
             throw e;
+        } finally {
+            markWritten(date);
         }
+        if (codec == null) {
+            deleteColdCopies(date, section);
+        }
+        fireWritten(date, section, students);
+        return before - students.size();
     }
     
     /**
      * Remove a student from all attendance files.
+     * Only a tombstone is written here: the student's records disappear from
+     * reads at once and are purged from the day files by TombstoneCompactor.
      * @param studentId the student ID to remove
-     * @throws IOException if file operations fail
+     * @throws IOException if the tombstone cannot be written
      */
     public void removeStudentFromAllAttendance(Long studentId) throws IOException {
-        List<LocalDate> dates = getAvailableDates();
-        for (LocalDate date : dates) {
-            removeStudentFromAttendance(date, studentId);
+        addTombstone(studentId);
+    }
+    
+    /**
+     * Record that a student was deleted.
+     * @param studentId the deleted student's ID
+     * @throws IOException if the tombstone cannot be written
+     */
+    public void addTombstone(Long studentId) throws IOException {
+        synchronized (tombstoneLock) {
+            if (tombstones.contains(studentId)) {
+                return;
+            }
+            appendTombstones(Collections.singletonList(studentId), TOMBSTONE_DELETED);
+            unpurgedTombstones.add(studentId);
+            tombstones.add(studentId);
+            for (StorageWriteListener listener : writeListeners) {
+                listener.studentTombstoned(studentId);
+            }
+        }
+        System.out.println("Recorded tombstone for student " + studentId);
+    }
+    
+    /**
+     * Check whether a student has been deleted.
+     * @param studentId the student ID
+     * @return true if the student's records are hidden from reads
+     */
+    public boolean isTombstoned(long studentId) {
+        return !tombstones.isEmpty() && tombstones.contains(studentId);
+    }
+    
+    /**
+     * Get the highest deleted student ID, so that IDs are not handed out again.
+     * @return highest tombstoned ID, or 0 if no student was deleted
+     */
+    public long getMaxTombstonedId() {
+        long max = 0;
+        for (Long studentId : tombstones) {
+            max = Math.max(max, studentId);
+        }
+        return max;
+    }
+    
+    /**
+     * Get the deleted students whose records may still be in day files.
+     * @return a copy of the unpurged tombstones
+     */
+    public Set<Long> getUnpurgedTombstones() {
+        return new HashSet<>(unpurgedTombstones);
+    }
+    
+    /**
+     * Record that no day file holds records of these students any more.
+     * The tombstones stay in force for reads; they just stop needing compaction.
+     * @param studentIds the purged student IDs
+     * @throws IOException if the tombstone file cannot be written
+     */
+    public void markTombstonesPurged(Collection<Long> studentIds) throws IOException {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        synchronized (tombstoneLock) {
+            appendTombstones(studentIds, TOMBSTONE_PURGED);
+            unpurgedTombstones.removeAll(studentIds);
+        }
+    }
+    
+    private void appendTombstones(Collection<Long> studentIds, String event) throws IOException {
+        File file = new File(attendanceDir, TOMBSTONE_FILE);
+        boolean writeHeader = !file.exists() || file.length() == 0;
+        long now = System.currentTimeMillis();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
+            if (writeHeader) {
+                writer.write(TOMBSTONE_HEADER);
+                writer.newLine();
+            }
+            for (Long studentId : studentIds) {
+                writer.write(studentId + CSV_DELIMITER + event + CSV_DELIMITER + now);
+                writer.newLine();
+            }
+        }
+    }
+    
+    /**
+     * Purge the records of deleted students from one partition's day file.
+     * @param date the day
+     * @param section the section partition, or null for unsectioned
+     * @param studentIds the deleted students to purge
+     * @return number of records removed
+     * @throws IOException if the file cannot be rewritten
+     */
+    public int purgeTombstoned(LocalDate date, String section, Set<Long> studentIds) throws IOException {
+        section = Student.normalizeSection(section);
+        String filePath = getFilePath(date, section);
+        synchronized (lockFor(filePath)) {
+            return removeFromPartition(date, section, filePath, s -> studentIds.contains(s.getId()));
         }
     }
+    
+    /**
+     * Get the size of one partition's day file, in whichever tier it is.
+     * @param date the day
+     * @param section the section partition, or null for unsectioned
+     * @return size in bytes, or 0 if there is no file for the day
+     */
+    public long getDayFileSize(LocalDate date, String section) {
+        File file = findDayFile(date, Student.normalizeSection(section));
+        return file != null ? file.length() : 0;
+    }
 
     /**
      * Overwrite a day's attendance with the provided records.
+     * Each section partition that has records in the list is overwritten;
+     * partitions with no records in the list are left untouched.
      * @param date target date
      * @param students list of students with their statuses
      * @throws IOException if file operations fail
      */
     public void writeDailyAttendance(LocalDate date, List<Student> students) throws IOException {
-        String filePath = getFilePath(date);
-        File file = new File(filePath);
-        
-        if (!file.exists()) {
-            file.createNewFile();
+        for (Map.Entry<String, List<Student>> group : groupBySection(students).entrySet()) {
+            writeDailyAttendance(date, group.getKey(), group.getValue());
         }
+    }
+    
+    /**
+     * Overwrite one section's attendance for a day with the provided records.
+     * @param date target date
+     * @param section the section partition, or null for unsectioned
+     * @param students list of students with their statuses
+     * @throws IOException if file operations fail
+     */
+    public void writeDailyAttendance(LocalDate date, String section, List<Student> students) throws IOException {
+        section = Student.normalizeSection(section);
+        ensurePartition(section);
+        String filePath = getFilePath(date, section);
+        synchronized (lockFor(filePath)) {
+            overwritePartition(date, section, filePath, students);
+        }
+    }
+    
+    private void overwritePartition(LocalDate date, String section, String filePath, List<Student> students)
+            throws IOException {
+        File file = new File(filePath);
         
         students.sort(Comparator.comparing(Student::getId));
         
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+        try {
+            replaceDayFile(file, date, students);
+        } finally {
+            markWritten(date);
+        }
+        deleteColdCopies(date, section);
+        fireWritten(date, section, students);
+    }
+    
+    /**
+     * Write a day file's records to a temporary sibling and rename it over the
+     * day file, so readers that do not take the partition lock (version
+     * snapshots, the cold-tier move) see either the old file or the new one,
+     * never a truncated one. The caller holds the partition lock.
+     * @param file the day file
+     * @param date the day, filled in on records without one
+     * @param students the records to write
+     * @throws IOException if writing or renaming fails
+     */
+    private void replaceDayFile(File file, LocalDate date, Collection<Student> students) throws IOException {
+        replaceDayFile(file, date, students, null);
+    }
+    
+    /**
+     * Replace a day file as above, compressing it when it is in the cold tier.
+     * @param codec the cold file's codec, or null for a hot CSV file
+     */
+    private void replaceDayFile(File file, LocalDate date, Collection<Student> students, ColdCodec codec)
+            throws IOException {
+        Path temp = Paths.get(file.getPath() + ".tmp");
+        try (OutputStream out = openDayFileOutput(temp, codec);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
             writer.write(CSV_HEADER);
             writer.newLine();
-            
             for (Student student : students) {
                 if (student.getDate() == null) {
                     student.setDate(date);
@@ -479,7 +1271,62 @@ public class CsvAttendanceStorage {
                 writer.write(formatStudentRecord(student));
                 writer.newLine();
             }
-            writer.flush();
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Move every hot day file dated before a cutoff into the cold tier.
+     * Each file is compressed into a temporary file that is renamed into place
+     * before the hot copy is removed, all under the partition lock, so readers
+     * always find one complete copy. Contents are unchanged, so write listeners
+     * are not notified.
+     * @param before days strictly before this date are moved
+     * @param codec codec for the compressed files
+     * @return number of files moved
+     * @throws IOException if compressing or renaming a file fails
+     */
+    public int moveToColdTier(LocalDate before, ColdCodec codec) throws IOException {
+        int moved = 0;
+        long hotBytes = 0;
+        long coldBytes = 0;
+        for (String section : getPartitions()) {
+            for (LocalDate date : listDates(new File(getPartitionDir(section)), FILE_EXTENSION)) {
+                if (!date.isBefore(before)) {
+                    continue;
+                }
+                String filePath = getFilePath(date, section);
+                synchronized (lockFor(filePath)) {
+                    File hot = new File(filePath);
+                    if (!hot.exists()) {
+                        continue;
+                    }
+                    File cold = getColdFile(date, section, codec);
+                    Files.createDirectories(cold.toPath().getParent());
+                    Path temp = Paths.get(cold.getPath() + ".tmp");
+                    try (InputStream in = new FileInputStream(hot);
+                         OutputStream out = codec.compress(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                        in.transferTo(out);
+                    } catch (IOException e) {
+                        Files.deleteIfExists(temp);
+                        throw e;
+                    }
+                    deleteColdCopies(date, section);
+                    Files.move(temp, cold.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    hotBytes += hot.length();
+                    coldBytes += cold.length();
+                    Files.delete(hot.toPath());
+                    moved++;
+                }
+            }
+        }
+        if (moved > 0) {
+            System.out.println("Moved " + moved + " attendance files before " + before + " to cold storage ("
+                    + codec.name().toLowerCase() + "): " + hotBytes + " -> " + coldBytes + " bytes");
         }
+        return moved;
     }
 }
@@ -0,0 +1,84 @@
+package com.attendance.storage;
+
+import com.attendance.model.Student.AttendanceStatus;
+
+import java.util.BitSet;
+
+/**
+ * One immutable version of a partition's day: the statuses it held from
+ * the moment it was written until the next version.
+ */
+public final class DayVersion {
+
+    private final long version;
+    private final long timestamp;
+    private final boolean deleted;
+    private final long[] ids;
+    private final BitSet present;
+
+    DayVersion(long version, long timestamp, boolean deleted, long[] ids, BitSet present) {
+        this.version = version;
+        this.timestamp = timestamp;
+        this.deleted = deleted;
+        this.ids = ids;
+        this.present = present;
+    }
+
+    /**
+     * Get the version number; versions of a partition's day count up from 1.
+     * @return version number
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get when this version was written.
+     * @return epoch milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Check whether this version records the day file being deleted.
+     * @return true if the partition held no day from this version on
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Get the number of records in this version.
+     * @return record count
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Get the number of present records in this version.
+     * @return present count
+     */
+    public int presentCount() {
+        return present.cardinality();
+    }
+
+    /**
+     * Visit every record of this version in ID order.
+     * @param visitor receives each student ID and status
+     */
+    public void forEach(AttendanceRecordVisitor visitor) {
+        for (int i = 0; i < ids.length; i++) {
+            visitor.visit(ids[i], present.get(i) ? AttendanceStatus.PRESENT : AttendanceStatus.ABSENT);
+        }
+    }
+
+    long[] ids() {
+        return ids;
+    }
+
+    BitSet present() {
+        return present;
+    }
+}
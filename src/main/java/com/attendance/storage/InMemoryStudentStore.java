@@ -5,17 +5,34 @@ import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * In-memory storage for Student entities.
  * Thread-safe implementation using ConcurrentHashMap and AtomicLong.
+ * Read-heavy callers use snapshot(), an immutable ID-sorted copy that is
+ * rebuilt at most once per roster version, on the first read after a change.
  */
 @Component
 public class InMemoryStudentStore {
     private final Map<Long, Student> students = new ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(1);
+    // Bumped on every mutation so callers can tell whether the roster changed
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+    private final List<StorageWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+    // Published copy of the roster; stale once its version falls behind the store's
+    private volatile RosterSnapshot snapshot = RosterSnapshot.of(new Student[0], 0);
+
+    /**
+     * Register a listener notified after every roster change.
+     * @param listener the listener to add
+     */
+    public void addWriteListener(StorageWriteListener listener) {
+        writeListeners.add(listener);
+    }
 
     /**
      * Save a student to the store.
@@ -28,9 +45,42 @@ public class InMemoryStudentStore {
             student.setId(idCounter.getAndIncrement());
         }
         students.put(student.getId(), student);
+        touch();
+        List<Student> saved = List.of(student);
+        writeListeners.forEach(listener -> listener.studentsSaved(saved));
         return student;
     }
 
+    /**
+     * Reserve a contiguous block of IDs in one atomic step.
+     * @param count number of IDs to reserve
+     * @return the first reserved ID; the block is [first, first + count)
+     */
+    public long allocateIds(int count) {
+        return idCounter.getAndAdd(count);
+    }
+
+    /**
+     * Make sure newly generated IDs start at or above a floor.
+     * Each node of a sharded deployment draws IDs from its own block.
+     * @param floor the lowest ID the counter may hand out next
+     */
+    public void ensureNextIdAtLeast(long floor) {
+        idCounter.accumulateAndGet(floor, Math::max);
+    }
+
+    /**
+     * Save a batch of students that already have IDs.
+     * @param batch the students to save
+     */
+    public void saveAll(Collection<Student> batch) {
+        for (Student student : batch) {
+            students.put(student.getId(), student);
+        }
+        touch();
+        writeListeners.forEach(listener -> listener.studentsSaved(batch));
+    }
+
     /**
      * Find a student by ID.
      * @param id the student ID
@@ -42,10 +92,33 @@ public class InMemoryStudentStore {
 
     /**
      * Get all students.
-     * @return list of all students
+     * @return mutable copy of all students, sorted by ID
      */
     public List<Student> findAll() {
-        return new ArrayList<>(students.values());
+        return new ArrayList<>(snapshot());
+    }
+
+    /**
+     * Get an immutable, ID-sorted snapshot of the roster.
+     * Successive calls return the same instance until the roster changes, so
+     * a burst of writes costs one rebuild, done by the next reader.
+     * @return the current roster snapshot
+     */
+    public RosterSnapshot snapshot() {
+        RosterSnapshot current = snapshot;
+        if (current.getVersion() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long at = version.get();
+            if (current.getVersion() != at) {
+                // Read the version before copying: a write racing the copy leaves it stale again
+                current = RosterSnapshot.of(students.values().toArray(new Student[0]), at);
+                snapshot = current;
+            }
+            return current;
+        }
     }
 
     /**
@@ -65,7 +138,10 @@ public class InMemoryStudentStore {
      * @param id the student ID
      */
     public void deleteById(Long id) {
-        students.remove(id);
+        if (students.remove(id) != null) {
+            touch();
+            writeListeners.forEach(listener -> listener.studentDeleted(id));
+        }
     }
 
     /**
@@ -90,5 +166,28 @@ public class InMemoryStudentStore {
      */
     public void deleteAll() {
         students.clear();
+        touch();
+        writeListeners.forEach(StorageWriteListener::rosterCleared);
+    }
+
+    /**
+     * Get the roster version, incremented on every mutation.
+     * @return current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get the time of the last roster mutation.
+     * @return epoch millis
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    private void touch() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
     }
 }
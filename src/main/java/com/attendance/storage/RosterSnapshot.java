@@ -0,0 +1,87 @@
+package com.attendance.storage;
+
+import com.attendance.model.Student;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+/**
+ * Immutable view of the roster at one store version, sorted by student ID.
+ * Backed by a plain array so readers can walk it with an indexed loop and
+ * look students up by binary search without allocating or locking. As a
+ * List it is read-only; the Student objects themselves are shared with the
+ * store.
+ */
+public final class RosterSnapshot extends AbstractList<Student> implements RandomAccess {
+
+    private final Student[] students;
+    private final long version;
+
+    private RosterSnapshot(Student[] students, long version) {
+        this.students = students;
+        this.version = version;
+    }
+
+    /**
+     * Build a snapshot from a copy of the store's values.
+     * @param students array owned by the snapshot from now on; sorted in place
+     * @param version store version the copy was taken at
+     * @return the snapshot
+     */
+    static RosterSnapshot of(Student[] students, long version) {
+        Arrays.sort(students, Comparator.comparingLong(Student::getId));
+        return new RosterSnapshot(students, version);
+    }
+
+    @Override
+    public Student get(int index) {
+        return students[index];
+    }
+
+    @Override
+    public int size() {
+        return students.length;
+    }
+
+    /**
+     * Find a student by ID.
+     * @param id the student ID
+     * @return the student, or null if absent
+     */
+    public Student find(long id) {
+        int index = positionOf(id);
+        return index >= 0 ? students[index] : null;
+    }
+
+    /**
+     * Find the position of a student by ID using binary search.
+     * @param id the student ID
+     * @return the index of the student, or -1 if not on the roster
+     */
+    public int positionOf(long id) {
+        int low = 0;
+        int high = students.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = students[mid].getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the store version this snapshot reflects.
+     * @return roster version
+     */
+    public long getVersion() {
+        return version;
+    }
+}
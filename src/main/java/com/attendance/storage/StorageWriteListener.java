@@ -0,0 +1,71 @@
+package com.attendance.storage;
+
+import com.attendance.model.AttendanceEvent;
+import com.attendance.model.Student;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Callback for changes made through the storage components.
+ * Attendance callbacks run while the partition's write lock is held, so for
+ * any one partition they arrive in write order; the records passed in are
+ * the partition's full contents after the write. Event callbacks run under
+ * the event log's append lock, in offset order. Implementations must be
+ * quick and must not write back to storage.
+ */
+public interface StorageWriteListener {
+
+    /**
+     * A day partition was written.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     * @param records every record now in the partition
+     */
+    default void partitionWritten(LocalDate date, String section, Collection<Student> records) {
+    }
+
+    /**
+     * A day partition was deleted.
+     * @param date the day
+     * @param section the section, or null for the unsectioned partition
+     */
+    default void partitionDeleted(LocalDate date, String section) {
+    }
+
+    /**
+     * A student was deleted; their records are hidden from every day's reads.
+     * @param studentId the deleted student's ID
+     */
+    default void studentTombstoned(Long studentId) {
+    }
+
+    /**
+     * Students were added to or replaced in the roster.
+     * @param students the saved students
+     */
+    default void studentsSaved(Collection<Student> students) {
+    }
+
+    /**
+     * A student was removed from the roster.
+     * @param studentId the removed student's ID
+     */
+    default void studentDeleted(Long studentId) {
+    }
+
+    /**
+     * The roster was cleared.
+     */
+    default void rosterCleared() {
+    }
+
+    /**
+     * Events were appended to the attendance event log.
+     * @param firstOffset offset of the first event; the rest follow consecutively
+     * @param events the appended events, in log order
+     */
+    default void eventsAppended(long firstOffset, List<AttendanceEvent> events) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.attendance.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that purges deleted students' records from the day files.
+ * Reads already hide tombstoned students, so there is no hurry: each run
+ * reads at most the configured number of bytes of day files and picks up
+ * where the previous run stopped. Once a pass has covered every day file,
+ * the tombstones it purged are marked as such and need no further I/O.
+ * A non-positive budget disables compaction.
+ */
+@Component
+public class TombstoneCompactor {
+
+    private static final long INITIAL_DELAY_SECONDS = 30;
+
+    private final CsvAttendanceStorage csvStorage;
+    private final long maxBytesPerRun;
+    private final ScheduledExecutorService scheduler;
+
+    // Pass in progress, touched only by the compactor thread
+    private Set<Long> passTombstones;
+    private Deque<DayFile> passFiles;
+
+    /**
+     * Constructor with dependency injection.
+     * @param csvStorage the CSV storage component
+     * @param maxBytesPerRun day file bytes read per run; 0 disables compaction
+     * @param intervalSeconds time between compaction runs
+     */
+    public TombstoneCompactor(CsvAttendanceStorage csvStorage,
+                              @Value("${attendance.tombstones.max-bytes-per-run:4194304}") long maxBytesPerRun,
+                              @Value("${attendance.tombstones.interval-seconds:10}") long intervalSeconds) {
+        this.csvStorage = csvStorage;
+        this.maxBytesPerRun = maxBytesPerRun;
+        if (maxBytesPerRun > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "tombstone-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::runSafely,
+                    INITIAL_DELAY_SECONDS, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Stop the compaction thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Run one budgeted step of compaction.
+     * @return number of records purged
+     * @throws IOException if a day file cannot be rewritten
+     */
+    public synchronized int runOnce() throws IOException {
+        if (passFiles == null) {
+            Set<Long> pending = csvStorage.getUnpurgedTombstones();
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            // Tombstones added after this point wait for the next pass
+            passTombstones = pending;
+            passFiles = new ArrayDeque<>();
+            List<String> partitions = new ArrayList<>();
+            partitions.add(null);
+            partitions.addAll(csvStorage.getSections());
+            for (String section : partitions) {
+                for (LocalDate date : csvStorage.getAvailableDates(section)) {
+                    passFiles.add(new DayFile(date, section));
+                }
+            }
+        }
+
+        int purged = 0;
+        long bytes = 0;
+        while (!passFiles.isEmpty() && bytes < maxBytesPerRun) {
+            DayFile dayFile = passFiles.peek();
+            bytes += csvStorage.getDayFileSize(dayFile.date, dayFile.section);
+            purged += csvStorage.purgeTombstoned(dayFile.date, dayFile.section, passTombstones);
+            passFiles.poll();
+        }
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " records of deleted students");
+        }
+
+        if (passFiles.isEmpty()) {
+            csvStorage.markTombstonesPurged(passTombstones);
+            System.out.println("Compacted tombstones for " + passTombstones.size() + " deleted students");
+            passTombstones = null;
+            passFiles = null;
+        }
+        return purged;
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error purging deleted students from attendance files: " + e.getMessage());
+        }
+    }
+
+    private static final class DayFile {
+        final LocalDate date;
+        final String section;
+
+        DayFile(LocalDate date, String section) {
+            this.date = date;
+            this.section = section;
+        }
+    }
+}
@@ -4,9 +4,36 @@
  */
 
 const API_BASE = '/api';
+// Day rosters are fetched as a column header plus one array per student
+const COLUMNAR_JSON = 'application/vnd.attendance.columnar+json';
 let currentDate = new Date();
 let allStudents = [];
 let hasPendingChanges = false;
+let liveFeed = null;
+let liveFeedDate = null;
+// Students edited locally since the last load/save; live updates won't overwrite them
+let localEdits = new Set();
+// Dates changed since we last fetched them; past days may be served from the
+// browser cache (ETag/max-age), so these are forced to revalidate next time
+let staleDates = new Set();
+// Selected section; empty means the whole school
+let currentSection = '';
+// Roster by student ID, so a single status change doesn't scan the roster
+let studentsById = new Map();
+// Running totals for the summary, adjusted on every status change
+let presentCount = 0;
+let absentCount = 0;
+// Students matching the search box, in table order; only the window in view is in the DOM
+let visibleStudents = [];
+// Rendered rows by student ID, and rows scrolled out of view kept for reuse
+let renderedRows = new Map();
+const spareRows = [];
+// Height of one student row in pixels, measured after the first render
+let rowHeight = 0;
+let renderScheduled = false;
+// Rows rendered beyond each edge of the view, so fast scrolling doesn't show gaps
+const ROW_OVERSCAN = 10;
+const ESTIMATED_ROW_HEIGHT = 60;
 
 // DOM Elements
 const addStudentForm = document.getElementById('addStudentForm');
@@ -16,10 +43,18 @@ const attendanceTableBody = document.getElementById('attendanceTableBody');
 const attendanceDateInput = document.getElementById('attendanceDate');
 const currentDateDisplay = document.getElementById('currentDateDisplay');
 const finishButton = document.getElementById('finishButton');
+const sectionInput = document.getElementById('sectionFilter');
+const sectionOptions = document.getElementById('sectionOptions');
+const tableContainer = document.querySelector('.attendance-table-container');
+const attendanceTable = document.querySelector('.attendance-table');
+const rowTemplate = createRowTemplate();
+const topSpacer = createSpacerRow();
+const bottomSpacer = createSpacerRow();
 
 // Initialize app on load
 document.addEventListener('DOMContentLoaded', () => {
     initializeDate();
+    loadSections();
     loadAllStudents();
     setupEventListeners();
 });
@@ -92,6 +127,42 @@ function formatDateForInput(date) {
 function setupEventListeners() {
     addStudentForm.addEventListener('submit', handleAddStudent);
     searchBox.addEventListener('input', handleSearch);
+    sectionInput.addEventListener('change', () => {
+        currentSection = sectionInput.value.trim();
+        loadAllStudents();
+    });
+    // One listener for every row's buttons, since rows are reused for other students
+    attendanceTableBody.addEventListener('click', event => {
+        const button = event.target.closest('button[data-status]');
+        if (button) {
+            setAttendanceStatus(Number(button.closest('tr').dataset.studentId), button.dataset.status);
+        }
+    });
+    tableContainer.addEventListener('scroll', scheduleTableRender);
+    window.addEventListener('resize', () => {
+        rowHeight = 0;
+        scheduleTableRender();
+    });
+}
+
+/**
+ * Load known section names into the section picker
+ */
+async function loadSections() {
+    try {
+        const response = await fetch(`${API_BASE}/sections`);
+        const sections = await response.json();
+        sectionOptions.innerHTML = sections.map(section => `<option value="${section}">`).join('');
+    } catch (error) {
+        console.error('Error loading sections:', error);
+    }
+}
+
+/**
+ * Query string fragment for the selected section
+ */
+function sectionQuery() {
+    return currentSection ? `&section=${encodeURIComponent(currentSection)}` : '';
 }
 
 /**
@@ -100,92 +171,280 @@ function setupEventListeners() {
 async function loadAllStudents() {
     try {
         const dateStr = formatDateForInput(currentDate);
-        const response = await fetch(`${API_BASE}/attendance/daily?date=${encodeURIComponent(dateStr)}`);
-        allStudents = await response.json();
-        refreshTable();
-        updateSummaryFromData();
+        const response = await fetch(`${API_BASE}/attendance/daily?date=${encodeURIComponent(dateStr)}${sectionQuery()}`, {
+            cache: staleDates.has(dateStr) ? 'no-cache' : 'default',
+            headers: { 'Accept': `${COLUMNAR_JSON}, application/json;q=0.9` }
+        });
+        staleDates.delete(dateStr);
+        if (!response.ok) {
+            const error = await response.json();
+            showMessage(error.message || 'Failed to load students', 'error');
+            return;
+        }
+        setRoster(fromColumnar(await response.json()));
         setPendingChanges(false);
+        connectLiveFeed(dateStr);
     } catch (error) {
         showMessage('Failed to load students', 'error');
         console.error('Error:', error);
     }
 }
 
-function updateSummaryFromData() {
+/**
+ * Expand a columnar student list ({columns, rows}) into one object per student.
+ * Plain JSON arrays are returned as they are.
+ */
+function fromColumnar(body) {
+    if (Array.isArray(body)) {
+        return body;
+    }
+    const { columns, rows } = body;
+    return rows.map(row => {
+        const student = {};
+        for (let c = 0; c < columns.length; c++) {
+            student[columns[c]] = row[c];
+        }
+        return student;
+    });
+}
+
+/**
+ * Subscribe to live attendance changes for the selected date.
+ * Other teachers' saves arrive as deltas instead of requiring a reload.
+ */
+function connectLiveFeed(dateStr) {
+    if (typeof EventSource === 'undefined' || liveFeedDate === dateStr) {
+        return;
+    }
+    if (liveFeed) {
+        liveFeed.close();
+    }
+    
+    let opened = false;
+    liveFeedDate = dateStr;
+    liveFeed = new EventSource(`${API_BASE}/attendance/stream?date=${encodeURIComponent(dateStr)}`);
+    liveFeed.addEventListener('attendance', event => applyAttendanceDelta(JSON.parse(event.data)));
+    liveFeed.onopen = () => {
+        // After a reconnect we may have missed deltas, so resync once
+        if (opened) {
+            loadAllStudents();
+        }
+        opened = true;
+    };
+}
+
+/**
+ * Apply a live delta (changed statuses for the current date) to the table.
+ */
+function applyAttendanceDelta(delta) {
+    staleDates.add(delta.date);
+    if (delta.date !== formatDateForInput(currentDate)) {
+        return;
+    }
+    if (currentSection && delta.section && delta.section !== currentSection) {
+        return;
+    }
+    
+    for (const change of delta.changes) {
+        const student = studentsById.get(change.studentId);
+        if (!student && currentSection) {
+            // Belongs to another section; not shown here
+            continue;
+        }
+        if (!student) {
+            // Someone saved a student we don't have yet; fetch the roster
+            loadAllStudents();
+            return;
+        }
+        if (!localEdits.has(change.studentId)) {
+            changeStatus(student, change.status);
+        }
+    }
+    
+    updateSummary();
+}
+
+/**
+ * Replace the roster: index it, count its statuses once and redraw the table.
+ */
+function setRoster(students) {
+    allStudents = students;
+    studentsById = new Map(students.map(student => [student.id, student]));
+    presentCount = 0;
+    absentCount = 0;
+    for (const student of students) {
+        countStatus(student.status, 1);
+    }
+    // Rendered rows show the previous roster's objects
+    for (const row of renderedRows.values()) {
+        spareRows.push(row);
+    }
+    renderedRows.clear();
+    refreshTable();
+    updateSummary();
+}
+
+function countStatus(status, delta) {
+    if (status === 'PRESENT') {
+        presentCount += delta;
+    } else if (status === 'ABSENT') {
+        absentCount += delta;
+    }
+}
+
+/**
+ * Change one student's status, adjusting the totals and redrawing only their row.
+ */
+function changeStatus(student, status) {
+    if (student.status === status) {
+        return;
+    }
+    countStatus(student.status, -1);
+    countStatus(status, 1);
+    student.status = status;
+    const row = renderedRows.get(student.id);
+    if (row) {
+        fillRow(row, student);
+    }
+}
+
+function updateSummary() {
     const total = allStudents.length;
-    const present = allStudents.filter(student => student.status === 'PRESENT').length;
-    const absent = allStudents.filter(student => student.status === 'ABSENT').length;
-    const rate = total > 0 ? ((present * 100) / total).toFixed(1) : '0.0';
+    const rate = total > 0 ? ((presentCount * 100) / total).toFixed(1) : '0.0';
     
     document.getElementById('totalStudents').textContent = total;
-    document.getElementById('presentCount').textContent = present;
-    document.getElementById('absentCount').textContent = absent;
+    document.getElementById('presentCount').textContent = presentCount;
+    document.getElementById('absentCount').textContent = absentCount;
     document.getElementById('attendanceRate').textContent = `${rate}%`;
 }
 
 /**
- * Display attendance table with inline edit capability
+ * Row layout shared by every student row; rows are cloned from it and filled in.
  */
-function displayAttendanceTable(students) {
-    if (!students || students.length === 0) {
+function createRowTemplate() {
+    const row = document.createElement('tr');
+    row.innerHTML = `
+        <td class="student-row-id"></td>
+        <td class="student-row-name"></td>
+        <td class="status-cell"><span class="status-badge"></span></td>
+        <td>
+            <div class="action-buttons">
+                <button class="btn-quick present" data-status="PRESENT">Present</button>
+                <button class="btn-quick absent" data-status="ABSENT">Absent</button>
+            </div>
+        </td>`;
+    return row;
+}
+
+function createSpacerRow() {
+    const row = document.createElement('tr');
+    row.className = 'spacer-row';
+    row.innerHTML = '<td colspan="4"></td>';
+    return row;
+}
+
+/**
+ * Show a student in a row, which may have shown someone else before.
+ */
+function fillRow(row, student) {
+    const status = student.status;
+    row.dataset.studentId = student.id;
+    row.cells[0].textContent = student.id;
+    row.cells[1].textContent = student.name;
+    row.cells[1].title = student.name;
+    const badge = row.cells[2].firstElementChild;
+    badge.className = `status-badge ${status ? status.toLowerCase() : 'pending'}`;
+    badge.textContent = status || 'UNMARKED';
+    const [presentButton, absentButton] = row.cells[3].querySelectorAll('button');
+    presentButton.classList.toggle('active', status === 'PRESENT');
+    absentButton.classList.toggle('active', status === 'ABSENT');
+}
+
+function scheduleTableRender() {
+    if (!renderScheduled) {
+        renderScheduled = true;
+        requestAnimationFrame(renderTableWindow);
+    }
+}
+
+/**
+ * Render only the rows of visibleStudents that are in view (plus an overscan
+ * margin); spacer rows take the height of the rest so the scrollbar stays true.
+ * Rows still in view are kept as they are, rows leaving it are reused.
+ */
+function renderTableWindow() {
+    renderScheduled = false;
+    if (visibleStudents.length === 0) {
+        for (const row of renderedRows.values()) {
+            spareRows.push(row);
+        }
+        renderedRows.clear();
         attendanceTableBody.innerHTML = '<tr><td colspan="4" style="text-align: center; padding: 20px;">No students found. Add students to get started!</td></tr>';
         return;
     }
     
-    attendanceTableBody.innerHTML = students.map(student => `
-        <tr data-student-id="${student.id}">
-            <td class="student-row-id">${student.id}</td>
-            <td class="student-row-name">${student.name}</td>
-            <td class="status-cell">
-                ${student.status ? `
-                    <span class="status-badge ${student.status.toLowerCase()}">
-                        ${student.status}
-                    </span>` : '<span class="status-badge pending">UNMARKED</span>'}
-            </td>
-            <td>
-                <div class="action-buttons">
-                    <button class="btn-quick present ${student.status === 'PRESENT' ? 'active' : ''}" 
-                            onclick="setAttendanceStatus(${student.id}, 'PRESENT')">
-                        Present
-                    </button>
-                    <button class="btn-quick absent ${student.status === 'ABSENT' ? 'active' : ''}" 
-                            onclick="setAttendanceStatus(${student.id}, 'ABSENT')">
-                        Absent
-                    </button>
-                </div>
-            </td>
-        </tr>
-    `).join('');
+    const height = rowHeight || ESTIMATED_ROW_HEIGHT;
+    const scrolled = Math.max(0, tableContainer.scrollTop - attendanceTable.tHead.offsetHeight);
+    const last = Math.min(visibleStudents.length,
+        Math.ceil((scrolled + tableContainer.clientHeight) / height) + ROW_OVERSCAN);
+    // Past the end after the list shrank; the scroll position catches up on the next frame
+    const first = Math.min(Math.max(0, Math.floor(scrolled / height) - ROW_OVERSCAN), last - 1);
+    
+    const rows = [];
+    const nextRendered = new Map();
+    for (let i = first; i < last; i++) {
+        const student = visibleStudents[i];
+        let row = renderedRows.get(student.id);
+        if (row) {
+            renderedRows.delete(student.id);
+        } else {
+            row = spareRows.pop() || rowTemplate.cloneNode(true);
+            fillRow(row, student);
+        }
+        nextRendered.set(student.id, row);
+        rows.push(row);
+    }
+    for (const row of renderedRows.values()) {
+        spareRows.push(row);
+    }
+    renderedRows = nextRendered;
+    
+    topSpacer.firstElementChild.style.height = `${first * height}px`;
+    bottomSpacer.firstElementChild.style.height = `${(visibleStudents.length - last) * height}px`;
+    attendanceTableBody.replaceChildren(topSpacer, ...rows, bottomSpacer);
+    
+    if (!rowHeight) {
+        rowHeight = rows[0].getBoundingClientRect().height;
+        if (rowHeight) {
+            // Redo the window with the real height
+            renderTableWindow();
+        }
+    }
 }
 
 function refreshTable() {
     const searchTerm = searchBox.value.trim().toLowerCase();
     
-    if (!searchTerm) {
-        displayAttendanceTable(allStudents);
-        return;
-    }
-    
-    const filtered = allStudents.filter(student => 
+    visibleStudents = !searchTerm ? allStudents : allStudents.filter(student => 
         student.name.toLowerCase().includes(searchTerm) ||
         student.id.toString().includes(searchTerm)
     );
     
-    displayAttendanceTable(filtered);
+    renderTableWindow();
 }
 
 /**
  * Set attendance status locally for a student.
  */
 function setAttendanceStatus(studentId, status) {
-    const studentIndex = allStudents.findIndex(student => student.id === studentId);
-    if (studentIndex === -1) {
+    const student = studentsById.get(studentId);
+    if (!student) {
         return;
     }
     
-    allStudents[studentIndex].status = status;
-    refreshTable();
-    updateSummaryFromData();
+    changeStatus(student, status);
+    localEdits.add(studentId);
+    updateSummary();
     setPendingChanges(true);
 }
 
@@ -197,13 +456,12 @@ async function markAllPresent() {
         return;
     }
     
-    allStudents = allStudents.map(student => ({
-        ...student,
-        status: 'PRESENT'
-    }));
+    for (const student of allStudents) {
+        changeStatus(student, 'PRESENT');
+        localEdits.add(student.id);
+    }
     
-    refreshTable();
-    updateSummaryFromData();
+    updateSummary();
     setPendingChanges(true);
     showMessage(`All students marked as PRESENT`, 'success');
 }
@@ -216,13 +474,12 @@ async function markAllAbsent() {
         return;
     }
     
-    allStudents = allStudents.map(student => ({
-        ...student,
-        status: 'ABSENT'
-    }));
+    for (const student of allStudents) {
+        changeStatus(student, 'ABSENT');
+        localEdits.add(student.id);
+    }
     
-    refreshTable();
-    updateSummaryFromData();
+    updateSummary();
     setPendingChanges(true);
     showMessage(`All students marked as ABSENT`, 'success');
 }
@@ -272,7 +529,7 @@ async function finishAttendance() {
         return;
     }
     
-    const hasUnmarked = allStudents.some(student => !student.status);
+    const hasUnmarked = presentCount + absentCount < allStudents.length;
     if (hasUnmarked) {
         showMessage('Please mark all students before finishing.', 'error');
         return;
@@ -280,6 +537,7 @@ async function finishAttendance() {
     
     const payload = {
         date: formatDateForInput(currentDate),
+        section: currentSection || null,
         entries: allStudents.map(student => ({
             studentId: student.id,
             status: student.status
@@ -297,8 +555,9 @@ async function finishAttendance() {
         
         if (response.ok) {
             showMessage(`Attendance saved for ${currentDateDisplay.textContent}`, 'success');
+            staleDates.add(payload.date);
+            // The table already shows what was saved; the live feed brings other updates
             setPendingChanges(false);
-            loadAllStudents();
         } else {
             const error = await response.json();
             showMessage(error.message || 'Failed to save attendance', 'error');
@@ -311,6 +570,9 @@ async function finishAttendance() {
 
 function setPendingChanges(state) {
     hasPendingChanges = state;
+    if (!state) {
+        localEdits.clear();
+    }
     if (finishButton) {
         finishButton.disabled = !state;
     }
@@ -339,7 +601,8 @@ async function handleAddStudent(e) {
             },
             body: JSON.stringify({ 
                 name: name,
-                creationDate: creationDate
+                creationDate: creationDate,
+                section: currentSection || null
             })
         });
         
@@ -347,6 +610,8 @@ async function handleAddStudent(e) {
             const student = await response.json();
             showMessage(`Student "${student.name}" added successfully! ID: ${student.id}`, 'success');
             addStudentForm.reset();
+            staleDates.add(formatDateForInput(currentDate));
+            loadSections();
             loadAllStudents();
         } else {
             const error = await response.json();
@@ -362,6 +627,7 @@ async function handleAddStudent(e) {
  * Handle search input for table filtering
  */
 async function handleSearch(e) {
+    tableContainer.scrollTop = 0;
     refreshTable();
 }
 